@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.examples.with.different.packagename.benchmark;
+
+/**
+ * Sample class under test of the benchmarks: small enough to be analyzed
+ * quickly, but with enough branches, parameters and state to give the
+ * search something to do.
+ */
+public class IntRingBuffer {
+
+	private final int[] elements;
+
+	private int head = 0;
+
+	private int size = 0;
+
+	public IntRingBuffer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		if (capacity > 1024) {
+			capacity = 1024;
+		}
+		elements = new int[capacity];
+	}
+
+	public boolean add(int value) {
+		if (isFull()) {
+			return false;
+		}
+		elements[(head + size) % elements.length] = value;
+		size++;
+		return true;
+	}
+
+	public int remove() {
+		if (isEmpty()) {
+			throw new IllegalStateException("Buffer is empty");
+		}
+		int value = elements[head];
+		head = (head + 1) % elements.length;
+		size--;
+		return value;
+	}
+
+	public int get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		return elements[(head + index) % elements.length];
+	}
+
+	public boolean contains(int value) {
+		for (int i = 0; i < size; i++) {
+			if (get(i) == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public int max() {
+		if (isEmpty()) {
+			return Integer.MIN_VALUE;
+		}
+		int max = get(0);
+		for (int i = 1; i < size; i++) {
+			if (get(i) > max) {
+				max = get(i);
+			}
+		}
+		return max;
+	}
+
+	public int drainTo(IntRingBuffer other) {
+		if (other == this) {
+			throw new IllegalArgumentException("Cannot drain into itself");
+		}
+		int moved = 0;
+		while (!isEmpty() && !other.isFull()) {
+			other.add(remove());
+			moved++;
+		}
+		return moved;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean isFull() {
+		return size == elements.length;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return elements.length;
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.Arrays;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFactory;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.utils.Randomness;
+
+import com.examples.with.different.packagename.benchmark.IntRingBuffer;
+
+/**
+ * Shared set up of the benchmarks: every benchmark starts from the default
+ * properties, the same seed and the bundled sample class under test, so that
+ * the generated tests, and thus the measured work, are the same in every run.
+ */
+public class BenchmarkSetup {
+
+	public static final long SEED = 42;
+
+	public static final String TARGET_CLASS = IntRingBuffer.class.getCanonicalName();
+
+	private BenchmarkSetup() {
+	}
+
+	/**
+	 * Resets properties and seed, and analyzes the sample class under test
+	 * (instrumentation, inheritance tree and test cluster)
+	 *
+	 * @throws ClassNotFoundException
+	 */
+	public static void setUpTargetClass() throws ClassNotFoundException {
+		Properties.getInstance().resetToDefaults();
+		Randomness.setSeed(SEED);
+		Properties.TARGET_CLASS = TARGET_CLASS;
+
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		TestGenerationContext.getInstance().resetContext();
+		ClassReInitializer.resetSingleton();
+
+		DependencyAnalysis.analyzeClass(Properties.TARGET_CLASS,
+				Arrays.asList(ClassPathHandler.getInstance().getClassPathElementsForTargetProject()));
+		Properties.getTargetClassAndDontInitialise();
+
+		// generating the inputs of the benchmarks must not depend on what the
+		// analysis consumed from the random number generator
+		Randomness.setSeed(SEED);
+	}
+
+	/**
+	 * Creates a random test of the sample class under test, the same way
+	 * the random chromosome factories do
+	 *
+	 * @param length
+	 * @return
+	 */
+	public static TestCase randomTest(int length) {
+		boolean tracerEnabled = ExecutionTracer.isEnabled();
+		if (tracerEnabled)
+			ExecutionTracer.disable();
+
+		TestCase test = new DefaultTestCase();
+		TestFactory testFactory = TestFactory.getInstance();
+		int num = 0;
+		while (test.size() < length && num < Properties.MAX_ATTEMPTS) {
+			testFactory.insertRandomStatement(test, test.size());
+			num++;
+		}
+
+		if (tracerEnabled)
+			ExecutionTracer.enable();
+		return test;
+	}
+
+	public static TestChromosome randomTestChromosome(int length) {
+		TestChromosome chromosome = new TestChromosome();
+		chromosome.setTestCase(randomTest(length));
+		return chromosome;
+	}
+
+	public static void tearDown() {
+		TestGenerationContext.getInstance().resetContext();
+		Properties.getInstance().resetToDefaults();
+	}
+}
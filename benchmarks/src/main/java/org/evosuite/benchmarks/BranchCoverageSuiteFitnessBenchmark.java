@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the branch coverage fitness of a suite of random tests of the
+ * sample class under test. With <code>execute=false</code> the tests keep
+ * their last execution results and only the analysis of the traces is
+ * measured; with <code>execute=true</code> every test is executed again, as
+ * it is after a mutation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BranchCoverageSuiteFitnessBenchmark {
+
+	private static final int NUMBER_OF_TESTS = 10;
+
+	private static final int TEST_LENGTH = 20;
+
+	@Param({ "false", "true" })
+	public boolean execute;
+
+	private BranchCoverageSuiteFitness fitness;
+
+	private TestSuiteChromosome suite;
+
+	@Setup
+	public void setUp() throws ClassNotFoundException {
+		BenchmarkSetup.setUpTargetClass();
+
+		suite = new TestSuiteChromosome();
+		for (int i = 0; i < NUMBER_OF_TESTS; i++) {
+			suite.addTest(BenchmarkSetup.randomTest(TEST_LENGTH));
+		}
+		fitness = new BranchCoverageSuiteFitness();
+		// executes all tests once
+		fitness.getFitness(suite);
+	}
+
+	@TearDown
+	public void tearDown() {
+		BenchmarkSetup.tearDown();
+	}
+
+	@Benchmark
+	public double getFitness() {
+		if (execute) {
+			for (TestChromosome test : suite.getTestChromosomes()) {
+				test.setChanged(true);
+			}
+		}
+		return fitness.getFitness(suite);
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.execution.ExecutionTrace;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.utils.Randomness;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the branch callbacks of the instrumented code. One operation is
+ * the trace of a short method execution: the method is entered, a fixed
+ * sequence of branches is passed, and the method is left. The trace is
+ * cleared at the start of each operation, as it is before each test
+ * execution, so that it does not grow over the iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExecutionTracerBenchmark {
+
+	private static final String CLASS_NAME = BenchmarkSetup.TARGET_CLASS;
+
+	private static final String METHOD_NAME = "contains(I)Z";
+
+	private static final int NUMBER_OF_BRANCHES = 16;
+
+	private static final int BRANCHES_PER_METHOD = 64;
+
+	private static final int[] OPCODES = { Opcodes.IFEQ, Opcodes.IFNE, Opcodes.IFLT, Opcodes.IFGE,
+			Opcodes.IFGT, Opcodes.IFLE };
+
+	private int[] values;
+
+	@Setup
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		Randomness.setSeed(BenchmarkSetup.SEED);
+		values = new int[BRANCHES_PER_METHOD];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = Randomness.nextInt(-100, 100);
+		}
+		ExecutionTracer.setCheckCallerThread(false);
+		ExecutionTracer.enable();
+	}
+
+	@TearDown
+	public void tearDown() {
+		ExecutionTracer.getExecutionTracer().clear();
+		ExecutionTracer.setCheckCallerThread(true);
+		Properties.getInstance().resetToDefaults();
+	}
+
+	@Benchmark
+	public ExecutionTrace passedBranch() {
+		ExecutionTracer tracer = ExecutionTracer.getExecutionTracer();
+		tracer.clear();
+		ExecutionTracer.enteredMethod(CLASS_NAME, METHOD_NAME, null);
+		for (int i = 0; i < BRANCHES_PER_METHOD; i++) {
+			int branch = 1 + i % NUMBER_OF_BRANCHES;
+			ExecutionTracer.passedBranch(values[i], OPCODES[i % OPCODES.length], branch, i);
+		}
+		ExecutionTracer.leftMethod(CLASS_NAME, METHOD_NAME);
+		return tracer.getTrace();
+	}
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.coverage.branch.BranchCoverageFactory;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.metaheuristics.mosa.RankBasedPreferenceSorting;
+import org.evosuite.testcase.TestChromosome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the MOSA ranking of a population of random tests with respect to
+ * the branch goals of the sample class under test. The tests are executed
+ * and their fitness values computed once during the set up, so only the
+ * sorting is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RankBasedPreferenceSortingBenchmark {
+
+	private static final int TEST_LENGTH = 20;
+
+	@Param({ "50", "100" })
+	public int populationSize;
+
+	private List<TestChromosome> population;
+
+	private Set<FitnessFunction<TestChromosome>> goals;
+
+	@Setup
+	public void setUp() throws ClassNotFoundException {
+		BenchmarkSetup.setUpTargetClass();
+
+		goals = new LinkedHashSet<FitnessFunction<TestChromosome>>();
+		goals.addAll(new BranchCoverageFactory().getCoverageGoals());
+
+		population = new ArrayList<TestChromosome>();
+		for (int i = 0; i < populationSize; i++) {
+			TestChromosome test = BenchmarkSetup.randomTestChromosome(TEST_LENGTH);
+			for (FitnessFunction<TestChromosome> goal : goals) {
+				// executes the test once, and stores the fitness value in it
+				goal.getFitness(test);
+			}
+			population.add(test);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		BenchmarkSetup.tearDown();
+	}
+
+	@Benchmark
+	public RankBasedPreferenceSorting<TestChromosome> computeRanking() {
+		return new RankBasedPreferenceSorting<TestChromosome>(population, goals);
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of cloning a test, which the search does for every offspring, and of
+ * cloning a test chromosome, which in addition copies the fitness values and
+ * the last execution result. With <code>copyOnWrite=true</code> cloning a
+ * chromosome shares the test case instead of copying it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TestCaseCloneBenchmark {
+
+	@Param({ "10", "50" })
+	public int length;
+
+	@Param({ "false", "true" })
+	public boolean copyOnWrite;
+
+	private TestCase test;
+
+	private TestChromosome chromosome;
+
+	@Setup
+	public void setUp() throws ClassNotFoundException {
+		BenchmarkSetup.setUpTargetClass();
+		Properties.COPY_ON_WRITE_TESTS = copyOnWrite;
+		chromosome = BenchmarkSetup.randomTestChromosome(length);
+		test = chromosome.getTestCase();
+	}
+
+	@TearDown
+	public void tearDown() {
+		BenchmarkSetup.tearDown();
+	}
+
+	@Benchmark
+	public TestCase cloneTestCase() {
+		return test.clone();
+	}
+
+	@Benchmark
+	public Chromosome cloneTestChromosome() {
+		return chromosome.clone();
+	}
+}
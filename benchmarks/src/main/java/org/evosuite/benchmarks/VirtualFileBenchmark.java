@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.runtime.mock.MockFramework;
+import org.evosuite.runtime.mock.java.io.MockFile;
+import org.evosuite.runtime.mock.java.io.MockFileInputStream;
+import org.evosuite.runtime.mock.java.io.MockFileOutputStream;
+import org.evosuite.runtime.vfs.VFile;
+import org.evosuite.runtime.vfs.VirtualFileSystem;
+import org.evosuite.utils.Randomness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of writing and reading a whole file of the virtual file system, in
+ * chunks of {@link #CHUNK_SIZE} bytes as a buffered stream would do. The
+ * <code>VFile</code> benchmarks use the array based storage, the
+ * <code>ByteList</code> ones the previous <code>List&lt;Byte&gt;</code>
+ * storage (read one byte at a time, as the mocked streams did), and the
+ * <code>Mock</code> ones go through the mocked file streams.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualFileBenchmark {
+
+	private static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * Storage of VFile before it was backed by an array
+	 */
+	public static class ByteListFile {
+
+		private final List<Byte> data = new ArrayList<Byte>(1024);
+
+		public synchronized int getDataSize() {
+			return data.size();
+		}
+
+		public synchronized int read(int position) {
+			if (position >= data.size()) {
+				return -1;
+			}
+			return data.get(position) & 0xFF;
+		}
+
+		public synchronized int writeBytes(byte b[], int off, int len) {
+			int position = data.size();
+			int written = 0;
+			for (int i = off; i < b.length & (i - off) < len; i++) {
+				if (position < data.size()) {
+					data.set(position, (b[i]));
+				} else {
+					data.add(b[i]);
+				}
+				position++;
+				written++;
+			}
+			return written;
+		}
+	}
+
+	@Param({ "1024", "1048576" })
+	public int fileSize;
+
+	private byte[] content;
+
+	private byte[] buffer;
+
+	private VFile vFile;
+
+	private ByteListFile byteListFile;
+
+	private File mockFile;
+
+	@Setup
+	public void setUp() throws IOException {
+		Randomness.setSeed(BenchmarkSetup.SEED);
+		content = new byte[fileSize];
+		for (int i = 0; i < fileSize; i++) {
+			content[i] = (byte) Randomness.nextInt(256);
+		}
+		buffer = new byte[CHUNK_SIZE];
+
+		vFile = writeVFile();
+		byteListFile = writeByteList();
+
+		MockFramework.enable();
+		VirtualFileSystem.getInstance().resetSingleton();
+		VirtualFileSystem.getInstance().init();
+		mockFile = MockFile.createTempFile("benchmark", ".tmp");
+		writeMockFileOutputStream();
+	}
+
+	@TearDown
+	public void tearDown() {
+		VirtualFileSystem.getInstance().resetSingleton();
+	}
+
+	@Benchmark
+	public VFile writeVFile() {
+		VFile file = new VFile("benchmark", null);
+		for (int off = 0; off < content.length; off += CHUNK_SIZE) {
+			file.writeBytes(content, off, Math.min(CHUNK_SIZE, content.length - off));
+		}
+		return file;
+	}
+
+	@Benchmark
+	public ByteListFile writeByteList() {
+		ByteListFile file = new ByteListFile();
+		for (int off = 0; off < content.length; off += CHUNK_SIZE) {
+			file.writeBytes(content, off, Math.min(CHUNK_SIZE, content.length - off));
+		}
+		return file;
+	}
+
+	@Benchmark
+	public int readVFile() {
+		int checksum = 0;
+		int position = 0;
+		int n;
+		while ((n = vFile.read(position, buffer, 0, buffer.length)) > 0) {
+			position += n;
+			checksum += buffer[n - 1];
+		}
+		return checksum;
+	}
+
+	@Benchmark
+	public int readByteList() {
+		int checksum = 0;
+		int position = 0;
+		while (true) {
+			int n = 0;
+			int b;
+			while (n < buffer.length && (b = byteListFile.read(position)) >= 0) {
+				buffer[n++] = (byte) b;
+				position++;
+			}
+			if (n == 0) {
+				return checksum;
+			}
+			checksum += buffer[n - 1];
+		}
+	}
+
+	@Benchmark
+	public File writeMockFileOutputStream() throws IOException {
+		MockFileOutputStream out = new MockFileOutputStream(mockFile);
+		for (int off = 0; off < content.length; off += CHUNK_SIZE) {
+			out.write(content, off, Math.min(CHUNK_SIZE, content.length - off));
+		}
+		out.close();
+		return mockFile;
+	}
+
+	@Benchmark
+	public int readMockFileInputStream() throws IOException {
+		MockFileInputStream in = new MockFileInputStream(mockFile);
+		int checksum = 0;
+		int n;
+		while ((n = in.read(buffer)) > 0) {
+			checksum += buffer[n - 1];
+		}
+		in.close();
+		return checksum;
+	}
+}
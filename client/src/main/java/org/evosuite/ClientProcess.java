@@ -25,6 +25,7 @@ package org.evosuite;
 import org.dom4j.DocumentFactory;
 import org.dom4j.dom.DOMDocumentFactory;
 import org.evosuite.classpath.ClassPathHacker;
+import org.evosuite.coverage.exception.ExceptionCoverageFactory;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.result.TestGenerationResultBuilder;
@@ -36,6 +37,7 @@ import org.evosuite.runtime.instrumentation.MethodCallReplacementCache;
 import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.runtime.sandbox.MSecurityManager;
 import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.SpawnProcessKeepAliveChecker;
@@ -129,6 +131,30 @@ public class ClientProcess {
 		//AgentLoader.loadAgent();
 	}
 
+	/**
+	 * Reset all the per-class state, so that this process can be re-used
+	 * to generate tests for another class
+	 * 
+	 * @param targetClass the new class under test
+	 */
+	public static void resetForNewTargetClass(String targetClass) {
+		/*
+		 * properties are re-loaded the same way as at startup, ie, from
+		 * the properties file and the -D options of this JVM. This undoes
+		 * any change done during the previous search
+		 */
+		System.setProperty("TARGET_CLASS", targetClass);
+		Properties.getInstance().resetToDefaults();
+		Properties.getInstance().loadProperties(true);
+		setupRuntimeProperties();
+
+		TestGenerationContext.getInstance().resetContext();
+		ClassReInitializer.resetSingleton();
+		TestGenerationResultBuilder.resetSingleton();
+		ExceptionCoverageFactory.getGoals().clear();
+		TimeController.resetSingleton();
+	}
+
 	private static void setupRuntimeProperties(){
 		RuntimeSettings.useVFS = Properties.VIRTUAL_FS;
 		RuntimeSettings.mockJVMNonDeterminism = Properties.REPLACE_CALLS;
@@ -203,6 +203,9 @@ public class Properties {
 	@Parameter(key = "max_generic_depth", group = "Test Creation", description = "Maximum level of nesting for generic types")
 	public static int MAX_GENERIC_DEPTH = 3;
 
+	@Parameter(key = "generic_type_cache_size", group = "Test Creation", description = "Maximum number of memoized results of generic type resolution (e.g. assignability); 0 to disable")
+	public static int GENERIC_TYPE_CACHE_SIZE = 100000;
+
 	/** Constant <code>STRING_LENGTH=20</code> */
 	@Parameter(key = "string_length", group = "Test Creation", description = "Maximum length of randomly generated strings")
 	public static int STRING_LENGTH = 20;
@@ -413,6 +416,15 @@ public class Properties {
 	@Parameter(key = "dse_solver", group = "DSE", description = "Specify which constraint solver to use. Note: external solver will need to be installed and cofigured separately")
 	public static SolverType DSE_SOLVER = SolverType.EVOSUITE_SOLVER;
 
+	@Parameter(key = "dse_solver_cache_size", group = "DSE", description = "Maximum number of solver results kept in the cache (least recently used are evicted first); 0 or less means unbounded")
+	public static int DSE_SOLVER_CACHE_SIZE = 100000;
+
+	@Parameter(key = "dse_solver_cache_file", group = "DSE", description = "File from which solver results are loaded and to which they are stored at the end of the search, to reuse them across classes and runs. Disabled if empty")
+	public static String DSE_SOLVER_CACHE_FILE = "";
+
+	@Parameter(key = "dse_persistent_solver", group = "DSE", description = "Keep the Z3/CVC4 process alive between queries and send them incrementally with push/pop, reusing the frames of common path condition prefixes")
+	public static boolean DSE_PERSISTENT_SOLVER = false;
+
 	@Parameter(key = "z3_path", group = "DSE", description = "Indicates the path to the Z3 solver")
 	public static String Z3_PATH = null;
 
@@ -772,12 +784,21 @@ public class Properties {
 	@Parameter(key = "ctg_seeds_dir_name", group = "Continuous Test Generation", description = "Name of seed folder where the serialized tests are stored")
 	public static String CTG_SEEDS_DIR_NAME = "seeds";
 
+	@Parameter(key = "ctg_classpath_index_dir_name", group = "Continuous Test Generation", description = "Name of the folder where the analyses of the jars on the classpath are kept between CTG executions")
+	public static String CTG_CLASSPATH_INDEX_DIR_NAME = "classpath_index";
+
 	@Parameter(key = "ctg_seeds_ext", group = "Continuous Test Generation", description = "File extension for serialized test files")
 	public static String CTG_SEEDS_EXT = "seed";
 
 	@Parameter(key = "ctg_project_info", group = "Continuous Test Generation", description = "XML file which stores stats about all CTG executions")
 	public static String CTG_PROJECT_INFO = "project_info.xml";
 
+	@Parameter(key = "ctg_project_store", group = "Continuous Test Generation", description = "Append-only file which stores stats about all CTG executions. If it does not exist yet, it is initialized from ctg_project_info")
+	public static String CTG_PROJECT_STORE = "project_info.log";
+
+	@Parameter(key = "ctg_export_project_info", group = "Continuous Test Generation", description = "After each CTG run, also export the stats of the latest generations of each CUT to the ctg_project_info XML file, e.g., for the Jenkins plugin. The whole history is only exported on demand with '-continuous export_info'")
+	public static boolean CTG_EXPORT_PROJECT_INFO = true;
+
 	@Parameter(key = "ctg_history_file", group = "Continuous Test Generation", description = "File with the list of new(A)/modified(M)/deleted(D) files")
 	public static String CTG_HISTORY_FILE = null;
 
@@ -808,6 +829,9 @@ public class Properties {
 	@Parameter(key = "ctg_schedule", group = "Continuous Test Generation", description = "Schedule used to run jobs")
 	public static AvailableSchedule CTG_SCHEDULE = AvailableSchedule.BUDGET;
 
+	@Parameter(key = "ctg_dynamic_scheduling", group = "Continuous Test Generation", description = "Re-balance time and memory of the jobs while they are executed, based on the budget that is actually left")
+	public static boolean CTG_DYNAMIC_SCHEDULING = true;
+
 
 	@Parameter(key = "ctg_extra_args", group = "Continuous Test Generation", description = "Extra '-D' arguments to pass to EvoSuite test generation processes")
 	public static String CTG_EXTRA_ARGS = null;
@@ -1084,6 +1108,9 @@ public class Properties {
 	@Parameter(key = "new_statistics", group = "Output", description = "Use the new statistics backend on the master")
 	public static boolean NEW_STATISTICS = true;
 	
+	@Parameter(key = "compact_statistics", group = "Output", description = "During the search, send only the numeric values of the best individuals to the master, batched and delta encoded, instead of the individuals themselves")
+	public static boolean COMPACT_STATISTICS = true;
+
 	@Parameter(key = "ignore_missing_statistics", group = "Output", description = "Return an empty string for missing output variables")
 	public static boolean IGNORE_MISSING_STATISTICS = false;
 
@@ -1178,6 +1205,9 @@ public class Properties {
 	@Parameter(key = "inheritance_file", description = "Cached version of inheritance tree")
 	public static String INHERITANCE_FILE = "";
 
+	@Parameter(key = "classpath_index_dir", description = "Folder in which to store the analysis of each jar on the classpath, to reuse it in later runs. If empty, the jars are analyzed at each run")
+	public static String CLASSPATH_INDEX_DIR = "";
+
 	/** Constant <code>BRANCH_EVAL=false</code> */
 	@Parameter(key = "branch_eval", description = "Jeremy's branch evaluation")
 	public static boolean BRANCH_EVAL = false;
@@ -1247,6 +1277,15 @@ public class Properties {
 	@Parameter(key = "test_archive", description = "Use an archive of covered goals during test generation")
 	public static boolean TEST_ARCHIVE = true;
 
+	@Parameter(key = "incremental_suite_fitness", description = "Cache what each test execution contributes to branch, line and weak mutation suite fitness, so that only changed tests are analyzed when a suite is evaluated")
+	public static boolean INCREMENTAL_SUITE_FITNESS = false;
+
+	@Parameter(key = "incremental_suite_fitness_cache_size", description = "Maximum number of test executions whose fitness contribution is cached per fitness function")
+	public static int INCREMENTAL_SUITE_FITNESS_CACHE_SIZE = 10000;
+
+	@Parameter(key = "copy_on_write_tests", description = "Share the test case of a cloned test chromosome with the original until one of them is modified")
+	public static boolean COPY_ON_WRITE_TESTS = false;
+
 	/** Constant <code>TEST_FACTORY</code> */
 	@Parameter(key = "test_factory", description = "Which factory creates tests")
 	public static TestFactory TEST_FACTORY = TestFactory.ARCHIVE;
@@ -1388,6 +1427,12 @@ public class Properties {
     @Parameter(key = "max_loop_iterations", group = "Test Execution", description = "Max number of iterations allowed per loop. A negative value means no check is done.")
     public static long MAX_LOOP_ITERATIONS = RuntimeSettings.maxNumberOfIterationsPerLoop;
 
+	@Parameter(key = "reuse_execution_thread", group = "Test Execution", description = "Keep the test execution thread when the executor is re-initialized (eg on context resets), and replace it when a test leaves SUT threads behind")
+	public static boolean REUSE_EXECUTION_THREAD = false;
+
+	@Parameter(key = "array_execution_trace", group = "Test Execution", description = "Keep branch distances and execution counts of the execution trace in primitive arrays indexed by branch id")
+	public static boolean ARRAY_EXECUTION_TRACE = false;
+
     // ---------------------------------------------------------------
 	// Debugging
 
@@ -1622,6 +1667,13 @@ public class Properties {
 	@Parameter(key = "client_on_thread", group = "Runtime", description = "Run client process on same JVM of master in separate thread. To be used only for debugging purposes")
 	public static volatile boolean CLIENT_ON_THREAD = false;
 
+	@Parameter(key = "max_classes_per_client", group = "Runtime", description = "When testing several classes, for how many of them a client process is re-used before a new one is started. 1 means a new client process for each class")
+	public static int MAX_CLASSES_PER_CLIENT = 1;
+
+	@Parameter(key = "client_recycle_heap_ratio", group = "Runtime", description = "A re-used client process is replaced if, after a class, its used heap is above this ratio of its maximum heap")
+	@DoubleValue(min = 0.0, max = 1.0)
+	public static double CLIENT_RECYCLE_HEAP_RATIO = 0.75;
+
 
 	@Parameter(key = "is_running_a_system_test", group = "Runtime", description = "Specify that a system test is running. To be used only for debugging purposes")
 	public static volatile boolean IS_RUNNING_A_SYSTEM_TEST = false;
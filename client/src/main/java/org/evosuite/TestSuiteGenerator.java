@@ -58,6 +58,7 @@ import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.StatisticsSender;
 import org.evosuite.strategy.*;
 import org.evosuite.symbolic.DSEStats;
+import org.evosuite.symbolic.solver.SolverCache;
 import org.evosuite.symbolic.DSEStrategy;
 import org.evosuite.testcase.ConstantInliner;
 import org.evosuite.testcase.DefaultTestCase;
@@ -470,6 +471,8 @@ public class TestSuiteGenerator {
 
 		DSEStats.getInstance().trackSolverStatistics();
 
+		SolverCache.getInstance().saveToDisk();
+
 		if (Properties.DSE_PROBABILITY > 0.0 && Properties.LOCAL_SEARCH_RATE > 0
 				&& Properties.LOCAL_SEARCH_PROBABILITY > 0.0) {
 			DSEStats.getInstance().logStatistics();
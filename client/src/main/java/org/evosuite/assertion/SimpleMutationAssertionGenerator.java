@@ -142,7 +142,6 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 		int numExecutedMutants = 0;
 		for (Mutation m : executedMutants) {
 
-			numExecutedMutants++;
 			if (! TimeController.getInstance().isThereStillTimeInThisPhase()) {
 				logger.info("Reached maximum time to generate assertions!");
 				break;
@@ -167,6 +166,17 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 					continue;
 				}
 			}
+			if (!isInfected(origResult, m)) {
+				/*
+				 * The mutated code always computes the same values as the
+				 * original code on this test, so the test behaves the same
+				 * on the mutant and there is no need to run it
+				 */
+				logger.debug("Skipping mutant that does not infect the state");
+				continue;
+			}
+
+			numExecutedMutants++;
 			if (Properties.MAX_MUTANTS_PER_TEST > 0
 			        && numExecutedMutants > Properties.MAX_MUTANTS_PER_TEST)
 				break;
@@ -419,6 +429,22 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 
 	}
 	
+	/**
+	 * A mutant can only change the behavior of a test if the mutated code
+	 * computes a different value than the original code at least once,
+	 * which is the case if its infection distance on the original
+	 * execution is 0
+	 * 
+	 * @param origResult
+	 *            the execution of the test on the original unit
+	 * @param mutant
+	 *            a mutant touched by the test
+	 * @return
+	 */
+	private static boolean isInfected(ExecutionResult origResult, Mutation mutant) {
+		return origResult.getTrace().getMutationDistance(mutant.getId()) <= 0.0;
+	}
+
 	/**
 	 * Return a minimal subset of the assertions that covers all killable
 	 * mutants
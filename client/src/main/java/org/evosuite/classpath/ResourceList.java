@@ -24,6 +24,8 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -34,6 +36,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -52,6 +55,12 @@ import org.slf4j.LoggerFactory;
  * Utilities to list class resources (ie .class files) available from the classpath 
  * </p>
  * 
+ * <p>
+ * The content of the classpath entries is listed in parallel, but merged in
+ * the order of the classpath, so that the first occurrence of a class is
+ * the one that is kept
+ * </p>
+ * 
  * 
  * @author Gordon Fraser
  */
@@ -123,16 +132,40 @@ public class ResourceList {
 
 		public void close(){
 			for(JarFile jar : openedJars.values()){
-				try {
-					jar.close();
-				} catch (IOException e) {
-					logger.error("Cannot close jar file " + jar.getName() + ". " + e.toString());
-				}
+				closeJar(jar);
 			}
 		}
 	}
 	
 
+	/**
+	 * The classes found in a classpath entry, before they are merged into the cache
+	 */
+	private static class EntryContent {
+
+		private final String classPathElement;
+
+		/** null if the entry is not a jar file, or if it could not be opened */
+		private JarFile jar;
+
+		private final List<String> classNames = new ArrayList<>();
+
+		/** Package prefix of each of the class names */
+		private final List<String> prefixes = new ArrayList<>();
+
+		/** If not null, the entry is not valid, and this has to be thrown when merging it */
+		private IllegalArgumentException error;
+
+		public EntryContent(String classPathElement) {
+			this.classPathElement = classPathElement;
+		}
+
+		public void add(String className, String prefix) {
+			classNames.add(className);
+			prefixes.add(prefix);
+		}
+	}
+
 	/**
 	 * Current cache. Do not access directly, but rather use getCache(), as it can be null
 	 */
@@ -303,6 +336,8 @@ public class ResourceList {
 	public Set<String> getAllClasses(String classPathEntry, String prefix, boolean includeInternalClasses, boolean excludeAnonymous){
 
 		if(classPathEntry.contains(File.pathSeparator)){
+			addEntries(Arrays.asList(classPathEntry.split(File.pathSeparator)));
+
 			Set<String> retval = new LinkedHashSet<String>();
 			for(String element : classPathEntry.split(File.pathSeparator)){
 				retval.addAll(getAllClasses(element,prefix,includeInternalClasses,excludeAnonymous));
@@ -499,40 +534,134 @@ public class ResourceList {
 				classLoader==TestGenerationContext.getInstance().getRegressionClassLoaderForSUT())
 			 cp = org.evosuite.Properties.REGRESSIONCP;
 
-		for(String entry : cp.split(File.pathSeparator)){
-			addEntry(entry);
-		}		
+		addEntries(Arrays.asList(cp.split(File.pathSeparator)));
 	}
 
 	private void addEntry(String classPathElement) throws IllegalArgumentException{
-		final File file = new File(classPathElement);
+		addEntries(Collections.singletonList(classPathElement));
+	}
 
-		classPathElement = file.getAbsolutePath();
+	/**
+	 * Analyze the given classpath entries that are not in the cache yet
+	 * 
+	 * @param classPathElements
+	 * @throws IllegalArgumentException if any of the entries does not exist or is not valid
+	 */
+	private void addEntries(List<String> classPathElements) throws IllegalArgumentException{
+		List<String> newElements = classPathElements.stream()
+				.map(element -> new File(element).getAbsolutePath())
+				.distinct()
+				.filter(element -> !getCache().mapCPtoClasses.containsKey(element))
+				.collect(Collectors.toList());
+
+		/*
+		 * Listing an entry does not depend on the others, and for large projects
+		 * (with hundreds of jars) it is where most of the time is spent. The
+		 * merging has to follow the classpath order though.
+		 */
+		List<EntryContent> contents;
+		if(newElements.size() > 1) {
+			contents = newElements.parallelStream().map(ResourceList::listEntry).collect(Collectors.toList());
+		} else {
+			contents = newElements.stream().map(ResourceList::listEntry).collect(Collectors.toList());
+		}
 
-		if(getCache().mapCPtoClasses.containsKey(classPathElement)){
-			return; //this classpath entry has already been analyzed
+		int merged = 0;
+		try {
+			for(EntryContent content : contents){
+				mergeEntry(content);
+				merged++;
+			}
+		} finally {
+			/*
+			 * if an entry is not valid, the jars of the following entries
+			 * were opened already, but they are not in the cache
+			 */
+			for(EntryContent content : contents.subList(merged, contents.size())){
+				if(content.jar != null && getCache().openedJars.get(content.classPathElement) != content.jar){
+					closeJar(content.jar);
+				}
+			}
 		}
+	}
 
-		getCache().mapCPtoClasses.put(classPathElement, new LinkedHashSet<String>());
+	private static void closeJar(JarFile jar) {
+		try {
+			jar.close();
+		} catch (IOException e) {
+			logger.error("Cannot close jar file " + jar.getName() + ". " + e.toString());
+		}
+	}
 
+	/**
+	 * List the classes in the given classpath entry, without accessing the cache
+	 * 
+	 * @param classPathElement  an absolute path
+	 * @return
+	 */
+	private static EntryContent listEntry(String classPathElement) {
+		EntryContent content = new EntryContent(classPathElement);
+		final File file = new File(classPathElement);
 
 		if (!file.exists()) {
-			throw new IllegalArgumentException("The class path resource "
+			content.error = new IllegalArgumentException("The class path resource "
 					+ file.getAbsolutePath() + " does not exist");
-		}
-
-		if (file.isDirectory()) {
-			scanDirectory(file,classPathElement);
+		} else if (file.isDirectory()) {
+			scanDirectory(file, classPathElement, content);
 		} else if (file.getName().endsWith(".jar")) {
-			scanJar(classPathElement);
+			scanJar(classPathElement, content);
 		} else {
-			throw new IllegalArgumentException("The class path resource "
+			content.error = new IllegalArgumentException("The class path resource "
 					+ file.getAbsolutePath() + " is not valid");
-		}		
+		}
+		return content;
+	}
+
+	private void mergeEntry(EntryContent content) throws IllegalArgumentException{
+		String classPathElement = content.classPathElement;
+		if(getCache().mapCPtoClasses.containsKey(classPathElement)){
+			if(content.jar != null && getCache().openedJars.get(classPathElement) != content.jar){
+				closeJar(content.jar);
+			}
+			return; //this classpath entry has already been analyzed
+		}
+
+		getCache().mapCPtoClasses.put(classPathElement, new LinkedHashSet<String>());
+		if(content.jar != null){
+			getCache().openedJars.put(classPathElement, content.jar);
+		}
+
+		if(content.error != null){
+			throw content.error;
+		}
+
+		for(int i = 0; i < content.classNames.size(); i++){
+			String className = content.classNames.get(i);
+
+			// The same class may exist in different classpath entries
+			// and only the first one is kept
+			if(getCache().mapClassToCP.containsKey(className))
+				continue;
+
+			// If there is an outer class, then we also have a classpath
+			// problem and should ignore this
+			if(className.contains("$")) {
+				String outerClass = className.substring(0, className.indexOf('$'));
+				if(getCache().mapClassToCP.containsKey(outerClass)) {
+					if(!getCache().mapClassToCP.get(outerClass).equals(classPathElement)) {
+						continue;
+					}
+				}
+			}
+
+			getCache().mapClassToCP.put(className, classPathElement);
+			getCache().mapCPtoClasses.get(classPathElement).add(className);
+			getCache().addPrefix(content.prefixes.get(i), classPathElement);
+		}
 	}
 
-	private void scanDirectory(final File directory,
-			final String classPathFolder) {
+	private static void scanDirectory(final File directory,
+			final String classPathFolder, EntryContent content) {
 
 		if (!directory.exists()) {
 			return;
@@ -554,40 +683,31 @@ public class ResourceList {
 				/*
 				 * recursion till we get to a file that is not a folder.
 				 */
-				scanDirectory(file, classPathFolder);
+				scanDirectory(file, classPathFolder, content);
 			} else {
 				if(! file.getName().endsWith(".class")){
 					continue; // we are only interested in class files
 				}
 				String relativeFilePath = file.getAbsolutePath().replace(classPathFolder + File.separator,"");
 				String className = getClassNameFromResourcePath(relativeFilePath);
-
-				// The same class may exist in different classpath entries
-				// and only the first one is kept
-				if(getCache().mapClassToCP.containsKey(className))
-					continue;
-				
-				// If there is an outer class, then we also have a classpath
-				// problem and should ignore this
-				if(className.contains("$")) {
-					String outerClass = className.substring(0, className.indexOf('$'));
-					if(getCache().mapClassToCP.containsKey(outerClass)) {
-						if(!getCache().mapClassToCP.get(outerClass).equals(classPathFolder)) {
-							continue;
-						}
-					}
-				}
-
-
-				getCache().mapClassToCP.put(className, classPathFolder);
-				getCache().mapCPtoClasses.get(classPathFolder).add(className);
-				getCache().addPrefix(prefix, classPathFolder);
+				content.add(className, prefix);
 			}
 		}
 	}
 
-	private void scanJar(String jarEntry) {
-		JarFile zf = getCache().getJar(jarEntry);
+	/**
+	 * The entries are read from the central directory of the jar, without
+	 * inflating any of them
+	 */
+	private static void scanJar(String jarEntry, EntryContent content) {
+		JarFile zf;
+		try {
+			zf = new JarFile(jarEntry);
+		} catch (IOException e) {
+			logger.error("Error while reading jar file "+jarEntry+": "+e.getMessage(),e);
+			return;
+		}
+		content.jar = zf;
 
 		Enumeration<?> e = zf.entries();
 		while (e.hasMoreElements()) {
@@ -599,25 +719,8 @@ public class ResourceList {
 			}
 
 			String className = getClassNameFromResourcePath(entryName);
-			
-			// The same class may exist in different classpath entries
-			// and only the first one is kept
-			if(getCache().mapClassToCP.containsKey(className))
-				continue;
-			
-			if(className.contains("$")) {
-				String outerClass = className.substring(0, className.indexOf('$'));
-				if(getCache().mapClassToCP.containsKey(outerClass)) {
-					if(!getCache().mapClassToCP.get(outerClass).equals(jarEntry)) {
-						continue;
-					}
-				}
-			}
-			
-			getCache().mapClassToCP.put(className, jarEntry);//getPackageName
-			getCache().mapCPtoClasses.get(jarEntry).add(className);
-			getCache().addPrefix(getParentPackageName(className), jarEntry);
+			content.add(className, getParentPackageName(className));
 		}
 	}
 
-}
\ No newline at end of file
+}
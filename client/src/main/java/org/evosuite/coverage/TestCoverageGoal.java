@@ -106,7 +106,7 @@ public abstract class TestCoverageGoal {
 			return test.getLastExecutionResult();
 
 		try {
-			ExecutionResult result = TestCaseExecutor.getInstance().execute(test.getTestCase());
+			ExecutionResult result = TestCaseExecutor.getInstance().execute(test.getTestCaseForReading());
 			return result;
 		} catch (Exception e) {
 			logger.error("TG: Exception caught: ", e);
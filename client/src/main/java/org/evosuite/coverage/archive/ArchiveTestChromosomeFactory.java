@@ -20,7 +20,10 @@
 package org.evosuite.coverage.archive;
 
 import org.evosuite.Properties;
+import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.ChromosomeFactory;
+import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.ga.metaheuristics.SearchListener;
 import org.evosuite.testcase.ConstraintVerifier;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.factories.RandomLengthTestFactory;
@@ -29,9 +32,10 @@ import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.io.File;
+import java.io.IOException;
 
-public class ArchiveTestChromosomeFactory implements ChromosomeFactory<TestChromosome> {
+public class ArchiveTestChromosomeFactory implements ChromosomeFactory<TestChromosome>, SearchListener {
 
 	private static final long serialVersionUID = -8499807341782893732L;
 
@@ -40,21 +44,32 @@ public class ArchiveTestChromosomeFactory implements ChromosomeFactory<TestChrom
 	private ChromosomeFactory<TestChromosome> defaultFactory = new RandomLengthTestFactory();
 
 	/**
-		Serialized tests read from disk, eg from previous runs in CTG
+		Serialized tests read from disk, eg from previous runs in CTG.
+		They are read one at a time, when needed, instead of keeping all of them in memory
 	 */
-	private List<TestChromosome> seededTests;
+	private transient TestSuiteSerialization.TestReader seededTests;
 
 	public ArchiveTestChromosomeFactory(){
 		if(Properties.CTG_SEEDS_FILE_IN != null){
 			//This does happen in CTG
-			seededTests = TestSuiteSerialization.loadTests(Properties.CTG_SEEDS_FILE_IN);
+			File seeds = new File(Properties.CTG_SEEDS_FILE_IN);
+			if(seeds.exists()) {
+				try {
+					seededTests = TestSuiteSerialization.openTests(seeds);
+				} catch (IOException e) {
+					logger.error("Failed to open " + seeds.getAbsolutePath() + " for reading: " + e.getMessage());
+				}
+			} else {
+				logger.warn("Cannot load tests because file does not exist: " + seeds.getAbsolutePath());
+			}
 		}
 	}
 
 	@Override
 	public TestChromosome getChromosome() {
 
-		if(seededTests!=null && !seededTests.isEmpty()){
+		TestChromosome seeded = nextSeededTest();
+		if(seeded != null){
 			/*
 				Ideally, we should populate the archive directly when EvoSuite starts.
 				But might be bit tricky based on current archive implementation (which needs executed tests).
@@ -62,9 +77,8 @@ public class ArchiveTestChromosomeFactory implements ChromosomeFactory<TestChrom
 				However, this is done just once per test, as anyway those will end up
 				in archive.
 			 */
-			TestChromosome test = seededTests.remove(seededTests.size()-1); //pull out one element, 'last' just for efficiency
-			test.getTestCase().removeAssertions(); // no assertions are used during search
-			return test;
+			seeded.getTestCase().removeAssertions(); // no assertions are used during search
+			return seeded;
 		}
 
 		TestChromosome test = null;
@@ -84,9 +98,57 @@ public class ArchiveTestChromosomeFactory implements ChromosomeFactory<TestChrom
 
 		//be sure that the factory returned a valid test
 		assert ConstraintVerifier.verifyTest(test);
-		assert ! ConstraintVerifier.hasAnyOnlyForAssertionMethod(test.getTestCase());
+		assert ! ConstraintVerifier.hasAnyOnlyForAssertionMethod(test.getTestCaseForReading());
 
 		return test;
 	}
 
+	private TestChromosome nextSeededTest() {
+		if(seededTests == null){
+			return null;
+		}
+		TestChromosome test = seededTests.next();
+		if(test == null){
+			closeSeededTests();
+		}
+		return test;
+	}
+
+	/**
+	 * Release the file of seeded tests, if still open.
+	 * The search might end before all the seeds have been used
+	 */
+	public void closeSeededTests() {
+		if(seededTests == null){
+			return;
+		}
+		try {
+			seededTests.close();
+		} catch (IOException e) {
+			logger.warn("Failed to close seeded tests: " + e.getMessage());
+		}
+		seededTests = null;
+	}
+
+	@Override
+	public void searchStarted(GeneticAlgorithm<?> algorithm) {
+	}
+
+	@Override
+	public void iteration(GeneticAlgorithm<?> algorithm) {
+	}
+
+	@Override
+	public void searchFinished(GeneticAlgorithm<?> algorithm) {
+		closeSeededTests();
+	}
+
+	@Override
+	public void fitnessEvaluation(Chromosome individual) {
+	}
+
+	@Override
+	public void modification(Chromosome individual) {
+	}
+
 }
@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.archive;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.coverage.line.LineCoverageTestFitness;
+import org.evosuite.coverage.mutation.WeakMutationTestFitness;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.CoverageVector;
+import org.evosuite.testcase.execution.ExecutionResult;
+
+/**
+ * Index of coverage goals by the trace feature they require to be covered,
+ * so that for a new execution only the goals the trace can possibly cover
+ * have to be checked:
+ * <ul>
+ * <li>a (non-root) branch goal is only covered if the trace contains its
+ * branch id among the covered true/false branches,</li>
+ * <li>a line goal is only covered if its line is among the covered lines,</li>
+ * <li>a weak mutation goal is only covered if the mutant was touched.</li>
+ * </ul>
+ * All other goals are always returned as candidates.
+ */
+class CoverageGoalIndex {
+
+	/**
+	 * Goals by feature id; the ids that have goals are also kept as a bitset,
+	 * to intersect them with the coverage vector of an execution
+	 */
+	private static class FeatureIndex {
+		private final Map<Integer, Set<TestFitnessFunction>> goals = new LinkedHashMap<>();
+		private final BitSet keys = new BitSet();
+
+		void add(Integer key, TestFitnessFunction goal) {
+			Set<TestFitnessFunction> set = goals.get(key);
+			if (set == null) {
+				set = new LinkedHashSet<>();
+				goals.put(key, set);
+				keys.set(key);
+			}
+			set.add(goal);
+		}
+
+		void remove(Integer key, TestFitnessFunction goal) {
+			Set<TestFitnessFunction> set = goals.get(key);
+			if (set != null) {
+				set.remove(goal);
+				if (set.isEmpty()) {
+					goals.remove(key);
+					keys.clear(key);
+				}
+			}
+		}
+
+		void addCandidates(BitSet features, Set<TestFitnessFunction> candidates) {
+			if (!features.intersects(keys)) {
+				return;
+			}
+			BitSet hits = (BitSet) features.clone();
+			hits.and(keys);
+			for (int key = hits.nextSetBit(0); key >= 0; key = hits.nextSetBit(key + 1)) {
+				candidates.addAll(goals.get(key));
+			}
+		}
+
+		void clear() {
+			goals.clear();
+			keys.clear();
+		}
+	}
+
+	private final FeatureIndex trueBranchGoals = new FeatureIndex();
+
+	private final FeatureIndex falseBranchGoals = new FeatureIndex();
+
+	private final FeatureIndex lineGoals = new FeatureIndex();
+
+	private final FeatureIndex mutationGoals = new FeatureIndex();
+
+	private final Set<TestFitnessFunction> unindexedGoals = new LinkedHashSet<>();
+
+	private final Map<TestFitnessFunction, FitnessFunction<?>> fitnessFunctions = new LinkedHashMap<>();
+
+	public void add(FitnessFunction<?> ff, TestFitnessFunction goal) {
+		if (fitnessFunctions.containsKey(goal)) {
+			return;
+		}
+		fitnessFunctions.put(goal, ff);
+		FeatureIndex index = getIndex(goal);
+		if (index == null) {
+			unindexedGoals.add(goal);
+		} else {
+			index.add(getKey(goal), goal);
+		}
+	}
+
+	public void remove(TestFitnessFunction goal) {
+		if (fitnessFunctions.remove(goal) == null) {
+			return;
+		}
+		FeatureIndex index = getIndex(goal);
+		if (index == null) {
+			unindexedGoals.remove(goal);
+		} else {
+			index.remove(getKey(goal), goal);
+		}
+	}
+
+	public FitnessFunction<?> getFitnessFunction(TestFitnessFunction goal) {
+		return fitnessFunctions.get(goal);
+	}
+
+	public void clear() {
+		trueBranchGoals.clear();
+		falseBranchGoals.clear();
+		lineGoals.clear();
+		mutationGoals.clear();
+		unindexedGoals.clear();
+		fitnessFunctions.clear();
+	}
+
+	/**
+	 * Returns the goals that the given execution may cover; goals not
+	 * returned are certainly not covered by it
+	 *
+	 * @param result
+	 * @return
+	 */
+	public Set<TestFitnessFunction> getCandidates(ExecutionResult result) {
+		Set<TestFitnessFunction> candidates = new LinkedHashSet<>(unindexedGoals);
+		if (fitnessFunctions.size() == unindexedGoals.size()) {
+			return candidates;
+		}
+		CoverageVector coverage = result.getCoverageVector();
+		trueBranchGoals.addCandidates(coverage.getCoveredTrueBranches(), candidates);
+		falseBranchGoals.addCandidates(coverage.getCoveredFalseBranches(), candidates);
+		lineGoals.addCandidates(coverage.getCoveredLines(), candidates);
+		mutationGoals.addCandidates(coverage.getTouchedMutants(), candidates);
+		return candidates;
+	}
+
+	/**
+	 * Only exact classes are indexed, as subclasses may define coverage
+	 * differently
+	 */
+	private FeatureIndex getIndex(TestFitnessFunction goal) {
+		if (goal.getClass() == BranchCoverageTestFitness.class) {
+			BranchCoverageTestFitness branchGoal = (BranchCoverageTestFitness) goal;
+			if (branchGoal.getBranch() == null) {
+				// root branches are covered by calling the method
+				return null;
+			}
+			return branchGoal.getValue() ? trueBranchGoals : falseBranchGoals;
+		} else if (goal.getClass() == LineCoverageTestFitness.class) {
+			return lineGoals;
+		} else if (goal.getClass() == WeakMutationTestFitness.class) {
+			return mutationGoals;
+		}
+		return null;
+	}
+
+	private static Integer getKey(TestFitnessFunction goal) {
+		if (goal instanceof BranchCoverageTestFitness) {
+			return ((BranchCoverageTestFitness) goal).getBranch().getActualBranchId();
+		} else if (goal instanceof LineCoverageTestFitness) {
+			return ((LineCoverageTestFitness) goal).getLine();
+		} else {
+			return ((WeakMutationTestFitness) goal).getMutation().getId();
+		}
+	}
+}
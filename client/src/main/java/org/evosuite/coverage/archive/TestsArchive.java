@@ -26,9 +26,11 @@ import java.util.*;
 import java.util.Map.Entry;
 
 import org.evosuite.Properties;
+import org.evosuite.rmi.ClientServices;
 import org.evosuite.ga.Archive;
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.setup.TestCluster;
+import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
@@ -86,6 +88,15 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 
 	private final Map<TestFitnessFunction, ExecutionResult> testMap;
 
+	/**
+	 * Goals by the trace features they need, to avoid checking every goal
+	 * against every new execution
+	 */
+	private final CoverageGoalIndex uncoveredGoalIndex;
+	private final CoverageGoalIndex coveredGoalIndex;
+
+	private long collateralCoverageTime = 0L;
+	private int numberOfCollateralCoverageUpdates = 0;
 
 
 	private TestsArchive() {
@@ -96,6 +107,8 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 		goalMap = new LinkedHashMap<>();
 		methodMap = new LinkedHashMap<>();
 		testMap = new LinkedHashMap<>();
+		uncoveredGoalIndex = new CoverageGoalIndex();
+		coveredGoalIndex = new CoverageGoalIndex();
 	}
 
 
@@ -109,6 +122,10 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 		testMap.clear();
 		coveredGoalsCountMap.clear();
 		coverageMap.clear();
+		uncoveredGoalIndex.clear();
+		coveredGoalIndex.clear();
+		collateralCoverageTime = 0L;
+		numberOfCollateralCoverageUpdates = 0;
 	}
 
 
@@ -126,6 +143,7 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 
 		goalMap.get(ff).add(goal);
         methodMap.get(key).add(goal);
+		uncoveredGoalIndex.add(ff, goal);
         goalsCountMap.put(ff, goalsCountMap.get(ff) + 1);
 
 		logger.debug("Registering new goal: " + goal);
@@ -195,6 +213,7 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 		}
 
 		logger.info("Final test suite size from archive: " + best.size());
+		trackUpdateTime();
 
 		return best;
 	}
@@ -253,6 +272,7 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 
 		logger.debug("Adding covered goal to archive: " + goal);
 		coveredGoals.get(ff).add(goal);
+		coveredGoalIndex.add(ff, goal);
 		updateMaps(ff, goal);
 		setCoverage(ff, goal);
 		if (isMethodFullyCovered(getGoalKey(goal))) {
@@ -262,39 +282,44 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 
 
 	private void handleCollateralCoverage(ExecutionResult copy) {
-
+		long start = System.nanoTime();
 
 		//check if this improves upon already covered targets
-		for(Entry<FitnessFunction<?>, Set<TestFitnessFunction>> entry : coveredGoals.entrySet()){
-			for(TestFitnessFunction goal : entry.getValue()){
-				if(isBetterThanCurrent(goal,copy)){
-					testMap.put(goal, copy);
-				}
+		for(TestFitnessFunction goal : coveredGoalIndex.getCandidates(copy)){
+			if(isBetterThanCurrent(goal,copy)){
+				testMap.put(goal, copy);
 			}
 		}
 
 
-		Map<FitnessFunction<?>, Set<TestFitnessFunction>> toUpdate = new LinkedHashMap<>();
+		Map<TestFitnessFunction, FitnessFunction<?>> toUpdate = new LinkedHashMap<>();
 
 		//does it cover new targets?
-		for(Entry<FitnessFunction<?>, Set<TestFitnessFunction>> entry : goalMap.entrySet()){
-			Set<TestFitnessFunction> set = new LinkedHashSet<>();
-			toUpdate.put(entry.getKey(),set);
-
-			for(TestFitnessFunction goal : entry.getValue()){
-				if(goal.isCovered(copy)){
-					set.add(goal); //keep track, as cannot modify goalMap while looping over it
-					testMap.put(goal, copy);
-				}
+		for(TestFitnessFunction goal : uncoveredGoalIndex.getCandidates(copy)){
+			if(goal.isCovered(copy)){
+				//keep track, as cannot modify goalMap while looping over it
+				toUpdate.put(goal, uncoveredGoalIndex.getFitnessFunction(goal));
+				testMap.put(goal, copy);
 			}
 		}
 
-		for(Entry<FitnessFunction<?>, Set<TestFitnessFunction>> entry : toUpdate.entrySet()) {
-			for (TestFitnessFunction goal : entry.getValue()) {
-				coveredNewGoal(entry.getKey(),goal);
-			}
+		for(Entry<TestFitnessFunction, FitnessFunction<?>> entry : toUpdate.entrySet()) {
+			coveredNewGoal(entry.getValue(), entry.getKey());
 		}
 
+		collateralCoverageTime += System.nanoTime() - start;
+		numberOfCollateralCoverageUpdates++;
+	}
+
+	private void trackUpdateTime() {
+		if (numberOfCollateralCoverageUpdates == 0) {
+			return;
+		}
+		long averageMicros = collateralCoverageTime / numberOfCollateralCoverageUpdates / 1000L;
+		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.ArchiveUpdates,
+				numberOfCollateralCoverageUpdates);
+		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Time_ArchiveUpdate,
+				averageMicros);
 	}
 
 	private boolean isBetterThanCurrent(TestFitnessFunction goal, ExecutionResult result) {
@@ -443,6 +468,7 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 		if (! goalMap.containsKey(ff))
 			return;
 		goalMap.get(ff).remove(goal);
+		uncoveredGoalIndex.remove(goal);
 		methodMap.get(key).remove(goal);
 	}
 
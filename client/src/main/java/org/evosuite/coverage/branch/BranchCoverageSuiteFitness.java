@@ -29,11 +29,13 @@ import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.testsuite.AbstractTestSuiteChromosome;
+import org.evosuite.testsuite.TestContributionCache;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.objectweb.asm.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -76,7 +78,21 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 	private final Set<String> removedRootBranches = new HashSet<>();	
 	
 	// Total coverage value, used by Regression
-	public double totalCovered = 0.0;	
+	public double totalCovered = 0.0;
+
+	/**
+	 * What a single test execution contributes to the suite fitness
+	 */
+	private static class TestContribution implements Serializable {
+		private static final long serialVersionUID = 2404218416766516375L;
+
+		private final Map<Integer, Integer> predicateCount = new HashMap<Integer, Integer>();
+		private final Map<String, Integer> callCount = new HashMap<String, Integer>();
+		private final Map<Integer, Double> trueDistance = new HashMap<Integer, Double>();
+		private final Map<Integer, Double> falseDistance = new HashMap<Integer, Double>();
+	}
+
+	private final TestContributionCache<TestContribution> contributionCache = new TestContributionCache<TestContribution>();	
 	
 	/**
 	 * <p>
@@ -212,12 +228,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 			// If a specific target method is set we need to check
 			// if this is a target branch or not
 			if (branchlessMethodCoverageMap.containsKey(entry.getKey())) {
-				result.test.addCoveredGoal(branchlessMethodCoverageMap.get(entry.getKey()));
-				if (Properties.TEST_ARCHIVE) {
-					TestsArchive.instance.putTest(this, branchlessMethodCoverageMap.get(entry.getKey()), result);
-					toRemoveRootBranches.add(entry.getKey());
-					suite.isToBeUpdated(true);
-				}
+				coveredGoal(suite, result, branchlessMethodCoverageMap.get(entry.getKey()), toRemoveRootBranches, entry.getKey());
 			}
 		}
 	}
@@ -249,12 +260,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 								entry.getValue()));
 			}
 			if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-				result.test.addCoveredGoal(branchCoverageTrueMap.get(entry.getKey()));
-				if(Properties.TEST_ARCHIVE) {
-					TestsArchive.instance.putTest(this, branchCoverageTrueMap.get(entry.getKey()), result);
-					toRemoveBranchesT.add(entry.getKey());
-					suite.isToBeUpdated(true);
-				}
+				coveredGoal(suite, result, branchCoverageTrueMap.get(entry.getKey()), toRemoveBranchesT, entry.getKey());
 			}
 		}
 
@@ -271,18 +277,64 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 								entry.getValue()));
 			}
 			if ((Double.compare(entry.getValue(), 0.0) == 0)) {
-				result.test.addCoveredGoal(branchCoverageFalseMap.get(entry.getKey()));
-				if(Properties.TEST_ARCHIVE) {
-					TestsArchive.instance.putTest(this, branchCoverageFalseMap.get(entry.getKey()), result);
-					toRemoveBranchesF.add(entry.getKey());
-					suite.isToBeUpdated(true);
-				}
+				coveredGoal(suite, result, branchCoverageFalseMap.get(entry.getKey()), toRemoveBranchesF, entry.getKey());
 			}
 		}
 
 	}
 
 
+	/**
+	 * Record that the test of the result covers the goal, and hand it over to
+	 * the archive
+	 * 
+	 * @param suite
+	 * @param result
+	 * @param goal
+	 * @param toRemove
+	 *            where the archived goal is removed from on the next update
+	 * @param key
+	 *            the key of the goal in toRemove
+	 */
+	private <K> void coveredGoal(AbstractTestSuiteChromosome<? extends ExecutableChromosome> suite, ExecutionResult result,
+	        TestFitnessFunction goal, Set<K> toRemove, K key) {
+		result.test.addCoveredGoal(goal);
+		if (Properties.TEST_ARCHIVE) {
+			TestsArchive.instance.putTest(this, goal, result);
+			toRemove.add(key);
+			suite.isToBeUpdated(true);
+		}
+	}
+
+	/**
+	 * A cached contribution holds the filtered counts and distances, so the
+	 * goals covered by the test are those the handle* methods found when the
+	 * contribution was computed. Their side effects are applied again here,
+	 * as the result might belong to a different (cloned) test.
+	 * 
+	 * @param suite
+	 * @param result
+	 * @param contribution
+	 */
+	private void replayCoveredGoals(AbstractTestSuiteChromosome<? extends ExecutableChromosome> suite,
+	        ExecutionResult result, TestContribution contribution) {
+		for (String method : contribution.callCount.keySet()) {
+			if (branchlessMethodCoverageMap.containsKey(method)) {
+				coveredGoal(suite, result, branchlessMethodCoverageMap.get(method), toRemoveRootBranches, method);
+			}
+		}
+		for (Entry<Integer, Double> entry : contribution.trueDistance.entrySet()) {
+			if (Double.compare(entry.getValue(), 0.0) == 0) {
+				coveredGoal(suite, result, branchCoverageTrueMap.get(entry.getKey()), toRemoveBranchesT, entry.getKey());
+			}
+		}
+		for (Entry<Integer, Double> entry : contribution.falseDistance.entrySet()) {
+			if (Double.compare(entry.getValue(), 0.0) == 0) {
+				coveredGoal(suite, result, branchCoverageFalseMap.get(entry.getKey()), toRemoveBranchesF, entry.getKey());
+			}
+		}
+	}
+
 	/**
 	 * Iterate over all execution results and summarize statistics
 	 * 
@@ -297,16 +349,37 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 	        Map<Integer, Integer> predicateCount, Map<String, Integer> callCount,
 	        Map<Integer, Double> trueDistance, Map<Integer, Double> falseDistance) {
 		boolean hasTimeoutOrTestException = false;
+		boolean incremental = TestContributionCache.isEnabled();
 		for (ExecutionResult result : results) {
 			if (result.hasTimeout() || result.hasTestException()) {
 				hasTimeoutOrTestException = true;
 				continue;
 			}
 
-			handleBranchlessMethods(suite, result, callCount);
-			handlePredicateCount(suite, result, predicateCount);
-			handleTrueDistances(suite, result, trueDistance);
-			handleFalseDistances(suite, result, falseDistance);
+			if (!incremental) {
+				handleBranchlessMethods(suite, result, callCount);
+				handlePredicateCount(suite, result, predicateCount);
+				handleTrueDistances(suite, result, trueDistance);
+				handleFalseDistances(suite, result, falseDistance);
+				continue;
+			}
+
+			// Only traces that were not analyzed before need to be looked at
+			TestContribution contribution = contributionCache.get(result);
+			if (contribution == null) {
+				contribution = new TestContribution();
+				handleBranchlessMethods(suite, result, contribution.callCount);
+				handlePredicateCount(suite, result, contribution.predicateCount);
+				handleTrueDistances(suite, result, contribution.trueDistance);
+				handleFalseDistances(suite, result, contribution.falseDistance);
+				contributionCache.put(result, contribution);
+			} else {
+				replayCoveredGoals(suite, result, contribution);
+			}
+			TestContributionCache.addCounts(callCount, contribution.callCount);
+			TestContributionCache.addCounts(predicateCount, contribution.predicateCount);
+			TestContributionCache.minDistances(trueDistance, contribution.trueDistance);
+			TestContributionCache.minDistances(falseDistance, contribution.falseDistance);
 		}
 		return hasTimeoutOrTestException;
 	}
@@ -316,6 +389,11 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		
 		if(!Properties.TEST_ARCHIVE)
 			return false;
+
+		if (!toRemoveRootBranches.isEmpty() || !toRemoveBranchesT.isEmpty() || !toRemoveBranchesF.isEmpty()) {
+			// cached contributions still contain the removed goals
+			contributionCache.clear();
+		}
 		
 		for (String method : toRemoveRootBranches) {
 			boolean removed = branchlessMethods.remove(method);
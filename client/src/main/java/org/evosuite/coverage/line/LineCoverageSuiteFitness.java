@@ -19,6 +19,10 @@
  */
 package org.evosuite.coverage.line;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -38,6 +42,7 @@ import org.evosuite.testcase.ExecutableChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testsuite.AbstractTestSuiteChromosome;
+import org.evosuite.testsuite.TestContributionCache;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,6 +63,9 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 
 	public final Set<Integer> removedLines = new HashSet<Integer>();
 
+	/** The removed lines, to subtract them from the covered lines bitset */
+	private final BitSet removedLineBits = new BitSet();
+
 	public final Set<Integer> toRemoveLines = new HashSet<Integer>();
 
 	public LineCoverageSuiteFitness() {
@@ -87,17 +95,38 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 	// Each test gets a set of distinct covered goals, these are mapped by line id
 	private final Map<Integer, TestFitnessFunction> linesCoverageMap = new HashMap<Integer, TestFitnessFunction>();
 
+	/**
+	 * What a single test execution contributes to the suite fitness
+	 */
+	private static class TestContribution implements Serializable {
+		private static final long serialVersionUID = -2620232329151325393L;
+
+		private final Map<Integer, Integer> predicateCount = new HashMap<Integer, Integer>();
+		private final Map<Integer, Double> trueDistance = new HashMap<Integer, Double>();
+		private final Map<Integer, Double> falseDistance = new HashMap<Integer, Double>();
+		/** Lines of the goals covered by the test */
+		private final List<Integer> coveredGoalLines = new ArrayList<Integer>();
+	}
+
+	private final TestContributionCache<TestContribution> contributionCache = new TestContributionCache<TestContribution>();
+
 
 	@Override
 	public boolean updateCoveredGoals() {
 		if(!Properties.TEST_ARCHIVE)
 			return false;
+
+		if (!toRemoveLines.isEmpty()) {
+			// cached contributions still contain the removed lines
+			contributionCache.clear();
+		}
 		
 		for (Integer line : toRemoveLines) {
 			boolean removed = lines.remove(line);
 			TestFitnessFunction f = linesCoverageMap.remove(line);
 			if (removed && f != null) {
 				removedLines.add(line);
+				removedLineBits.set(line);
 				//removeTestCall(f.getTargetClass(), f.getTargetMethod());
 			} else {
 				throw new IllegalStateException("goal to remove not found");
@@ -110,6 +139,76 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		return true;
 	}
 	
+	/**
+	 * Merge the cached contributions of the tests, computing them only for
+	 * executions that were not analyzed before
+	 */
+	private boolean mergeContributions(AbstractTestSuiteChromosome<? extends ExecutableChromosome> suite,
+			List<ExecutionResult> results, Map<Integer, Integer> predicateCount, Map<Integer, Double> trueDistance,
+			Map<Integer, Double> falseDistance, BitSet coveredLines) {
+		boolean hasTimeoutOrTestException = false;
+		for (ExecutionResult result : results) {
+			if (result.hasTimeout() || result.hasTestException()) {
+				hasTimeoutOrTestException = true;
+			}
+			TestContribution contribution = contributionCache.get(result);
+			if (contribution == null) {
+				contribution = computeContribution(result);
+				contributionCache.put(result, contribution);
+			}
+			// also for cached contributions, as the result might belong to a cloned test
+			for (Integer line : contribution.coveredGoalLines) {
+				coveredLine(suite, result, line);
+			}
+			TestContributionCache.addCounts(predicateCount, contribution.predicateCount);
+			TestContributionCache.minDistances(trueDistance, contribution.trueDistance);
+			TestContributionCache.minDistances(falseDistance, contribution.falseDistance);
+			coveredLines.or(result.getCoverageVector().getCoveredLines());
+		}
+		return hasTimeoutOrTestException;
+	}
+
+	private TestContribution computeContribution(ExecutionResult result) {
+		TestContribution contribution = new TestContribution();
+		List<ExecutionResult> single = Collections.singletonList(result);
+		collectBranchDistances(single, contribution.predicateCount, contribution.trueDistance,
+				contribution.falseDistance);
+		// only the control dependencies are used by the guidance
+		contribution.predicateCount.keySet().retainAll(branchesToCoverBoth);
+		contribution.trueDistance.keySet().retainAll(controlDependencies);
+		contribution.falseDistance.keySet().retainAll(controlDependencies);
+		if (!result.hasTimeout() && !result.hasTestException()) {
+			contribution.coveredGoalLines.addAll(getCoveredGoalLines(result));
+		}
+		return contribution;
+	}
+
+	/**
+	 * Returns the lines of the goals that are still to be covered and are
+	 * covered by the result
+	 */
+	private List<Integer> getCoveredGoalLines(ExecutionResult result) {
+		List<Integer> covered = new ArrayList<Integer>();
+		for (Integer line : result.getTrace().getAllCoveredLines()) {
+			if (linesCoverageMap.containsKey(line)) {
+				if(!lines.contains(line) || removedLines.contains(line)) 
+					continue;
+				covered.add(line);
+			}
+		}
+		return covered;
+	}
+
+	private void coveredLine(AbstractTestSuiteChromosome<? extends ExecutableChromosome> suite,
+			ExecutionResult result, Integer line) {
+		result.test.addCoveredGoal(linesCoverageMap.get(line));
+		if(Properties.TEST_ARCHIVE) {
+			toRemoveLines.add(line);
+			TestsArchive.instance.putTest(this, linesCoverageMap.get(line), result);
+			suite.isToBeUpdated(true);
+		}
+	}
+
 	/**
 	 * Iterate over all execution results and summarize statistics
 	 * 
@@ -126,18 +225,8 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 				continue;
 			}
 
-			for (Integer line : result.getTrace().getAllCoveredLines()) {
-				if (linesCoverageMap.containsKey(line)) {
-					if(!lines.contains(line) || removedLines.contains(line)) 
-						continue;
-					
-					result.test.addCoveredGoal(linesCoverageMap.get(line));
-					if(Properties.TEST_ARCHIVE) {
-						toRemoveLines.add(line);
-						TestsArchive.instance.putTest(this, linesCoverageMap.get(line), result);
-						suite.isToBeUpdated(true);
-					}
-				}
+			for (Integer line : getCoveredGoalLines(result)) {
+				coveredLine(suite, result, line);
 			}
 		}
 
@@ -156,24 +245,33 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		double fitness = 0.0;
 
 		List<ExecutionResult> results = runTestSuite(suite);
-		fitness += getControlDependencyGuidance(results);
-		logger.info("Branch distances: "+fitness);
+		Map<Integer, Integer> predicateCount = new HashMap<Integer, Integer>();
+		Map<Integer, Double> trueDistance = new HashMap<Integer, Double>();
+		Map<Integer, Double> falseDistance = new HashMap<Integer, Double>();
+		BitSet coveredLines = new BitSet();
+		boolean hasTimeoutOrTestException;
 
-		Map<String, Integer> callCount = new HashMap<String, Integer>();
-		Set<Integer> coveredLines = new HashSet<Integer>();
+		if (TestContributionCache.isEnabled()) {
+			hasTimeoutOrTestException = mergeContributions(suite, results, predicateCount, trueDistance,
+					falseDistance, coveredLines);
+		} else {
+			collectBranchDistances(results, predicateCount, trueDistance, falseDistance);
 
-		// Collect stats in the traces 
-		boolean hasTimeoutOrTestException = analyzeTraces(suite, results, callCount);
+			// Collect stats in the traces
+			Map<String, Integer> callCount = new HashMap<String, Integer>();
+			hasTimeoutOrTestException = analyzeTraces(suite, results, callCount);
 
-		for (ExecutionResult result : results) {
-			for(Integer line : result.getTrace().getCoveredLines()) {
-				if(!removedLines.contains(line))
-					coveredLines.add(line);
+			for (ExecutionResult result : results) {
+				coveredLines.or(result.getCoverageVector().getCoveredLines());
 			}
 		}
 
+		fitness += getControlDependencyGuidance(predicateCount, trueDistance, falseDistance);
+		logger.info("Branch distances: "+fitness);
+
 		int totalLines = lines.size() + removedLines.size();
-		int numCoveredLines = coveredLines.size() + removedLines.size();
+		coveredLines.andNot(removedLineBits);
+		int numCoveredLines = coveredLines.cardinality() + removedLines.size();
 		
 		logger.debug("Covered " + numCoveredLines + " out of " + totalLines + " lines, "+removedLines.size() +" in archive");
 		fitness += normalize(totalLines - numCoveredLines);
@@ -236,6 +334,7 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 	private Set<Integer> branchesToCoverTrue  = new HashSet<Integer>();
 	private Set<Integer> branchesToCoverFalse = new HashSet<Integer>();
 	private Set<Integer> branchesToCoverBoth  = new HashSet<Integer>();
+	private Set<Integer> controlDependencies  = new HashSet<Integer>();
 	
 	/**
 	 * Add guidance to the fitness function by including branch distances on
@@ -262,6 +361,8 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 				}
 			}
 		}
+		controlDependencies.addAll(branchesToCoverTrue);
+		controlDependencies.addAll(branchesToCoverFalse);
 		branchesToCoverBoth.addAll(branchesToCoverTrue);
 		branchesToCoverBoth.retainAll(branchesToCoverFalse);
 		branchesToCoverTrue.removeAll(branchesToCoverBoth);
@@ -272,11 +373,8 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		logger.info("Covering branches both: "+branchesToCoverBoth);
 	}
 
-	private double getControlDependencyGuidance(List<ExecutionResult> results) {
-		Map<Integer, Integer> predicateCount = new HashMap<Integer, Integer>();
-		Map<Integer, Double> trueDistance = new HashMap<Integer, Double>();
-		Map<Integer, Double> falseDistance = new HashMap<Integer, Double>();
-
+	private void collectBranchDistances(List<ExecutionResult> results, Map<Integer, Integer> predicateCount,
+			Map<Integer, Double> trueDistance, Map<Integer, Double> falseDistance) {
 		for (ExecutionResult result : results) {
 			if (result.hasTimeout() || result.hasTestException()) {
 				continue;
@@ -309,7 +407,10 @@ public class LineCoverageSuiteFitness extends TestSuiteFitnessFunction {
 				}
 			}
 		}
-		
+	}
+
+	private double getControlDependencyGuidance(Map<Integer, Integer> predicateCount,
+			Map<Integer, Double> trueDistance, Map<Integer, Double> falseDistance) {
 		double distance = 0.0;
 
 		for(Integer branchId : branchesToCoverBoth) {
@@ -22,10 +22,13 @@ package org.evosuite.coverage.mutation;
 import org.evosuite.Properties;
 import org.evosuite.coverage.archive.TestsArchive;
 import org.evosuite.testcase.ExecutableChromosome;
+import org.evosuite.testcase.execution.CoverageVector;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testsuite.AbstractTestSuiteChromosome;
+import org.evosuite.testsuite.TestContributionCache;
 import org.evosuite.testsuite.TestSuiteChromosome;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -40,6 +43,26 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
 
 	private static final long serialVersionUID = -1812256816400338180L;
 
+	/**
+	 * What a single test execution contributes to the suite fitness
+	 */
+	private static class TestContribution implements Serializable {
+		private static final long serialVersionUID = 6338434262346454283L;
+
+		private final Map<Integer, Double> mutantDistance = new HashMap<Integer, Double>();
+	}
+
+	private final TestContributionCache<TestContribution> contributionCache = new TestContributionCache<TestContribution>();
+
+	@Override
+	public boolean updateCoveredGoals() {
+		if (!toRemoveMutants.isEmpty()) {
+			// cached contributions still contain the removed mutants
+			contributionCache.clear();
+		}
+		return super.updateCoveredGoals();
+	}
+
 	/* (non-Javadoc)
 	 * @see org.evosuite.ga.FitnessFunction#getFitness(org.evosuite.ga.Chromosome)
 	 */
@@ -67,8 +90,9 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
 		 */
 		double fitness = branchFitness.getFitness(individual);
 		Map<Integer, Double> mutant_distance = new HashMap<Integer, Double>();
-		Set<Integer> touchedMutants = new HashSet<Integer>(removedMutants);
+		BitSet touchedMutants = CoverageVector.toBitSet(removedMutants);
 
+		boolean incremental = TestContributionCache.isEnabled();
 		for (ExecutionResult result : results) {
 			// Using private reflection can lead to false positives
 			// that represent unrealistic behaviour. Thus, we only
@@ -76,33 +100,32 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
 			if(result.calledReflection())
 				continue;
 
-			touchedMutants.addAll(result.getTrace().getTouchedMutants());
+			touchedMutants.or(result.getCoverageVector().getTouchedMutants());
 
-			for (Entry<Integer, Double> entry : result.getTrace().getMutationDistances().entrySet()) {
-				if(!mutants.contains(entry.getKey()) || removedMutants.contains(entry.getKey()))
-					continue;
+			if (!incremental) {
+				analyzeTrace(individual, result, mutant_distance);
+				continue;
+			}
 
-				if(entry.getValue() == 0.0) {
-					result.test.addCoveredGoal(mutantMap.get(entry.getKey()));
-					if(Properties.TEST_ARCHIVE) {
-						toRemoveMutants.add(entry.getKey());
-						TestsArchive.instance.putTest(this, mutantMap.get(entry.getKey()), result);
-						individual.isToBeUpdated(true);
+			// Only traces that were not analyzed before need to be looked at
+			TestContribution contribution = contributionCache.get(result);
+			if (contribution == null) {
+				contribution = new TestContribution();
+				analyzeTrace(individual, result, contribution.mutantDistance);
+				contributionCache.put(result, contribution);
+			} else {
+				// the result might belong to a cloned test
+				for (Entry<Integer, Double> entry : contribution.mutantDistance.entrySet()) {
+					if (entry.getValue() == 0.0) {
+						coveredMutant(individual, result, entry.getKey());
 					}
 				}
-				
-				if (!mutant_distance.containsKey(entry.getKey()))
-					mutant_distance.put(entry.getKey(), entry.getValue());
-				else {
-					mutant_distance.put(entry.getKey(),
-					                    Math.min(mutant_distance.get(entry.getKey()),
-					                             entry.getValue()));
-				}
 			}
+			TestContributionCache.minDistances(mutant_distance, contribution.mutantDistance);
 		}
 
 		// Second objective: touch all mutants?
-		fitness += MutationPool.getMutantCounter() - touchedMutants.size();
+		fitness += MutationPool.getMutantCounter() - touchedMutants.cardinality();
 		int covered = removedMutants.size();
 
 		for (Double distance : mutant_distance.values()) {
@@ -124,4 +147,34 @@ public class WeakMutationSuiteFitness extends MutationSuiteFitness {
 		
 		return fitness;
 	}
+
+	private void analyzeTrace(AbstractTestSuiteChromosome<? extends ExecutableChromosome> individual,
+	        ExecutionResult result, Map<Integer, Double> mutant_distance) {
+		for (Entry<Integer, Double> entry : result.getTrace().getMutationDistances().entrySet()) {
+			if(!mutants.contains(entry.getKey()) || removedMutants.contains(entry.getKey()))
+				continue;
+
+			if(entry.getValue() == 0.0) {
+				coveredMutant(individual, result, entry.getKey());
+			}
+			
+			if (!mutant_distance.containsKey(entry.getKey()))
+				mutant_distance.put(entry.getKey(), entry.getValue());
+			else {
+				mutant_distance.put(entry.getKey(),
+				                    Math.min(mutant_distance.get(entry.getKey()),
+				                             entry.getValue()));
+			}
+		}
+	}
+
+	private void coveredMutant(AbstractTestSuiteChromosome<? extends ExecutableChromosome> individual,
+	        ExecutionResult result, Integer mutantId) {
+		result.test.addCoveredGoal(mutantMap.get(mutantId));
+		if(Properties.TEST_ARCHIVE) {
+			toRemoveMutants.add(mutantId);
+			TestsArchive.instance.putTest(this, mutantMap.get(mutantId), result);
+			individual.isToBeUpdated(true);
+		}
+	}
 }
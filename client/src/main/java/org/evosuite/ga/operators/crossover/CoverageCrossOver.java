@@ -117,7 +117,7 @@ public class CoverageCrossOver extends CrossOverFunction {
 	        Map<TestFitnessFunction, Set<TestChromosome>> goalMap,
 	        TestSuiteChromosome suite) {
 		for (TestChromosome test : suite.getTestChromosomes()) {
-			for (TestFitnessFunction goal : test.getTestCase().getCoveredGoals()) {
+			for (TestFitnessFunction goal : test.getTestCaseForReading().getCoveredGoals()) {
 				if (!goalMap.containsKey(goal))
 					goalMap.put(goal, new HashSet<TestChromosome>());
 				goalMap.get(goal).add(test);
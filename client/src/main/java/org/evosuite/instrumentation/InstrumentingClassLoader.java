@@ -19,16 +19,18 @@
  */
 package org.evosuite.instrumentation;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.FileInputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -46,6 +48,12 @@ import javax.persistence.Entity;
  * the application! This may lead to hard to detect and debug errors. Yet this
  * class cannot be an singleton as it might be necessary to do so...
  * 
+ * <p>
+ * The loader is parallel capable: classes already loaded are returned without
+ * any locking. Instrumenting a new class is done under a lock of this loader,
+ * as the instrumentation updates shared state (eg, the branch and constant pools),
+ * and it might trigger the loading of further classes.
+ * 
  * @author roessler
  * @author Gordon Fraser
  */
@@ -55,8 +63,13 @@ public class InstrumentingClassLoader extends ClassLoader {
 
 	private final BytecodeInstrumentation instrumentation;
 	private final ClassLoader classLoader;
-	private final Map<String, Class<?>> classes = new HashMap<>();
+	private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+	private final ReentrantLock instrumentationLock = new ReentrantLock();
 	private boolean isRegression = false;
+
+	static {
+		ClassLoader.registerAsParallelCapable();
+	}
 	
 	/**
 	 * <p>
@@ -104,10 +117,33 @@ public class InstrumentingClassLoader extends ClassLoader {
 	
 	
 	public Class<?> loadClassFromFile(String fullyQualifiedTargetClass, String fileName) throws ClassNotFoundException {
+		try(InputStream is = new FileInputStream(new File(fileName))) {
+			return loadClassFromStream(fullyQualifiedTargetClass, is, fileName);
+		} catch (IOException e) {
+			logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + e);
+			throw new ClassNotFoundException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Define (and instrument) a class from its bytecode, e.g., as generated
+	 * by an in-memory compilation, without going through the file system
+	 *
+	 * @param fullyQualifiedTargetClass
+	 * @param bytes the content of the .class file
+	 * @return
+	 * @throws ClassNotFoundException
+	 */
+	public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytes) throws ClassNotFoundException {
+		return loadClassFromStream(fullyQualifiedTargetClass, new ByteArrayInputStream(bytes), "memory");
+	}
+
+	private Class<?> loadClassFromStream(String fullyQualifiedTargetClass, InputStream is, String source) throws ClassNotFoundException {
 
 		String className = fullyQualifiedTargetClass.replace('.', '/');
 
-		try(InputStream is = new FileInputStream(new File(fileName))) {
+		instrumentationLock.lock();
+		try {
 
 			byte[] byteBuffer = getTransformedBytes(className, is);
 
@@ -116,11 +152,13 @@ public class InstrumentingClassLoader extends ClassLoader {
 
 			classes.put(fullyQualifiedTargetClass, result);
 
-			logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from "+fileName);
+			logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from " + source);
 			return result;
 		} catch (Throwable t) {
 			logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
 			throw new ClassNotFoundException(t.getMessage(), t);
+		} finally {
+			instrumentationLock.unlock();
 		}
 	}
 	
@@ -163,10 +201,25 @@ public class InstrumentingClassLoader extends ClassLoader {
 		Class<?> result = classes.get(name);
 		if (result != null) {
 			return result;
-		} else {
+		}
+
+		/*
+		 * A single lock, rather than one per class: instrumenting a class might
+		 * load other classes, and so locks per class could lead to deadlocks
+		 * between threads loading classes that depend on each other
+		 */
+		instrumentationLock.lock();
+		try {
+			// another thread might have loaded it in the meantime
+			result = classes.get(name);
+			if (result != null) {
+				return result;
+			}
 			logger.info("Seeing class for first time: " + name);
 			Class<?> instrumentedClass = instrumentClass(name);
 			return instrumentedClass;
+		} finally {
+			instrumentationLock.unlock();
 		}
 	}
 
@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
+/**
+ * A file manager that keeps the generated bytecode in memory instead of
+ * writing .class files to disk. Sources are given as strings with
+ * {@link #createSource(String, String)}, whereas the classpath is still
+ * resolved by the standard file manager.
+ */
+class InMemoryJavaFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+	/** Bytecode by binary class name, in the order the compiler generated it */
+	private final Map<String, ByteArrayOutputStream> classBytes = new LinkedHashMap<>();
+
+	public InMemoryJavaFileManager(StandardJavaFileManager fileManager) {
+		super(fileManager);
+	}
+
+	/**
+	 * @param className fully qualified name of the (top level) class
+	 * @param code its source code
+	 * @return a compilation unit for the given code
+	 */
+	public static JavaFileObject createSource(String className, final String code) {
+		URI uri = URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension);
+		return new SimpleJavaFileObject(uri, Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return code;
+			}
+		};
+	}
+
+	@Override
+	public JavaFileObject getJavaFileForOutput(Location location, final String className, Kind kind,
+			FileObject sibling) throws IOException {
+		if (location != StandardLocation.CLASS_OUTPUT || kind != Kind.CLASS) {
+			return super.getJavaFileForOutput(location, className, kind, sibling);
+		}
+		URI uri = URI.create("mem:///" + className.replace('.', '/') + kind.extension);
+		return new SimpleJavaFileObject(uri, kind) {
+			@Override
+			public OutputStream openOutputStream() {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				classBytes.put(className, out);
+				return out;
+			}
+		};
+	}
+
+	/**
+	 * @return the bytecode of all the classes compiled so far (including
+	 *         inner and anonymous classes) by binary name
+	 */
+	public Map<String, byte[]> getClassBytes() {
+		Map<String, byte[]> map = new LinkedHashMap<>();
+		for (Map.Entry<String, ByteArrayOutputStream> entry : classBytes.entrySet()) {
+			map.put(entry.getKey(), entry.getValue().toByteArray());
+		}
+		return map;
+	}
+
+	/**
+	 * Forget the bytecode compiled so far
+	 */
+	public void clear() {
+		classBytes.clear();
+	}
+}
@@ -34,6 +34,7 @@ import javax.tools.ToolProvider;
 
 import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
+import org.evosuite.Properties.OutputGranularity;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.TimeController;
 import org.evosuite.classpath.ClassPathHandler;
@@ -44,6 +45,7 @@ import org.evosuite.runtime.classhandling.JDKClassResetter;
 import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.runtime.util.JarPathing;
 import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
 import org.slf4j.Logger;
@@ -63,15 +65,18 @@ public class JUnitAnalyzer {
 
 	private static int dirCounter = 0;
 
-	private static final String JAVA = ".java";
-	private static final String CLASS = ".class";
 
-	
 	private static final NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 	
 	/**
-	 * Try to compile each test separately, and remove the ones that cannot be
-	 * compiled
+	 * Compile all the tests in a single compiler run, each one in its own
+	 * class, and remove the ones that cannot be compiled.
+	 * 
+	 * <p>
+	 * As the compiler stops before generating bytecode once there are errors
+	 * in the earlier phases, errors like "code too large" only show up after
+	 * those tests are removed, so the remaining tests are compiled again until
+	 * they all compile
 	 * 
 	 * @param tests
 	 */
@@ -83,44 +88,89 @@ public class JUnitAnalyzer {
 			return;
 		}
 
-		Iterator<TestCase> iter = tests.iterator();
-
-		while (iter.hasNext()) {
+		while (!tests.isEmpty()) {
 			if(!TimeController.getInstance().hasTimeToExecuteATestCase()) {
-				break;
+				return;
 			}
 
-			TestCase test = iter.next();
+			/*
+			 * one compilation unit per test, in the same order as the tests,
+			 * followed by the scaffolding
+			 */
+			Map<String, String> sources = generateSources(tests, OutputGranularity.TESTCASE);
+			List<JavaFileObject> units = createCompilationUnits(sources);
 
-			File dir = createNewTmpDir();
-			if (dir == null) {
-				logger.warn("Failed to create tmp dir");
+			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+			if (compile(units, diagnostics) != null) {
+				return; //everything compiles
+			}
+
+			/*
+			 * the tests only depend on the scaffolding, so unless there is an
+			 * error in it, each error belongs to the test whose class it is in
+			 */
+			Map<Integer, List<Diagnostic<? extends JavaFileObject>>> errors = new LinkedHashMap<>();
+			boolean unattributed = false;
+			for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+					continue;
+				}
+				int index = units.indexOf(diagnostic.getSource());
+				if (index < 0 || index >= tests.size()) {
+					unattributed = true;
+					break;
+				}
+				if (!errors.containsKey(index)) {
+					errors.put(index, new ArrayList<Diagnostic<? extends JavaFileObject>>());
+				}
+				errors.get(index).add(diagnostic);
+			}
+
+			if (unattributed || errors.isEmpty()) {
+				logger.warn("Compilation errors not related to a single test, going to compile each test separately");
+				removeEachTestThatDoesNotCompile(tests);
 				return;
 			}
-			logger.debug("Created tmp folder: " + dir.getAbsolutePath());
 
-			try {
-				List<TestCase> singleList = new ArrayList<TestCase>();
-				singleList.add(test);
-				List<File> generated = compileTests(singleList, dir);
-				if (generated == null) {
+			Iterator<TestCase> iter = tests.iterator();
+			for (int i = 0; iter.hasNext(); i++) {
+				TestCase test = iter.next();
+				if (errors.containsKey(i)) {
 					iter.remove();
-					String code = test.toCode();
-					logger.error("Failed to compile test case:\n" + code);
-				}
-			} finally {
-				//let's be sure we clean up all what we wrote on disk
-				if (dir != null) {
-					try {
-						FileUtils.deleteDirectory(dir);
-						logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-					} catch (Exception e) {
-						logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
+					for (Diagnostic<? extends JavaFileObject> diagnostic : errors.get(i)) {
+						logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": " + diagnostic.getLineNumber());
 					}
+					logger.error("Failed to compile test case:\n" + test.toCode());
 				}
 			}
+		}
+	}
+
+	/**
+	 * Try to compile each test separately, and remove the ones that cannot be
+	 * compiled
+	 * 
+	 * @param tests
+	 */
+	private static void removeEachTestThatDoesNotCompile(List<TestCase> tests) {
+
+		Iterator<TestCase> iter = tests.iterator();
+
+		while (iter.hasNext()) {
+			if(!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+				break;
+			}
+
+			TestCase test = iter.next();
 
-		} // end of while
+			List<TestCase> singleList = new ArrayList<TestCase>();
+			singleList.add(test);
+			if (compileTests(singleList) == null) {
+				iter.remove();
+				String code = test.toCode();
+				logger.error("Failed to compile test case:\n" + code);
+			}
+		}
 	}
 
 	/**
@@ -143,16 +193,9 @@ public class JUnitAnalyzer {
 			return numUnstable;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.error("Failed to create tmp dir");
-			return numUnstable;
-		}
-		logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			CompiledTests compiled = compileTests(tests);
+			if (compiled == null) {
 				/*
 				 * Note: in theory this shouldn't really happen, as check for compilation
 				 * is done before calling this method
@@ -166,14 +209,14 @@ public class JUnitAnalyzer {
                 return numUnstable;
             }
 
-            Class<?>[] testClasses = loadTests(generated);
+            Class<?>[] testClasses = loadTests(compiled);
 
-			if (testClasses == null) {
+			if (testClasses.length == 0) {
 				logger.error("Found no classes for compiled tests");
 				return numUnstable;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
+			JUnitResult result = runTests(testClasses);
 
 			if (result.wasSuccessful()) {
 				return numUnstable; //everything is OK
@@ -245,24 +288,13 @@ public class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return numUnstable;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
-
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (Exception e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-				}
-			}
-
 		}
 
 		//if we arrive here, then it means at least one test was unstable
 		return numUnstable;
 	}
 
-	private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+	private static JUnitResult runTests(Class<?>[] testClasses)
 	        throws JUnitExecutionException {
 		return runJUnitOnCurrentProcess(testClasses);
 	}
@@ -332,7 +364,52 @@ public class JUnitAnalyzer {
 	// EvoSuite classloader, and thus cannot easily be re-loaded
 	private static int NUM = 0;
 
-	private static List<File> compileTests(List<TestCase> tests, File dir) {
+	/**
+	 * The bytecode of a compiled test suite, and which of its classes are
+	 * the test classes
+	 */
+	private static class CompiledTests {
+		private final Set<String> testClassNames;
+		private final Map<String, byte[]> classBytes;
+
+		CompiledTests(Set<String> testClassNames, Map<String, byte[]> classBytes) {
+			this.testClassNames = testClassNames;
+			this.classBytes = classBytes;
+		}
+	}
+
+	/**
+	 * Generate the JUnit test suite for the given tests and compile it in
+	 * memory
+	 * 
+	 * @param tests
+	 * @return {@code null} if the tests could not be compiled
+	 */
+	private static CompiledTests compileTests(List<TestCase> tests) {
+
+		Map<String, String> sources = generateSources(tests, Properties.OUTPUT_GRANULARITY);
+		List<JavaFileObject> units = createCompilationUnits(sources);
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		Map<String, byte[]> classBytes = compile(units, diagnostics);
+		if (classBytes == null) {
+			logCompilationErrors(sources, diagnostics);
+			return null;
+		}
+
+		Set<String> testClassNames = new LinkedHashSet<>();
+		for (String name : sources.keySet()) {
+			testClassNames.add(getPackagePrefix() + name);
+		}
+		return new CompiledTests(testClassNames, classBytes);
+	}
+
+	/**
+	 * @param tests
+	 * @param granularity
+	 * @return the source code of the JUnit classes by simple class name
+	 */
+	private static Map<String, String> generateSources(List<TestCase> tests, OutputGranularity granularity) {
 
 		TestSuiteWriter suite = new TestSuiteWriter();
 		suite.insertAllTests(tests);
@@ -342,89 +419,100 @@ public class JUnitAnalyzer {
 		String name = Properties.TARGET_CLASS.substring(beginIndex);
 		name += "_" +(NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX ; //postfix
 
-		try {
-			//now generate the JUnit test case
-			List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-			for (File file : generated) {
-				if (!file.exists()) {
-					logger.error("Supposed to generate " + file
-					        + " but it does not exist");
-					return null;
-				}
-			}
+		return suite.createTestSuiteSources(name, Collections.<ExecutionResult>emptyList(), granularity);
+	}
 
-			//try to compile the test cases
-			JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-			if (compiler == null) {
-				logger.error("No Java compiler is available");
-				return null;
-			}
+	private static List<JavaFileObject> createCompilationUnits(Map<String, String> sources) {
+		List<JavaFileObject> units = new ArrayList<>();
+		for (Map.Entry<String, String> source : sources.entrySet()) {
+			units.add(InMemoryJavaFileManager.createSource(getPackagePrefix() + source.getKey(), source.getValue()));
+		}
+		return units;
+	}
 
-			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
-			Locale locale = Locale.getDefault();
-			Charset charset = Charset.forName("UTF-8");
-			StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-			                                                                      locale,
-			                                                                      charset);
-
-			Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
-
-			List<String> optionList = new ArrayList<>();
-			String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-			if(JarPathing.containsAPathingJar(evosuiteCP)){
-				evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-			}
+	/**
+	 * Compile all the given units in a single compiler run, without writing
+	 * anything to disk
+	 * 
+	 * @param units
+	 * @param diagnostics
+	 * @return the bytecode of all the generated classes by binary name, or
+	 *         {@code null} if compilation failed
+	 */
+	private static Map<String, byte[]> compile(List<JavaFileObject> units,
+	        DiagnosticCollector<JavaFileObject> diagnostics) {
 
-			String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-			if(JarPathing.containsAPathingJar(targetProjectCP)){
-				targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-			}
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			logger.error("No Java compiler is available");
+			return null;
+		}
 
-			String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+		Locale locale = Locale.getDefault();
+		Charset charset = Charset.forName("UTF-8");
+		StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics,
+		                                                                              locale,
+		                                                                              charset);
 
-			optionList.addAll(Arrays.asList("-classpath", classpath));
+		List<String> optionList = new ArrayList<>();
+		optionList.addAll(Arrays.asList("-classpath", getClasspath()));
+		/*
+		 * report all the errors, and keep on attributing all the classes
+		 * after the first error, so that we know all the tests that do not
+		 * compile after a single run
+		 */
+		optionList.addAll(Arrays.asList("-Xmaxerrs", "" + Integer.MAX_VALUE));
+		optionList.add("-XDshouldStopPolicyIfError=FLOW");
 
+		try (InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(standardFileManager)) {
 			CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
-			                                        optionList, null, compilationUnits);
-			boolean compiled = task.call();
-			fileManager.close();
+			                                        optionList, null, units);
+			if (!task.call()) {
+				return null;
+			}
+			return fileManager.getClassBytes();
+		} catch (IOException e) {
+			logger.error("" + e, e);
+			return null;
+		}
+	}
 
-			if (!compiled) {
-				logger.error("Compilation failed on compilation units: "+ compilationUnits);
-				logger.error("Classpath: "+classpath);
-				//TODO remove
-				logger.error("evosuiteCP: "+evosuiteCP);
+	private static String getClasspath() {
+		String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+		if(JarPathing.containsAPathingJar(evosuiteCP)){
+			evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+		}
 
+		String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+		if(JarPathing.containsAPathingJar(targetProjectCP)){
+			targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
+		}
 
-				for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-					if (diagnostic.getMessage(null).startsWith("error while writing")) {
-						logger.error("Error is due to file permissions, ignoring...");
-						return generated;
-					}
-					logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
-					        + diagnostic.getLineNumber());
-				}
+		return targetProjectCP + File.pathSeparator + evosuiteCP;
+	}
 
-				StringBuffer buffer = new StringBuffer();
-				for (JavaFileObject sourceFile : compilationUnits) {
-					List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
+	private static void logCompilationErrors(Map<String, String> sources,
+	        DiagnosticCollector<JavaFileObject> diagnostics) {
 
-					buffer.append(compilationUnits.iterator().next().toString()+"\n");
+		logger.error("Compilation failed on compilation units: " + sources.keySet());
+		logger.error("Classpath: " + getClasspath());
 
-					for (int i = 0; i < lines.size(); i++) {
-						buffer.append((i + 1) + ": " + lines.get(i) +"\n");
-					}
-				}
-				logger.error(buffer.toString());
-				return null;
-			}
+		for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
+			logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+			        + diagnostic.getLineNumber());
+		}
 
-			return generated;
+		StringBuilder buffer = new StringBuilder();
+		for (Map.Entry<String, String> source : sources.entrySet()) {
+			String[] lines = source.getValue().split("\n");
 
-		} catch (IOException e) {
-			logger.error("" + e, e);
-			return null;
+			buffer.append(source.getKey() + "\n");
+
+			for (int i = 0; i < lines.length; i++) {
+				buffer.append((i + 1) + ": " + lines[i] + "\n");
+			}
 		}
+		logger.error(buffer.toString());
 	}
 
 	protected static File createNewTmpDir() {
@@ -448,7 +536,7 @@ public class JUnitAnalyzer {
 		return dir;
 	}
 
-	private static Class<?>[] loadTests(List<File> tests) {
+	private static Class<?>[] loadTests(CompiledTests compiled) {
 
 		/*
 		 * Ideally, when we run a generated test case, it
@@ -462,67 +550,43 @@ public class JUnitAnalyzer {
 		 * non-instrumenting classloader to re-load the CUT, and so see
 		 * if the JavaAgent works properly.
 		 */
-		Class<?>[] testClasses = getClassesFromFiles(tests);
-		List<File> otherClasses = listOnlyFiles(tests);
+
 		/*
-		 * this is important to force the loading of all files generated
-		 * in the target folder.
-		 * If we do not do that, then we will miss all the anonymous classes 
+		 * first load only the scaffolding files
 		 */
-		getClassesFromFiles(otherClasses);
-
-		return testClasses;
-	}
-
-	private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException{
-		if(tests==null || tests.isEmpty()){
-			return null;
-		}
-
-		Set<String> classNames = new LinkedHashSet<>();
-		
-		File parentFolder = tests.get(0).getParentFile();
-		for(File file : tests){
-			if(!file.getParentFile().equals(parentFolder)){
-				throw new IllegalArgumentException("Tests file are not in the same folder");
+		for (String name : compiled.testClassNames) {
+			if (isScaffolding(name)) {
+				loadClass(name, compiled.classBytes.get(name));
 			}
-			classNames.add(removeFileExtension(file.getName()));
 		}
-		
+
+		List<Class<?>> classes = new ArrayList<>();
+
 		/*
-		 * if we already loaded a CUT due to its .java, do not want
-		 * to re-loaded it for a .class file that is in the same folder
+		 * once the scaffoldings are loaded, we can load the tests that
+		 * depend on them 
 		 */
-		
-		List<File> otherClasses = new LinkedList<>();
-		
-		for(File file : parentFolder.listFiles()){
-			String  name = removeFileExtension(file.getName());
-
-			if(classNames.contains(name)){
+		for (String name : compiled.testClassNames) {
+			if (isScaffolding(name)) {
 				continue;
 			}
-			
-			classNames.add(name);
-			otherClasses.add(file);
-		}
-		
-		return otherClasses;
-	}
-	
-
-	private static String removeFileExtension(String str) {
-		if (str == null) {
-			return null;
+			Class<?> clazz = loadClass(name, compiled.classBytes.get(name));
+			if (clazz != null) {
+				classes.add(clazz);
+			}
 		}
 
-		int pos = str.lastIndexOf(".");
-
-		if (pos == -1) {
-			return str;
+		/*
+		 * this is important to force the loading of all the generated classes.
+		 * If we do not do that, then we will miss all the anonymous classes 
+		 */
+		for (Map.Entry<String, byte[]> entry : compiled.classBytes.entrySet()) {
+			if (!compiled.testClassNames.contains(entry.getKey())) {
+				loadClass(entry.getKey(), entry.getValue());
+			}
 		}
 
-		return str.substring(0, pos);
+		return classes.toArray(new Class<?>[classes.size()]);
 	}
 
 	/**
@@ -535,8 +599,8 @@ public class JUnitAnalyzer {
 	 * </p>
 	 * 
 	 * <p>
-	 * Here we compile to a tmp folder, load and execute the test cases, and
-	 * then clean up (ie delete all generated files).
+	 * Here we compile in memory, and then load and execute the test cases
+	 * (ie nothing is written on disk).
 	 * </p>
 	 * 
 	 * @param tests
@@ -550,29 +614,23 @@ public class JUnitAnalyzer {
 			return true;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.warn("Failed to create tmp dir");
-			return false;
-		}
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			CompiledTests compiled = compileTests(tests);
+			if (compiled == null) {
 				logger.warn("Failed to compile the test cases ");
 				return false;
 			}
 
 			//as last step, execute the generated/compiled test cases
 
-			Class<?>[] testClasses = loadTests(generated);
+			Class<?>[] testClasses = loadTests(compiled);
 
-			if (testClasses == null) {
+			if (testClasses.length == 0) {
 				logger.error("Found no classes for compiled tests");
 				return false;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
+			JUnitResult result = runTests(testClasses);
 
 			if (!result.wasSuccessful()) {
 				logger.error("" + result.getFailureCount() + " test cases failed");
@@ -596,15 +654,6 @@ public class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return false;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (IOException e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-				}
-			}
 		}
 
 		logger.debug("Successfully compiled and run test cases generated for "
@@ -612,89 +661,29 @@ public class JUnitAnalyzer {
 		return true;
 	}
 
-	/**
-	 * Given a list of files representing .java/.class classes, load them (it
-	 * assumes the classpath to be correctly set)
-	 * 
-	 * @param files
-	 * @return
-	 */
-	private static Class<?>[] getClassesFromFiles(Collection<File> files) {
-		/*
-		 * first load only the scaffolding files
-		 */
-		for (File file : files) {
-			if(!isScaffolding(file)){
-				continue;
-			}
-			loadClass(file);			
-		}
-		
-		List<Class<?>> classes = new ArrayList<>();
-		
-		/*
-		 * once the scaffoldings are loaded, we can load the tests that
-		 * depend on them 
-		 */
-		for (File file : files) {
-			if(isScaffolding(file)){
-				continue;
-			}
-			Class<?> clazz = loadClass(file);
-			if(clazz != null){
-				classes.add(clazz);
-			}
-		}
-		
-		return classes.toArray(new Class<?>[classes.size()]);
-	}
-
-	private static boolean isScaffolding(File file){
-		String name = file.getName();
-		return name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+JAVA) || 
-				name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+CLASS);
-	}
-	
-	private static Class<?> loadClass(File file){
-		if (!file.isFile()) {
-			return null;
-		}
-
+	private static String getPackagePrefix() {
 		String packagePrefix = Properties.CLASS_PREFIX;
 		if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
 			packagePrefix += ".";
 		}
+		return packagePrefix;
+	}
 
-		String name = file.getName();
-
-		if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-			/*
-			 * this could happen when we scan a folder for all src/compiled
-			 * files
-			 */
+	private static boolean isScaffolding(String className){
+		return className.endsWith("_"+Properties.SCAFFOLDING_SUFFIX);
+	}
+	
+	private static Class<?> loadClass(String className, byte[] bytes){
+		if (bytes == null) {
+			logger.error("Failed to load test case " + className + " , no bytecode was generated for it");
 			return null;
 		}
-
-		String fileName = file.getAbsolutePath();
-
-		if (name.endsWith(JAVA)) {
-			name = name.substring(0, name.length() - JAVA.length());
-			fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-		} else {
-			assert name.endsWith(CLASS);
-			name = name.substring(0, name.length() - CLASS.length());
-		}
-
-		String className = packagePrefix + name;
-
 		Class<?> testClass = null;
 		try {
 			logger.info("Loading class " + className);
-			//testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-			testClass = loader.loadClassFromFile(className,fileName);
+			testClass = loader.loadClassFromBytes(className, bytes);
 		} catch (ClassNotFoundException e) {
-			logger.error("Failed to load test case " + className + " from file "
-			        + file.getAbsolutePath() + " , error " + e, e);
+			logger.error("Failed to load test case " + className + " , error " + e, e);
 		}
 		return testClass;
 	}
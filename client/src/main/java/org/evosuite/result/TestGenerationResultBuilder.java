@@ -73,6 +73,13 @@ public class TestGenerationResultBuilder {
 	
 	private static TestGenerationResultBuilder instance = null;
 	
+	/**
+	 * Forget all the data collected for the previous class under test
+	 */
+	public static void resetSingleton() {
+		instance = null;
+	}
+	
 	private TestGenerationResultBuilder() {
 		resetTestData();
 	}
@@ -30,7 +30,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.evosuite.ClientProcess;
 import org.evosuite.Properties;
 import org.evosuite.Properties.NoSuchParameterException;
 import org.evosuite.TestGenerationContext;
@@ -48,6 +50,8 @@ import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsBatch;
+import org.evosuite.statistics.StatisticsSnapshot;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.FileIOUtils;
@@ -83,6 +87,18 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 	 */
 	protected volatile CountDownLatch finishedLatch;
 
+	/**
+	 * A latch used to wait till the current search is done, when this client
+	 * is kept alive to be re-used for other classes
+	 */
+	protected volatile CountDownLatch searchDoneLatch;
+
+	/**
+	 * If true, this client does not terminate once the search is done,
+	 * but waits for a new class or for {@link #shutDown()}
+	 */
+	private volatile boolean keepAlive = false;
+
 
 	protected Registry registry;
 
@@ -90,8 +106,18 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 
 	private final BlockingQueue<OutputVariable> outputVariableQueue = new LinkedBlockingQueue<OutputVariable>();
 
+	/**
+	 * Output variables tracked but not sent to master yet, including the one being sent
+	 */
+	private final AtomicInteger pendingOutputVariables = new AtomicInteger(0);
+
 	private Thread statisticsThread; 
 
+	/**
+	 * Keeps track of the snapshots already sent to the master, to only send what changed
+	 */
+	private final StatisticsBatch.Encoder statisticsEncoder = new StatisticsBatch.Encoder();
+
 	//only for testing
 	protected ClientNodeImpl() {
 	}
@@ -105,6 +131,7 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		clientRmiIdentifier = "ClientNode";
 		doneLatch = new CountDownLatch(1);
 		finishedLatch = new CountDownLatch(1);
+		searchDoneLatch = new CountDownLatch(1);
 	}
 
 	private static class OutputVariable {
@@ -131,51 +158,125 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		searchExecutor.submit(new Runnable() {
 			@Override
 			public void run() {
-				changeState(ClientState.STARTED);
+				search();
+			}
+		});
+	}
 
-				//Before starting search, let's activate the sandbox
-				if (Properties.SANDBOX) {
-					Sandbox.initializeSecurityManagerForSUT();
-				}
-				List<TestGenerationResult> results = new ArrayList<TestGenerationResult>();
+	@Override
+	public void startNewSearch(final String targetClass) throws RemoteException, IllegalStateException {
+		final boolean reused = state.equals(ClientState.DONE) && keepAlive;
+		if (!state.equals(ClientState.NOT_STARTED) && !reused) {
+			throw new IllegalArgumentException("Search has already been started");
+		}
 
-				try {
-					// Starting a new search
-					TestSuiteGenerator generator = new TestSuiteGenerator();
-					results.add(generator.generateTestSuite());
-					// TODO: Why?
-					// GeneticAlgorithm<?> ga = generator.getEmployedGeneticAlgorithm();
+		keepAlive = true;
+		searchDoneLatch = new CountDownLatch(1);
 
-					masterNode.evosuite_collectTestGenerationResult(clientRmiIdentifier, results);
+		searchExecutor.submit(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					if (reused) {
+						LoggingUtils.getEvoLogger().info("* Re-using client for class: " + targetClass);
+						ClientProcess.resetForNewTargetClass(targetClass);
+						statisticsEncoder.reset();
+					}
+					search();
 				} catch (Throwable t) {
-					logger.error("Error when generating tests for: "
-							+ Properties.TARGET_CLASS + " with seed "
-							+ Randomness.getSeed() + ". Configuration id : "
-							+ Properties.CONFIGURATION_ID, t);
-					results.add(TestGenerationResultBuilder.buildErrorResult("Error when generating tests for: "
-                            + Properties.TARGET_CLASS+": "+t));
+					logger.error("Error when re-using client for: " + targetClass, t);
+				} finally {
+					// the master reads the output of this search as soon as we are done
+					flushOutputVariables();
+					searchDoneLatch.countDown();
 				}
+			}
+		});
+	}
 
-				changeState(ClientState.DONE);
+	private void search() {
+		changeState(ClientState.STARTED);
 
-				if (Properties.SANDBOX) {
-					/*
-					 * Note: this is mainly done for debugging purposes, to simplify how test cases are run/written 
-					 */
-					Sandbox.resetDefaultSecurityManager();
-				}
+		//Before starting search, let's activate the sandbox
+		if (Properties.SANDBOX) {
+			Sandbox.initializeSecurityManagerForSUT();
+		}
+		List<TestGenerationResult> results = new ArrayList<TestGenerationResult>();
+
+		try {
+			// Starting a new search
+			TestSuiteGenerator generator = new TestSuiteGenerator();
+			results.add(generator.generateTestSuite());
+			// TODO: Why?
+			// GeneticAlgorithm<?> ga = generator.getEmployedGeneticAlgorithm();
+
+			masterNode.evosuite_collectTestGenerationResult(clientRmiIdentifier, results);
+		} catch (Throwable t) {
+			logger.error("Error when generating tests for: "
+					+ Properties.TARGET_CLASS + " with seed "
+					+ Randomness.getSeed() + ". Configuration id : "
+					+ Properties.CONFIGURATION_ID, t);
+			results.add(TestGenerationResultBuilder.buildErrorResult("Error when generating tests for: "
+                    + Properties.TARGET_CLASS+": "+t));
+		}
+
+		changeState(ClientState.DONE);
+
+		if (Properties.SANDBOX) {
+			/*
+			 * Note: this is mainly done for debugging purposes, to simplify how test cases are run/written 
+			 */
+			Sandbox.resetDefaultSecurityManager();
+		}
+
+		/*
+		 * System is special due to the handling of properties
+		 * 
+		 *  TODO: re-add it once we save JUnit code in the 
+		 *  best individual. Otherwise, we wouldn't
+		 *  be able to properly create the JUnit files in the
+		 *  system test cases after the search
+		 */
+		//org.evosuite.runtime.System.fullReset();
+	}
 
-				/*
-				 * System is special due to the handling of properties
-				 * 
-				 *  TODO: re-add it once we save JUnit code in the 
-				 *  best individual. Otherwise, we wouldn't
-				 *  be able to properly create the JUnit files in the
-				 *  system test cases after the search
-				 */
-				//org.evosuite.runtime.System.fullReset();
+	@Override
+	public boolean waitUntilSearchDone(long timeoutInMs) throws RemoteException, InterruptedException {
+		return searchDoneLatch.await(timeoutInMs, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public double getUsedHeapRatio() throws RemoteException {
+		Runtime runtime = Runtime.getRuntime();
+		runtime.gc();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		return used / (double) runtime.maxMemory();
+	}
+
+	@Override
+	public void shutDown() throws RemoteException {
+		keepAlive = false;
+		doneLatch.countDown();
+	}
+
+	/**
+	 * Wait till all the tracked output variables have been sent by the
+	 * statistics thread
+	 */
+	private void flushOutputVariables() {
+		final long timeoutInMs = 5000;
+		long start = System.currentTimeMillis();
+		while (pendingOutputVariables.get() > 0 && statisticsThread != null && statisticsThread.isAlive()) {
+			if (System.currentTimeMillis() - start > timeoutInMs) {
+				logger.error("Failed to send " + pendingOutputVariables.get() + " output variables in time");
+				return;
 			}
-		});
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
 	}
 
 	@Override
@@ -220,7 +321,7 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 			logger.error("Cannot inform master of change of state", e);
 		}
 
-		if (this.state.equals(ClientState.DONE)) {
+		if (this.state.equals(ClientState.DONE) && !keepAlive) {
 			doneLatch.countDown();
 		}
 
@@ -240,6 +341,19 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		}
 	}
 
+	@Override
+	public synchronized void updateStatistics(List<StatisticsSnapshot> snapshots) {
+		logger.info("Sending " + snapshots.size() + " snapshots of best individuals to master process");
+
+		try {
+			masterNode.evosuite_collectStatistics(clientRmiIdentifier, statisticsEncoder.encode(snapshots));
+		} catch (RemoteException e) {
+			// the next batch must not depend on the lost one
+			statisticsEncoder.reset();
+			logger.error("Cannot inform master of change of state", e);
+		}
+	}
+
 	@Override
 	public void flushStatisticsForClassChange() {
 		logger.info("Flushing output variables to master process");
@@ -270,6 +384,7 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		 * As this code might be called from unsafe blocks, we just put the values
 		 * on a queue, and have a privileged thread doing the RMI connection to master
 		 */
+		pendingOutputVariables.incrementAndGet();
 		outputVariableQueue.offer(new OutputVariable(variable, value));
 	}
 
@@ -361,6 +476,10 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 						} catch (RemoteException e) {
 							logger.error("Error when exporting statistics: "+ov.variable+"="+ov.value, e);
 							break;
+						} finally {
+							if (ov != null) {
+								pendingOutputVariables.decrementAndGet();
+							}
 						}
 					}
 				}
@@ -19,8 +19,11 @@
  */
 package org.evosuite.rmi.service;
 
+import java.util.List;
+
 import org.evosuite.ga.Chromosome;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsSnapshot;
 
 /**
  * Client Node view in the client process.
@@ -41,6 +44,8 @@ public interface ClientNodeLocal {
 
 	public void updateStatistics(Chromosome individual);
 
+	public void updateStatistics(List<StatisticsSnapshot> snapshots);
+
 	public void flushStatisticsForClassChange();
 
 	public void updateProperty(String propertyName, Object value);
@@ -33,6 +33,41 @@ public interface ClientNodeRemote extends Remote {
 
 	public void startNewSearch() throws RemoteException;
 
+	/**
+	 * Start a search for the given class, and keep this client alive once the
+	 * search is done, so that it can be re-used for further classes. If this
+	 * client already did a search, all its per-class state is reset first.
+	 * 
+	 * @param targetClass the class under test
+	 * @throws RemoteException
+	 */
+	public void startNewSearch(String targetClass) throws RemoteException;
+
+	/**
+	 * 
+	 * @param timeoutInMs  maximum amount of time we can wait for the search to be done
+	 * @return <code>true</code> if the search started with {@link #startNewSearch(String)}
+	 * 			is done, and all its output has been sent to the master
+	 * @throws RemoteException
+	 * @throws InterruptedException
+	 */
+	public boolean waitUntilSearchDone(long timeoutInMs) throws RemoteException,
+	        InterruptedException;
+
+	/**
+	 * 
+	 * @return the ratio of the maximum heap that is in use after a garbage collection
+	 * @throws RemoteException
+	 */
+	public double getUsedHeapRatio() throws RemoteException;
+
+	/**
+	 * Let a client started with {@link #startNewSearch(String)} terminate
+	 * 
+	 * @throws RemoteException
+	 */
+	public void shutDown() throws RemoteException;
+
 	public void cancelCurrentSearch() throws RemoteException;
 
 	/**
@@ -21,9 +21,11 @@ package org.evosuite.rmi.service;
 
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
+import java.util.List;
 
 import org.evosuite.ga.Chromosome;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsSnapshot;
 
 public class DummyClientNodeImpl extends ClientNodeImpl {
 
@@ -61,6 +63,12 @@ public class DummyClientNodeImpl extends ClientNodeImpl {
 		
 	}
 
+	@Override
+	public void updateStatistics(List<StatisticsSnapshot> snapshots) {
+		// TODO Auto-generated method stub
+		
+	}
+
 	@Override
 	public void trackOutputVariable(RuntimeVariable name, Object value) {
 		// TODO Auto-generated method stub
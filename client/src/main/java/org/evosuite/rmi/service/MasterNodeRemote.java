@@ -27,6 +27,7 @@ import org.evosuite.Properties.NoSuchParameterException;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsBatch;
 
 /**
  * Master Node view in the client process.  
@@ -48,6 +49,8 @@ public interface MasterNodeRemote extends Remote {
 	
 	public void evosuite_collectStatistics(String clientRmiIdentifier, Chromosome individual) throws RemoteException;
 
+	public void evosuite_collectStatistics(String clientRmiIdentifier, StatisticsBatch batch) throws RemoteException;
+
 	public void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value) throws RemoteException;
 
 	public void evosuite_collectTestGenerationResult(String clientRmiIdentifier, List<TestGenerationResult> results) throws RemoteException;
@@ -22,6 +22,7 @@
  */
 package org.evosuite.seeding;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -29,6 +30,9 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -266,11 +270,22 @@ public class ObjectPool implements Serializable {
 	}
 
 	public void writePool(String fileName) {
+		/*
+		 * write to a tmp file first, and then rename it, as other processes
+		 * (eg, dependent jobs in CTG) might read the pool as soon as it exists
+		 */
+		File target = new File(fileName);
+		File tmp = new File(fileName + ".tmp");
 		try {
 			ObjectOutputStream out = new DebuggingObjectOutputStream(
-			        new FileOutputStream(fileName));
+			        new FileOutputStream(tmp));
 			out.writeObject(this);
 			out.close();
+			try {
+				Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
 		} catch (IOException e) {
 			logger.warn("Error while writing pool to file "+fileName+": "+e);
 		}
@@ -22,7 +22,11 @@
  */
 package org.evosuite.setup;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -212,4 +216,111 @@ public class InheritanceTree {
 		return inheritanceGraph.vertexSet().size();
 	}
 
+	/**
+	 * Write the tree in a compact binary format, in which each class and
+	 * method name is written only once
+	 * 
+	 * @param out
+	 * @throws IOException
+	 */
+	void writeTo(DataOutputStream out) throws IOException {
+		initialiseMap();
+
+		Map<String, Integer> ids = new LinkedHashMap<>();
+		for (String vertex : inheritanceGraph.vertexSet()) {
+			addId(ids, vertex);
+		}
+		for (String className : interfacesSet) {
+			addId(ids, className);
+		}
+		for (String className : abstractClassesSet) {
+			addId(ids, className);
+		}
+		for (Map.Entry<String, Set<String>> entry : analyzedMethods.entrySet()) {
+			addId(ids, entry.getKey());
+			for (String method : entry.getValue()) {
+				addId(ids, method);
+			}
+		}
+
+		out.writeInt(ids.size());
+		for (String string : ids.keySet()) {
+			out.writeUTF(string);
+		}
+
+		writeIds(out, ids, inheritanceGraph.vertexSet());
+		out.writeInt(inheritanceGraph.edgeSet().size());
+		for (DefaultEdge edge : inheritanceGraph.edgeSet()) {
+			out.writeInt(ids.get(inheritanceGraph.getEdgeSource(edge)));
+			out.writeInt(ids.get(inheritanceGraph.getEdgeTarget(edge)));
+		}
+		writeIds(out, ids, interfacesSet);
+		writeIds(out, ids, abstractClassesSet);
+		out.writeInt(analyzedMethods.size());
+		for (Map.Entry<String, Set<String>> entry : analyzedMethods.entrySet()) {
+			out.writeInt(ids.get(entry.getKey()));
+			writeIds(out, ids, entry.getValue());
+		}
+	}
+
+	/**
+	 * Read a tree written with {@link #writeTo(DataOutputStream)}
+	 * 
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	static InheritanceTree readFrom(DataInputStream in) throws IOException {
+		InheritanceTree tree = new InheritanceTree();
+		tree.initialiseMap();
+
+		int numStrings = in.readInt();
+		List<String> strings = new ArrayList<>(numStrings);
+		for (int i = 0; i < numStrings; i++) {
+			strings.add(in.readUTF());
+		}
+
+		int numVertices = in.readInt();
+		for (int i = 0; i < numVertices; i++) {
+			tree.inheritanceGraph.addVertex(strings.get(in.readInt()));
+		}
+		int numEdges = in.readInt();
+		for (int i = 0; i < numEdges; i++) {
+			String source = strings.get(in.readInt());
+			String target = strings.get(in.readInt());
+			tree.inheritanceGraph.addEdge(source, target);
+		}
+		readIds(in, strings, tree.interfacesSet);
+		readIds(in, strings, tree.abstractClassesSet);
+		int numClasses = in.readInt();
+		for (int i = 0; i < numClasses; i++) {
+			Set<String> methods = new HashSet<>();
+			tree.analyzedMethods.put(strings.get(in.readInt()), methods);
+			readIds(in, strings, methods);
+		}
+		return tree;
+	}
+
+	private static void addId(Map<String, Integer> ids, String string) {
+		if (!ids.containsKey(string)) {
+			ids.put(string, ids.size());
+		}
+	}
+
+	private static void writeIds(DataOutputStream out, Map<String, Integer> ids, Set<String> strings)
+			throws IOException {
+		out.writeInt(strings.size());
+		for (String string : strings) {
+			out.writeInt(ids.get(string));
+		}
+	}
+
+	private static void readIds(DataInputStream in, List<String> strings, Set<String> target)
+			throws IOException {
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			target.add(strings.get(in.readInt()));
+		}
+	}
+
 }
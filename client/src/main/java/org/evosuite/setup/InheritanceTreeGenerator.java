@@ -24,7 +24,13 @@ package org.evosuite.setup;
 
 import java.io.*;
 import java.util.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
@@ -41,7 +47,6 @@ import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.InnerClassNode;
-import org.objectweb.asm.tree.MethodNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,8 +64,26 @@ public class InheritanceTreeGenerator {
 	private static final String jdkFile =  "JDK_inheritance.xml";
 	private static final String shadedJdkFile = "JDK_inheritance_shaded.xml";
 
+	/** Start of inheritance tree files in the compact binary format, as opposed to gzipped XML */
+	private static final int COMPACT_FORMAT_MAGIC = 0x45564954;
+
+	/** To be changed whenever the compact format changes */
+	private static final int COMPACT_FORMAT_VERSION = 1;
+
+	private static final String COMPACT_EXTENSION = ".tree";
+
 	/**
-	 * Iterate over items in classpath and analyze them
+	 * Iterate over items in classpath and analyze them.
+	 * 
+	 * <p>
+	 * Jar files are analyzed in parallel, and their indices are reused from
+	 * {@link Properties#CLASSPATH_INDEX_DIR} if they did not change. Folders
+	 * are always analyzed, as they typically contain the project under test.
+	 * 
+	 * <p>
+	 * The whole tree is also stored in {@link Properties#CLASSPATH_INDEX_DIR},
+	 * so that all the clients with the same classpath (eg, for different
+	 * classes of the same project) only build it once.
 	 * 
 	 * @param classPath
 	 * @return
@@ -77,14 +100,9 @@ public class InheritanceTreeGenerator {
 				LoggingUtils.getEvoLogger().warn("* Error loading inheritance tree: {}", e);
 			}
 		}
-		
-		logger.debug("Reading JDK data");
-		InheritanceTree inheritanceTree = readJDKData();
-        if(inheritanceTree==null){
-            inheritanceTree = new InheritanceTree();
-        }
 
 		logger.debug("CP: {}", classPath);
+		List<String> classPathEntries = new ArrayList<>();
 		for (String classPathEntry : classPath) {
 			logger.debug("Looking at CP entry: {}", classPathEntry);
 			if (classPathEntry.isEmpty())
@@ -93,10 +111,58 @@ public class InheritanceTreeGenerator {
 			if (classPathEntry.matches(".*evosuite-.*\\.jar"))
 				continue;
 
+			classPathEntries.add(classPathEntry);
+		}
+
+		File indexFolder = Properties.CLASSPATH_INDEX_DIR.isEmpty() ? null
+		        : new File(Properties.CLASSPATH_INDEX_DIR);
+		File cachedTree = null;
+		if (!Properties.INSTRUMENT_CONTEXT && indexFolder != null) {
+			cachedTree = new File(indexFolder, "inheritance-"
+			        + Long.toHexString(getFingerprint(classPathEntries)) + COMPACT_EXTENSION);
+			if (cachedTree.exists()) {
+				try {
+					InheritanceTree tree = readInheritanceTree(cachedTree.getAbsolutePath());
+					LoggingUtils.getEvoLogger().info("* Inheritance tree loaded from {}",
+					                                 cachedTree);
+					return tree;
+				} catch (IOException e) {
+					LoggingUtils.getEvoLogger().warn("* Error loading inheritance tree: {}", e);
+				}
+			}
+		}
+
+		logger.debug("Reading JDK data");
+		InheritanceTree inheritanceTree = readJDKData();
+        if(inheritanceTree==null){
+            inheritanceTree = new InheritanceTree();
+        }
+
+		Map<String, JarClassIndex> jarIndices = classPathEntries.parallelStream()
+		        .filter(classPathEntry -> classPathEntry.endsWith(".jar"))
+		        .distinct()
+		        .collect(Collectors.toMap(classPathEntry -> classPathEntry,
+		                classPathEntry -> JarClassIndex.load(new File(classPathEntry), indexFolder)));
+
+		// the tree has to be built in classpath order, as the first occurrence of a class is kept
+		for (String classPathEntry : classPathEntries) {
 			logger.debug("Analyzing classpath entry {}", classPathEntry);
 			LoggingUtils.getEvoLogger().info("  - " + classPathEntry);
-	        for(String className : ResourceList.getInstance(
-					TestGenerationContext.getInstance().getClassLoaderForSUT()).getAllClasses(classPathEntry, "", true, false)) {
+			Set<String> classNames = ResourceList.getInstance(
+					TestGenerationContext.getInstance().getClassLoaderForSUT()).getAllClasses(classPathEntry, "", true, false);
+
+			JarClassIndex jarIndex = jarIndices.get(classPathEntry);
+			if (jarIndex != null) {
+				for (JarClassIndex.ClassInfo info : jarIndex.getClasses()) {
+					// classes shadowed by a previous classpath entry are not listed
+					if (classNames.contains(info.name.replace('/', '.'))) {
+						analyzeClassInfo(inheritanceTree, info, false);
+					}
+				}
+				continue;
+			}
+
+	        for(String className : classNames) {
 	        	// handle individual class
 				analyzeClassStream(inheritanceTree, ResourceList.getInstance(
 						TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className), false);
@@ -104,9 +170,74 @@ public class InheritanceTreeGenerator {
 
 			// analyze(inheritanceTree, classPathEntry);
 		}
+
+		if (cachedTree != null) {
+			try {
+				writeCompactInheritanceTree(inheritanceTree, cachedTree);
+				// a tree for a different classpath is most likely outdated
+				JarClassIndex.deleteStaleFiles(cachedTree, "inheritance-", COMPACT_EXTENSION);
+			} catch (IOException e) {
+				logger.warn("Failed to store inheritance tree in " + cachedTree.getAbsolutePath()
+				        + " , " + e.getMessage());
+			}
+		}
 		return inheritanceTree;
 	}
 
+	/**
+	 * A fingerprint of the given classpath entries, based on the paths, sizes
+	 * and modification times of the jars and of the class files in folders.
+	 * EvoSuite itself is included, as it provides the JDK part of the tree.
+	 * 
+	 * @param classPathEntries
+	 * @return
+	 */
+	private static long getFingerprint(List<String> classPathEntries) {
+		CRC32 checksum = new CRC32();
+		updateChecksum(checksum, String.valueOf(COMPACT_FORMAT_VERSION));
+		updateChecksum(checksum, String.valueOf(PackageInfo.isCurrentlyShaded()));
+		try {
+			File evosuite = new File(InheritanceTreeGenerator.class.getProtectionDomain().getCodeSource()
+			        .getLocation().toURI());
+			updateChecksum(checksum, evosuite);
+		} catch (Exception e) {
+			// then the tree might be reused with a different version of EvoSuite
+			logger.debug("Cannot locate EvoSuite: " + e.getMessage());
+		}
+		for (String classPathEntry : classPathEntries) {
+			File file = new File(classPathEntry).getAbsoluteFile();
+			updateChecksum(checksum, file);
+			if (file.isDirectory()) {
+				updateChecksumForFolder(checksum, file);
+			}
+		}
+		return checksum.getValue();
+	}
+
+	private static void updateChecksumForFolder(CRC32 checksum, File folder) {
+		File[] files = folder.listFiles();
+		if (files == null) {
+			return;
+		}
+		// the order of listFiles is not specified
+		Arrays.sort(files);
+		for (File file : files) {
+			if (file.isDirectory()) {
+				updateChecksumForFolder(checksum, file);
+			} else if (file.getName().endsWith(".class")) {
+				updateChecksum(checksum, file);
+			}
+		}
+	}
+
+	private static void updateChecksum(CRC32 checksum, File file) {
+		updateChecksum(checksum, file.getPath() + ":" + file.length() + ":" + file.lastModified());
+	}
+
+	private static void updateChecksum(CRC32 checksum, String value) {
+		checksum.update(value.getBytes(StandardCharsets.UTF_8));
+	}
+
 	/**
 	 * Create inheritance tree only for the classes passed as parameter
 	 * 
@@ -253,30 +384,33 @@ public class InheritanceTreeGenerator {
 		}
 	}
 	
-	@SuppressWarnings("unchecked")
 	private static void analyzeClassNode(InheritanceTree inheritanceTree,
 	        ClassNode cn, boolean onlyPublic) {
+		analyzeClassInfo(inheritanceTree, JarClassIndex.ClassInfo.fromClassNode(cn), onlyPublic);
+	}
+
+	private static void analyzeClassInfo(InheritanceTree inheritanceTree,
+	        JarClassIndex.ClassInfo info, boolean onlyPublic) {
 		
-		logger.info("Analyzing class {}", cn.name);
+		logger.info("Analyzing class {}", info.name);
 		
 		// Don't load classes already seen from a different CP entry
-		if(inheritanceTree.hasClass(cn.name))
+		if(inheritanceTree.hasClass(info.name))
 			return;
 
-		if ((Opcodes.ACC_INTERFACE & cn.access) != Opcodes.ACC_INTERFACE) {
-			for (Object m : cn.methods) {
-				MethodNode mn = (MethodNode) m;
+		if ((Opcodes.ACC_INTERFACE & info.access) != Opcodes.ACC_INTERFACE) {
+			for (int i = 0; i < info.methods.length; i += 2) {
 				inheritanceTree
-				.addAnalyzedMethod(cn.name, mn.name, mn.desc);
+				.addAnalyzedMethod(info.name, info.methods[i], info.methods[i + 1]);
 			}
-			if ((Opcodes.ACC_ABSTRACT & cn.access) == Opcodes.ACC_ABSTRACT) {
-				inheritanceTree.registerAbstractClass(cn.name);
+			if ((Opcodes.ACC_ABSTRACT & info.access) == Opcodes.ACC_ABSTRACT) {
+				inheritanceTree.registerAbstractClass(info.name);
 			}
 		}else{
-			inheritanceTree.registerInterface(cn.name);
+			inheritanceTree.registerInterface(info.name);
 		}
 		if (onlyPublic) {
-			if ((cn.access & Opcodes.ACC_PUBLIC) == 0) {
+			if ((info.access & Opcodes.ACC_PUBLIC) == 0) {
 				return;
 			}
 //		} else {
@@ -286,12 +420,11 @@ public class InheritanceTreeGenerator {
 //			}
 		}
 
-		if (cn.superName != null)
-			inheritanceTree.addSuperclass(cn.name, cn.superName, cn.access);
+		if (info.superName != null)
+			inheritanceTree.addSuperclass(info.name, info.superName, info.access);
 
-		List<String> interfaces = cn.interfaces;
-		for (String interfaceName : interfaces) {
-			inheritanceTree.addInterface(cn.name, interfaceName);
+		for (String interfaceName : info.interfaces) {
+			inheritanceTree.addInterface(info.name, interfaceName);
 		}
 	}
 
@@ -459,10 +592,28 @@ public class InheritanceTreeGenerator {
         }
 	}
 
+	/**
+	 * Read an inheritance tree, either in gzipped XML or in the compact binary format
+	 * 
+	 * @param fileName
+	 * @return
+	 * @throws IOException
+	 */
 	public static InheritanceTree readInheritanceTree(String fileName) throws IOException {
-		XStream xstream = new XStream();
-		GZIPInputStream inheritance = new GZIPInputStream(new FileInputStream(new File(fileName)));
-		return (InheritanceTree) xstream.fromXML(inheritance);
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(new File(fileName))))) {
+			input.mark(4);
+			if (input.readInt() == COMPACT_FORMAT_MAGIC) {
+				if (input.readInt() != COMPACT_FORMAT_VERSION) {
+					throw new IOException("Unsupported format of inheritance tree " + fileName);
+				}
+				return InheritanceTree.readFrom(input);
+			}
+			input.reset();
+
+			XStream xstream = new XStream();
+			GZIPInputStream inheritance = new GZIPInputStream(input);
+			return (InheritanceTree) xstream.fromXML(inheritance);
+		}
 	}
 
 	public static InheritanceTree readUncompressedInheritanceTree(String fileName)
@@ -479,6 +630,35 @@ public class InheritanceTreeGenerator {
 		output.close();
 	}
 
+	/**
+	 * Write the tree in a compact binary format, which is much faster to
+	 * read than XML. As several processes might read the file at the same
+	 * time, it is written to a temporary file first, and then renamed.
+	 * 
+	 * @param tree
+	 * @param file
+	 * @throws IOException
+	 */
+	public static void writeCompactInheritanceTree(InheritanceTree tree, File file) throws IOException {
+		File folder = file.getAbsoluteFile().getParentFile();
+		folder.mkdirs();
+		File tmp = File.createTempFile(file.getName(), ".tmp", folder);
+		try {
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				output.writeInt(COMPACT_FORMAT_MAGIC);
+				output.writeInt(COMPACT_FORMAT_VERSION);
+				tree.writeTo(output);
+			}
+			try {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			tmp.delete();
+		}
+	}
+
 
 	public static Collection<String> getAllResources() {
 		Collection<String> retval = getResources(System.getProperty("java.class.path", "."));
@@ -0,0 +1,320 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * What the inheritance tree needs to know about the classes of a jar file,
+ * ie their access flags, super types and methods.
+ *
+ * <p>
+ * The jars on the classpath of a project rarely change between runs, so the
+ * index of a jar can be stored in a folder, and later runs load it instead of
+ * parsing all the class files again. A stored index is identified by a
+ * checksum of the central directory of the jar, which contains the CRC of
+ * each of its entries: a jar that is modified is analyzed again, even if its
+ * path stays the same.
+ */
+class JarClassIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(JarClassIndex.class);
+
+	/** To be changed whenever the format of the stored indices changes */
+	private static final int VERSION = 1;
+
+	private static final String EXTENSION = ".index";
+
+	/**
+	 * A class of the jar, as read by the {@link InheritanceTreeGenerator}
+	 */
+	static class ClassInfo {
+
+		/** Internal name, eg org/some/Foo */
+		final String name;
+
+		final int access;
+
+		/** null for java/lang/Object */
+		final String superName;
+
+		final String[] interfaces;
+
+		/** Names and descriptors of the methods, one after the other */
+		final String[] methods;
+
+		ClassInfo(String name, int access, String superName, String[] interfaces, String[] methods) {
+			this.name = name;
+			this.access = access;
+			this.superName = superName;
+			this.interfaces = interfaces;
+			this.methods = methods;
+		}
+
+		@SuppressWarnings("unchecked")
+		static ClassInfo fromClassNode(ClassNode cn) {
+			List<MethodNode> methodNodes = cn.methods;
+			String[] methods = new String[methodNodes.size() * 2];
+			for (int i = 0; i < methodNodes.size(); i++) {
+				methods[2 * i] = methodNodes.get(i).name;
+				methods[2 * i + 1] = methodNodes.get(i).desc;
+			}
+			List<String> interfaces = cn.interfaces;
+			return new ClassInfo(cn.name, cn.access, cn.superName, interfaces.toArray(new String[0]), methods);
+		}
+	}
+
+	private final List<ClassInfo> classes;
+
+	private JarClassIndex(List<ClassInfo> classes) {
+		this.classes = classes;
+	}
+
+	/**
+	 * @return the classes of the jar, in the order of its entries
+	 */
+	public List<ClassInfo> getClasses() {
+		return Collections.unmodifiableList(classes);
+	}
+
+	/**
+	 * Index the given jar file. This does not access any shared state, and
+	 * so it can be done for several jars in parallel.
+	 *
+	 * @param jarFile
+	 * @param indexFolder
+	 *            where indices are stored and looked up; if null, the jar is
+	 *            always analyzed
+	 * @return an empty index if the jar cannot be read
+	 */
+	public static JarClassIndex load(File jarFile, File indexFolder) {
+		try (ZipFile zf = new ZipFile(jarFile)) {
+			if (indexFolder == null) {
+				return analyze(zf);
+			}
+
+			String prefix = getIndexPrefix(jarFile);
+			File indexFile = new File(indexFolder, prefix + Long.toHexString(getChecksum(zf)) + EXTENSION);
+			if (indexFile.exists()) {
+				try {
+					return read(indexFile);
+				} catch (IOException e) {
+					logger.warn("Failed to read index " + indexFile.getAbsolutePath() + " , "
+					        + e.getMessage());
+				}
+			}
+
+			JarClassIndex index = analyze(zf);
+			index.write(indexFile);
+			// the indices of previous versions of the jar will not be used anymore
+			deleteStaleFiles(indexFile, prefix, EXTENSION);
+			return index;
+
+		} catch (IOException e) {
+			logger.warn("Failed to open/analyze jar file " + jarFile.getAbsolutePath() + " , "
+			        + e.getMessage());
+			return new JarClassIndex(new ArrayList<ClassInfo>());
+		}
+	}
+
+	/**
+	 * The names of the indices of a jar start with its name and a hash of its
+	 * path: jars with the same name in different folders (eg the
+	 * classes.jar of several modules) must not delete each other's index
+	 * 
+	 * @param jarFile
+	 * @return name-pathhash-
+	 */
+	static String getIndexPrefix(File jarFile) {
+		CRC32 pathHash = new CRC32();
+		pathHash.update(jarFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+		return jarFile.getName() + "-" + Long.toHexString(pathHash.getValue()) + "-";
+	}
+
+	/**
+	 * Delete the files in the folder of the given file whose names only
+	 * differ from it by the checksum, ie prefix + checksum + extension
+	 * 
+	 * @param current
+	 *            the file to keep
+	 * @param prefix
+	 * @param extension
+	 */
+	static void deleteStaleFiles(File current, String prefix, String extension) {
+		Pattern pattern = Pattern.compile(Pattern.quote(prefix) + "[0-9a-f]+" + Pattern.quote(extension));
+		File[] files = current.getAbsoluteFile().getParentFile().listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			if (!file.getName().equals(current.getName()) && pattern.matcher(file.getName()).matches()) {
+				logger.debug("Deleting stale file {}", file);
+				if (!file.delete()) {
+					logger.warn("Failed to delete stale file " + file.getAbsolutePath());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Only the central directory of the jar is read, no entry is inflated
+	 */
+	private static long getChecksum(ZipFile zf) {
+		CRC32 checksum = new CRC32();
+		Enumeration<? extends ZipEntry> entries = zf.entries();
+		while (entries.hasMoreElements()) {
+			ZipEntry entry = entries.nextElement();
+			checksum.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+			long crc = entry.getCrc();
+			for (int i = 0; i < 8; i++) {
+				checksum.update((int) (crc >>> (8 * i)));
+			}
+		}
+		return checksum.getValue();
+	}
+
+	private static JarClassIndex analyze(ZipFile zf) {
+		List<ClassInfo> classes = new ArrayList<>();
+		Enumeration<? extends ZipEntry> entries = zf.entries();
+		while (entries.hasMoreElements()) {
+			ZipEntry entry = entries.nextElement();
+			if (!entry.getName().endsWith(".class"))
+				continue;
+
+			try (InputStream is = zf.getInputStream(entry)) {
+				ClassReader reader = new ClassReader(is);
+				ClassNode cn = new ClassNode();
+				reader.accept(cn, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG
+				        | ClassReader.SKIP_CODE);
+				classes.add(ClassInfo.fromClassNode(cn));
+			} catch (IOException e) {
+				/*
+				 * even if there is a problem with one of the entries, we can still
+				 * go on and look at the others
+				 */
+				logger.error("Error while analyzing class " + entry.getName() + " in the jar "
+				        + zf.getName(), e);
+			} catch (ArrayIndexOutOfBoundsException e) {
+				logger.error("ASM Error while reading class (" + e.getMessage() + ")");
+			}
+		}
+		return new JarClassIndex(classes);
+	}
+
+	private static JarClassIndex read(File indexFile) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+		        new FileInputStream(indexFile)))) {
+			if (in.readInt() != VERSION) {
+				throw new IOException("Unsupported index version");
+			}
+			int numClasses = in.readInt();
+			List<ClassInfo> classes = new ArrayList<>(numClasses);
+			for (int i = 0; i < numClasses; i++) {
+				String name = in.readUTF();
+				int access = in.readInt();
+				String superName = in.readBoolean() ? in.readUTF() : null;
+				String[] interfaces = readStrings(in);
+				String[] methods = readStrings(in);
+				classes.add(new ClassInfo(name, access, superName, interfaces, methods));
+			}
+			return new JarClassIndex(classes);
+		}
+	}
+
+	private static String[] readStrings(DataInputStream in) throws IOException {
+		String[] strings = new String[in.readInt()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = in.readUTF();
+		}
+		return strings;
+	}
+
+	/**
+	 * Several clients might index the same jar at the same time, so the
+	 * index is written to a temporary file first, and then renamed
+	 */
+	private void write(File indexFile) {
+		File tmp = null;
+		try {
+			File folder = indexFile.getAbsoluteFile().getParentFile();
+			folder.mkdirs();
+			tmp = File.createTempFile(indexFile.getName(), ".tmp", folder);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+			        new FileOutputStream(tmp)))) {
+				out.writeInt(VERSION);
+				out.writeInt(classes.size());
+				for (ClassInfo info : classes) {
+					out.writeUTF(info.name);
+					out.writeInt(info.access);
+					out.writeBoolean(info.superName != null);
+					if (info.superName != null) {
+						out.writeUTF(info.superName);
+					}
+					writeStrings(out, info.interfaces);
+					writeStrings(out, info.methods);
+				}
+			}
+			try {
+				Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to write index " + indexFile.getAbsolutePath() + " , "
+			        + e.getMessage());
+			if (tmp != null) {
+				tmp.delete();
+			}
+		}
+	}
+
+	private static void writeStrings(DataOutputStream out, String[] strings) throws IOException {
+		out.writeInt(strings.length);
+		for (String s : strings) {
+			out.writeUTF(s);
+		}
+	}
+}
@@ -26,7 +26,6 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.stream.Collectors;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -44,6 +43,7 @@ import org.evosuite.utils.generic.GenericAccessibleObject;
 import org.evosuite.utils.generic.GenericClass;
 import org.evosuite.utils.generic.GenericConstructor;
 import org.evosuite.utils.generic.GenericMethod;
+import org.evosuite.utils.generic.GenericTypeCache;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -78,9 +78,18 @@ public class TestCluster {
 	/** Cached information about how to generate types */
 	private final static Map<GenericClass, Set<GenericAccessibleObject<?>>> generatorCache = new LinkedHashMap<>();
 
+	/** The cached generators as arrays, to randomly select them */
+	private final static Map<GenericClass, GeneratorTable> generatorTables = new HashMap<>();
+
 	/** Static information about how to modify types */
 	private final static Map<GenericClass, Set<GenericAccessibleObject<?>>> modifiers = new LinkedHashMap<>();
 
+	/**
+	 * How often a generator is drawn at random before falling back to scan
+	 * for the ones that are not excluded
+	 */
+	private static final int MAX_GENERATOR_SAMPLES = 8;
+
 	private static InheritanceTree inheritanceTree = null;
 
     private EnvironmentTestClusterAugmenter environmentAugmenter;
@@ -112,8 +121,10 @@ public class TestCluster {
 		testMethods.clear();
 		generators.clear();
 		generatorCache.clear();
+		generatorTables.clear();
 		modifiers.clear();
 		CastClassManager.getInstance().clear();
+		GenericTypeCache.clear();
 
 		instance = null;
 	}
@@ -162,6 +173,7 @@ public class TestCluster {
 		removeDirectCycle();
 		
 		generatorCache.clear();
+		generatorTables.clear();
 	}
 
 
@@ -270,6 +282,7 @@ public class TestCluster {
 			GenericClass gen = (GenericClass) entry.getKey();
 			if(gen.isAssignableFrom(klass)){
 				iter.remove();
+				generatorTables.remove(gen);
 			}
 		}
 	}
@@ -496,6 +509,64 @@ public class TestCluster {
 	 */
 	public void clearGeneratorCache(GenericClass target) {
 		generatorCache.clear();
+		generatorTables.clear();
+	}
+
+	/**
+	 * The cached generators of a type in arrays, so that one can be selected
+	 * at random in constant time and without creating new collections
+	 */
+	private static class GeneratorTable {
+
+		/** The set in the generator cache this table was created from */
+		private final Set<GenericAccessibleObject<?>> source;
+
+		private final int sourceSize;
+
+		private final GenericAccessibleObject<?>[] all;
+
+		/** The generators that do not need an instance of their owner class */
+		private final GenericAccessibleObject<?>[] staticOrConstructor;
+
+		public GeneratorTable(Set<GenericAccessibleObject<?>> source) {
+			this.source = source;
+			this.sourceSize = source.size();
+			this.all = source.toArray(new GenericAccessibleObject<?>[sourceSize]);
+			int count = 0;
+			for (GenericAccessibleObject<?> generator : all) {
+				if (generator.isStatic() || generator.isConstructor()) {
+					count++;
+				}
+			}
+			this.staticOrConstructor = new GenericAccessibleObject<?>[count];
+			int index = 0;
+			for (GenericAccessibleObject<?> generator : all) {
+				if (generator.isStatic() || generator.isConstructor()) {
+					staticOrConstructor[index++] = generator;
+				}
+			}
+		}
+
+		/**
+		 * The sets of the generator cache are replaced when invalidated, but
+		 * might also be changed in place, eg by {@link #addNumericConstructor}
+		 */
+		public boolean isUpToDate(Set<GenericAccessibleObject<?>> current) {
+			return current == source && current.size() == sourceSize;
+		}
+	}
+
+	private GeneratorTable getGeneratorTable(GenericClass clazz) {
+		Set<GenericAccessibleObject<?>> cached = generatorCache.get(clazz);
+		if (cached == null) {
+			return null;
+		}
+		GeneratorTable table = generatorTables.get(clazz);
+		if (table == null || !table.isUpToDate(cached)) {
+			table = new GeneratorTable(cached);
+			generatorTables.put(clazz, table);
+		}
+		return table;
 	}
 
 	/**
@@ -1001,7 +1072,7 @@ public class TestCluster {
 			if (!hasGenerator(clazz))
 				throw new ConstructionFailedException("No generators of type " + clazz);
 
-			generator = Randomness.choice(generatorCache.get(clazz));
+			generator = Randomness.choice(getGeneratorTable(clazz).all);
 		}
 
 		if (generator == null)
@@ -1027,7 +1098,7 @@ public class TestCluster {
 	        Set<GenericAccessibleObject<?>> excluded, TestCase test, int position,
 			VariableReference generatorRefToExclude, int recursionDepth) throws ConstructionFailedException {
 
-		logger.debug("Getting random generator for " + clazz);
+		logger.debug("Getting random generator for {}", clazz);
 
 		// Instantiate generics
 		if (clazz.hasWildcardOrTypeVariables()) {
@@ -1050,45 +1121,7 @@ public class TestCluster {
 			}
 		} else {
 			cacheGenerators(clazz);
-
-			Set<GenericAccessibleObject<?>> candidates = new LinkedHashSet<>(generatorCache.get(clazz));
-			candidates.removeAll(excluded);
-
-			if(Properties.JEE) {
-				Iterator<GenericAccessibleObject<?>> iter = candidates.iterator();
-				while (iter.hasNext()) {
-					GenericAccessibleObject<?> gao = iter.next();
-					if (gao instanceof GenericConstructor) {
-						Class<?> klass = gao.getDeclaringClass();
-						if(InstanceOnlyOnce.canInstantiateOnlyOnce(klass) &&
-								ConstraintHelper.countNumberOfNewInstances(test, klass) != 0){
-							iter.remove();
-						}
-					}
-
-					if(! ConstraintVerifier.isValidPositionForInsertion(gao,test,position)){
-						iter.remove();
-					}
-				}
-			}
-
-			if(generatorRefToExclude != null){
-				Iterator<GenericAccessibleObject<?>> iter = candidates.iterator();
-				while (iter.hasNext()) {
-					GenericAccessibleObject<?> gao = iter.next();
-					//if current generator could be called from excluded ref, then we cannot use it
-					if(generatorRefToExclude.isAssignableTo(gao.getOwnerType())){
-						iter.remove();
-					}
-				}
-
-			}
-
-			logger.debug("Candidate generators for " + clazz + ": " + candidates.size());
-
-			if (candidates.isEmpty()) {
-				return null;
-			}
+			GeneratorTable table = getGeneratorTable(clazz);
 
 			if(recursionDepth >= Properties.MAX_RECURSION / 2){
 				/*
@@ -1096,16 +1129,18 @@ public class TestCluster {
 					as non-static methods would require to get a caller which, if it is missing, would need
 					to be created, and that could lead to further calls if its generators need input parameters
 				 */
-				Set<GenericAccessibleObject<?>> set = candidates.stream()
-						.filter(p -> p.isStatic() || p.isConstructor())
-						.collect(Collectors.toSet());
-				if(! set.isEmpty()){
-					candidates = set;
-				}
+				generator = chooseGenerator(table.staticOrConstructor, excluded, test, position, generatorRefToExclude);
+			}
+			if(generator == null){
+				generator = chooseGenerator(table.all, excluded, test, position, generatorRefToExclude);
+			}
+
+			if (generator == null) {
+				logger.debug("No candidate generators for {}", clazz);
+				return null;
 			}
 
-			generator = Randomness.choice(candidates);
-			logger.debug("Chosen generator: " + generator);
+			logger.debug("Chosen generator: {}", generator);
 		}
 
 		if (generator.getOwnerClass().hasWildcardOrTypeVariables()) {
@@ -1125,6 +1160,69 @@ public class TestCluster {
 
 	}
 
+	/**
+	 * Uniformly select one of the candidates that can be used. As usually
+	 * only few of them cannot be used, first candidates are drawn at random
+	 * until one can be used, and only then all of them are checked
+	 *
+	 * @return {@code null} if no candidate can be used
+	 */
+	private GenericAccessibleObject<?> chooseGenerator(GenericAccessibleObject<?>[] candidates,
+			Set<GenericAccessibleObject<?>> excluded, TestCase test, int position,
+			VariableReference generatorRefToExclude) {
+		if (candidates.length == 0) {
+			return null;
+		}
+
+		for (int i = 0; i < MAX_GENERATOR_SAMPLES; i++) {
+			GenericAccessibleObject<?> candidate = candidates[Randomness.nextInt(candidates.length)];
+			if (isUsableGenerator(candidate, excluded, test, position, generatorRefToExclude)) {
+				return candidate;
+			}
+		}
+
+		int usable = 0;
+		for (GenericAccessibleObject<?> candidate : candidates) {
+			if (isUsableGenerator(candidate, excluded, test, position, generatorRefToExclude)) {
+				usable++;
+			}
+		}
+		if (usable == 0) {
+			return null;
+		}
+		int choice = Randomness.nextInt(usable);
+		for (GenericAccessibleObject<?> candidate : candidates) {
+			if (isUsableGenerator(candidate, excluded, test, position, generatorRefToExclude) && choice-- == 0) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private boolean isUsableGenerator(GenericAccessibleObject<?> gao, Set<GenericAccessibleObject<?>> excluded,
+			TestCase test, int position, VariableReference generatorRefToExclude) {
+		if (excluded.contains(gao)) {
+			return false;
+		}
+
+		if (Properties.JEE) {
+			if (gao instanceof GenericConstructor) {
+				Class<?> klass = gao.getDeclaringClass();
+				if (InstanceOnlyOnce.canInstantiateOnlyOnce(klass) &&
+						ConstraintHelper.countNumberOfNewInstances(test, klass) != 0) {
+					return false;
+				}
+			}
+
+			if (!ConstraintVerifier.isValidPositionForInsertion(gao, test, position)) {
+				return false;
+			}
+		}
+
+		//if current generator could be called from excluded ref, then we cannot use it
+		return generatorRefToExclude == null || !generatorRefToExclude.isAssignableTo(gao.getOwnerType());
+	}
+
 	/**
 	 * Randomly select a generator for an Object.class instance
 	 *
@@ -37,10 +37,14 @@ public abstract class ChromosomeOutputVariableFactory<T>  {
 		this.variable = variable;
 	}
 	
-	protected abstract T getData(TestSuiteChromosome individual);
+	protected abstract T getData(StatisticsSnapshot individual);
 	
 	public OutputVariable<T> getVariable(TestSuiteChromosome chromosome) {
-		return new OutputVariable<T>(variable.name(), getData(chromosome));
+		return getVariable(StatisticsSnapshot.of(chromosome));
+	}
+
+	public OutputVariable<T> getVariable(StatisticsSnapshot snapshot) {
+		return new OutputVariable<T>(variable.name(), getData(snapshot));
 	}
 
 }
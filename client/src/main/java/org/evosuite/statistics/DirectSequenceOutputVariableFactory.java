@@ -19,8 +19,6 @@
  */
 package org.evosuite.statistics;
 
-import org.evosuite.testsuite.TestSuiteChromosome;
-
 /**
  * Sequence output variable whose value can be set directly,
  * instead of retrieved from individual.
@@ -36,7 +34,7 @@ public abstract class DirectSequenceOutputVariableFactory<T extends Number> exte
     }
 
     @Override
-    public T getValue(TestSuiteChromosome individual) {
+    public T getValue(StatisticsSnapshot individual) {
         return this.value;
     }
 
@@ -379,7 +379,19 @@ public enum RuntimeVariable {
 	/** How many SAT queries led to Useful (i.e. better fitness) new tests*/ 
 	NumberOfUsefulNewTests,
 	/** How many SAT queries led to Unuseful (i.e. no better fitness) new tests*/ 
-	NumberOfUnusefulNewTests
+	NumberOfUnusefulNewTests,
+	/** How many solver queries were answered by the solver cache */
+	SolverCacheHits,
+	/** How many solver queries were not found in the solver cache */
+	SolverCacheMisses,
+	/** How many solver results were evicted from the bounded solver cache */
+	SolverCacheEvictions,
+	
+	/* -------------------------------------------------------------------- */
+	/** How often the tests archive checked a new test for collateral coverage */
+	ArchiveUpdates,
+	/** Average time in microseconds the tests archive spent checking a new test for collateral coverage */
+	Time_ArchiveUpdate
 	
 	;
 	/* -------------------------------------------------- */
@@ -51,10 +51,20 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
 		this.startTime = time;
 	}
 	
-	protected abstract T getValue(TestSuiteChromosome individual);
+	protected abstract T getValue(StatisticsSnapshot individual);
 	
 	public void update(TestSuiteChromosome individual) {
-		timeStamps.add(System.currentTimeMillis() - startTime);
+		update(StatisticsSnapshot.of(individual));
+	}
+
+	/**
+	 * The snapshot may have been taken a while ago on the client, so its time
+	 * stamp rather than the current time is used
+	 *
+	 * @param individual
+	 */
+	public void update(StatisticsSnapshot individual) {
+		timeStamps.add(individual.getTimestamp() - startTime);
 		values.add(getValue(individual));
 	}
 	
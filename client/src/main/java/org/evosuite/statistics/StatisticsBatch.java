@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of {@link StatisticsSnapshot}s as sent from a client to the master.
+ *
+ * Consecutive snapshots mostly differ in a few values, so a batch is delta
+ * encoded with respect to the previous snapshot of the same client: value
+ * names are sent only once and then referred to by index, and for each
+ * snapshot only the values that changed are sent, together with the time
+ * since the previous snapshot. Batches therefore have to be decoded in the
+ * order they were encoded, by one {@link Decoder} per {@link Encoder}.
+ */
+public class StatisticsBatch implements Serializable {
+
+	private static final long serialVersionUID = 3093451380624376287L;
+
+	/** If true, the decoder has to forget about all previous batches */
+	private final boolean reset;
+
+	/** Names of the values that are used for the first time, in index order */
+	private final String[] newNames;
+
+	/** For each snapshot, the time since the previous one */
+	private final long[] timeDeltas;
+
+	/** For each snapshot, the number of changed values */
+	private final int[] numChanges;
+
+	/** Indices of changed values; for a removed value it is the complement of the index */
+	private final int[] indices;
+
+	/** The new values, for the indices that are not removals */
+	private final double[] values;
+
+	private StatisticsBatch(boolean reset, String[] newNames, long[] timeDeltas, int[] numChanges, int[] indices,
+			double[] values) {
+		this.reset = reset;
+		this.newNames = newNames;
+		this.timeDeltas = timeDeltas;
+		this.numChanges = numChanges;
+		this.indices = indices;
+		this.values = values;
+	}
+
+	/**
+	 * @return the number of snapshots in this batch
+	 */
+	public int size() {
+		return timeDeltas.length;
+	}
+
+	/**
+	 * @return the number of values in this batch, i.e., changes over all snapshots
+	 */
+	public int getNumberOfValues() {
+		return indices.length;
+	}
+
+	/**
+	 * Encodes snapshots into batches, keeping track of what the decoder
+	 * already knows
+	 */
+	public static class Encoder {
+
+		private final Map<String, Integer> indexByName = new HashMap<>();
+
+		private final List<String> names = new ArrayList<>();
+
+		/** Last sent value of each name, null if it is not set */
+		private final List<Double> lastValues = new ArrayList<>();
+
+		private long lastTimestamp = 0L;
+
+		private boolean reset = true;
+
+		public StatisticsBatch encode(List<StatisticsSnapshot> snapshots) {
+			int firstNewName = names.size();
+			long[] timeDeltas = new long[snapshots.size()];
+			int[] numChanges = new int[snapshots.size()];
+			List<Integer> indices = new ArrayList<>();
+			List<Double> values = new ArrayList<>();
+
+			for (int i = 0; i < snapshots.size(); i++) {
+				StatisticsSnapshot snapshot = snapshots.get(i);
+				Map<String, Double> current = snapshot.getValues();
+				int changes = 0;
+
+				for (Map.Entry<String, Double> entry : current.entrySet()) {
+					int index = getIndex(entry.getKey());
+					Double last = lastValues.get(index);
+					double value = entry.getValue();
+					if (last == null || Double.doubleToLongBits(last) != Double.doubleToLongBits(value)) {
+						indices.add(index);
+						values.add(value);
+						lastValues.set(index, value);
+						changes++;
+					}
+				}
+				for (int index = 0; index < names.size(); index++) {
+					if (lastValues.get(index) != null && !current.containsKey(names.get(index))) {
+						indices.add(~index);
+						lastValues.set(index, null);
+						changes++;
+					}
+				}
+
+				timeDeltas[i] = snapshot.getTimestamp() - lastTimestamp;
+				lastTimestamp = snapshot.getTimestamp();
+				numChanges[i] = changes;
+			}
+
+			StatisticsBatch batch = new StatisticsBatch(reset,
+					names.subList(firstNewName, names.size()).toArray(new String[0]), timeDeltas, numChanges,
+					indices.stream().mapToInt(Integer::intValue).toArray(),
+					values.stream().mapToDouble(Double::doubleValue).toArray());
+			reset = false;
+			return batch;
+		}
+
+		/**
+		 * Forget what was sent so far, so that the next batch is decodable
+		 * without the previous ones. To be called when a batch got lost.
+		 */
+		public void reset() {
+			indexByName.clear();
+			names.clear();
+			lastValues.clear();
+			lastTimestamp = 0L;
+			reset = true;
+		}
+
+		private int getIndex(String name) {
+			Integer index = indexByName.get(name);
+			if (index == null) {
+				index = names.size();
+				indexByName.put(name, index);
+				names.add(name);
+				lastValues.add(null);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Decodes the batches of one encoder
+	 */
+	public static class Decoder {
+
+		private final List<String> names = new ArrayList<>();
+
+		private final Map<String, Double> currentValues = new LinkedHashMap<>();
+
+		private long lastTimestamp = 0L;
+
+		public List<StatisticsSnapshot> decode(StatisticsBatch batch) {
+			if (batch.reset) {
+				names.clear();
+				currentValues.clear();
+				lastTimestamp = 0L;
+			}
+			for (String name : batch.newNames) {
+				names.add(name);
+			}
+
+			List<StatisticsSnapshot> snapshots = new ArrayList<>(batch.size());
+			int change = 0;
+			int value = 0;
+			for (int i = 0; i < batch.size(); i++) {
+				for (int j = 0; j < batch.numChanges[i]; j++, change++) {
+					int index = batch.indices[change];
+					if (index < 0) {
+						currentValues.remove(names.get(~index));
+					} else {
+						currentValues.put(names.get(index), batch.values[value++]);
+					}
+				}
+				lastTimestamp += batch.timeDeltas[i];
+				snapshots.add(new StatisticsSnapshot(lastTimestamp, new LinkedHashMap<>(currentValues)));
+			}
+			return snapshots;
+		}
+	}
+}
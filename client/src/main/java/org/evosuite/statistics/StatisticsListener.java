@@ -19,6 +19,8 @@
  */
 package org.evosuite.statistics;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -42,6 +44,11 @@ import org.evosuite.testsuite.TestSuiteChromosome;
 public class StatisticsListener implements SearchListener {
 
 	private volatile BlockingQueue<Chromosome> individuals = new LinkedBlockingQueue<Chromosome>();
+
+	/**
+	 * Snapshots of the individuals to send, if {@link Properties#COMPACT_STATISTICS} is set
+	 */
+	private volatile BlockingQueue<StatisticsSnapshot> snapshots = new LinkedBlockingQueue<StatisticsSnapshot>();
 	
 	private volatile boolean done = false;
 	
@@ -64,11 +71,18 @@ public class StatisticsListener implements SearchListener {
 			public void run() {
 				// Wait for new element in queue
 				// If there is a new element, then send it to master through RMI
-				while(!done || !individuals.isEmpty()) {
-					Chromosome individual;
+				while(!done || !individuals.isEmpty() || !snapshots.isEmpty()) {
 					try {
-						individual = individuals.take();
-						StatisticsSender.sendIndividualToMaster(individual);
+						if(Properties.COMPACT_STATISTICS) {
+							// whatever was queued while the previous batch was sent goes into one call
+							List<StatisticsSnapshot> batch = new ArrayList<StatisticsSnapshot>();
+							batch.add(snapshots.take());
+							snapshots.drainTo(batch);
+							StatisticsSender.sendStatisticsToMaster(batch);
+						} else {
+							Chromosome individual = individuals.take();
+							StatisticsSender.sendIndividualToMaster(individual);
+						}
 					} catch (InterruptedException e) {
 						done = true;
 					}
@@ -93,7 +107,7 @@ public class StatisticsListener implements SearchListener {
 			 */
 			timeFromLastGenerationUpdate = System.currentTimeMillis();
 			// Enqueue current best individual
-			individuals.offer(algorithm.getBestIndividual());
+			offer(algorithm.getBestIndividual());
             // send timeline variable directly
             ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.TotalExceptionsTimeline, ExceptionCoverageSuiteFitness.getMaxExceptionsCovered());
 		}	
@@ -104,7 +118,7 @@ public class StatisticsListener implements SearchListener {
 		
 		// If the search is finished, we may want to clear the queue and just send the final element?
 		//individuals.clear(); // TODO: Maybe have a check on size
-		individuals.offer(algorithm.getBestIndividual());
+		offer(algorithm.getBestIndividual());
 		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Statements_Executed, MaxStatementsStoppingCondition.getNumExecutedStatements());
 		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Tests_Executed, MaxTestsStoppingCondition.getNumExecutedTests());
 		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Generations, algorithm.getAge());
@@ -127,6 +141,19 @@ public class StatisticsListener implements SearchListener {
 		
 	}
 
+	/**
+	 * Enqueue the individual to be sent to the master. With compact statistics,
+	 * only its values are taken here, so later changes to the individual do
+	 * not matter, and nothing proportional to its size is queued or sent.
+	 */
+	private void offer(Chromosome individual) {
+		if(Properties.COMPACT_STATISTICS) {
+			snapshots.offer(StatisticsSnapshot.of(individual));
+		} else {
+			individuals.offer(individual);
+		}
+	}
+
 	@Override
 	public void searchStarted(GeneticAlgorithm<?> algorithm) {
 		done = false;
@@ -148,13 +175,13 @@ public class StatisticsListener implements SearchListener {
 			if(fitness < bestFitness) {
 				bestFitness = fitness;
 
-				individuals.offer(individual);
+				offer(individual);
 			}
 		} else {
 			if(fitness > bestFitness) {
 				bestFitness = fitness;
 
-				individuals.offer(individual);				
+				offer(individual);				
 			}
 		}
 	}
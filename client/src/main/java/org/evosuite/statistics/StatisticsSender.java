@@ -69,6 +69,21 @@ public class StatisticsSender {
 
 	}
 
+	/**
+	 * Send the given snapshots of individuals to the master, as one batch
+	 *
+	 * @param snapshots
+	 */
+	public static void sendStatisticsToMaster(List<StatisticsSnapshot> snapshots) throws IllegalArgumentException{
+		if(snapshots == null || snapshots.isEmpty()){
+			throw new IllegalArgumentException("No defined snapshots to send");
+		}
+		if(!Properties.NEW_STATISTICS)
+			return;
+
+		ClientServices.getInstance().getClientNode().updateStatistics(snapshots);
+	}
+
 
 	/**
 	 * First execute (if needed) the test cases to be sure to have latest correct data,
@@ -88,7 +103,7 @@ public class StatisticsSender {
 
 		for (TestChromosome test : testSuite.getTestChromosomes()) {
 			if (test.getLastExecutionResult() == null) {
-				ExecutionResult result = TestCaseExecutor.runTest(test.getTestCase());
+				ExecutionResult result = TestCaseExecutor.runTest(test.getTestCaseForReading());
 				test.setLastExecutionResult(result);
 			}
 		}
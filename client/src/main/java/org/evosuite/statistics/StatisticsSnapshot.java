@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.testsuite.AbstractTestSuiteChromosome;
+
+/**
+ * The numeric values of an individual that the statistics on the master
+ * are computed from, i.e., what the chromosome and sequence output variable
+ * factories read from a test suite. Unlike the individual, a snapshot does
+ * not grow with the size of the tests, so it is cheap to create and to send.
+ *
+ * The values are kept by name, the fitness and coverage of each fitness
+ * function also under the names of all its superclasses, so that
+ * {@link #getFitnessInstanceOf(Class)} and {@link #getCoverageInstanceOf(Class)}
+ * are plain lookups.
+ */
+public class StatisticsSnapshot {
+
+	private static final String FITNESS = "Fitness";
+
+	private static final String COVERAGE = "Coverage";
+
+	private static final String SIZE = "Size";
+
+	private static final String LENGTH = "Length";
+
+	private static final String NOT_COVERED_GOALS = "NotCoveredGoals";
+
+	private static final String FITNESS_OF = "Fitness:";
+
+	private static final String COVERAGE_OF = "Coverage:";
+
+	/** Wall clock time at which the snapshot was taken */
+	private final long timestamp;
+
+	private final Map<String, Double> values;
+
+	public StatisticsSnapshot(long timestamp, Map<String, Double> values) {
+		this.timestamp = timestamp;
+		this.values = values;
+	}
+
+	/**
+	 * Take a snapshot of the current values of the given individual
+	 *
+	 * @param individual
+	 * @return
+	 */
+	public static StatisticsSnapshot of(Chromosome individual) {
+		Map<String, Double> values = new LinkedHashMap<>();
+		values.put(FITNESS, individual.getFitness());
+		values.put(COVERAGE, individual.getCoverage());
+		values.put(SIZE, (double) individual.size());
+		if (individual instanceof AbstractTestSuiteChromosome<?>) {
+			values.put(LENGTH, (double) ((AbstractTestSuiteChromosome<?>) individual).totalLengthOfTestCases());
+		} else {
+			values.put(LENGTH, (double) individual.size());
+		}
+		values.put(NOT_COVERED_GOALS, (double) individual.getNumOfNotCoveredGoals());
+		putByClass(values, FITNESS_OF, individual.getFitnessValues());
+		putByClass(values, COVERAGE_OF, individual.getCoverageValues());
+		return new StatisticsSnapshot(System.currentTimeMillis(), values);
+	}
+
+	/**
+	 * The first fitness function in iteration order wins, as in
+	 * {@link Chromosome#getFitnessInstanceOf(Class)}
+	 */
+	private static void putByClass(Map<String, Double> values, String prefix,
+			Map<FitnessFunction<?>, Double> byFunction) {
+		for (Map.Entry<FitnessFunction<?>, Double> entry : byFunction.entrySet()) {
+			for (Class<?> clazz = entry.getKey().getClass(); clazz != null
+					&& clazz != Object.class; clazz = clazz.getSuperclass()) {
+				values.putIfAbsent(prefix + clazz.getName(), entry.getValue());
+			}
+		}
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * @return all values of this snapshot by name
+	 */
+	public Map<String, Double> getValues() {
+		return Collections.unmodifiableMap(values);
+	}
+
+	public double getFitness() {
+		return getValue(FITNESS);
+	}
+
+	public double getCoverage() {
+		return getValue(COVERAGE);
+	}
+
+	public int size() {
+		return (int) getValue(SIZE);
+	}
+
+	public int totalLengthOfTestCases() {
+		return (int) getValue(LENGTH);
+	}
+
+	public int getNumOfNotCoveredGoals() {
+		return (int) getValue(NOT_COVERED_GOALS);
+	}
+
+	public double getFitnessInstanceOf(Class<?> clazz) {
+		return getValue(FITNESS_OF + clazz.getName());
+	}
+
+	public double getCoverageInstanceOf(Class<?> clazz) {
+		return getValue(COVERAGE_OF + clazz.getName());
+	}
+
+	private double getValue(String name) {
+		Double value = values.get(name);
+		return value == null ? 0.0 : value;
+	}
+
+	@Override
+	public String toString() {
+		return "StatisticsSnapshot [timestamp=" + timestamp + ", values=" + values + "]";
+	}
+}
@@ -277,6 +277,12 @@ public class PropertiesSuiteGAFactory extends PropertiesSearchAlgorithmFactory<T
 		// FIXXME
 		GeneticAlgorithm<TestSuiteChromosome> ga = getGeneticAlgorithm(factory);
 
+		if (factory instanceof TestSuiteChromosomeFactory
+		        && ((TestSuiteChromosomeFactory) factory).getTestFactory() instanceof ArchiveTestChromosomeFactory) {
+			// the seeds read from disk have to be released once the search is over
+			ga.addListener((ArchiveTestChromosomeFactory) ((TestSuiteChromosomeFactory) factory).getTestFactory());
+		}
+
 		if (Properties.NEW_STATISTICS)
 			ga.addListener(new StatisticsListener());
 
@@ -102,6 +102,9 @@ public class RandomTestStrategy extends TestGenerationStrategy {
 				StatisticsSender.executedAndThenSendIndividualToMaster(clone);				
 			}
 		}
+		if (factory instanceof ArchiveTestChromosomeFactory) {
+			((ArchiveTestChromosomeFactory) factory).closeSeededTests();
+		}
 		//statistics.searchFinished(suiteGA);
 		LoggingUtils.getEvoLogger().info("* Search Budget:");
 		LoggingUtils.getEvoLogger().info("\t- " + stoppingCondition.toString());
@@ -214,6 +214,8 @@ public class DSEStats {
 			percentFormat.setMaximumFractionDigits(1);
 			String hit_rate_str = percentFormat.format(SolverCache.getInstance().getHitRate());
 			logger.info(String.format("* DSE)   Cache hit rate: %s", hit_rate_str));
+
+			logger.info(String.format("* DSE)   Cache evictions: %s", SolverCache.getInstance().getNumberOfEvictions()));
 		}
 	}
 
@@ -489,6 +491,12 @@ public class DSEStats {
 
 		trackOutputVariable(RuntimeVariable.NumberOfUnusefulNewTests, getUnusefulTests());
 
+		trackOutputVariable(RuntimeVariable.SolverCacheHits, SolverCache.getInstance().getNumberOfHits());
+
+		trackOutputVariable(RuntimeVariable.SolverCacheMisses, SolverCache.getInstance().getNumberOfMisses());
+
+		trackOutputVariable(RuntimeVariable.SolverCacheEvictions, SolverCache.getInstance().getNumberOfEvictions());
+
 	}
 
 	private void trackOutputVariable(RuntimeVariable var, Object value) {
@@ -0,0 +1,265 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.symbolic.expr.BinaryExpression;
+import org.evosuite.symbolic.expr.Cast;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Expression;
+import org.evosuite.symbolic.expr.MultipleExpression;
+import org.evosuite.symbolic.expr.UnaryExpression;
+import org.evosuite.symbolic.expr.Variable;
+import org.evosuite.symbolic.expr.bv.IntegerComparison;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.bv.RealComparison;
+import org.evosuite.symbolic.expr.bv.StringBinaryComparison;
+import org.evosuite.symbolic.expr.fp.RealConstant;
+import org.evosuite.symbolic.expr.fp.RealVariable;
+import org.evosuite.symbolic.expr.str.StringConstant;
+import org.evosuite.symbolic.expr.str.StringVariable;
+
+/**
+ * Computes a canonical textual key for a collection of constraints, such that
+ * constraint collections that only differ in the order of the constraints or
+ * in the names of their variables map to the same key.
+ *
+ * Constraints are first sorted by their shape (with all variables
+ * anonymised), then variables are numbered in order of their first
+ * occurrence. Expressions that cannot be traversed structurally (tokenizers,
+ * readers, references) are printed verbatim; if they contain variables, the
+ * original variable names are kept for the whole query.
+ *
+ * Like {@link Constraint#equals(Object)}, the key ignores the concrete values
+ * of non-constant expressions.
+ */
+final class ConstraintNormalizer {
+
+	/**
+	 * The canonical form of a query
+	 */
+	static final class NormalizedQuery {
+
+		private final String key;
+
+		/** canonical variable name -> variable name in the query */
+		private final Map<String, String> canonicalToName;
+
+		/** variable name in the query -> canonical variable name */
+		private final Map<String, String> nameToCanonical;
+
+		private NormalizedQuery(String key, Map<String, String> canonicalToName) {
+			this.key = key;
+			this.canonicalToName = canonicalToName;
+			this.nameToCanonical = new HashMap<String, String>();
+			for (Map.Entry<String, String> entry : canonicalToName.entrySet()) {
+				nameToCanonical.put(entry.getValue(), entry.getKey());
+			}
+		}
+
+		String getKey() {
+			return key;
+		}
+
+		/**
+		 * Translate a result of solving this query to canonical variable names
+		 */
+		SolverResult toCanonical(SolverResult result) {
+			return rename(result, nameToCanonical);
+		}
+
+		/**
+		 * Translate a cached canonical result to the variable names of this
+		 * query
+		 */
+		SolverResult fromCanonical(SolverResult result) {
+			return rename(result, canonicalToName);
+		}
+
+		private static SolverResult rename(SolverResult result, Map<String, String> names) {
+			if (result.isUNSAT()) {
+				return result;
+			}
+			Map<String, Object> model = new HashMap<String, Object>();
+			for (Map.Entry<String, Object> entry : result.getModel().entrySet()) {
+				String name = names.get(entry.getKey());
+				if (name != null) {
+					model.put(name, entry.getValue());
+				}
+			}
+			return SolverResult.newSAT(model);
+		}
+	}
+
+	private final boolean anonymous;
+
+	private boolean renamingPossible = true;
+
+	private final Map<String, String> nameToCanonical = new HashMap<String, String>();
+
+	private final Map<String, String> canonicalToName = new HashMap<String, String>();
+
+	private ConstraintNormalizer(boolean anonymous) {
+		this.anonymous = anonymous;
+	}
+
+	/**
+	 * Compute the canonical form of the given constraints
+	 *
+	 * @param constraints
+	 * @return
+	 */
+	static NormalizedQuery normalize(Collection<Constraint<?>> constraints) {
+		List<Constraint<?>> sorted = new ArrayList<Constraint<?>>(constraints);
+		final Map<Constraint<?>, String> shapes = new HashMap<Constraint<?>, String>();
+		ConstraintNormalizer shapePrinter = new ConstraintNormalizer(true);
+		for (Constraint<?> c : sorted) {
+			shapes.put(c, shapePrinter.print(c));
+		}
+		sorted.sort((c1, c2) -> shapes.get(c1).compareTo(shapes.get(c2)));
+
+		ConstraintNormalizer printer = new ConstraintNormalizer(false);
+		String key = printer.printAll(sorted);
+		if (!printer.renamingPossible) {
+			printer = new ConstraintNormalizer(false);
+			printer.renamingPossible = false;
+			key = "#" + printer.printAll(sorted);
+		}
+		return new NormalizedQuery(key, printer.canonicalToName);
+	}
+
+	private String printAll(List<Constraint<?>> constraints) {
+		Set<String> printed = new LinkedHashSet<String>();
+		for (Constraint<?> c : constraints) {
+			printed.add(print(c));
+		}
+		StringBuilder builder = new StringBuilder();
+		for (String s : printed) {
+			builder.append(s).append(';');
+		}
+		return builder.toString();
+	}
+
+	private String print(Constraint<?> c) {
+		StringBuilder builder = new StringBuilder();
+		builder.append(c.getClass().getSimpleName()).append('(');
+		print(c.getLeftOperand(), builder);
+		builder.append(' ').append(c.getComparator()).append(' ');
+		print(c.getRightOperand(), builder);
+		builder.append(')');
+		return builder.toString();
+	}
+
+	private void print(Expression<?> e, StringBuilder builder) {
+		if (e instanceof Variable<?>) {
+			printVariable((Variable<?>) e, builder);
+		} else if (e instanceof IntegerConstant || e instanceof RealConstant) {
+			builder.append(e.getConcreteValue());
+		} else if (e instanceof StringConstant) {
+			String value = ((StringConstant) e).getConcreteValue();
+			builder.append('"').append(value.length()).append(':').append(value).append('"');
+		} else if (e instanceof MultipleExpression<?>) {
+			MultipleExpression<?> m = (MultipleExpression<?>) e;
+			printNode(e, m.getOperator(), builder, m.getLeftOperand(), m.getRightOperand(), m.getOther());
+		} else if (e instanceof BinaryExpression<?>) {
+			BinaryExpression<?> b = (BinaryExpression<?>) e;
+			printNode(e, b.getOperator(), builder, b.getLeftOperand(), b.getRightOperand(), null);
+		} else if (e instanceof StringBinaryComparison) {
+			StringBinaryComparison b = (StringBinaryComparison) e;
+			printNode(e, b.getOperator(), builder, b.getLeftOperand(), b.getRightOperand(), null);
+		} else if (e instanceof UnaryExpression<?>) {
+			UnaryExpression<?> u = (UnaryExpression<?>) e;
+			printNode(e, u.getOperator(), builder, u.getOperand(), null, null);
+		} else if (e instanceof Cast<?>) {
+			printNode(e, null, builder, ((Cast<?>) e).getArgument(), null, null);
+		} else if (e instanceof IntegerComparison) {
+			IntegerComparison c = (IntegerComparison) e;
+			printNode(e, null, builder, c.getLeftOperant(), c.getRightOperant(), null);
+		} else if (e instanceof RealComparison) {
+			RealComparison c = (RealComparison) e;
+			printNode(e, null, builder, c.getLeftOperant(), c.getRightOperant(), null);
+		} else {
+			if (e.containsSymbolicVariable()) {
+				renamingPossible = false;
+			}
+			builder.append(e.getClass().getSimpleName()).append('{').append(e.toString()).append('}');
+		}
+	}
+
+	private void printNode(Expression<?> e, Object operator, StringBuilder builder, Expression<?> first,
+			Expression<?> second, List<Expression<?>> others) {
+		builder.append(e.getClass().getSimpleName());
+		if (operator != null) {
+			builder.append(':').append(operator);
+		}
+		builder.append('(');
+		print(first, builder);
+		if (second != null) {
+			builder.append(',');
+			print(second, builder);
+		}
+		if (others != null) {
+			for (Expression<?> other : others) {
+				builder.append(',');
+				print(other, builder);
+			}
+		}
+		builder.append(')');
+	}
+
+	private void printVariable(Variable<?> v, StringBuilder builder) {
+		String type;
+		if (v instanceof IntegerVariable) {
+			type = "I";
+		} else if (v instanceof RealVariable) {
+			type = "R";
+		} else if (v instanceof StringVariable) {
+			type = "S";
+		} else {
+			type = v.getClass().getSimpleName();
+			renamingPossible = false;
+		}
+		builder.append(type).append('[').append(v.getMinValue()).append(',').append(v.getMaxValue()).append(']');
+		if (anonymous) {
+			return;
+		}
+		String name = v.getName();
+		if (!renamingPossible) {
+			canonicalToName.put(name, name);
+			builder.append(name);
+			return;
+		}
+		String canonical = nameToCanonical.get(name);
+		if (canonical == null) {
+			canonical = "v" + nameToCanonical.size();
+			nameToCanonical.put(name, canonical);
+			canonicalToName.put(canonical, name);
+		}
+		builder.append(canonical);
+	}
+}
@@ -19,22 +19,52 @@
  */
 package org.evosuite.symbolic.solver;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import org.evosuite.Properties;
 import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.ConstraintNormalizer.NormalizedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Cache of solver results. Queries are normalized (constraint order and
+ * variable names) before the lookup, the number of cached queries is bounded
+ * by {@link Properties#DSE_SOLVER_CACHE_SIZE} (least recently used entries
+ * are evicted first), and the cache can be loaded from and stored to
+ * {@link Properties#DSE_SOLVER_CACHE_FILE} to reuse results across runs. The
+ * same bound applies to the file, which keeps the most recently used entries.
+ */
 public final class SolverCache {
 
+	private static final Logger logger = LoggerFactory.getLogger(SolverCache.class);
+
+	private static final int FILE_FORMAT_VERSION = 1;
+
 	/**
-	 * 
+	 *
 	 * @param solver
 	 * @param constraints
-	 * @return 
+	 * @return
 	 */
 	public SolverResult solve(Solver solver, Collection<Constraint<?>> constraints) {
-		if (hasCachedResult(constraints)) {
+		NormalizedQuery query = ConstraintNormalizer.normalize(constraints);
+		if (hasCachedResult(query)) {
 			SolverResult cached_solution = getCachedResult();
 			return cached_solution;
 		}
@@ -43,9 +73,9 @@ public final class SolverCache {
 		try {
 			solverResult = solver.solve(constraints);
 			if (solverResult.isUNSAT()) {
-				addUNSAT(constraints, solverResult);
+				addUNSAT(query, solverResult);
 			} else {
-				addSAT(constraints, solverResult);
+				addSAT(query, solverResult);
 			}
 		} catch (SolverTimeoutException | IOException | SolverParseException | SolverEmptyQueryException
 				| SolverErrorException e) {
@@ -58,7 +88,19 @@ public final class SolverCache {
 
 	private static final SolverCache instance = new SolverCache();
 
-	private HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<Collection<Constraint<?>>, SolverResult>();
+	private final LinkedHashMap<String, SolverResult> cached_solver_results = new LinkedHashMap<String, SolverResult>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, SolverResult> eldest) {
+			if (Properties.DSE_SOLVER_CACHE_SIZE > 0 && size() > Properties.DSE_SOLVER_CACHE_SIZE) {
+				number_of_evictions++;
+				return true;
+			}
+			return false;
+		}
+	};
 	private int cached_sat_result_count = 0;
 	private int cached_unsat_result_count = 0;
 
@@ -72,6 +114,9 @@ public final class SolverCache {
 
 	private int number_of_accesses = 0;
 	private int number_of_hits = 0;
+	private int number_of_evictions = 0;
+
+	private boolean loadedFromDisk = false;
 
 	private SolverCache() {
 		/* empty constructor */
@@ -81,25 +126,30 @@ public final class SolverCache {
 		return instance;
 	}
 
-	private void addUNSAT(Collection<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
-		cached_solver_results.put(unsat_constraints, unsatResult);
+	private void addUNSAT(NormalizedQuery unsat_query, SolverResult unsatResult) {
+		cached_solver_results.put(unsat_query.getKey(), unsatResult);
 		cached_unsat_result_count++;
 	}
 
-	private void addSAT(Collection<Constraint<?>> sat_constraints, SolverResult satResult) {
-		cached_solver_results.put(sat_constraints, satResult);
+	private void addSAT(NormalizedQuery sat_query, SolverResult satResult) {
+		cached_solver_results.put(sat_query.getKey(), sat_query.toCanonical(satResult));
 		cached_sat_result_count++;
 	}
 
 	private boolean valid_cached_solution = false;
 	private SolverResult cached_solution = null;
 
-	private boolean hasCachedResult(Collection<Constraint<?>> constraints) {
+	private boolean hasCachedResult(NormalizedQuery query) {
+		if (!loadedFromDisk) {
+			loadedFromDisk = true;
+			loadFromDisk();
+		}
 		number_of_accesses++;
 
-		if (this.cached_solver_results.containsKey(constraints)) {
+		SolverResult result = this.cached_solver_results.get(query.getKey());
+		if (result != null) {
 			valid_cached_solution = true;
-			cached_solution = this.cached_solver_results.get(constraints);
+			cached_solution = query.fromCanonical(result);
 			number_of_hits++;
 			return true;
 		} else {
@@ -112,9 +162,25 @@ public final class SolverCache {
 		return (double) this.number_of_hits / (double) this.number_of_accesses;
 	}
 
+	public int getNumberOfHits() {
+		return number_of_hits;
+	}
+
+	public int getNumberOfMisses() {
+		return number_of_accesses - number_of_hits;
+	}
+
+	public int getNumberOfEvictions() {
+		return number_of_evictions;
+	}
+
+	public int size() {
+		return cached_solver_results.size();
+	}
+
 	/**
 	 * If not in cache returns IllegalArgumentException()
-	 * 
+	 *
 	 * @param constraints
 	 * @return
 	 */
@@ -128,4 +194,196 @@ public final class SolverCache {
 		return this.cached_solution;
 	}
 
+	/**
+	 * Reset the cache to its initial state, eg to load the cache file again
+	 */
+	void reset() {
+		cached_solver_results.clear();
+		cached_sat_result_count = 0;
+		cached_unsat_result_count = 0;
+		number_of_accesses = 0;
+		number_of_hits = 0;
+		number_of_evictions = 0;
+		loadedFromDisk = false;
+		valid_cached_solution = false;
+		cached_solution = null;
+	}
+
+	/**
+	 * Add the entries of the cache file, if one is configured, to the cache.
+	 * They are older than the entries already in the cache, so only as many
+	 * of them as fit in the cache are added. These are not counted as
+	 * evictions.
+	 */
+	private void loadFromDisk() {
+		if (Properties.DSE_SOLVER_CACHE_FILE == null || Properties.DSE_SOLVER_CACHE_FILE.isEmpty())
+			return;
+		File file = new File(Properties.DSE_SOLVER_CACHE_FILE);
+		if (!file.exists())
+			return;
+		Map<String, SolverResult> entries = readFile(file);
+		Map<String, SolverResult> merged = merge(entries, cached_solver_results);
+		cached_solver_results.clear();
+		cached_solver_results.putAll(merged);
+		logger.debug("Loaded " + entries.size() + " solver results from " + file.getAbsolutePath());
+	}
+
+	/**
+	 * @param older
+	 *            least recently used first
+	 * @param newer
+	 *            least recently used first, these replace the older entries
+	 *            with the same key
+	 * @return the most recently used {@link Properties#DSE_SOLVER_CACHE_SIZE}
+	 *         entries, least recently used first
+	 */
+	private static Map<String, SolverResult> merge(Map<String, SolverResult> older, Map<String, SolverResult> newer) {
+		LinkedHashMap<String, SolverResult> merged = new LinkedHashMap<String, SolverResult>();
+		for (Map.Entry<String, SolverResult> entry : older.entrySet()) {
+			if (!newer.containsKey(entry.getKey()))
+				merged.put(entry.getKey(), entry.getValue());
+		}
+		merged.putAll(newer);
+
+		if (Properties.DSE_SOLVER_CACHE_SIZE > 0) {
+			Iterator<String> eldest = merged.keySet().iterator();
+			for (int i = merged.size() - Properties.DSE_SOLVER_CACHE_SIZE; i > 0; i--) {
+				eldest.next();
+				eldest.remove();
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Write the cache to the configured cache file, merged with whatever other
+	 * runs have stored there in the meantime. Like the cache, the file keeps
+	 * at most {@link Properties#DSE_SOLVER_CACHE_SIZE} entries, preferring the
+	 * ones of this run. Does nothing if no cache file is configured.
+	 */
+	public void saveToDisk() {
+		if (Properties.DSE_SOLVER_CACHE_FILE == null || Properties.DSE_SOLVER_CACHE_FILE.isEmpty())
+			return;
+		File file = new File(Properties.DSE_SOLVER_CACHE_FILE).getAbsoluteFile();
+		Map<String, SolverResult> stored = file.exists() ? readFile(file) : new LinkedHashMap<String, SolverResult>();
+		Map<String, SolverResult> entries = merge(storable(stored), storable(cached_solver_results));
+
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		try {
+			File tmp = File.createTempFile("solvercache", ".tmp", parent);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				writeEntries(out, entries);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			logger.warn("Failed to write solver cache to " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+	}
+
+	private static Map<String, SolverResult> readFile(File file) {
+		Map<String, SolverResult> entries = new LinkedHashMap<String, SolverResult>();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_FORMAT_VERSION) {
+				logger.warn("Ignoring solver cache with unknown format: " + file.getAbsolutePath());
+				return entries;
+			}
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				String key = readString(in);
+				boolean sat = in.readBoolean();
+				if (!sat) {
+					entries.put(key, SolverResult.newUNSAT());
+					continue;
+				}
+				int modelSize = in.readInt();
+				Map<String, Object> model = new HashMap<String, Object>();
+				for (int j = 0; j < modelSize; j++) {
+					String name = readString(in);
+					char type = in.readChar();
+					switch (type) {
+					case 'L':
+						model.put(name, in.readLong());
+						break;
+					case 'D':
+						model.put(name, in.readDouble());
+						break;
+					case 'S':
+						model.put(name, readString(in));
+						break;
+					default:
+						throw new IOException("Unknown value type: " + type);
+					}
+				}
+				entries.put(key, SolverResult.newSAT(model));
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to read solver cache from " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+		return entries;
+	}
+
+	private static Map<String, SolverResult> storable(Map<String, SolverResult> entries) {
+		Map<String, SolverResult> storable = new LinkedHashMap<String, SolverResult>();
+		for (Map.Entry<String, SolverResult> entry : entries.entrySet()) {
+			if (isStorable(entry.getValue()))
+				storable.put(entry.getKey(), entry.getValue());
+		}
+		return storable;
+	}
+
+	private static void writeEntries(DataOutputStream out, Map<String, SolverResult> entries) throws IOException {
+		out.writeInt(FILE_FORMAT_VERSION);
+		out.writeInt(entries.size());
+		for (Map.Entry<String, SolverResult> entry : entries.entrySet()) {
+			writeString(out, entry.getKey());
+			SolverResult result = entry.getValue();
+			out.writeBoolean(result.isSAT());
+			if (!result.isSAT())
+				continue;
+			Map<String, Object> model = result.getModel();
+			out.writeInt(model.size());
+			for (Map.Entry<String, Object> variable : model.entrySet()) {
+				writeString(out, variable.getKey());
+				Object value = variable.getValue();
+				if (value instanceof Long) {
+					out.writeChar('L');
+					out.writeLong((Long) value);
+				} else if (value instanceof Double) {
+					out.writeChar('D');
+					out.writeDouble((Double) value);
+				} else {
+					out.writeChar('S');
+					writeString(out, (String) value);
+				}
+			}
+		}
+	}
+
+	private static boolean isStorable(SolverResult result) {
+		if (!result.isSAT())
+			return true;
+		for (Object value : result.getModel().values()) {
+			if (!(value instanceof Long || value instanceof Double || value instanceof String))
+				return false;
+		}
+		return true;
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
 }
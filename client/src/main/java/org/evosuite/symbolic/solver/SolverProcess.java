@@ -0,0 +1,303 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.exec.CommandLine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived SMT-LIB solver process that is fed queries incrementally.
+ *
+ * Every assertion of a query is asserted in its own <code>(push)</code>
+ * frame. When the next query starts with the same assertions (as sibling
+ * queries of a concolic execution do, since they share the path condition
+ * prefix), only the frames after the common prefix are popped and the new
+ * assertions are pushed, instead of starting a new solver process and
+ * re-sending the whole script.
+ *
+ * If the solver does not answer within the timeout, or the process dies, it
+ * is destroyed and a fresh process is started for the next query.
+ */
+public final class SolverProcess {
+
+	private static final Logger logger = LoggerFactory.getLogger(SolverProcess.class);
+
+	private static final String END_OF_QUERY = "evosuite-end-of-query";
+
+	private static final Object END_OF_STREAM = new Object();
+
+	private static final Map<String, SolverProcess> processes = new HashMap<String, SolverProcess>();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			@Override
+			public void run() {
+				shutdownAll();
+			}
+		});
+	}
+
+	/**
+	 * One push frame: the declarations sent in it and the assertion
+	 */
+	private static final class Frame {
+		private final List<String> declarations;
+		private final String assertion;
+
+		private Frame(List<String> declarations, String assertion) {
+			this.declarations = declarations;
+			this.assertion = assertion;
+		}
+	}
+
+	private final String command;
+
+	private final List<String> header;
+
+	private final List<Frame> frames = new ArrayList<Frame>();
+
+	private Process process = null;
+
+	private Writer stdin = null;
+
+	private BlockingQueue<Object> stdout = null;
+
+	private int numberOfRestarts = 0;
+
+	private SolverProcess(String command, List<String> header) {
+		this.command = command;
+		this.header = header;
+	}
+
+	/**
+	 * Returns the process for the given solver command line. The header
+	 * commands (logic, options) are sent once whenever the process is
+	 * (re)started.
+	 *
+	 * @param command
+	 * @param header
+	 * @return
+	 */
+	public static synchronized SolverProcess getInstance(String command, List<String> header) {
+		String key = command + "\n" + header;
+		SolverProcess solverProcess = processes.get(key);
+		if (solverProcess == null) {
+			solverProcess = new SolverProcess(command, new ArrayList<String>(header));
+			processes.put(key, solverProcess);
+		}
+		return solverProcess;
+	}
+
+	/**
+	 * Kills all solver processes
+	 */
+	public static synchronized void shutdownAll() {
+		for (SolverProcess solverProcess : processes.values()) {
+			solverProcess.destroy();
+		}
+		processes.clear();
+	}
+
+	/**
+	 * Solves the conjunction of the given assertions and returns the solver
+	 * output of <code>(check-sat)</code> and <code>(get-model)</code>, as
+	 * it would be printed by a solver process reading the equivalent script.
+	 *
+	 * @param declarations
+	 *            declaration and definition commands the assertions need
+	 * @param assertions
+	 *            assertion commands
+	 * @param timeout
+	 *            milliseconds to wait for the answer
+	 * @return
+	 * @throws IOException
+	 * @throws SolverTimeoutException
+	 */
+	public synchronized String solve(List<String> declarations, List<String> assertions, long timeout)
+			throws IOException, SolverTimeoutException {
+		if (process == null) {
+			start();
+		}
+
+		StringBuilder commands = new StringBuilder();
+		int retained = retainCommonPrefix(declarations, assertions, commands);
+
+		Set<String> declared = new HashSet<String>();
+		for (Frame frame : frames) {
+			declared.addAll(frame.declarations);
+		}
+		for (int i = retained; i < assertions.size(); i++) {
+			List<String> newDeclarations = new ArrayList<String>();
+			if (i == retained) {
+				for (String declaration : declarations) {
+					if (declared.add(declaration)) {
+						newDeclarations.add(declaration);
+					}
+				}
+			}
+			commands.append("(push 1)\n");
+			for (String declaration : newDeclarations) {
+				commands.append(declaration).append('\n');
+			}
+			commands.append(assertions.get(i)).append('\n');
+			frames.add(new Frame(newDeclarations, assertions.get(i)));
+		}
+		commands.append("(check-sat)\n");
+		commands.append("(get-model)\n");
+		commands.append("(echo \"" + END_OF_QUERY + "\")\n");
+
+		logger.debug("Reusing {} of {} solver frames", retained, assertions.size());
+
+		try {
+			stdin.write(commands.toString());
+			stdin.flush();
+		} catch (IOException e) {
+			destroy();
+			throw e;
+		}
+		return readAnswer(timeout);
+	}
+
+	/**
+	 * Pops the frames that do not match the new query, and returns the number
+	 * of frames that are kept
+	 */
+	private int retainCommonPrefix(List<String> declarations, List<String> assertions, StringBuilder commands) {
+		int retained = 0;
+		while (retained < frames.size() && retained < assertions.size()
+				&& frames.get(retained).assertion.equals(assertions.get(retained))) {
+			retained++;
+		}
+
+		// declarations are only sent in the first new frame, so at least one
+		// frame has to be re-pushed if some declaration is missing
+		if (retained == assertions.size() && retained > 0) {
+			Set<String> declared = new HashSet<String>();
+			for (int i = 0; i < retained; i++) {
+				declared.addAll(frames.get(i).declarations);
+			}
+			if (!declared.containsAll(declarations)) {
+				retained--;
+			}
+		}
+
+		int toPop = frames.size() - retained;
+		if (toPop > 0) {
+			commands.append("(pop " + toPop + ")\n");
+			frames.subList(retained, frames.size()).clear();
+		}
+		return retained;
+	}
+
+	private String readAnswer(long timeout) throws IOException, SolverTimeoutException {
+		StringBuilder answer = new StringBuilder();
+		long deadline = System.currentTimeMillis() + timeout;
+		while (true) {
+			Object line;
+			try {
+				line = stdout.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				destroy();
+				throw new IOException("Interrupted while waiting for the solver");
+			}
+			if (line == null) {
+				logger.debug("Solver did not answer within {}ms, restarting it", timeout);
+				destroy();
+				throw new SolverTimeoutException();
+			}
+			if (line == END_OF_STREAM) {
+				destroy();
+				throw new IOException("Solver process terminated unexpectedly: " + answer);
+			}
+			String str = (String) line;
+			if (str.trim().replace("\"", "").equals(END_OF_QUERY)) {
+				return answer.toString();
+			}
+			answer.append(str).append('\n');
+		}
+	}
+
+	private void start() throws IOException {
+		String[] cmd = CommandLine.parse(command).toStrings();
+		ProcessBuilder builder = new ProcessBuilder(cmd);
+		builder.redirectErrorStream(true);
+		process = builder.start();
+		if (numberOfRestarts++ > 0) {
+			logger.debug("Restarted solver process: {}", command);
+		}
+		stdin = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+
+		final BlockingQueue<Object> lines = new LinkedBlockingQueue<Object>();
+		final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+		Thread pump = new Thread("SolverProcessReader") {
+			@Override
+			public void run() {
+				try {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						lines.add(line);
+					}
+				} catch (IOException e) {
+					// process was destroyed
+				} finally {
+					lines.add(END_OF_STREAM);
+				}
+			}
+		};
+		pump.setDaemon(true);
+		pump.start();
+		stdout = lines;
+
+		for (String headerCommand : header) {
+			stdin.write(headerCommand);
+			stdin.write('\n');
+		}
+		stdin.flush();
+	}
+
+	private void destroy() {
+		frames.clear();
+		if (process != null) {
+			process.destroy();
+			process = null;
+		}
+		stdin = null;
+		stdout = null;
+	}
+}
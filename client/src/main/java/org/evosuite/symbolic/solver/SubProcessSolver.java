@@ -22,6 +22,11 @@ package org.evosuite.symbolic.solver;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.symbolic.expr.Variable;
 
 import org.evosuite.utils.ProcessLauncher;
 import org.evosuite.utils.ProcessTimeoutException;
@@ -65,5 +70,25 @@ public abstract class SubProcessSolver extends Solver {
 
 	}
 
+	/**
+	 * A persistent solver process may still know constants of earlier queries,
+	 * so only the values of the variables of the current query are kept
+	 * 
+	 * @param result
+	 * @param variables
+	 * @return
+	 */
+	protected static SolverResult restrictModel(SolverResult result, Set<Variable<?>> variables) {
+		if (!result.isSAT()) {
+			return result;
+		}
+		Map<String, Object> model = new HashMap<String, Object>();
+		for (Variable<?> v : variables) {
+			if (result.containsVariable(v.getName())) {
+				model.put(v.getName(), result.getValue(v.getName()));
+			}
+		}
+		return SolverResult.newSAT(model);
+	}
 
 }
@@ -19,6 +19,9 @@
  */
 package org.evosuite.symbolic.solver.cvc4;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.evosuite.symbolic.solver.smt.SmtAssertion;
 import org.evosuite.symbolic.solver.smt.SmtCheckSatQuery;
 import org.evosuite.symbolic.solver.smt.SmtExpr;
@@ -33,50 +36,71 @@ class CVC4QueryPrinter {
 	public String print(SmtCheckSatQuery smtQuery) {
 		StringBuffer buff = new StringBuffer();
 		buff.append("\n");
-		buff.append("(set-logic " + CVC4_LOGIC + ")");
+		for (String option : printHeader()) {
+			buff.append(option);
+			buff.append("\n");
+		}
+
+		for (String declaration : printDeclarations(smtQuery)) {
+			buff.append(declaration);
+			buff.append("\n");
+		}
+
+		for (String assertion : printAssertions(smtQuery)) {
+			buff.append(assertion);
+			buff.append("\n");
+		}
+
+		buff.append("(check-sat)");
 		buff.append("\n");
-		buff.append("(set-option :produce-models true)");
+
+		buff.append("(get-model)");
 		buff.append("\n");
-		buff.append("(set-option :strings-exp true)");
+
+		buff.append("(exit)");
 		buff.append("\n");
 
+		return buff.toString();
+
+	}
+
+	public List<String> printHeader() {
+		List<String> header = new ArrayList<String>();
+		header.add("(set-logic " + CVC4_LOGIC + ")");
+		header.add("(set-option :produce-models true)");
+		header.add("(set-option :strings-exp true)");
+		return header;
+	}
+
+	public List<String> printDeclarations(SmtCheckSatQuery smtQuery) {
+		List<String> declarations = new ArrayList<String>();
 		for (SmtFunctionDeclaration functionDeclaration : smtQuery
 				.getFunctionDeclarations()) {
 			String str = String.format("(declare-fun %s () %s)",
 					functionDeclaration.getFunctionName(),
 					functionDeclaration.getFunctionSort());
-			buff.append(str);
-			buff.append("\n");
+			declarations.add(str);
 		}
 
 		for (SmtFunctionDefinition functionDeclaration : smtQuery
 				.getFunctionDefinitions()) {
 			String str = String.format("(define-fun %s)",
 					functionDeclaration.getFunctionDefinition());
-			buff.append(str);
-			buff.append("\n");
+			declarations.add(str);
 		}
+		return declarations;
+	}
 
+	public List<String> printAssertions(SmtCheckSatQuery smtQuery) {
+		List<String> assertions = new ArrayList<String>();
 		SmtExprPrinter printer = new SmtExprPrinter();
 		for (SmtAssertion smtAssertion : smtQuery.getAssertions()) {
 			SmtExpr smtExpr = smtAssertion.getFormula();
 			String smtExprStr = smtExpr.accept(printer, null);
 
 			String str = String.format("(assert %s)", smtExprStr);
-			buff.append(str);
-			buff.append("\n");
+			assertions.add(str);
 		}
-
-		buff.append("(check-sat)");
-		buff.append("\n");
-
-		buff.append("(get-model)");
-		buff.append("\n");
-
-		buff.append("(exit)");
-		buff.append("\n");
-
-		return buff.toString();
-
+		return assertions;
 	}
 }
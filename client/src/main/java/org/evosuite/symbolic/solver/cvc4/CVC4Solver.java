@@ -36,6 +36,7 @@ import org.evosuite.symbolic.solver.SmtExprBuilder;
 import org.evosuite.symbolic.solver.SolverEmptyQueryException;
 import org.evosuite.symbolic.solver.SolverErrorException;
 import org.evosuite.symbolic.solver.SolverParseException;
+import org.evosuite.symbolic.solver.SolverProcess;
 import org.evosuite.symbolic.solver.SolverResult;
 import org.evosuite.symbolic.solver.SolverTimeoutException;
 import org.evosuite.symbolic.solver.SubProcessSolver;
@@ -119,24 +120,33 @@ public final class CVC4Solver extends SubProcessSolver {
 		}
 
 		CVC4QueryPrinter printer = new CVC4QueryPrinter();
-		String smtQueryStr = printer.print(smtQuery);
 
-		if (smtQueryStr == null) {
-			logger.debug("No variables found during constraint solving.");
-			throw new SolverEmptyQueryException("No variables found during constraint solving.");
-		}
+		try {
+			String cvc4ResultStr;
+			if (Properties.DSE_PERSISTENT_SOLVER) {
+				String cvc4Cmd = buildCVC4cmd(cvcTimeout, true);
+				SolverProcess cvc4Process = SolverProcess.getInstance(cvc4Cmd, printer.printHeader());
+				cvc4ResultStr = cvc4Process.solve(printer.printDeclarations(smtQuery),
+						printer.printAssertions(smtQuery), cvcTimeout);
+			} else {
+				String smtQueryStr = printer.print(smtQuery);
 
-		logger.debug("CVC4 Query:");
-		logger.debug(smtQueryStr);
+				if (smtQueryStr == null) {
+					logger.debug("No variables found during constraint solving.");
+					throw new SolverEmptyQueryException("No variables found during constraint solving.");
+				}
 
-		String cvc4Cmd = buildCVC4cmd(cvcTimeout);
+				logger.debug("CVC4 Query:");
+				logger.debug(smtQueryStr);
 
-		ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+				String cvc4Cmd = buildCVC4cmd(cvcTimeout, false);
 
-		try {
-			launchNewProcess(cvc4Cmd, smtQueryStr, (int) cvcTimeout, stdout);
+				ByteArrayOutputStream stdout = new ByteArrayOutputStream();
 
-			String cvc4ResultStr = stdout.toString("UTF-8");
+				launchNewProcess(cvc4Cmd, smtQueryStr, (int) cvcTimeout, stdout);
+
+				cvc4ResultStr = stdout.toString("UTF-8");
+			}
 
 			if (cvc4ResultStr.startsWith("unsat") && cvc4ResultStr.contains(
 					"(error \"Cannot get the current model unless immediately preceded by SAT/INVALID or UNKNOWN response.\")")) {
@@ -160,6 +170,9 @@ public final class CVC4Solver extends SubProcessSolver {
 				resultParser = new CVC4ResultParser();
 			}
 			SolverResult solverResult = resultParser.parse(cvc4ResultStr);
+			if (Properties.DSE_PERSISTENT_SOLVER) {
+				solverResult = restrictModel(solverResult, variables);
+			}
 
 			if (solverResult.isSAT()) {
 				// check if the found solution is useful
@@ -250,7 +263,7 @@ public final class CVC4Solver extends SubProcessSolver {
 
 	}
 
-	private static String buildCVC4cmd(long cvcTimeout) {
+	private static String buildCVC4cmd(long cvcTimeout, boolean persistent) {
 		String cmd = Properties.CVC4_PATH;
 		cmd += "  --rewrite-divk"; // rewrite-divk rewrites division (or
 									// modulus) by a constant value
@@ -274,7 +287,13 @@ public final class CVC4Solver extends SubProcessSolver {
 		 * More details on both of these points can be found in Sections 5.2 -
 		 * 5.4 of http://homepage.cs.uiowa.edu/~ajreynol/thesis.pdf.
 		 */
-		cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+		if (persistent) {
+			// keep reading queries from stdin and allow push/pop
+			cmd += " --incremental --interactive --no-interactive-prompt";
+			cmd += " --tlimit-per=" + cvcTimeout; // timeout for each query
+		} else {
+			cmd += " --tlimit=" + cvcTimeout; // set timeout to cvcTimeout
+		}
 		return cmd;
 	}
 
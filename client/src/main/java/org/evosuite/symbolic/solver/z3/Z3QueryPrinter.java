@@ -19,6 +19,9 @@
  */
 package org.evosuite.symbolic.solver.z3;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.evosuite.symbolic.solver.smt.SmtAssertion;
 import org.evosuite.symbolic.solver.smt.SmtCheckSatQuery;
 import org.evosuite.symbolic.solver.smt.SmtConstantDeclaration;
@@ -30,25 +33,16 @@ class Z3QueryPrinter {
 	public String print(SmtCheckSatQuery smtQuery, long timeout) {
 
 		StringBuffer buff = new StringBuffer();
-		buff.append("(set-option :timeout " + timeout + ")");
+		buff.append(printTimeout(timeout));
 		buff.append("\n");
 
-		for (SmtConstantDeclaration constantDeclaration : smtQuery
-				.getConstantDeclarations()) {
-			String str = String.format("(declare-const %s %s)",
-					constantDeclaration.getConstantName(),
-					constantDeclaration.getConstantSort());
-			buff.append(str);
+		for (String declaration : printDeclarations(smtQuery)) {
+			buff.append(declaration);
 			buff.append("\n");
 		}
 
-		SmtExprPrinter printer = new SmtExprPrinter();
-		for (SmtAssertion assertionDeclaration : smtQuery.getAssertions()) {
-
-			SmtExpr formula = assertionDeclaration.getFormula();
-			String formulaStr = formula.accept(printer, null);
-			String str = String.format("(assert %s)", formulaStr);
-			buff.append(str);
+		for (String assertion : printAssertions(smtQuery)) {
+			buff.append(assertion);
 			buff.append("\n");
 		}
 
@@ -63,4 +57,33 @@ class Z3QueryPrinter {
 
 		return buff.toString();
 	}
+
+	public String printTimeout(long timeout) {
+		return "(set-option :timeout " + timeout + ")";
+	}
+
+	public List<String> printDeclarations(SmtCheckSatQuery smtQuery) {
+		List<String> declarations = new ArrayList<String>();
+		for (SmtConstantDeclaration constantDeclaration : smtQuery
+				.getConstantDeclarations()) {
+			String str = String.format("(declare-const %s %s)",
+					constantDeclaration.getConstantName(),
+					constantDeclaration.getConstantSort());
+			declarations.add(str);
+		}
+		return declarations;
+	}
+
+	public List<String> printAssertions(SmtCheckSatQuery smtQuery) {
+		List<String> assertions = new ArrayList<String>();
+		SmtExprPrinter printer = new SmtExprPrinter();
+		for (SmtAssertion assertionDeclaration : smtQuery.getAssertions()) {
+
+			SmtExpr formula = assertionDeclaration.getFormula();
+			String formulaStr = formula.accept(printer, null);
+			String str = String.format("(assert %s)", formulaStr);
+			assertions.add(str);
+		}
+		return assertions;
+	}
 }
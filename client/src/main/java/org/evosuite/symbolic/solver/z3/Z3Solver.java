@@ -22,6 +22,7 @@ package org.evosuite.symbolic.solver.z3;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -39,6 +40,7 @@ import org.evosuite.symbolic.solver.SmtExprBuilder;
 import org.evosuite.symbolic.solver.SolverEmptyQueryException;
 import org.evosuite.symbolic.solver.SolverErrorException;
 import org.evosuite.symbolic.solver.SolverParseException;
+import org.evosuite.symbolic.solver.SolverProcess;
 import org.evosuite.symbolic.solver.SolverResult;
 import org.evosuite.symbolic.solver.SolverTimeoutException;
 import org.evosuite.symbolic.solver.SubProcessSolver;
@@ -86,12 +88,6 @@ public class Z3Solver extends SubProcessSolver {
 			return emptySAT;
 		}
 
-		Z3QueryPrinter printer = new Z3QueryPrinter();
-		String smtQueryStr = printer.print(smtCheckSatQuery, hard_timeout);
-
-		logger.debug("Z3 Query:");
-		logger.debug(smtQueryStr);
-
 		if (Properties.Z3_PATH == null) {
 			String errMsg = "Property Z3_PATH should be setted in order to use the Z3 Solver!";
 			logger.error(errMsg);
@@ -99,11 +95,25 @@ public class Z3Solver extends SubProcessSolver {
 		}
 		String z3Cmd = Properties.Z3_PATH + " -smt2 -in";
 
-		ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+		Z3QueryPrinter printer = new Z3QueryPrinter();
+		String z3ResultStr;
+		if (Properties.DSE_PERSISTENT_SOLVER) {
+			SolverProcess z3Process = SolverProcess.getInstance(z3Cmd,
+					Collections.singletonList(printer.printTimeout(hard_timeout)));
+			z3ResultStr = z3Process.solve(printer.printDeclarations(smtCheckSatQuery),
+					printer.printAssertions(smtCheckSatQuery), hard_timeout);
+		} else {
+			String smtQueryStr = printer.print(smtCheckSatQuery, hard_timeout);
 
-		launchNewProcess(z3Cmd, smtQueryStr, (int) hard_timeout, stdout);
+			logger.debug("Z3 Query:");
+			logger.debug(smtQueryStr);
 
-		String z3ResultStr = stdout.toString("UTF-8");
+			ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+
+			launchNewProcess(z3Cmd, smtQueryStr, (int) hard_timeout, stdout);
+
+			z3ResultStr = stdout.toString("UTF-8");
+		}
 
 		Map<String, Object> initialValues = getConcreteValues(variables);
 		Z3ResultParser resultParser;
@@ -114,6 +124,9 @@ public class Z3Solver extends SubProcessSolver {
 		}
 
 		SolverResult result = resultParser.parseResult(z3ResultStr);
+		if (Properties.DSE_PERSISTENT_SOLVER) {
+			result = restrictModel(result, variables);
+		}
 
 		return result;
 	}
@@ -337,7 +337,7 @@ public class ConstraintVerifier {
     }
 
     public static boolean verifyTest(TestChromosome tc){
-        return verifyTest(tc.getTestCase());
+        return verifyTest(tc.getTestCaseForReading());
     }
 
     /**
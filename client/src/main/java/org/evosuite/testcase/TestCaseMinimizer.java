@@ -31,7 +31,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Remove all statements from a test case that do not contribute to the fitness
@@ -106,8 +108,10 @@ public class TestCaseMinimizer {
     }
     
 	/**
-	 * Central minimization function. Loop and try to remove until all
-	 * statements have been checked.
+	 * Central minimization function. First cut the test after the statement
+	 * that reaches the goal and reduce it to the backward slice of that
+	 * statement, and then remove chunks of statements of decreasing size
+	 * (as in delta debugging) until no single statement can be removed.
 	 * 
 	 * @param c
 	 *            a {@link org.evosuite.testcase.TestChromosome} object.
@@ -131,51 +135,39 @@ public class TestCaseMinimizer {
 			logger.debug("Timeout reached after verifying test");
 			return;
 		}
-		
-		boolean changed = true;
 
-		while (changed) {
-			changed = false;
+		if (!removeSuffix(c) || !removeAllButSlice(c)) {
+			return;
+		}
 
-			for (int i = c.test.size() - 1; i >= 0; i--) {
-				if (isTimeoutReached()) {
-					logger.debug("Timeout reached before minimizing statement {}", c.test.getStatement(i).getCode());
-					return;
-				}
-				
-				logger.debug("Deleting statement {}", c.test.getStatement(i).getCode());
-				TestChromosome copy = (TestChromosome) c.clone();
-				boolean modified;
-				try {
-					modified = TestFactory.getInstance().deleteStatementGracefully(c.test, i);
-				} catch (ConstructionFailedException e) {
-					modified = false;
-				}
-				
-				if(!modified){
-					c.setChanged(false);
-					c.test = copy.test;
-					logger.debug("Deleting failed");
-					continue;
-				}
+		int granularity = 2;
 
-				c.setChanged(true);
+		while (c.size() > 0) {
+			int chunkSize = (c.size() + granularity - 1) / granularity;
+			boolean changed = false;
 
-				if (isTimeoutReached()) {
-					logger.debug("Keeping original version due to timeout");
-					restoreTestCase(c, copy);
-					return;
+			// go backwards, as removing a statement may also remove later ones depending on it
+			for (int to = c.size(); to > 0; to -= chunkSize) {
+				int from = Math.max(0, to - chunkSize);
+				List<Integer> positions = new ArrayList<Integer>();
+				for (int i = to - 1; i >= from; i--) {
+					positions.add(i);
 				}
 
-				if (! isWorse(fitnessFunction, copy, c)) {
-					logger.debug("Keeping shorter version");
+				if (tryToRemove(c, positions)) {
+					// statements before 'from' are not affected
 					changed = true;
-					break;
-				} else {
-					logger.debug("Keeping original version");
-					restoreTestCase(c, copy);
+				} else if (isTimeoutReached()) {
+					return;
 				}
+			}
 
+			if (changed) {
+				granularity = Math.max(granularity - 1, 2);
+			} else if (chunkSize > 1) {
+				granularity = Math.min(granularity * 2, c.size());
+			} else {
+				break;
 			}
 		}
 
@@ -184,7 +176,7 @@ public class TestCaseMinimizer {
 				fitnessFunction.getFitness(c) >= fitness : fitnessFunction.getFitness(c) <= fitness)
 				:
 				"Minimization worsened " + fitnessFunction.getClass().getName()+" fitness from "+fitness+
-						" to "+fitnessFunction.getFitness(c)+" on test "+c.getTestCase().toCode();
+						" to "+fitnessFunction.getFitness(c)+" on test "+c.getTestCaseForReading().toCode();
 
 
 		if (Properties.MINIMIZE_VALUES) {
@@ -202,6 +194,179 @@ public class TestCaseMinimizer {
 
 	}
 
+	/**
+	 * Cut the test after the first statement at which it is as good as the
+	 * whole test, found with a binary search on the length of the test.
+	 * This assumes that statements after the one reaching the goal do not
+	 * matter, as it is the case for most goals; each prefix is executed to
+	 * check it, though.
+	 * 
+	 * @param c
+	 * @return false if the timeout was reached
+	 */
+	private boolean removeSuffix(TestChromosome c) {
+		int low = 0;
+		int high = c.size() - 1; // the whole test is as good as itself
+		TestChromosome shortest = null;
+
+		while (low < high) {
+			if (isTimeoutReached()) {
+				return false;
+			}
+			int middle = (low + high) / 2;
+			TestChromosome prefix = (TestChromosome) c.clone();
+			List<Integer> positions = new ArrayList<Integer>();
+			for (int i = prefix.size() - 1; i > middle; i--) {
+				positions.add(i);
+			}
+			boolean removed = tryToRemove(prefix, positions);
+			if (isTimeoutReached()) {
+				return false;
+			}
+			if (removed && prefix.size() == middle + 1) {
+				shortest = prefix;
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+
+		if (shortest != null) {
+			logger.debug("Goal is reached at statement {}", shortest.size() - 1);
+			restoreTestCase(c, shortest);
+		}
+		return true;
+	}
+
+	/**
+	 * Remove all statements that are not in the backward slice of the last
+	 * statement. As the slice only considers data dependencies between
+	 * variables in the test, the result is executed to check it.
+	 * 
+	 * @param c
+	 * @return false if the timeout was reached
+	 */
+	private boolean removeAllButSlice(TestChromosome c) {
+		if (c.size() == 0) {
+			return true;
+		}
+		Set<Integer> slice = getSlice(c.test, c.size() - 1);
+		List<Integer> positions = new ArrayList<Integer>();
+		for (int i = c.size() - 1; i >= 0; i--) {
+			if (!slice.contains(i)) {
+				positions.add(i);
+			}
+		}
+		if (positions.isEmpty()) {
+			return true;
+		}
+		logger.debug("Trying to reduce test to slice of {} statements", slice.size());
+		tryToRemove(c, positions);
+		return !isTimeoutReached();
+	}
+
+	/**
+	 * Compute the backward data dependency slice of a statement: the
+	 * statements defining the variables it uses, and the statements before
+	 * it that use any of these variables which are objects (as they may
+	 * change their state), transitively.
+	 * 
+	 * @param test
+	 * @param position
+	 * @return the positions of the statements in the slice, including
+	 *         position itself
+	 */
+	static Set<Integer> getSlice(TestCase test, int position) {
+		Set<Integer> slice = new LinkedHashSet<Integer>();
+		Set<VariableReference> variables = new LinkedHashSet<VariableReference>();
+
+		slice.add(position);
+		variables.addAll(test.getStatement(position).getVariableReferences());
+
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = position - 1; i >= 0; i--) {
+				if (slice.contains(i)) {
+					continue;
+				}
+				Statement statement = test.getStatement(i);
+				if (isRelevant(statement, variables)) {
+					slice.add(i);
+					variables.addAll(statement.getVariableReferences());
+					changed = true;
+				}
+			}
+		}
+		return slice;
+	}
+
+	private static boolean isRelevant(Statement statement, Set<VariableReference> variables) {
+		if (variables.contains(statement.getReturnValue())) {
+			return true;
+		}
+		for (VariableReference var : variables) {
+			if (isMutable(var) && statement.references(var)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isMutable(VariableReference var) {
+		return !var.isPrimitive() && !var.isWrapperType() && !var.isString() && !var.isEnum();
+	}
+
+	/**
+	 * Try to remove the statements at the given positions, and keep the
+	 * shorter test if it is not worse than the current one
+	 * 
+	 * @param c
+	 * @param positions
+	 *            in descending order
+	 * @return whether the statements were removed; the test is left
+	 *         unchanged if the timeout was reached
+	 */
+	private boolean tryToRemove(TestChromosome c, List<Integer> positions) {
+		TestChromosome copy = (TestChromosome) c.clone();
+		TestCase test = c.getTestCase();
+		boolean modified = false;
+		try {
+			for (int position : positions) {
+				if (position < test.size()) {
+					logger.debug("Deleting statement {}", test.getStatement(position).getCode());
+					modified = TestFactory.getInstance().deleteStatementGracefully(test, position) || modified;
+				}
+			}
+		} catch (ConstructionFailedException e) {
+			modified = false;
+		}
+
+		if(!modified){
+			c.setChanged(false);
+			c.test = copy.test;
+			logger.debug("Deleting failed");
+			return false;
+		}
+
+		c.setChanged(true);
+
+		if (isTimeoutReached()) {
+			logger.debug("Keeping original version due to timeout");
+			restoreTestCase(c, copy);
+			return false;
+		}
+
+		if (! isWorse(fitnessFunction, copy, c)) {
+			logger.debug("Keeping shorter version");
+			return true;
+		} else {
+			logger.debug("Keeping original version");
+			restoreTestCase(c, copy);
+			return false;
+		}
+	}
+
 	private static void restoreTestCase(TestChromosome c, TestChromosome copy) {
 		c.test = copy.test;
 		c.copyCachedResults(copy);
@@ -48,6 +48,7 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Chromosome representation of test cases
@@ -63,6 +64,12 @@ public class TestChromosome extends ExecutableChromosome {
 	/** The test case encoded in this chromosome */
 	protected TestCase test = new DefaultTestCase();
 
+	/**
+	 * Number of chromosomes holding the test case, if it has been shared with
+	 * a clone of this chromosome; null if the test case is not shared
+	 */
+	private AtomicInteger testCaseHolders = null;
+
 	/** To keep track of what has changed since last fitness evaluation */
 	protected MutationHistory<TestMutationHistoryEntry> mutationHistory = new MutationHistory<TestMutationHistoryEntry>();
 
@@ -78,6 +85,7 @@ public class TestChromosome extends ExecutableChromosome {
 	 *            a {@link org.evosuite.testcase.TestCase} object.
 	 */
 	public void setTestCase(TestCase testCase) {
+		releaseTestCase();
 		test = testCase;
 		clearCachedResults();
 		clearCachedMutationResults();
@@ -89,12 +97,66 @@ public class TestChromosome extends ExecutableChromosome {
 	 * getTestCase
 	 * </p>
 	 *
+	 * Callers may modify the returned test case, so a test case shared with
+	 * a clone is copied first. Callers that only read the test case should
+	 * use {@link #getTestCaseForReading()} instead.
+	 *
 	 * @return a {@link org.evosuite.testcase.TestCase} object.
 	 */
 	public TestCase getTestCase() {
+		copyTestCaseIfShared();
 		return test;
 	}
 
+	/**
+	 * Returns the test case without copying it if it is shared with a clone
+	 * of this chromosome. The returned test case must not be modified.
+	 *
+	 * @return a {@link org.evosuite.testcase.TestCase} object.
+	 */
+	public TestCase getTestCaseForReading() {
+		return test;
+	}
+
+	/**
+	 * True if the test case is currently shared with another chromosome
+	 * (see {@link Properties#COPY_ON_WRITE_TESTS})
+	 *
+	 * @return a boolean.
+	 */
+	public boolean isTestCaseShared() {
+		return testCaseHolders != null && testCaseHolders.get() > 1;
+	}
+
+	/**
+	 * Make sure this chromosome has its own copy of the test case before it
+	 * is modified (see {@link Properties#COPY_ON_WRITE_TESTS}). If all other
+	 * holders have already made their own copy, the test case is kept.
+	 */
+	private void copyTestCaseIfShared() {
+		if (testCaseHolders == null)
+			return;
+
+		if (testCaseHolders.get() > 1) {
+			test = test.clone();
+			if (lastExecutionResult != null)
+				lastExecutionResult.setTest(test);
+		}
+		releaseTestCase();
+	}
+
+	/**
+	 * Stop holding the shared test case, so that the last remaining holder
+	 * does not copy it
+	 */
+	private void releaseTestCase() {
+		if (testCaseHolders == null)
+			return;
+
+		testCaseHolders.decrementAndGet();
+		testCaseHolders = null;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void setLastExecutionResult(ExecutionResult lastExecutionResult) {
@@ -117,12 +179,25 @@ public class TestChromosome extends ExecutableChromosome {
 	/**
 	 * {@inheritDoc}
 	 *
-	 * Create a deep copy of the chromosome
+	 * Create a deep copy of the chromosome. With
+	 * {@link Properties#COPY_ON_WRITE_TESTS} the test case is only copied once
+	 * either chromosome is modified, as most clones (e.g., the tests of a
+	 * cloned suite) are never mutated.
 	 */
 	@Override
 	public Chromosome clone() {
 		TestChromosome c = new TestChromosome();
-		c.test = test.clone();
+		if (Properties.COPY_ON_WRITE_TESTS && !Properties.LOCAL_SEARCH_SELECTIVE) {
+			// the mutation history refers to the statements of this test case,
+			// so with selective local search the copy has to be made now
+			if (testCaseHolders == null)
+				testCaseHolders = new AtomicInteger(1);
+			testCaseHolders.incrementAndGet();
+			c.test = test;
+			c.testCaseHolders = testCaseHolders;
+		} else {
+			c.test = test.clone();
+		}
 		c.setFitnessValues(getFitnessValues());
 		c.setPreviousFitnessValues(getPreviousFitnessValues());
 		c.copyCachedResults(this);
@@ -183,6 +258,7 @@ public class TestChromosome extends ExecutableChromosome {
 		}
 		if (!Properties.CHECK_MAX_LENGTH
 		        || offspring.test.size() <= Properties.CHROMOSOME_LENGTH) {
+			releaseTestCase();
 			test = offspring.test;
 		}
 
@@ -283,6 +359,7 @@ public class TestChromosome extends ExecutableChromosome {
 	@SuppressWarnings("unchecked")
 	@Override
 	public boolean localSearch(LocalSearchObjective<? extends Chromosome> objective) {
+		copyTestCaseIfShared();
 		TestCaseLocalSearch localSearch = TestCaseLocalSearch.selectTestCaseLocalSearch();
 		return localSearch.doSearch(this,
 		                            (LocalSearchObjective<TestChromosome>) objective);
@@ -297,6 +374,7 @@ public class TestChromosome extends ExecutableChromosome {
 	public void mutate() {
 		boolean changed = false;
 		mutationHistory.clear();
+		copyTestCaseIfShared();
 
 		if(mockChange()){
 			changed = true;
@@ -454,6 +532,7 @@ public class TestChromosome extends ExecutableChromosome {
 					TestMutationHistoryEntry.TestMutation.DELETION));
             boolean modified = testFactory.deleteStatementGracefully(copy, num);
 
+            releaseTestCase();
             test = copy;
            	return modified;
 
@@ -603,6 +682,7 @@ public class TestChromosome extends ExecutableChromosome {
 			// logger.info(newTest.toCode());
 			// logger.info("Old test");
 			// logger.info(test.toCode());
+			releaseTestCase();
 			this.test = newTest;
 			this.setChanged(true);
 			this.lastExecutionResult = null;
@@ -157,7 +157,7 @@ public abstract class TestFitnessFunction extends FitnessFunction<TestChromosome
 	 * @return a boolean.
 	 */
 	public boolean isCovered(TestChromosome tc) {
-		if(tc.getTestCase().isGoalCovered(this)){
+		if(tc.test.isGoalCovered(this)){
 			return true;
 		}
 
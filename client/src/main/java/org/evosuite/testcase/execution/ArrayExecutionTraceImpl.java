@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.branch.BranchPool;
+
+/**
+ * Execution trace that keeps branch distances and branch execution counts in
+ * primitive arrays indexed by branch id, rather than in synchronized hash
+ * maps. Branch ids handed out by the {@link BranchPool} are dense, so this
+ * avoids boxing and locking on every call of
+ * {@link ExecutionTracer#passedBranch}.
+ *
+ * All other trace information is kept as in {@link ExecutionTraceImpl}. The
+ * maps are not synchronized; the {@link ExecutionTracer} only accepts calls
+ * from the thread executing the test.
+ */
+public class ArrayExecutionTraceImpl extends ExecutionTraceImpl {
+
+	private IntDoubleArrayMap trueDistanceArray;
+
+	private IntDoubleArrayMap falseDistanceArray;
+
+	private IntDoubleArrayMap trueDistanceSumArray;
+
+	private IntDoubleArrayMap falseDistanceSumArray;
+
+	private IntIntArrayMap predicateCountArray;
+
+	private IntIntArrayMap trueCountArray;
+
+	private IntIntArrayMap falseCountArray;
+
+	public ArrayExecutionTraceImpl() {
+		super();
+		initArrays();
+	}
+
+	private void initArrays() {
+		int capacity = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
+				.getBranchCounter() + 1;
+		trueDistanceArray = new IntDoubleArrayMap(capacity);
+		falseDistanceArray = new IntDoubleArrayMap(capacity);
+		trueDistanceSumArray = new IntDoubleArrayMap(capacity);
+		falseDistanceSumArray = new IntDoubleArrayMap(capacity);
+		predicateCountArray = new IntIntArrayMap(capacity);
+		trueCountArray = new IntIntArrayMap(capacity);
+		falseCountArray = new IntIntArrayMap(capacity);
+
+		trueDistances = trueDistanceArray;
+		falseDistances = falseDistanceArray;
+		trueDistancesSum = trueDistanceSumArray;
+		falseDistancesSum = falseDistanceSumArray;
+		coveredPredicates = predicateCountArray;
+		coveredTrue = trueCountArray;
+		coveredFalse = falseCountArray;
+	}
+
+	@Override
+	protected void updateBranchExecutionCounts(int branch, double true_distance, double false_distance) {
+		predicateCountArray.increment(branch);
+		if (true_distance == 0.0)
+			trueCountArray.increment(branch);
+		if (false_distance == 0.0)
+			falseCountArray.increment(branch);
+	}
+
+	@Override
+	protected void updateBranchDistances(int branch, double true_distance, double false_distance) {
+		trueDistanceArray.putMin(branch, true_distance);
+		falseDistanceArray.putMin(branch, false_distance);
+		trueDistanceSumArray.add(branch, true_distance);
+		falseDistanceSumArray.add(branch, false_distance);
+	}
+
+	@Override
+	public double getTrueDistance(int branchId) {
+		if (!trueDistanceArray.containsKey(branchId))
+			throw new NullPointerException("No true distance for branch " + branchId);
+		return trueDistanceArray.getDouble(branchId);
+	}
+
+	@Override
+	public double getFalseDistance(int branchId) {
+		if (!falseDistanceArray.containsKey(branchId))
+			throw new NullPointerException("No false distance for branch " + branchId);
+		return falseDistanceArray.getDouble(branchId);
+	}
+
+	@Override
+	public boolean hasTrueDistance(int predicateId) {
+		return trueDistanceArray.containsKey(predicateId);
+	}
+
+	@Override
+	public boolean hasFalseDistance(int predicateId) {
+		return falseDistanceArray.containsKey(predicateId);
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		initArrays();
+	}
+
+	@Override
+	protected ExecutionTraceImpl newInstance() {
+		return new ArrayExecutionTraceImpl();
+	}
+
+	@Override
+	public ArrayExecutionTraceImpl clone() {
+		return (ArrayExecutionTraceImpl) super.clone();
+	}
+}
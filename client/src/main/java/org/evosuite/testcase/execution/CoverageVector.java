@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Bitset representation of the goals covered by an execution: branches
+ * covered true and false (by branch id), lines covered in
+ * {@link org.evosuite.Properties#TARGET_CLASS} and its inner classes (as
+ * returned by {@link ExecutionTrace#getCoveredLines()}, ie lines of other
+ * instrumented classes are not included) and touched mutants (by mutation
+ * id).
+ *
+ * The bitsets of several executions can be merged with {@link BitSet#or(BitSet)}
+ * and counted with {@link BitSet#cardinality()}, so computing the coverage of
+ * a suite works on words rather than on sets of boxed integers.
+ *
+ * The bitsets returned by the getters must not be modified.
+ */
+public class CoverageVector implements Serializable {
+
+	private static final long serialVersionUID = -5934633950398617329L;
+
+	private final BitSet trueBranches;
+
+	private final BitSet falseBranches;
+
+	private final BitSet lines;
+
+	private final BitSet touchedMutants;
+
+	/**
+	 * Vector of the goals covered by the given trace
+	 *
+	 * @param trace
+	 */
+	public CoverageVector(ExecutionTrace trace) {
+		trueBranches = toBitSet(trace.getCoveredTrueBranches());
+		falseBranches = toBitSet(trace.getCoveredFalseBranches());
+		lines = toBitSet(trace.getCoveredLines());
+		touchedMutants = toBitSet(trace.getTouchedMutants());
+	}
+
+	/**
+	 * Creates a bitset with the given (non-negative) ids set
+	 *
+	 * @param ids
+	 * @return
+	 */
+	public static BitSet toBitSet(Collection<Integer> ids) {
+		BitSet bits = new BitSet();
+		for (Integer id : ids) {
+			bits.set(id);
+		}
+		return bits;
+	}
+
+	public BitSet getCoveredTrueBranches() {
+		return trueBranches;
+	}
+
+	public BitSet getCoveredFalseBranches() {
+		return falseBranches;
+	}
+
+	public BitSet getCoveredLines() {
+		return lines;
+	}
+
+	public BitSet getTouchedMutants() {
+		return touchedMutants;
+	}
+
+	@Override
+	public String toString() {
+		return "CoverageVector [true=" + trueBranches + ", false=" + falseBranches + ", lines=" + lines
+				+ ", mutants=" + touchedMutants + "]";
+	}
+}
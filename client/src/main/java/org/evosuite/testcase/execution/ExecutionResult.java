@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ExecutionResult implements Cloneable {
 
@@ -53,6 +54,17 @@ public class ExecutionResult implements Cloneable {
 	/** Trace recorded during execution */
 	protected ExecutionTrace trace;
 
+	private static final AtomicLong executionCounter = new AtomicLong();
+
+	/**
+	 * Identifies the trace of this result; clones share it, as they share
+	 * the trace
+	 */
+	private long executionId = executionCounter.incrementAndGet();
+
+	/** Bitset view of the goals covered by the trace, computed on demand */
+	private CoverageVector coverageVector = null;
+
 	/** Duration of execution */
 	protected long executionTime = 0L;
 
@@ -284,6 +296,31 @@ public class ExecutionResult implements Cloneable {
 			throw new IllegalArgumentException("Trace cannot be null");
 		}
 		this.trace = trace;
+		this.executionId = executionCounter.incrementAndGet();
+		this.coverageVector = null;
+	}
+
+	/**
+	 * Bitset representation of the branches, lines and mutants covered by
+	 * the trace
+	 * 
+	 * @return
+	 */
+	public CoverageVector getCoverageVector() {
+		if (coverageVector == null) {
+			coverageVector = new CoverageVector(trace);
+		}
+		return coverageVector;
+	}
+
+	/**
+	 * Results with the same id have the same trace, so anything computed
+	 * from the trace of one of them is valid for the others as well
+	 * 
+	 * @return
+	 */
+	public long getExecutionId() {
+		return executionId;
 	}
 
 	/**
@@ -429,6 +466,8 @@ public class ExecutionResult implements Cloneable {
 		ExecutionResult copy = new ExecutionResult(test, mutation);
 		copy.exceptions.putAll(exceptions);
 		copy.trace = trace.lazyClone();
+		copy.executionId = executionId;
+		copy.coverageVector = coverageVector;
 		copy.explicitExceptions.putAll(explicitExceptions);
 		copy.executionTime = executionTime;
 		copy.regressionObjectDistance = regressionObjectDistance;
@@ -229,7 +229,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	private Throwable explicitException = null;
 
 	public Map<Integer, Double> falseDistances = Collections.synchronizedMap(new HashMap<Integer, Double>());
-	private final Map<Integer, Double> falseDistancesSum = Collections.synchronizedMap(new HashMap<Integer, Double>());
+	protected Map<Integer, Double> falseDistancesSum = Collections.synchronizedMap(new HashMap<Integer, Double>());
 	// finished_calls;
 	public List<MethodCall> finishedCalls = Collections.synchronizedList(new ArrayList<MethodCall>());
 	public Map<Integer, Object> knownCallerObjects = Collections.synchronizedMap(new HashMap<Integer, Object>());
@@ -263,7 +263,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 
 	public Map<Integer, Double> trueDistances = Collections.synchronizedMap(new HashMap<Integer, Double>());
 
-	private final Map<Integer, Double> trueDistancesSum = Collections.synchronizedMap(new HashMap<Integer, Double>());
+	protected Map<Integer, Double> trueDistancesSum = Collections.synchronizedMap(new HashMap<Integer, Double>());
 
 	public static Set<Integer> gradientBranches = Collections.synchronizedSet(new HashSet<Integer>());
 
@@ -326,25 +326,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		}
 
 		if (traceCoverage) {
-			if (!coveredPredicates.containsKey(branch))
-				coveredPredicates.put(branch, 1);
-			else
-				coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
-
-			if (true_distance == 0.0) {
-				if (!coveredTrue.containsKey(branch))
-					coveredTrue.put(branch, 1);
-				else
-					coveredTrue.put(branch, coveredTrue.get(branch) + 1);
-
-			}
-
-			if (false_distance == 0.0) {
-				if (!coveredFalse.containsKey(branch))
-					coveredFalse.put(branch, 1);
-				else
-					coveredFalse.put(branch, coveredFalse.get(branch) + 1);
-			}
+			updateBranchExecutionCounts(branch, true_distance, false_distance);
 		}
 
 		if (Properties.TRACK_COVERED_GRADIENT_BRANCHES) {
@@ -452,6 +434,59 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			}
 		}
 
+		updateBranchDistances(branch, true_distance, false_distance);
+
+		if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
+				|| ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
+				|| ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
+			updateBranchContextMaps(branch, true_distance, false_distance);
+		}
+
+		// This requires a lot of memory and should not really be used
+		if (Properties.BRANCH_EVAL) {
+			branchesTrace.add(new BranchEval(branch, true_distance, false_distance));
+		}
+	}
+
+	/**
+	 * Count how often the given branch was executed, and how often each of its
+	 * outcomes was taken
+	 * 
+	 * @param branch
+	 * @param true_distance
+	 * @param false_distance
+	 */
+	protected void updateBranchExecutionCounts(int branch, double true_distance, double false_distance) {
+		if (!coveredPredicates.containsKey(branch))
+			coveredPredicates.put(branch, 1);
+		else
+			coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
+
+		if (true_distance == 0.0) {
+			if (!coveredTrue.containsKey(branch))
+				coveredTrue.put(branch, 1);
+			else
+				coveredTrue.put(branch, coveredTrue.get(branch) + 1);
+
+		}
+
+		if (false_distance == 0.0) {
+			if (!coveredFalse.containsKey(branch))
+				coveredFalse.put(branch, 1);
+			else
+				coveredFalse.put(branch, coveredFalse.get(branch) + 1);
+		}
+	}
+
+	/**
+	 * Keep the minimum and the sum of the true/false distances of the given
+	 * branch
+	 * 
+	 * @param branch
+	 * @param true_distance
+	 * @param false_distance
+	 */
+	protected void updateBranchDistances(int branch, double true_distance, double false_distance) {
 		if (!trueDistances.containsKey(branch))
 			trueDistances.put(branch, true_distance);
 		else
@@ -471,17 +506,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			falseDistancesSum.put(branch, false_distance);
 		else
 			falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
-
-		if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
-				|| ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
-				|| ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
-			updateBranchContextMaps(branch, true_distance, false_distance);
-		}
-
-		// This requires a lot of memory and should not really be used
-		if (Properties.BRANCH_EVAL) {
-			branchesTrace.add(new BranchEval(branch, true_distance, false_distance));
-		}
 	}
 
 	/**
@@ -569,6 +593,16 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		coveredPredicateContext = new HashMap<Integer, Map<CallContext, Integer>>();
 	}
 
+	/**
+	 * Create an empty trace of the same kind as this one, used by
+	 * {@link #clone()}
+	 * 
+	 * @return a new trace
+	 */
+	protected ExecutionTraceImpl newInstance() {
+		return new ExecutionTraceImpl();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -577,7 +611,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	@Override
 	public ExecutionTraceImpl clone() {
 
-		ExecutionTraceImpl copy = new ExecutionTraceImpl();
+		ExecutionTraceImpl copy = newInstance();
 		for (MethodCall call : finishedCalls) {
 			copy.finishedCalls.add(call.clone());
 		}
@@ -0,0 +1,241 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map from dense non-negative int keys (e.g. branch ids) to double values,
+ * backed by a primitive array that grows on demand. Absent keys are encoded
+ * as NaN, so NaN cannot be stored as a value.
+ *
+ * The primitive accessors do not box; the {@link Map} view exists so that the
+ * map can be handed out through the {@link ExecutionTrace} interface.
+ *
+ * This class is not thread safe.
+ */
+public class IntDoubleArrayMap extends AbstractMap<Integer, Double> implements Cloneable {
+
+	private static final double ABSENT = Double.NaN;
+
+	private double[] values;
+
+	private int size = 0;
+
+	public IntDoubleArrayMap() {
+		this(16);
+	}
+
+	public IntDoubleArrayMap(int initialCapacity) {
+		values = new double[Math.max(1, initialCapacity)];
+		Arrays.fill(values, ABSENT);
+	}
+
+	private void ensureCapacity(int key) {
+		if (key < values.length)
+			return;
+		int oldLength = values.length;
+		int newLength = Math.max(key + 1, oldLength * 2);
+		values = Arrays.copyOf(values, newLength);
+		Arrays.fill(values, oldLength, newLength, ABSENT);
+	}
+
+	private static boolean isPresent(double value) {
+		return value == value; // false only for NaN
+	}
+
+	public boolean containsKey(int key) {
+		return key >= 0 && key < values.length && isPresent(values[key]);
+	}
+
+	/**
+	 * Returns the value stored for key, or NaN if there is none
+	 */
+	public double getDouble(int key) {
+		if (key < 0 || key >= values.length)
+			return ABSENT;
+		return values[key];
+	}
+
+	/**
+	 * Stores value for key and returns the previous value (NaN if absent)
+	 */
+	public double putDouble(int key, double value) {
+		if (key < 0)
+			throw new IllegalArgumentException("Negative key: " + key);
+		if (!isPresent(value))
+			throw new IllegalArgumentException("NaN cannot be stored");
+		ensureCapacity(key);
+		double old = values[key];
+		if (!isPresent(old))
+			size++;
+		values[key] = value;
+		return old;
+	}
+
+	/**
+	 * Keeps the minimum of the stored value and the given value
+	 */
+	public void putMin(int key, double value) {
+		double old = getDouble(key);
+		if (!isPresent(old) || value < old)
+			putDouble(key, value);
+	}
+
+	/**
+	 * Adds value to the stored value, treating an absent key as zero
+	 */
+	public void add(int key, double value) {
+		double old = getDouble(key);
+		putDouble(key, isPresent(old) ? old + value : value);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof Integer && containsKey(((Integer) key).intValue());
+	}
+
+	@Override
+	public Double get(Object key) {
+		if (!(key instanceof Integer))
+			return null;
+		double value = getDouble((Integer) key);
+		return isPresent(value) ? value : null;
+	}
+
+	@Override
+	public Double put(Integer key, Double value) {
+		double old = putDouble(key, value);
+		return isPresent(old) ? old : null;
+	}
+
+	@Override
+	public Double remove(Object key) {
+		if (!containsKey(key))
+			return null;
+		int k = (Integer) key;
+		double old = values[k];
+		values[k] = ABSENT;
+		size--;
+		return old;
+	}
+
+	@Override
+	public void putAll(Map<? extends Integer, ? extends Double> m) {
+		if (m instanceof IntDoubleArrayMap) {
+			IntDoubleArrayMap other = (IntDoubleArrayMap) m;
+			if (size == 0) {
+				values = other.values.clone();
+				size = other.size;
+				return;
+			}
+			for (int i = 0; i < other.values.length; i++) {
+				if (isPresent(other.values[i]))
+					putDouble(i, other.values[i]);
+			}
+		} else {
+			super.putAll(m);
+		}
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(values, ABSENT);
+		size = 0;
+	}
+
+	@Override
+	public IntDoubleArrayMap clone() {
+		IntDoubleArrayMap copy = new IntDoubleArrayMap(1);
+		copy.values = values.clone();
+		copy.size = size;
+		return copy;
+	}
+
+	@Override
+	public Set<Map.Entry<Integer, Double>> entrySet() {
+		return new AbstractSet<Map.Entry<Integer, Double>>() {
+			@Override
+			public Iterator<Map.Entry<Integer, Double>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	private class EntryIterator implements Iterator<Map.Entry<Integer, Double>> {
+
+		private int next = advance(0);
+
+		private int last = -1;
+
+		private int advance(int from) {
+			while (from < values.length && !isPresent(values[from]))
+				from++;
+			return from;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < values.length;
+		}
+
+		@Override
+		public Map.Entry<Integer, Double> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			last = next;
+			next = advance(next + 1);
+			final int key = last;
+			return new SimpleEntry<Integer, Double>(key, values[key]) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public Double setValue(Double value) {
+					super.setValue(value);
+					return put(key, value);
+				}
+			};
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0)
+				throw new IllegalStateException();
+			IntDoubleArrayMap.this.remove(last);
+			last = -1;
+		}
+	}
+}
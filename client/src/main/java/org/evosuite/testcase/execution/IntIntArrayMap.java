@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map from dense non-negative int keys (e.g. branch ids) to int values, backed
+ * by a primitive array that grows on demand. Absent keys are encoded as
+ * {@link Integer#MIN_VALUE}, so that value cannot be stored.
+ *
+ * The primitive accessors do not box; the {@link Map} view exists so that the
+ * map can be handed out through the {@link ExecutionTrace} interface.
+ *
+ * This class is not thread safe.
+ */
+public class IntIntArrayMap extends AbstractMap<Integer, Integer> implements Cloneable {
+
+	private static final int ABSENT = Integer.MIN_VALUE;
+
+	private int[] values;
+
+	private int size = 0;
+
+	public IntIntArrayMap() {
+		this(16);
+	}
+
+	public IntIntArrayMap(int initialCapacity) {
+		values = new int[Math.max(1, initialCapacity)];
+		Arrays.fill(values, ABSENT);
+	}
+
+	private void ensureCapacity(int key) {
+		if (key < values.length)
+			return;
+		int oldLength = values.length;
+		int newLength = Math.max(key + 1, oldLength * 2);
+		values = Arrays.copyOf(values, newLength);
+		Arrays.fill(values, oldLength, newLength, ABSENT);
+	}
+
+	private static boolean isPresent(int value) {
+		return value != ABSENT;
+	}
+
+	public boolean containsKey(int key) {
+		return key >= 0 && key < values.length && isPresent(values[key]);
+	}
+
+	/**
+	 * Returns the value stored for key, or {@link Integer#MIN_VALUE} if there
+	 * is none
+	 */
+	public int getInt(int key) {
+		if (key < 0 || key >= values.length)
+			return ABSENT;
+		return values[key];
+	}
+
+	/**
+	 * Stores value for key and returns the previous value
+	 * ({@link Integer#MIN_VALUE} if absent)
+	 */
+	public int putInt(int key, int value) {
+		if (key < 0)
+			throw new IllegalArgumentException("Negative key: " + key);
+		if (!isPresent(value))
+			throw new IllegalArgumentException("Integer.MIN_VALUE cannot be stored");
+		ensureCapacity(key);
+		int old = values[key];
+		if (!isPresent(old))
+			size++;
+		values[key] = value;
+		return old;
+	}
+
+	/**
+	 * Increments the counter stored for key, treating an absent key as zero
+	 */
+	public void increment(int key) {
+		int old = getInt(key);
+		putInt(key, isPresent(old) ? old + 1 : 1);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof Integer && containsKey(((Integer) key).intValue());
+	}
+
+	@Override
+	public Integer get(Object key) {
+		if (!(key instanceof Integer))
+			return null;
+		int value = getInt((Integer) key);
+		return isPresent(value) ? value : null;
+	}
+
+	@Override
+	public Integer put(Integer key, Integer value) {
+		int old = putInt(key, value);
+		return isPresent(old) ? old : null;
+	}
+
+	@Override
+	public Integer remove(Object key) {
+		if (!containsKey(key))
+			return null;
+		int k = (Integer) key;
+		int old = values[k];
+		values[k] = ABSENT;
+		size--;
+		return old;
+	}
+
+	@Override
+	public void putAll(Map<? extends Integer, ? extends Integer> m) {
+		if (m instanceof IntIntArrayMap) {
+			IntIntArrayMap other = (IntIntArrayMap) m;
+			if (size == 0) {
+				values = other.values.clone();
+				size = other.size;
+				return;
+			}
+			for (int i = 0; i < other.values.length; i++) {
+				if (isPresent(other.values[i]))
+					putInt(i, other.values[i]);
+			}
+		} else {
+			super.putAll(m);
+		}
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(values, ABSENT);
+		size = 0;
+	}
+
+	@Override
+	public IntIntArrayMap clone() {
+		IntIntArrayMap copy = new IntIntArrayMap(1);
+		copy.values = values.clone();
+		copy.size = size;
+		return copy;
+	}
+
+	@Override
+	public Set<Map.Entry<Integer, Integer>> entrySet() {
+		return new AbstractSet<Map.Entry<Integer, Integer>>() {
+			@Override
+			public Iterator<Map.Entry<Integer, Integer>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	private class EntryIterator implements Iterator<Map.Entry<Integer, Integer>> {
+
+		private int next = advance(0);
+
+		private int last = -1;
+
+		private int advance(int from) {
+			while (from < values.length && !isPresent(values[from]))
+				from++;
+			return from;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < values.length;
+		}
+
+		@Override
+		public Map.Entry<Integer, Integer> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			last = next;
+			next = advance(next + 1);
+			final int key = last;
+			return new SimpleEntry<Integer, Integer>(key, values[key]) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public Integer setValue(Integer value) {
+					super.setValue(value);
+					return put(key, value);
+				}
+			};
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0)
+				throw new IllegalStateException();
+			IntIntArrayMap.this.remove(last);
+			last = -1;
+		}
+	}
+}
@@ -189,12 +189,54 @@ public class TestCaseExecutor implements ThreadFactory {
 			if (instance.executor == null) {
 				logger.info("TestCaseExecutor instance is non-null, but its actual executor is null");
 				instance.executor = Executors.newSingleThreadExecutor(instance);
+			} else if (Properties.REUSE_EXECUTION_THREAD && !instance.executor.isShutdown()) {
+				logger.debug("Keeping current test execution thread");
 			} else {
+				instance.executor.shutdown();
 				instance.executor = Executors.newSingleThreadExecutor(instance);
 			}
 		}
 	}
 
+	/**
+	 * Stop accepting tests on the current executor and create a new one, so
+	 * that the next test runs on a fresh thread in a fresh thread group. The
+	 * old thread is left to terminate on its own once its task is done.
+	 * 
+	 * @param reason
+	 *            why the execution thread is replaced
+	 */
+	private void replaceExecutor(String reason) {
+		logger.info("Replacing test execution thread: " + reason);
+		executor.shutdown();
+		executor = Executors.newSingleThreadExecutor(this);
+	}
+
+	/**
+	 * A reused execution thread must not carry over state from previous
+	 * executions: make sure it uses the class loader of the current SUT and is
+	 * the thread the ExecutionTracer is listening to.
+	 */
+	private void prepareExecutionThread() {
+		if (currentThread != null && currentThread.isAlive()) {
+			currentThread.setContextClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+			ExecutionTracer.setThread(currentThread);
+		}
+	}
+
+	/**
+	 * Check whether the SUT left any threads running in the thread group of
+	 * the current execution thread
+	 * 
+	 * @return true if there are threads other than the execution thread
+	 */
+	private boolean hasLeftoverThreads() {
+		if (threadGroup == null)
+			return false;
+		int expected = (currentThread != null && currentThread.isAlive()) ? 1 : 0;
+		return threadGroup.activeCount() > expected;
+	}
+
 	/**
 	 * <p>
 	 * addObserver
@@ -325,6 +367,9 @@ public class TestCaseExecutor implements ThreadFactory {
 			SystemInUtil.getInstance().initForTestCase();
 			JOptionPaneInputs.getInstance().initForTestCase();
 
+			if (Properties.REUSE_EXECUTION_THREAD)
+				prepareExecutionThread();
+
 			Sandbox.goingToExecuteSUTCode();
 			TestGenerationContext.getInstance().goingToExecuteSUTCode();
 			try {
@@ -342,6 +387,10 @@ public class TestCaseExecutor implements ThreadFactory {
 			 */
 			callable.killAndJoinClientThreads();
 
+			if (Properties.REUSE_EXECUTION_THREAD && hasLeftoverThreads()) {
+				replaceExecutor("SUT threads survived the test");
+			}
+
 			/*
 			 * TODO: we might want to initialize the ExecutionResult here, once
 			 * we waited for all SUT threads to finish
@@ -466,7 +515,9 @@ public class TestCaseExecutor implements ThreadFactory {
 				}
 			} else {
 				logger.info("Run is finished - " + currentThread.isAlive() + ": " + getNumStalledThreads());
-
+				if (Properties.REUSE_EXECUTION_THREAD && hasLeftoverThreads()) {
+					replaceExecutor("SUT threads survived the timeout");
+				}
 			}
 			ExecutionTracer.disable();
 
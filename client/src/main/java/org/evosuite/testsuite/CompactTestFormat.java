@@ -0,0 +1,988 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.statements.ArrayStatement;
+import org.evosuite.testcase.statements.AssignmentStatement;
+import org.evosuite.testcase.statements.ClassPrimitiveStatement;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.EnumPrimitiveStatement;
+import org.evosuite.testcase.statements.FieldStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.PrimitiveStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.StringPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BooleanPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BytePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.CharPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.DoublePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.FloatPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.LongPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.ShortPrimitiveStatement;
+import org.evosuite.testcase.variable.ArrayIndex;
+import org.evosuite.testcase.variable.ArrayReference;
+import org.evosuite.testcase.variable.ConstantValue;
+import org.evosuite.testcase.variable.FieldReference;
+import org.evosuite.testcase.variable.NullReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.testcase.variable.VariableReferenceImpl;
+import org.evosuite.utils.DebuggingObjectOutputStream;
+import org.evosuite.utils.ParameterizedTypeImpl;
+import org.evosuite.utils.generic.GenericAccessibleObject;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericField;
+import org.evosuite.utils.generic.GenericMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact binary format for tests, used instead of the Java serialization
+ * of whole {@link TestChromosome} object graphs.
+ *
+ * <p>
+ * After a header with a magic number and the version of the format, there is
+ * one record per test, so that tests can be read one at a time. A record
+ * either contains the statements of a test, or, for tests this format cannot
+ * represent (eg, with assertions, mocks or environment data), the test in Java
+ * serialization. Names of classes and members are interned, and referred to
+ * by their index. The names first used by a test are defined in a separate
+ * record before it.
+ *
+ * <p>
+ * Each record starts with its type and length. So, if a test cannot be read
+ * any more (eg, a method it calls was removed from the class under test), it
+ * is skipped, and the following tests are still read.
+ *
+ * <p>
+ * Types are stored like in the Java serialization of {@link GenericClass},
+ * ie as raw class and, for parameterized types, owner and type arguments.
+ */
+final class CompactTestFormat {
+
+	private static final Logger logger = LoggerFactory.getLogger(CompactTestFormat.class);
+
+	/** "EVTC" */
+	static final int MAGIC = 0x45565443;
+
+	/** To be changed whenever the format changes */
+	static final int VERSION = 2;
+
+	private static final byte RECORD_COMPACT = 1;
+	private static final byte RECORD_SERIALIZED = 2;
+	private static final byte RECORD_STRINGS = 3;
+
+	private static final byte STATEMENT_PRIMITIVE = 1;
+	private static final byte STATEMENT_NULL = 2;
+	private static final byte STATEMENT_CONSTRUCTOR = 3;
+	private static final byte STATEMENT_METHOD = 4;
+	private static final byte STATEMENT_FIELD = 5;
+	private static final byte STATEMENT_ASSIGNMENT = 6;
+	private static final byte STATEMENT_ARRAY = 7;
+
+	private static final byte REFERENCE_NONE = 0;
+	private static final byte REFERENCE_STATEMENT = 1;
+	private static final byte REFERENCE_ARRAY_INDEX = 2;
+	private static final byte REFERENCE_FIELD = 3;
+	private static final byte REFERENCE_CONSTANT = 4;
+	private static final byte REFERENCE_NULL = 5;
+
+	private static final byte TYPE_NONE = 0;
+	private static final byte TYPE_CLASS = 1;
+	private static final byte TYPE_PARAMETERIZED = 2;
+
+	private static final byte VALUE_NULL = 0;
+	private static final byte VALUE_BOOLEAN = 1;
+	private static final byte VALUE_BYTE = 2;
+	private static final byte VALUE_CHAR = 3;
+	private static final byte VALUE_SHORT = 4;
+	private static final byte VALUE_INT = 5;
+	private static final byte VALUE_LONG = 6;
+	private static final byte VALUE_FLOAT = 7;
+	private static final byte VALUE_DOUBLE = 8;
+	private static final byte VALUE_STRING = 9;
+	private static final byte VALUE_ENUM = 10;
+	private static final byte VALUE_CLASS = 11;
+
+	/** Primitive statements that are fully described by their type and value */
+	private static final Map<Class<?>, Byte> PRIMITIVE_STATEMENTS = new HashMap<>();
+
+	static {
+		PRIMITIVE_STATEMENTS.put(BooleanPrimitiveStatement.class, VALUE_BOOLEAN);
+		PRIMITIVE_STATEMENTS.put(BytePrimitiveStatement.class, VALUE_BYTE);
+		PRIMITIVE_STATEMENTS.put(CharPrimitiveStatement.class, VALUE_CHAR);
+		PRIMITIVE_STATEMENTS.put(ShortPrimitiveStatement.class, VALUE_SHORT);
+		PRIMITIVE_STATEMENTS.put(IntPrimitiveStatement.class, VALUE_INT);
+		PRIMITIVE_STATEMENTS.put(LongPrimitiveStatement.class, VALUE_LONG);
+		PRIMITIVE_STATEMENTS.put(FloatPrimitiveStatement.class, VALUE_FLOAT);
+		PRIMITIVE_STATEMENTS.put(DoublePrimitiveStatement.class, VALUE_DOUBLE);
+		PRIMITIVE_STATEMENTS.put(StringPrimitiveStatement.class, VALUE_STRING);
+		PRIMITIVE_STATEMENTS.put(EnumPrimitiveStatement.class, VALUE_ENUM);
+		PRIMITIVE_STATEMENTS.put(ClassPrimitiveStatement.class, VALUE_CLASS);
+	}
+
+	private CompactTestFormat() {
+	}
+
+	/**
+	 * A test cannot be represented in the compact format
+	 */
+	private static class UnsupportedTestException extends Exception {
+
+		private static final long serialVersionUID = 2372553218484165262L;
+
+		public UnsupportedTestException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * A record was read, but it cannot be turned into a test, eg because the
+	 * class under test changed. The following records can still be read.
+	 */
+	static class UnreadableTestException extends Exception {
+
+		private static final long serialVersionUID = -4530542981436359417L;
+
+		public UnreadableTestException(String message) {
+			super(message);
+		}
+
+		public UnreadableTestException(Throwable cause) {
+			super(cause.toString(), cause);
+		}
+	}
+
+	/**
+	 * Writes tests after the header, keeping track of the interned names
+	 */
+	static class Encoder {
+
+		private final DataOutputStream out;
+
+		private final List<String> strings = new ArrayList<>();
+
+		private final Map<String, Integer> ids = new HashMap<>();
+
+		/** How many of the interned names are already written */
+		private int writtenStrings = 0;
+
+		private int compactTests = 0;
+
+		private int serializedTests = 0;
+
+		public Encoder(DataOutputStream out) throws IOException {
+			this.out = out;
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+		}
+
+		public void write(TestChromosome test) throws IOException {
+			byte[] compact = tryEncode(test.getTestCaseForReading());
+			if (compact != null) {
+				writeNewStrings();
+				writeRecord(RECORD_COMPACT, compact);
+				compactTests++;
+			} else {
+				ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+				try (ObjectOutputStream objectOut = new DebuggingObjectOutputStream(buffer)) {
+					objectOut.writeObject(test);
+				}
+				writeRecord(RECORD_SERIALIZED, buffer.toByteArray());
+				serializedTests++;
+			}
+		}
+
+		private void writeNewStrings() throws IOException {
+			if (writtenStrings == strings.size()) {
+				return;
+			}
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			DataOutputStream data = new DataOutputStream(buffer);
+			writeVarInt(data, strings.size() - writtenStrings);
+			for (String string : strings.subList(writtenStrings, strings.size())) {
+				data.writeUTF(string);
+			}
+			data.flush();
+			writeRecord(RECORD_STRINGS, buffer.toByteArray());
+			writtenStrings = strings.size();
+		}
+
+		private void writeRecord(byte type, byte[] payload) throws IOException {
+			out.writeByte(type);
+			writeVarInt(out, payload.length);
+			out.write(payload);
+		}
+
+		/**
+		 * @return how many tests were written in the compact format
+		 */
+		public int getNumberOfCompactTests() {
+			return compactTests;
+		}
+
+		/**
+		 * @return how many tests had to be written with Java serialization
+		 */
+		public int getNumberOfSerializedTests() {
+			return serializedTests;
+		}
+
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		/**
+		 * @return null if the test cannot be represented in the compact format
+		 */
+		private byte[] tryEncode(TestCase test) {
+			int knownStrings = strings.size();
+			try {
+				if (test.hasAssertions()) {
+					throw new UnsupportedTestException("test has assertions");
+				}
+				ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+				DataOutputStream data = new DataOutputStream(buffer);
+				writeTest(data, test);
+				data.flush();
+				byte[] bytes = buffer.toByteArray();
+
+				/*
+				 * Check that the test can be restored: statements like mocks or
+				 * environment data have more state than what is stored here
+				 */
+				Decoder decoder = new Decoder(new DataInputStream(new ByteArrayInputStream(bytes)), strings);
+				TestCase decoded = decoder.readTest();
+				checkSameTest(test, decoded);
+				return bytes;
+
+			} catch (UnsupportedTestException | IOException | ReflectiveOperationException | RuntimeException e) {
+				logger.debug("Using Java serialization for test: " + e.getMessage());
+				while (strings.size() > knownStrings) {
+					ids.remove(strings.remove(strings.size() - 1));
+				}
+				return null;
+			}
+		}
+
+		private void checkSameTest(TestCase test, TestCase decoded) throws UnsupportedTestException {
+			if (test.size() != decoded.size()) {
+				throw new UnsupportedTestException("different number of statements");
+			}
+			for (int i = 0; i < test.size(); i++) {
+				if (!test.getStatement(i).getReturnValue().getType()
+				        .equals(decoded.getStatement(i).getReturnValue().getType())) {
+					throw new UnsupportedTestException("different type at statement " + i);
+				}
+			}
+			if (!test.toCode().equals(decoded.toCode())) {
+				throw new UnsupportedTestException("different code");
+			}
+		}
+
+		private void writeTest(DataOutputStream data, TestCase test) throws IOException, UnsupportedTestException {
+			writeVarInt(data, test.size());
+			for (Statement statement : test) {
+				writeStatement(data, statement);
+			}
+		}
+
+		private void writeStatement(DataOutputStream data, Statement statement)
+		        throws IOException, UnsupportedTestException {
+			Class<?> statementClass = statement.getClass();
+
+			if (statementClass == AssignmentStatement.class) {
+				// the return value is the variable assigned to, and not a new one
+				data.writeByte(STATEMENT_ASSIGNMENT);
+				writeReference(data, statement.getReturnValue());
+				writeReference(data, ((AssignmentStatement) statement).getValue());
+				return;
+			}
+
+			byte kind;
+			if (statementClass == ConstructorStatement.class) {
+				kind = STATEMENT_CONSTRUCTOR;
+			} else if (statementClass == MethodStatement.class) {
+				kind = STATEMENT_METHOD;
+			} else if (statementClass == FieldStatement.class) {
+				kind = STATEMENT_FIELD;
+			} else if (statementClass == NullStatement.class) {
+				kind = STATEMENT_NULL;
+			} else if (statementClass == ArrayStatement.class) {
+				kind = STATEMENT_ARRAY;
+			} else if (PRIMITIVE_STATEMENTS.containsKey(statementClass)) {
+				kind = STATEMENT_PRIMITIVE;
+			} else {
+				throw new UnsupportedTestException("unsupported statement " + statementClass.getName());
+			}
+			data.writeByte(kind);
+
+			VariableReference retval = statement.getReturnValue();
+			writeType(data, retval.getGenericClass());
+			writeLengths(data, retval instanceof ArrayReference ? ((ArrayReference) retval).getLengths() : null);
+
+			switch (kind) {
+			case STATEMENT_CONSTRUCTOR:
+				ConstructorStatement constructorStatement = (ConstructorStatement) statement;
+				writeConstructor(data, constructorStatement.getConstructor());
+				writeReferences(data, constructorStatement.getParameterReferences());
+				break;
+			case STATEMENT_METHOD:
+				MethodStatement methodStatement = (MethodStatement) statement;
+				writeMethod(data, methodStatement.getMethod());
+				writeReference(data, methodStatement.getCallee());
+				writeReferences(data, methodStatement.getParameterReferences());
+				break;
+			case STATEMENT_FIELD:
+				FieldStatement fieldStatement = (FieldStatement) statement;
+				writeField(data, fieldStatement.getField());
+				writeReference(data, fieldStatement.getSource());
+				break;
+			case STATEMENT_PRIMITIVE:
+				writeValue(data, PRIMITIVE_STATEMENTS.get(statementClass),
+				        ((PrimitiveStatement<?>) statement).getValue());
+				break;
+			default:
+				// null and array statements are described by their return value
+				break;
+			}
+		}
+
+		private void writeReferences(DataOutputStream data, List<VariableReference> references)
+		        throws IOException, UnsupportedTestException {
+			writeVarInt(data, references.size());
+			for (VariableReference reference : references) {
+				writeReference(data, reference);
+			}
+		}
+
+		private void writeReference(DataOutputStream data, VariableReference reference)
+		        throws IOException, UnsupportedTestException {
+			if (reference == null) {
+				data.writeByte(REFERENCE_NONE);
+			} else if (reference instanceof ArrayIndex) {
+				ArrayIndex index = (ArrayIndex) reference;
+				data.writeByte(REFERENCE_ARRAY_INDEX);
+				writeReference(data, index.getArray());
+				writeLengths(data, index.getArrayIndices());
+			} else if (reference instanceof FieldReference) {
+				FieldReference field = (FieldReference) reference;
+				data.writeByte(REFERENCE_FIELD);
+				writeField(data, field.getField());
+				writeReference(data, field.getSource());
+			} else if (reference.getClass() == ConstantValue.class) {
+				ConstantValue constant = (ConstantValue) reference;
+				data.writeByte(REFERENCE_CONSTANT);
+				writeType(data, constant.getGenericClass());
+				writeValue(data, getValueKind(constant.getValue()), constant.getValue());
+			} else if (reference.getClass() == NullReference.class && !isDefinedByStatement(reference)) {
+				// null passed directly, eg by the local search, and not the result of a null statement
+				data.writeByte(REFERENCE_NULL);
+				writeType(data, reference.getGenericClass());
+			} else if (reference.getClass() == VariableReferenceImpl.class
+			        || reference.getClass() == ArrayReference.class || reference.getClass() == NullReference.class) {
+				data.writeByte(REFERENCE_STATEMENT);
+				writeVarInt(data, reference.getStPosition());
+			} else {
+				throw new UnsupportedTestException("unsupported reference " + reference.getClass().getName());
+			}
+		}
+
+		private boolean isDefinedByStatement(VariableReference reference) {
+			for (Statement statement : reference.getTestCase()) {
+				if (statement.getReturnValue() == reference) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void writeType(DataOutputStream data, GenericClass type) throws IOException {
+			if (type == null || type.getRawClass() == null) {
+				data.writeByte(TYPE_NONE);
+			} else if (type.getType() instanceof ParameterizedType) {
+				ParameterizedType parameterizedType = (ParameterizedType) type.getType();
+				data.writeByte(TYPE_PARAMETERIZED);
+				writeString(data, type.getRawClass().getName());
+				writeType(data, parameterizedType.getOwnerType() == null ? null
+				        : new GenericClass(parameterizedType.getOwnerType()));
+				Type[] arguments = parameterizedType.getActualTypeArguments();
+				writeVarInt(data, arguments.length);
+				for (Type argument : arguments) {
+					writeType(data, new GenericClass(argument));
+				}
+			} else {
+				data.writeByte(TYPE_CLASS);
+				writeString(data, type.getRawClass().getName());
+			}
+		}
+
+		private void writeConstructor(DataOutputStream data, GenericConstructor constructor) throws IOException {
+			writeString(data, constructor.getDeclaringClass().getName());
+			writeString(data, org.objectweb.asm.Type.getConstructorDescriptor(constructor.getConstructor()));
+			writeOwnerAndTypeParameters(data, constructor);
+		}
+
+		private void writeMethod(DataOutputStream data, GenericMethod method) throws IOException {
+			writeString(data, method.getDeclaringClass().getName());
+			writeString(data, method.getName());
+			writeString(data, org.objectweb.asm.Type.getMethodDescriptor(method.getMethod()));
+			writeOwnerAndTypeParameters(data, method);
+		}
+
+		private void writeField(DataOutputStream data, GenericField field) throws IOException {
+			writeString(data, field.getDeclaringClass().getName());
+			writeString(data, field.getName());
+			writeOwnerAndTypeParameters(data, field);
+		}
+
+		private void writeOwnerAndTypeParameters(DataOutputStream data, GenericAccessibleObject<?> accessibleObject)
+		        throws IOException {
+			writeType(data, accessibleObject.getOwnerClass());
+			List<GenericClass> typeParameters = accessibleObject.getTypeParameterClasses();
+			writeVarInt(data, typeParameters.size());
+			for (GenericClass typeParameter : typeParameters) {
+				writeType(data, typeParameter);
+			}
+		}
+
+		private void writeLengths(DataOutputStream data, List<Integer> lengths) throws IOException {
+			if (lengths == null) {
+				writeVarInt(data, 0);
+				return;
+			}
+			writeVarInt(data, lengths.size() + 1);
+			for (Integer length : lengths) {
+				data.writeInt(length);
+			}
+		}
+
+		private byte getValueKind(Object value) throws UnsupportedTestException {
+			if (value == null) {
+				return VALUE_NULL;
+			} else if (value instanceof String) {
+				return VALUE_STRING;
+			} else if (value instanceof Integer) {
+				return VALUE_INT;
+			} else if (value instanceof Long) {
+				return VALUE_LONG;
+			} else if (value instanceof Double) {
+				return VALUE_DOUBLE;
+			} else if (value instanceof Float) {
+				return VALUE_FLOAT;
+			} else if (value instanceof Boolean) {
+				return VALUE_BOOLEAN;
+			} else if (value instanceof Character) {
+				return VALUE_CHAR;
+			} else if (value instanceof Short) {
+				return VALUE_SHORT;
+			} else if (value instanceof Byte) {
+				return VALUE_BYTE;
+			} else if (value instanceof Enum) {
+				return VALUE_ENUM;
+			} else if (value instanceof Class) {
+				return VALUE_CLASS;
+			}
+			throw new UnsupportedTestException("unsupported value of " + value.getClass().getName());
+		}
+
+		private void writeValue(DataOutputStream data, byte kind, Object value) throws IOException {
+			data.writeByte(kind);
+			if (kind == VALUE_NULL) {
+				return;
+			}
+			data.writeBoolean(value != null);
+			if (value == null) {
+				return;
+			}
+			switch (kind) {
+			case VALUE_BOOLEAN:
+				data.writeBoolean((Boolean) value);
+				break;
+			case VALUE_BYTE:
+				data.writeByte((Byte) value);
+				break;
+			case VALUE_CHAR:
+				data.writeChar((Character) value);
+				break;
+			case VALUE_SHORT:
+				data.writeShort((Short) value);
+				break;
+			case VALUE_INT:
+				data.writeInt((Integer) value);
+				break;
+			case VALUE_LONG:
+				data.writeLong((Long) value);
+				break;
+			case VALUE_FLOAT:
+				data.writeFloat((Float) value);
+				break;
+			case VALUE_DOUBLE:
+				data.writeDouble((Double) value);
+				break;
+			case VALUE_STRING:
+				// not interned nor written with writeUTF, as it could be longer than 64K
+				byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+				writeVarInt(data, bytes.length);
+				data.write(bytes);
+				break;
+			case VALUE_ENUM:
+				writeString(data, ((Enum<?>) value).getDeclaringClass().getName());
+				writeString(data, ((Enum<?>) value).name());
+				break;
+			case VALUE_CLASS:
+				writeString(data, ((Class<?>) value).getName());
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown value kind " + kind);
+			}
+		}
+
+		private void writeString(DataOutputStream data, String string) throws IOException {
+			Integer id = ids.get(string);
+			if (id == null) {
+				id = strings.size();
+				ids.put(string, id);
+				strings.add(string);
+			}
+			writeVarInt(data, id);
+		}
+	}
+
+	/**
+	 * Reads the tests written by an {@link Encoder}, one at a time
+	 */
+	static class Decoder {
+
+		private final DataInputStream in;
+
+		private final List<String> strings;
+
+		/**
+		 * @param in
+		 *            positioned after the header
+		 */
+		public Decoder(DataInputStream in) {
+			this(in, new ArrayList<String>());
+		}
+
+		private Decoder(DataInputStream in, List<String> strings) {
+			this.in = in;
+			this.strings = strings;
+		}
+
+		/**
+		 * Check the header of a stream
+		 *
+		 * @return true if the stream is in the compact format
+		 */
+		public static boolean readHeader(DataInputStream in) throws IOException {
+			in.mark(8);
+			try {
+				if (in.readInt() == MAGIC) {
+					int version = in.readInt();
+					if (version != VERSION) {
+						throw new IOException("Unsupported version of the test format: " + version);
+					}
+					return true;
+				}
+			} catch (EOFException e) {
+				// too short to have a header
+			}
+			in.reset();
+			return false;
+		}
+
+		/**
+		 * @return the next test, or null if there is none left
+		 * @throws IOException
+		 *             if the stream cannot be read, eg it is truncated
+		 * @throws UnreadableTestException
+		 *             if the next test cannot be restored. The stream is then
+		 *             positioned on the test after it.
+		 */
+		public TestChromosome readNext() throws IOException, UnreadableTestException {
+			while (true) {
+				int record = in.read();
+				if (record < 0) {
+					return null;
+				}
+				byte[] payload = new byte[readVarInt(in)];
+				in.readFully(payload);
+				DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+
+				switch (record) {
+				case RECORD_STRINGS:
+					int size = readVarInt(data);
+					for (int i = 0; i < size; i++) {
+						strings.add(data.readUTF());
+					}
+					break;
+				case RECORD_COMPACT:
+					try {
+						TestChromosome test = new TestChromosome();
+						test.setTestCase(new Decoder(data, strings).readTest());
+						return test;
+					} catch (IOException | ReflectiveOperationException | RuntimeException e) {
+						throw new UnreadableTestException(e);
+					}
+				case RECORD_SERIALIZED:
+					try (ObjectInputStream objectIn = new ObjectInputStream(data)) {
+						TestChromosome test = (TestChromosome) objectIn.readObject();
+						for (Statement statement : test.getTestCase()) {
+							statement.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+						}
+						return test;
+					} catch (IOException | ReflectiveOperationException | RuntimeException e) {
+						throw new UnreadableTestException(e);
+					}
+				default:
+					throw new UnreadableTestException("Unknown record " + record);
+				}
+			}
+		}
+
+		private TestCase readTest() throws IOException, ReflectiveOperationException {
+			TestCase test = new DefaultTestCase();
+			int size = readVarInt(in);
+			for (int i = 0; i < size; i++) {
+				test.addStatement(readStatement(test));
+			}
+			return test;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Statement readStatement(TestCase test) throws IOException, ReflectiveOperationException {
+			byte kind = in.readByte();
+			if (kind == STATEMENT_ASSIGNMENT) {
+				VariableReference variable = readReference(test);
+				VariableReference value = readReference(test);
+				return new AssignmentStatement(test, variable, value);
+			}
+
+			GenericClass type = readType();
+			List<Integer> lengths = readLengths();
+
+			Statement statement;
+			switch (kind) {
+			case STATEMENT_CONSTRUCTOR: {
+				GenericConstructor constructor = readConstructor();
+				statement = new ConstructorStatement(test, constructor, readReferences(test));
+				break;
+			}
+			case STATEMENT_METHOD: {
+				GenericMethod method = readMethod();
+				VariableReference callee = readReference(test);
+				statement = new MethodStatement(test, method, callee, readReferences(test));
+				break;
+			}
+			case STATEMENT_FIELD: {
+				GenericField field = readField();
+				statement = new FieldStatement(test, field, readReference(test));
+				break;
+			}
+			case STATEMENT_NULL:
+				statement = new NullStatement(test, type.getType());
+				break;
+			case STATEMENT_ARRAY: {
+				int[] arrayLengths = new int[lengths.size()];
+				for (int i = 0; i < arrayLengths.length; i++) {
+					arrayLengths[i] = lengths.get(i);
+				}
+				statement = new ArrayStatement(test, type.getType(), arrayLengths);
+				break;
+			}
+			case STATEMENT_PRIMITIVE: {
+				byte valueKind = in.readByte();
+				Object value = readValue(valueKind);
+				statement = createPrimitiveStatement(test, valueKind, type, value);
+				break;
+			}
+			default:
+				throw new IOException("Unknown statement " + kind);
+			}
+
+			VariableReference retval = statement.getReturnValue();
+			if (!retval.getType().equals(type.getType())) {
+				retval.setType(type.getType());
+			}
+			if (lengths != null && retval instanceof ArrayReference) {
+				((ArrayReference) retval).setLengths(lengths);
+			}
+			return statement;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Statement createPrimitiveStatement(TestCase test, byte valueKind, GenericClass type, Object value)
+		        throws IOException {
+			switch (valueKind) {
+			case VALUE_BOOLEAN:
+				return new BooleanPrimitiveStatement(test, (Boolean) value);
+			case VALUE_BYTE:
+				return new BytePrimitiveStatement(test, (Byte) value);
+			case VALUE_CHAR:
+				return new CharPrimitiveStatement(test, (Character) value);
+			case VALUE_SHORT:
+				return new ShortPrimitiveStatement(test, (Short) value);
+			case VALUE_INT:
+				return new IntPrimitiveStatement(test, (Integer) value);
+			case VALUE_LONG:
+				return new LongPrimitiveStatement(test, (Long) value);
+			case VALUE_FLOAT:
+				return new FloatPrimitiveStatement(test, (Float) value);
+			case VALUE_DOUBLE:
+				return new DoublePrimitiveStatement(test, (Double) value);
+			case VALUE_STRING:
+				return new StringPrimitiveStatement(test, (String) value);
+			case VALUE_ENUM:
+				if (value == null) {
+					EnumPrimitiveStatement statement = new EnumPrimitiveStatement(test, type.getRawClass());
+					statement.setValue(null);
+					return statement;
+				}
+				return new EnumPrimitiveStatement(test, (Enum) value);
+			case VALUE_CLASS:
+				ClassPrimitiveStatement statement = new ClassPrimitiveStatement(test, (Class<?>) value);
+				statement.setValue((Class<?>) value);
+				return statement;
+			default:
+				throw new IOException("Unknown primitive statement " + valueKind);
+			}
+		}
+
+		private List<VariableReference> readReferences(TestCase test) throws IOException, ReflectiveOperationException {
+			int size = readVarInt(in);
+			List<VariableReference> references = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				references.add(readReference(test));
+			}
+			return references;
+		}
+
+		private VariableReference readReference(TestCase test) throws IOException, ReflectiveOperationException {
+			byte kind = in.readByte();
+			switch (kind) {
+			case REFERENCE_NONE:
+				return null;
+			case REFERENCE_STATEMENT:
+				return test.getStatement(readVarInt(in)).getReturnValue();
+			case REFERENCE_ARRAY_INDEX: {
+				ArrayReference array = (ArrayReference) readReference(test);
+				return new ArrayIndex(test, array, readLengths());
+			}
+			case REFERENCE_FIELD: {
+				GenericField field = readField();
+				VariableReference source = readReference(test);
+				return source == null ? new FieldReference(test, field) : new FieldReference(test, field, source);
+			}
+			case REFERENCE_CONSTANT: {
+				GenericClass type = readType();
+				return new ConstantValue(test, type, readValue(in.readByte()));
+			}
+			case REFERENCE_NULL:
+				return new NullReference(test, readType().getType());
+			default:
+				throw new IOException("Unknown reference " + kind);
+			}
+		}
+
+		private GenericClass readType() throws IOException, ClassNotFoundException {
+			byte kind = in.readByte();
+			switch (kind) {
+			case TYPE_NONE:
+				return null;
+			case TYPE_CLASS:
+				return new GenericClass(loadClass(readString()));
+			case TYPE_PARAMETERIZED: {
+				Class<?> rawClass = loadClass(readString());
+				GenericClass owner = readType();
+				Type[] arguments = new Type[readVarInt(in)];
+				for (int i = 0; i < arguments.length; i++) {
+					arguments[i] = readType().getType();
+				}
+				return new GenericClass(new ParameterizedTypeImpl(rawClass, arguments,
+				        owner == null ? null : owner.getType()));
+			}
+			default:
+				throw new IOException("Unknown type " + kind);
+			}
+		}
+
+		private GenericConstructor readConstructor() throws IOException, ReflectiveOperationException {
+			Class<?> declaringClass = loadClass(readString());
+			String descriptor = readString();
+			for (Constructor<?> constructor : declaringClass.getDeclaredConstructors()) {
+				if (org.objectweb.asm.Type.getConstructorDescriptor(constructor).equals(descriptor)) {
+					GenericConstructor genericConstructor = new GenericConstructor(constructor, readType());
+					genericConstructor.setTypeParameters(readTypes());
+					return genericConstructor;
+				}
+			}
+			throw new NoSuchMethodException("Unknown constructor " + descriptor + " in class "
+			        + declaringClass.getName());
+		}
+
+		private GenericMethod readMethod() throws IOException, ReflectiveOperationException {
+			Class<?> declaringClass = loadClass(readString());
+			String name = readString();
+			String descriptor = readString();
+			for (Method method : declaringClass.getDeclaredMethods()) {
+				if (method.getName().equals(name)
+				        && org.objectweb.asm.Type.getMethodDescriptor(method).equals(descriptor)) {
+					GenericMethod genericMethod = new GenericMethod(method, readType());
+					genericMethod.setTypeParameters(readTypes());
+					return genericMethod;
+				}
+			}
+			throw new NoSuchMethodException("Unknown method " + name + descriptor + " in class "
+			        + declaringClass.getName());
+		}
+
+		private GenericField readField() throws IOException, ReflectiveOperationException {
+			Class<?> declaringClass = loadClass(readString());
+			Field field = declaringClass.getDeclaredField(readString());
+			field.setAccessible(true);
+			GenericField genericField = new GenericField(field, readType());
+			genericField.setTypeParameters(readTypes());
+			return genericField;
+		}
+
+		private List<GenericClass> readTypes() throws IOException, ClassNotFoundException {
+			int size = readVarInt(in);
+			List<GenericClass> types = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				types.add(readType());
+			}
+			return types;
+		}
+
+		private List<Integer> readLengths() throws IOException {
+			int size = readVarInt(in) - 1;
+			if (size < 0) {
+				return null;
+			}
+			List<Integer> lengths = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				lengths.add(in.readInt());
+			}
+			return lengths;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Object readValue(byte kind) throws IOException, ClassNotFoundException {
+			if (kind == VALUE_NULL || !in.readBoolean()) {
+				return null;
+			}
+			switch (kind) {
+			case VALUE_BOOLEAN:
+				return in.readBoolean();
+			case VALUE_BYTE:
+				return in.readByte();
+			case VALUE_CHAR:
+				return in.readChar();
+			case VALUE_SHORT:
+				return in.readShort();
+			case VALUE_INT:
+				return in.readInt();
+			case VALUE_LONG:
+				return in.readLong();
+			case VALUE_FLOAT:
+				return in.readFloat();
+			case VALUE_DOUBLE:
+				return in.readDouble();
+			case VALUE_STRING: {
+				byte[] bytes = new byte[readVarInt(in)];
+				in.readFully(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+			case VALUE_ENUM: {
+				Class enumClass = loadClass(readString());
+				return Enum.valueOf(enumClass, readString());
+			}
+			case VALUE_CLASS:
+				return loadClass(readString());
+			default:
+				throw new IOException("Unknown value " + kind);
+			}
+		}
+
+		private String readString() throws IOException {
+			int id = readVarInt(in);
+			if (id >= strings.size()) {
+				throw new IOException("Undefined name " + id);
+			}
+			return strings.get(id);
+		}
+
+		private static Class<?> loadClass(String name) throws ClassNotFoundException {
+			if (name.equals("void")) {
+				// eg the return value of a void method, which ClassUtils of commons-lang 3.3 does not know
+				return void.class;
+			}
+			return ClassUtils.getClass(TestGenerationContext.getInstance().getClassLoaderForSUT(), name, false);
+		}
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
@@ -149,7 +149,7 @@ public class CurrentChromosomeTracker<CType extends Chromosome> implements Searc
 		if (Properties.CALL_PROBABILITY > 0) {
 			TestSuiteChromosome suite = (TestSuiteChromosome) currentSuite;
 			for (TestChromosome test : suite.tests) {
-				if (test == changed || changed.getTestCase() == test.getTestCase())
+				if (test == changed || changed.getTestCaseForReading() == test.getTestCaseForReading())
 					continue;
 			}
 		}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.execution.ExecutionResult;
+
+/**
+ * Cache of what a single test execution contributes to a suite fitness
+ * function (e.g. the branch distances of its trace, already filtered to the
+ * goals of the fitness function). When a suite is evaluated again, only the
+ * contributions of changed tests need to be computed; the other ones are
+ * merged from the cache.
+ *
+ * Entries are keyed by {@link ExecutionResult#getExecutionId()}, which is
+ * shared by the clones of a result, so the cache also hits for unchanged
+ * tests of cloned suites (e.g. offspring in the GA). The least recently used
+ * entries are dropped once there are more than
+ * {@link Properties#INCREMENTAL_SUITE_FITNESS_CACHE_SIZE} of them.
+ *
+ * A fitness function has to {@link #clear()} the cache whenever the
+ * contributions change for unchanged traces, e.g. when goals are removed
+ * because they are covered by the archive.
+ *
+ * @param <C>
+ *            the per-test contribution
+ */
+public class TestContributionCache<C> implements Serializable {
+
+	private static final long serialVersionUID = -4301955815287045651L;
+
+	private final LinkedHashMap<Long, C> contributions = new LinkedHashMap<Long, C>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, C> eldest) {
+			return size() > Properties.INCREMENTAL_SUITE_FITNESS_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Returns true if contributions should be cached at all
+	 *
+	 * @return
+	 */
+	public static boolean isEnabled() {
+		return Properties.INCREMENTAL_SUITE_FITNESS && Properties.INCREMENTAL_SUITE_FITNESS_CACHE_SIZE > 0;
+	}
+
+	/**
+	 * Returns the cached contribution of the given result, or null
+	 *
+	 * @param result
+	 * @return
+	 */
+	public C get(ExecutionResult result) {
+		return contributions.get(result.getExecutionId());
+	}
+
+	public void put(ExecutionResult result, C contribution) {
+		contributions.put(result.getExecutionId(), contribution);
+	}
+
+	public void clear() {
+		contributions.clear();
+	}
+
+	public int size() {
+		return contributions.size();
+	}
+
+	/**
+	 * Add the counts of a cached contribution to the counts of the suite
+	 *
+	 * @param counts
+	 * @param contribution
+	 */
+	public static <K> void addCounts(Map<K, Integer> counts, Map<K, Integer> contribution) {
+		for (Map.Entry<K, Integer> entry : contribution.entrySet()) {
+			Integer count = counts.get(entry.getKey());
+			counts.put(entry.getKey(), count == null ? entry.getValue() : count + entry.getValue());
+		}
+	}
+
+	/**
+	 * Merge the distances of a cached contribution into the minimal distances
+	 * of the suite
+	 *
+	 * @param distances
+	 * @param contribution
+	 */
+	public static <K> void minDistances(Map<K, Double> distances, Map<K, Double> contribution) {
+		for (Map.Entry<K, Double> entry : contribution.entrySet()) {
+			Double distance = distances.get(entry.getKey());
+			if (distance == null || entry.getValue() < distance) {
+				distances.put(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+}
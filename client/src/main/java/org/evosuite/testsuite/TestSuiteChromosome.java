@@ -197,7 +197,7 @@ public class TestSuiteChromosome extends AbstractTestSuiteChromosome<TestChromos
 	public void deleteTest(TestCase testCase) {
 		if (testCase != null) {
 			for (int i = 0; i < tests.size(); i++) {
-				if (tests.get(i).getTestCase().equals((testCase))) {
+				if (tests.get(i).getTestCaseForReading().equals((testCase))) {
 					tests.remove(i);
 				}
 			}
@@ -217,7 +217,7 @@ public class TestSuiteChromosome extends AbstractTestSuiteChromosome<TestChromos
 	public Set<TestFitnessFunction> getCoveredGoals() {
 		Set<TestFitnessFunction> goals = new HashSet<TestFitnessFunction>();
 		for (TestChromosome test : tests) {
-			final Set<TestFitnessFunction> goalsForTest = test.getTestCase().getCoveredGoals();
+			final Set<TestFitnessFunction> goalsForTest = test.getTestCaseForReading().getCoveredGoals();
 			goals.addAll(goalsForTest);
 		}
 		return goals;
@@ -285,9 +285,9 @@ public class TestSuiteChromosome extends AbstractTestSuiteChromosome<TestChromos
 			result += "Test "+i+": \n";
 			i++;
 			if(test.getLastExecutionResult() != null) {
-				result += test.getTestCase().toCode(test.getLastExecutionResult().exposeExceptionMapping());
+				result += test.getTestCaseForReading().toCode(test.getLastExecutionResult().exposeExceptionMapping());
 			} else {
-				result += test.getTestCase().toCode() + "\n";
+				result += test.getTestCaseForReading().toCode() + "\n";
 			}
 		}
 		return result;
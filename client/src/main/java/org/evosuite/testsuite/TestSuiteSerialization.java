@@ -22,7 +22,6 @@ package org.evosuite.testsuite;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.Statement;
-import org.evosuite.utils.DebuggingObjectOutputStream;
 import org.evosuite.runtime.util.Inputs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +32,11 @@ import java.util.List;
 
 /**
  * Created by Andrea Arcuri on 08/06/15.
+ *
+ * <p>
+ * Tests are stored in the format of {@link CompactTestFormat}. Files written
+ * by older versions, ie a sequence of serialized {@link TestChromosome}s, can
+ * still be read.
  */
 public class TestSuiteSerialization {
 
@@ -42,41 +46,30 @@ public class TestSuiteSerialization {
     public static boolean saveTests(List<TestSuiteChromosome> list, File target) throws IllegalArgumentException{
         Inputs.checkNull(list,target);
 
-        File parent = target.getParentFile();
-        if(!parent.exists()){
-            parent.mkdirs();
+        List<TestChromosome> tests = new ArrayList<>();
+        for(TestSuiteChromosome ts : list) {
+            tests.addAll(ts.getTestChromosomes());
         }
-
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
-            for(TestSuiteChromosome ts : list) {
-                for (TestChromosome tc : ts.getTestChromosomes()) {
-                    out.writeObject(tc);
-                }
-            }
-
-            out.flush();
-            out.close();
-        }catch (IOException e){
-            logger.error("Failed to open/handle "+target.getAbsolutePath()+" for writing: "+e.getMessage());
-            return false;
-        }
-
-        return true;
+        return writeTests(tests, target);
     }
     
     public static boolean saveTests(TestSuiteChromosome ts, File target) throws IllegalArgumentException{
+        Inputs.checkNull(ts,target);
+        return writeTests(ts.getTestChromosomes(), target);
+    }
+
+    private static boolean writeTests(List<TestChromosome> tests, File target) {
         File parent = target.getParentFile();
-        if(!parent.exists()){
+        if(parent != null && !parent.exists()){
             parent.mkdirs();
         }
 
-        try(ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target));){
-        	for (TestChromosome tc : ts.getTestChromosomes()) {
-        		out.writeObject(tc);
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target)));){
+            CompactTestFormat.Encoder encoder = new CompactTestFormat.Encoder(out);
+            for (TestChromosome tc : tests) {
+                encoder.write(tc);
             }
-
-            out.flush();
-            out.close();
+            encoder.flush();
         }catch (IOException e){
             logger.error("Failed to open/handle "+target.getAbsolutePath()+" for writing: "+e.getMessage());
             return false;
@@ -112,29 +105,12 @@ public class TestSuiteSerialization {
 
         List<TestChromosome> list = new ArrayList<>();
 
-        try(ObjectInputStream in = new ObjectInputStream(new FileInputStream(target)) ){
-
-            try {
-                Object obj = in.readObject();
-                while(obj !=null){
-                    if(obj instanceof TestChromosome){
-                        //this check might fail if old version is used, and EvoSuite got updated
-                        TestChromosome tc = (TestChromosome) obj;
-                        for(Statement st : tc.getTestCase()){
-                            st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
-                        }
-
-                        list.add(tc);
-                    }
-                    obj = in.readObject();
-                }
-            } catch (EOFException e) {
-                //fine
-            }catch (Exception e) {
-                logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
+        try(TestReader reader = openTests(target)){
+            TestChromosome tc = reader.next();
+            while(tc != null){
+                list.add(tc);
+                tc = reader.next();
             }
-
-            in.close();
         } catch (FileNotFoundException e) {
             logger.warn("Cannot load tests because file does not exist: "+target.getAbsolutePath());
         } catch (IOException e) {
@@ -143,4 +119,107 @@ public class TestSuiteSerialization {
 
         return list;
     }
+
+    /**
+     * Open a file of saved tests, to read them one at a time instead of
+     * loading all of them at once
+     *
+     * @param target
+     * @return
+     * @throws IOException if the file cannot be opened
+     */
+    public static TestReader openTests(File target) throws IOException {
+        Inputs.checkNull(target);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(target)));
+        try {
+            return new TestReader(target, in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the tests of a file one at a time.
+     * A test that cannot be restored any more (eg, the class under test changed)
+     * is skipped. In the old format, and if the file itself is broken, all the
+     * following tests are skipped as well.
+     */
+    public static class TestReader implements Closeable {
+
+        private final File target;
+
+        private final InputStream in;
+
+        /** null if the file is in the old format */
+        private final CompactTestFormat.Decoder decoder;
+
+        /** lazily opened, only for the old format */
+        private ObjectInputStream objectIn;
+
+        private boolean finished = false;
+
+        private TestReader(File target, DataInputStream in) throws IOException {
+            this.target = target;
+            this.in = in;
+            if (CompactTestFormat.Decoder.readHeader(in)) {
+                decoder = new CompactTestFormat.Decoder(in);
+            } else {
+                decoder = null;
+            }
+        }
+
+        /**
+         * @return the next test, or null if there are no more tests to read
+         */
+        public TestChromosome next() {
+            while (!finished) {
+                try {
+                    TestChromosome tc = decoder != null ? decoder.readNext() : readSerialized();
+                    if (tc == null) {
+                        finished = true;
+                    }
+                    return tc;
+                } catch (CompactTestFormat.UnreadableTestException e) {
+                    logger.warn("Skipping a test that cannot be read from " + target.getAbsolutePath() + " : " + e.getMessage());
+                } catch (EOFException e) {
+                    //fine
+                    finished = true;
+                } catch (Exception e) {
+                    logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
+                    finished = true;
+                }
+            }
+            return null;
+        }
+
+        private TestChromosome readSerialized() throws IOException, ClassNotFoundException {
+            if (objectIn == null) {
+                objectIn = new ObjectInputStream(in);
+            }
+            Object obj = objectIn.readObject();
+            while (obj != null) {
+                if (obj instanceof TestChromosome) {
+                    //this check might fail if old version is used, and EvoSuite got updated
+                    TestChromosome tc = (TestChromosome) obj;
+                    for (Statement st : tc.getTestCase()) {
+                        st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
+                    }
+                    return tc;
+                }
+                obj = objectIn.readObject();
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            finished = true;
+            if (objectIn != null) {
+                objectIn.close();
+            } else {
+                in.close();
+            }
+        }
+    }
 }
@@ -69,6 +69,15 @@ public class TestSuiteChromosomeFactory implements ChromosomeFactory<TestSuiteCh
 		testChromosomeFactory = factory;
 	}
 
+	/**
+	 * <p>getTestFactory</p>
+	 *
+	 * @return the factory used to generate the tests of the suites
+	 */
+	public ChromosomeFactory<TestChromosome> getTestFactory() {
+		return testChromosomeFactory;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public TestSuiteChromosome getChromosome() {
@@ -31,6 +31,7 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -216,8 +217,7 @@ public abstract class GenericAccessibleObject<T extends GenericAccessibleObject<
 
 		Map<TypeVariable<?>, Type> typeMap = copy.getOwnerClass().getTypeVariableMap();
 
-		logger.debug("Getting random generic instantiation of method: " + toString()
-		        + " with owner type map: " + typeMap);
+		logger.debug("Getting random generic instantiation of method: {} with owner type map: {}", this, typeMap);
 		List<GenericClass> typeParameters = new ArrayList<GenericClass>();
 
 		// TODO: The bounds of this type parameter need to be updataed for the owner of the call
@@ -225,8 +225,7 @@ public abstract class GenericAccessibleObject<T extends GenericAccessibleObject<
 		for (TypeVariable<?> parameter : getTypeParameters()) {
 			GenericClass genericType = new GenericClass(parameter);
 			GenericClass concreteType = genericType.getGenericInstantiation(typeMap);
-			logger.debug("Setting parameter " + parameter + " to type "
-			        + concreteType.getTypeName());
+			logger.debug("Setting parameter {} to type {}", parameter, concreteType);
 			typeParameters.add(concreteType);
 		}
 		copy.setTypeParameters(typeParameters);
@@ -246,8 +245,7 @@ public abstract class GenericAccessibleObject<T extends GenericAccessibleObject<
 
 		T copy = copy();
 
-		logger.debug("Getting generic instantiation for callee " + calleeType
-		        + " of method: " + toString() + " for callee " + calleeType);
+		logger.debug("Getting generic instantiation for callee {} of method: {}", calleeType, this);
 		Map<TypeVariable<?>, Type> typeMap = calleeType.getTypeVariableMap();
 		if (!hasTypeParameters()) {
 			logger.debug("Have no type parameters, just using typeMap of callee");
@@ -258,8 +256,7 @@ public abstract class GenericAccessibleObject<T extends GenericAccessibleObject<
 		List<GenericClass> typeParameters = new ArrayList<GenericClass>();
 		for (TypeVariable<?> parameter : getTypeParameters()) {
 			GenericClass concreteType = new GenericClass(parameter);
-			logger.debug("(I) Setting parameter " + parameter + " to type "
-			        + concreteType.getTypeName());
+			logger.debug("(I) Setting parameter {} to type {}", parameter, concreteType);
 			typeParameters.add(concreteType.getGenericInstantiation(typeMap));
 		}
 		copy.setTypeParameters(typeParameters);
@@ -278,19 +275,56 @@ public abstract class GenericAccessibleObject<T extends GenericAccessibleObject<
 	public T getGenericInstantiationFromReturnValue(GenericClass generatedType)
 	        throws ConstructionFailedException {
 
-		logger.debug("Instantiating generic return for generated Type "+generatedType);
+		logger.debug("Instantiating generic return for generated Type {}", generatedType);
 		T copy = copy();
 
+		Map<TypeVariable<?>, Type> concreteTypes = GenericTypeCache.getTypesFromReturnValue(this, generatedType);
+
+		// When resolving the type variables on a non-static generic method
+		// we need to look at the owner type, and not the return type!
+
+		List<GenericClass> typeParameters = new ArrayList<GenericClass>();
+		logger.debug("Setting parameters with map: {}", concreteTypes);
+		for (TypeVariable<?> parameter : getTypeParameters()) {
+			GenericClass concreteType = new GenericClass(parameter);
+			logger.debug("(I) Setting parameter {} to type {}", parameter, concreteType);
+			GenericClass instantiation = concreteType.getGenericInstantiation(concreteTypes);
+			logger.debug("Got instantiation for {}: {}", parameter, instantiation);
+			if (!instantiation.satisfiesBoundaries(parameter, concreteTypes)) {
+				logger.info("Type parameter does not satisfy boundaries: " + parameter
+				        + " " + instantiation);
+				logger.info(Arrays.asList(parameter.getBounds()).toString());
+				logger.info(instantiation.toString());
+				throw new ConstructionFailedException(
+				        "Type parameter does not satisfy boundaries: " + parameter);
+			}
+			typeParameters.add(instantiation);
+		}
+		copy.setTypeParameters(typeParameters);
+		copy.owner = copy.getOwnerClass().getGenericInstantiation(concreteTypes);
+
+		return copy;
+	}
+
+	/**
+	 * Determine the values of the type variables of this member that follow
+	 * from the type it has to generate. This only depends on the declaration
+	 * of the member, and is cached in {@link GenericTypeCache}
+	 *
+	 * @param generatedType
+	 * @return
+	 */
+	Map<TypeVariable<?>, Type> computeTypesFromReturnValue(GenericClass generatedType) {
 		// We just want to have the type variables defined in the generic method here
 		// and not type variables defined in the owner
 		Map<TypeVariable<?>, Type> concreteTypes = new HashMap<TypeVariable<?>, Type>();
 		logger.debug("Getting type map of generated type");
-		Map<TypeVariable<?>, Type> generatorTypes = generatedType.getTypeVariableMap();
-		logger.debug("Got type map of generated type: "+generatorTypes);
+		// copy, as the map is cached by the generated type
+		Map<TypeVariable<?>, Type> generatorTypes = new HashMap<TypeVariable<?>, Type>(generatedType.getTypeVariableMap());
+		logger.debug("Got type map of generated type: {}", generatorTypes);
 		Type genericReturnType = getGenericGeneratedType();
 
-		logger.debug("Getting generic instantiation for return type " + generatedType
-		        + " of method: " + toString());
+		logger.debug("Getting generic instantiation for return type {} of method: {}", generatedType, this);
 
 		if (genericReturnType instanceof ParameterizedType
 		        && generatedType.isParameterizedType()) {
@@ -304,7 +338,7 @@ public abstract class GenericAccessibleObject<T extends GenericAccessibleObject<
 		
 		if (genericReturnType instanceof ParameterizedType) {
 			for(Type parameterType : getGenericParameterTypes()) {
-				logger.debug("Checking parameter "+parameterType);
+				logger.debug("Checking parameter {}", parameterType);
 				if(parameterType instanceof ParameterizedType) {
 					Map<TypeVariable<?>, Type> matchedMap = GenericUtils.getMatchingTypeParameters((ParameterizedType) parameterType,
 							(ParameterizedType) genericReturnType);
@@ -312,50 +346,27 @@ public abstract class GenericAccessibleObject<T extends GenericAccessibleObject<
 						if(!generatorTypes.containsKey(var))
 							generatorTypes.put(var, matchedMap.get(var));
 					}
-					logger.debug("Map is now "+generatorTypes);
+					logger.debug("Map is now {}", generatorTypes);
 				}
 			}
 		}
-		logger.debug("GeneratorTypes is now: "+generatorTypes);
+		logger.debug("GeneratorTypes is now: {}", generatorTypes);
 		List<TypeVariable<?>> parameters = Arrays.asList(getTypeParameters());
 		for (TypeVariable<?> var : generatorTypes.keySet()) {
 			if (parameters.contains(var) && !(generatorTypes.get(var) instanceof WildcardType)) {
-				logger.debug("Parameter "+var+" in map, adding to concrete types: "+generatorTypes.get(var));
+				logger.debug("Parameter {} in map, adding to concrete types: {}", var, generatorTypes.get(var));
 				concreteTypes.put(var, generatorTypes.get(var));
 			} else {
-				logger.debug("Parameter "+var+" not in map, not adding to concrete types: "+generatorTypes.get(var));
-				logger.debug("Key: "+var.getGenericDeclaration());
-				for(TypeVariable<?> k : parameters) {
-					logger.debug("Param: "+k.getGenericDeclaration());
+				logger.debug("Parameter {} not in map, not adding to concrete types: {}", var, generatorTypes.get(var));
+				logger.debug("Key: {}", var.getGenericDeclaration());
+				if (logger.isDebugEnabled()) {
+					for(TypeVariable<?> k : parameters) {
+						logger.debug("Param: {}", k.getGenericDeclaration());
+					}
 				}
 			}
 		}
-
-		// When resolving the type variables on a non-static generic method
-		// we need to look at the owner type, and not the return type!
-
-		List<GenericClass> typeParameters = new ArrayList<GenericClass>();
-		logger.debug("Setting parameters with map: " + concreteTypes);
-		for (TypeVariable<?> parameter : getTypeParameters()) {
-			GenericClass concreteType = new GenericClass(parameter);
-			logger.debug("(I) Setting parameter " + parameter + " to type "
-			        + concreteType.getTypeName());
-			GenericClass instantiation = concreteType.getGenericInstantiation(concreteTypes);
-			logger.debug("Got instantiation for " + parameter + ": " + instantiation);
-			if (!instantiation.satisfiesBoundaries(parameter, concreteTypes)) {
-				logger.info("Type parameter does not satisfy boundaries: " + parameter
-				        + " " + instantiation);
-				logger.info(Arrays.asList(parameter.getBounds()).toString());
-				logger.info(instantiation.toString());
-				throw new ConstructionFailedException(
-				        "Type parameter does not satisfy boundaries: " + parameter);
-			}
-			typeParameters.add(instantiation);
-		}
-		copy.setTypeParameters(typeParameters);
-		copy.owner = copy.getOwnerClass().getGenericInstantiation(concreteTypes);
-
-		return copy;
+		return concreteTypes;
 	}
 
 	public abstract String getName();
@@ -440,6 +451,10 @@ public abstract class GenericAccessibleObject<T extends GenericAccessibleObject<
 		}
 	}
 
+	public List<GenericClass> getTypeParameterClasses() {
+		return Collections.unmodifiableList(typeVariables);
+	}
+
 	public void setTypeParameters(List<GenericClass> parameterTypes) {
 		typeVariables.clear();
 		for(GenericClass parameter : parameterTypes)
@@ -170,6 +170,10 @@ public class GenericClass implements Serializable {
 		if (rhsType == null || lhsType == null)
 			return false;
 
+		return GenericTypeCache.isAssignable(lhsType, rhsType);
+	}
+
+	static boolean computeIsAssignable(Type lhsType, Type rhsType) {
 		try {
 			return TypeUtils.isAssignable(rhsType, lhsType);
 		} catch (Throwable e) {
@@ -568,11 +572,15 @@ public class GenericClass implements Serializable {
 	private GenericClass getGenericInstantiation(Map<TypeVariable<?>, Type> typeMap,
 	        int recursionLevel) throws ConstructionFailedException {
 
-		logger.debug("Instantiation " + toString() + " with type map " + typeMap);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Instantiation " + toString() + " with type map " + typeMap);
+		}
 		// If there are no type variables, create copy
 		if (isRawClass() || !hasWildcardOrTypeVariables() || recursionLevel > Properties.MAX_GENERIC_DEPTH) {
-			logger.debug("Nothing to replace: " + toString() + ", " + isRawClass() + ", "
-			        + hasWildcardOrTypeVariables());
+			if (logger.isDebugEnabled()) {
+				logger.debug("Nothing to replace: " + toString() + ", " + isRawClass() + ", "
+				        + hasWildcardOrTypeVariables());
+			}
 			return new GenericClass(this);
 		}
 
@@ -1206,6 +1214,10 @@ public class GenericClass implements Serializable {
 	}
 
 	public boolean hasWildcardOrTypeVariables() {
+		return GenericTypeCache.hasWildcardOrTypeVariables(this);
+	}
+
+	boolean computeHasWildcardOrTypeVariables() {
 		if (isTypeVariable() || isWildcardType())
 			return true;
 
@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils.generic;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.evosuite.Properties;
+
+/**
+ * Memoized results of generic type resolution, which are deterministic but
+ * expensive to compute, and asked for over and over for the same types
+ * during test generation.
+ *
+ * <p>
+ * Types are compared by equality, which for the implementations of
+ * {@link Type} used in EvoSuite is structural. Results that depend on random
+ * choices (eg instantiations of type variables) must not be put here. Once a
+ * table has {@link Properties#GENERIC_TYPE_CACHE_SIZE} entries it is emptied,
+ * and all of them are when the test cluster is reset, as the types then
+ * belong to an old class loader.
+ */
+public final class GenericTypeCache {
+
+	/**
+	 * A tuple of types, or other objects with value semantics, used as key
+	 */
+	private static final class Key {
+
+		private final Object[] parts;
+
+		private final int hash;
+
+		Key(Object... parts) {
+			this.parts = parts;
+			this.hash = Arrays.hashCode(parts);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return hash == other.hash && Arrays.equals(parts, other.parts);
+		}
+	}
+
+	private static final class Table<V> {
+
+		private final ConcurrentHashMap<Key, V> values = new ConcurrentHashMap<>();
+
+		V get(Key key) {
+			return values.get(key);
+		}
+
+		void put(Key key, V value) {
+			if (values.size() >= Properties.GENERIC_TYPE_CACHE_SIZE) {
+				values.clear();
+			}
+			values.put(key, value);
+		}
+
+		void clear() {
+			values.clear();
+		}
+	}
+
+	private static final Table<Boolean> assignable = new Table<>();
+
+	private static final Table<Boolean> wildcardOrTypeVariables = new Table<>();
+
+	private static final Table<Map<TypeVariable<?>, Type>> returnValueTypes = new Table<>();
+
+	private GenericTypeCache() {
+	}
+
+	private static boolean isEnabled() {
+		return Properties.GENERIC_TYPE_CACHE_SIZE > 0;
+	}
+
+	/**
+	 * Forget all results, to be called when the classes under test are
+	 * loaded again
+	 */
+	public static void clear() {
+		assignable.clear();
+		wildcardOrTypeVariables.clear();
+		returnValueTypes.clear();
+	}
+
+	static boolean isAssignable(Type lhsType, Type rhsType) {
+		if (!isEnabled()) {
+			return GenericClass.computeIsAssignable(lhsType, rhsType);
+		}
+		Key key = new Key(lhsType, rhsType);
+		Boolean result = assignable.get(key);
+		if (result == null) {
+			result = GenericClass.computeIsAssignable(lhsType, rhsType);
+			assignable.put(key, result);
+		}
+		return result;
+	}
+
+	static boolean hasWildcardOrTypeVariables(GenericClass clazz) {
+		if (!isEnabled() || clazz.type == null) {
+			return clazz.computeHasWildcardOrTypeVariables();
+		}
+		Key key = new Key(clazz.type);
+		Boolean result = wildcardOrTypeVariables.get(key);
+		if (result == null) {
+			result = clazz.computeHasWildcardOrTypeVariables();
+			wildcardOrTypeVariables.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * The values of the type variables of a generic member that are
+	 * determined by the type it has to generate
+	 *
+	 * @return a map that can be modified by the caller
+	 */
+	static Map<TypeVariable<?>, Type> getTypesFromReturnValue(GenericAccessibleObject<?> accessibleObject,
+	        GenericClass generatedType) {
+		if (!isEnabled() || generatedType.type == null) {
+			return accessibleObject.computeTypesFromReturnValue(generatedType);
+		}
+		// only the declaration of the member matters, not its owner type
+		Key key = new Key(accessibleObject.getClass(), accessibleObject.getAccessibleObject(), generatedType.type);
+		Map<TypeVariable<?>, Type> result = returnValueTypes.get(key);
+		if (result == null) {
+			result = Collections.unmodifiableMap(accessibleObject.computeTypesFromReturnValue(generatedType));
+			returnValueTypes.put(key, result);
+		}
+		return new HashMap<>(result);
+	}
+}
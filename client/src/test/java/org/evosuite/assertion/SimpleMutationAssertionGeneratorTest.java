@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.mutation.Mutation;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.Randomness;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.FlagExample1;
+
+public class SimpleMutationAssertionGeneratorTest {
+
+	private static java.util.Properties currentProperties;
+
+	/**
+	 * Records the mutants the test is run on, and the touched mutants that
+	 * are not infected by the original run
+	 */
+	private static class RecordingGenerator extends SimpleMutationAssertionGenerator {
+
+		private final List<Integer> runMutants = new ArrayList<Integer>();
+
+		private final Set<Integer> notInfectedMutants = new HashSet<Integer>();
+
+		/** Pretend that all touched mutants are infected, so all of them are run */
+		private final boolean infectAll;
+
+		RecordingGenerator(boolean infectAll) {
+			this.infectAll = infectAll;
+		}
+
+		@Override
+		protected ExecutionResult runTest(TestCase test, Mutation mutant) {
+			ExecutionResult result = super.runTest(test, mutant);
+			if (mutant != null) {
+				runMutants.add(mutant.getId());
+				return result;
+			}
+			for (Integer id : result.getTrace().getTouchedMutants()) {
+				if (result.getTrace().getMutationDistance(id) > 0.0) {
+					notInfectedMutants.add(id);
+					if (infectAll) {
+						result.getTrace().mutationPassed(id, 0.0);
+					}
+				}
+			}
+			return result;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		Properties.getInstance().resetToDefaults();
+		Properties.CRITERION = new Criterion[] { Criterion.MUTATION };
+		Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+		TestGenerationContext.getInstance().resetContext();
+		ClassReInitializer.resetSingleton();
+		currentProperties = (java.util.Properties) System.getProperties().clone();
+	}
+
+	@After
+	public void tearDown() {
+		TestGenerationContext.getInstance().resetContext();
+		System.setProperties(currentProperties);
+		Properties.getInstance().resetToDefaults();
+	}
+
+	private static TestSuiteChromosome createSuite() throws Exception {
+		Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+		TestCaseBuilder builder = new TestCaseBuilder();
+		VariableReference flagExample = builder.appendConstructor(sut.getConstructor());
+		VariableReference value = builder.appendIntPrimitive(5);
+		builder.appendMethod(flagExample, sut.getMethod("testMe", int.class), value);
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(builder.getDefaultTestCase());
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		suite.addTest(test);
+		return suite;
+	}
+
+	private static RecordingGenerator generateAssertions(TestSuiteChromosome suite, boolean infectAll) {
+		Randomness.setSeed(42);
+		RecordingGenerator generator = new RecordingGenerator(infectAll);
+		generator.addAssertions(suite);
+		return generator;
+	}
+
+	@Test
+	public void testNotInfectedMutantsAreSkipped() throws Exception {
+		RecordingGenerator generator = generateAssertions(createSuite(), false);
+
+		assertFalse(generator.notInfectedMutants.isEmpty());
+		assertFalse(generator.runMutants.isEmpty());
+		for (Integer id : generator.runMutants) {
+			assertFalse("Mutant " + id + " is not infected", generator.notInfectedMutants.contains(id));
+		}
+	}
+
+	@Test
+	public void testNotInfectedMutantsDoNotCountTowardsLimit() throws Exception {
+		RecordingGenerator unlimited = generateAssertions(createSuite(), false);
+		int infected = unlimited.runMutants.size();
+
+		Properties.MAX_MUTANTS_PER_TEST = infected;
+		RecordingGenerator limited = generateAssertions(createSuite(), false);
+		assertEquals(unlimited.runMutants, limited.runMutants);
+
+		Properties.MAX_MUTANTS_PER_TEST = infected - 1;
+		limited = generateAssertions(createSuite(), false);
+		assertEquals(unlimited.runMutants.subList(0, infected - 1), limited.runMutants);
+	}
+
+	@Test
+	public void testSameAssertionsAsRunningAllMutants() throws Exception {
+		TestSuiteChromosome skipping = createSuite();
+		RecordingGenerator generator = generateAssertions(skipping, false);
+
+		TestSuiteChromosome all = createSuite();
+		RecordingGenerator allGenerator = generateAssertions(all, true);
+		assertEquals(generator.runMutants.size() + generator.notInfectedMutants.size(),
+				allGenerator.runMutants.size());
+
+		assertFalse(skipping.getTests().get(0).getAssertions().isEmpty());
+		assertEquals(all.getTests().get(0).toCode(), skipping.getTests().get(0).toCode());
+	}
+}
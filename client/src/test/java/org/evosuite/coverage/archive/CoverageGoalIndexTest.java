@@ -0,0 +1,235 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.archive;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.line.LineCoverageTestFitness;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.execution.ExecutionTraceProxy;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CoverageGoalIndexTest {
+
+	private static final String DEFAULT_TARGET_CLASS = Properties.TARGET_CLASS;
+
+	private static final String CLASS_NAME = "foo.Bar";
+
+	private static final String METHOD_NAME = "baz()V";
+
+	/**
+	 * Only used as a key, the archive never evaluates it
+	 */
+	private static class DummyFitnessFunction extends FitnessFunction<TestChromosome> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public double getFitness(TestChromosome individual) {
+			return 0;
+		}
+
+		@Override
+		public boolean isMaximizationFunction() {
+			return false;
+		}
+	}
+
+	private final FitnessFunction<?> lineFitness = new DummyFitnessFunction();
+
+	private final FitnessFunction<?> methodFitness = new DummyFitnessFunction();
+
+	@Before
+	public void setUp() {
+		Properties.TARGET_CLASS = CLASS_NAME;
+		TestsArchive.instance.reset();
+	}
+
+	@After
+	public void tearDown() {
+		TestsArchive.instance.reset();
+		Properties.TARGET_CLASS = DEFAULT_TARGET_CLASS;
+	}
+
+	private static LineCoverageTestFitness line(int line) {
+		return new LineCoverageTestFitness(CLASS_NAME, METHOD_NAME, line);
+	}
+
+	private static MethodCoverageTestFitness translateMethod() {
+		return new MethodCoverageTestFitness(Point.class.getName(), "translate(II)V");
+	}
+
+	/**
+	 * Result of a test covering the given lines, and calling Point.translate
+	 * if requested
+	 */
+	private static ExecutionResult createResult(boolean callTranslate, int... lines) throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		VariableReference x = builder.appendIntPrimitive(1);
+		VariableReference point = builder.appendConstructor(Point.class.getConstructor(int.class, int.class), x, x);
+		if (callTranslate) {
+			builder.appendMethod(point, Point.class.getMethod("translate", int.class, int.class), x, x);
+		}
+		TestCase test = builder.getDefaultTestCase();
+
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		for (int line : lines) {
+			trace.linePassed(CLASS_NAME, METHOD_NAME, line);
+		}
+		ExecutionResult result = new ExecutionResult(test);
+		// as done by the execution tracer, the proxy is needed to clone results
+		result.setTrace(new ExecutionTraceProxy(trace));
+		return result;
+	}
+
+	@Test
+	public void testAddRemoveLookup() throws Exception {
+		CoverageGoalIndex index = new CoverageGoalIndex();
+		LineCoverageTestFitness line17 = line(17);
+		LineCoverageTestFitness line23 = line(23);
+		MethodCoverageTestFitness translate = translateMethod();
+		index.add(lineFitness, line17);
+		index.add(lineFitness, line23);
+		index.add(methodFitness, translate);
+		// adding again does not change the fitness function of the goal
+		index.add(methodFitness, line17);
+
+		Assert.assertSame(lineFitness, index.getFitnessFunction(line17));
+		Assert.assertSame(lineFitness, index.getFitnessFunction(line23));
+		Assert.assertSame(methodFitness, index.getFitnessFunction(translate));
+
+		// unindexed goals are always candidates
+		ExecutionResult result = createResult(false, 17, 42);
+		Assert.assertEquals(set(line17, translate), index.getCandidates(result));
+		Assert.assertEquals(set(translate), index.getCandidates(createResult(false)));
+
+		index.remove(line17);
+		Assert.assertNull(index.getFitnessFunction(line17));
+		Assert.assertEquals(set(translate), index.getCandidates(createResult(false, 17, 42)));
+		Assert.assertEquals(set(line23, translate), index.getCandidates(createResult(false, 17, 23)));
+
+		index.remove(translate);
+		Assert.assertNull(index.getFitnessFunction(translate));
+		Assert.assertEquals(set(line23), index.getCandidates(createResult(true, 23)));
+
+		index.clear();
+		Assert.assertNull(index.getFitnessFunction(line23));
+		Assert.assertTrue(index.getCandidates(createResult(true, 17, 23)).isEmpty());
+	}
+
+	@Test
+	public void testArchiveMatchesExhaustiveCheck() throws Exception {
+		List<TestFitnessFunction> goals = registerGoals(20);
+
+		List<ExecutionResult> results = new ArrayList<ExecutionResult>();
+		results.add(createResult(false, 1, 2, 3));
+		results.add(createResult(false, 2, 3));
+		results.add(createResult(true, 5, 7, 11, 13));
+		results.add(createResult(false, 13, 17, 19, 42));
+		results.add(createResult(true, 4, 6, 8, 10, 12, 14, 16, 18, 20));
+
+		// what the archive did before the index: check every goal against
+		// every new execution
+		Set<TestFitnessFunction> expected = new LinkedHashSet<TestFitnessFunction>();
+		for (ExecutionResult result : results) {
+			TestFitnessFunction target = null;
+			for (TestFitnessFunction goal : goals) {
+				if (goal.isCovered(result)) {
+					if (target == null && !expected.contains(goal)) {
+						target = goal;
+					}
+				}
+			}
+			if (target == null) {
+				continue;
+			}
+			for (TestFitnessFunction goal : goals) {
+				if (goal.isCovered(result)) {
+					expected.add(goal);
+				}
+			}
+
+			FitnessFunction<?> ff = target instanceof LineCoverageTestFitness ? lineFitness : methodFitness;
+			TestsArchive.instance.putTest(ff, target, result);
+			Assert.assertEquals(expected.size(), TestsArchive.instance.getNumberOfCoveredGoals());
+		}
+		Assert.assertEquals(goals.size(), TestsArchive.instance.getTotalNumberOfGoals());
+		// all but lines 9 and 15
+		Assert.assertEquals(19, TestsArchive.instance.getNumberOfCoveredGoals());
+	}
+
+	@Test
+	public void testArchiveIndexIsReset() throws Exception {
+		registerGoals(5);
+		TestsArchive.instance.putTest(lineFitness, line(1), createResult(true, 1, 2, 3, 4, 5));
+		Assert.assertEquals(6, TestsArchive.instance.getNumberOfCoveredGoals());
+
+		TestsArchive.instance.reset();
+		Assert.assertEquals(0, TestsArchive.instance.getTotalNumberOfGoals());
+		Assert.assertEquals(0, TestsArchive.instance.getNumberOfCoveredGoals());
+
+		// goals registered before the reset must not be found anymore
+		TestsArchive.instance.addGoalToCover(lineFitness, line(1));
+		TestsArchive.instance.addGoalToCover(lineFitness, line(2));
+		TestsArchive.instance.putTest(lineFitness, line(1), createResult(true, 1, 2, 3, 4, 5));
+		Assert.assertEquals(2, TestsArchive.instance.getTotalNumberOfGoals());
+		Assert.assertEquals(2, TestsArchive.instance.getNumberOfCoveredGoals());
+	}
+
+	/**
+	 * Registers the lines 1 to numLines and the translate method as goals
+	 */
+	private List<TestFitnessFunction> registerGoals(int numLines) {
+		List<TestFitnessFunction> goals = new ArrayList<TestFitnessFunction>();
+		for (int i = 1; i <= numLines; i++) {
+			LineCoverageTestFitness goal = line(i);
+			TestsArchive.instance.addGoalToCover(lineFitness, goal);
+			goals.add(goal);
+		}
+		MethodCoverageTestFitness translate = translateMethod();
+		TestsArchive.instance.addGoalToCover(methodFitness, translate);
+		goals.add(translate);
+		return goals;
+	}
+
+	private static Set<TestFitnessFunction> set(TestFitnessFunction... goals) {
+		Set<TestFitnessFunction> set = new LinkedHashSet<TestFitnessFunction>();
+		for (TestFitnessFunction goal : goals) {
+			set.add(goal);
+		}
+		return set;
+	}
+}
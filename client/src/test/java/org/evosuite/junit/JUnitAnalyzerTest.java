@@ -23,20 +23,25 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.symbolic.TestCaseBuilder;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.variable.VariableReference;
 import org.evosuite.testcase.factories.JUnitTestCarvedChromosomeFactory;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.examples.with.different.packagename.FlagExample1;
 import com.examples.with.different.packagename.sandbox.OpenStream;
 
 public class JUnitAnalyzerTest {
@@ -51,6 +56,9 @@ public class JUnitAnalyzerTest {
 	private static final boolean DEFAULT_SANDBOX = Properties.SANDBOX; 
 	private static final boolean DEFAULT_ASSERTS_FOR_EVO = Properties.ENABLE_ASSERTS_FOR_EVOSUITE;
 	private static final boolean DEFAULT_SCAFFOLDING = Properties.TEST_SCAFFOLDING;
+	private static final boolean DEFAULT_RESET_STATIC_FIELDS = Properties.RESET_STATIC_FIELDS;
+	private static final String DEFAULT_TARGET_CLASS = Properties.TARGET_CLASS;
+	private static final String DEFAULT_CLASS_PREFIX = Properties.CLASS_PREFIX;
 	
 	private File file = new File(OpenStream.FILE_NAME);
 
@@ -76,6 +84,10 @@ public class JUnitAnalyzerTest {
 		Properties.SANDBOX = DEFAULT_SANDBOX;
 		Properties.ENABLE_ASSERTS_FOR_EVOSUITE = DEFAULT_ASSERTS_FOR_EVO;
 		Properties.TEST_SCAFFOLDING = DEFAULT_SCAFFOLDING;
+		Properties.RESET_STATIC_FIELDS = DEFAULT_RESET_STATIC_FIELDS;
+		Properties.TARGET_CLASS = DEFAULT_TARGET_CLASS;
+		Properties.CLASS_PREFIX = DEFAULT_CLASS_PREFIX;
+		ClassReInitializer.resetSingleton();
 	}
 	
 	@Test 
@@ -161,6 +173,83 @@ public class JUnitAnalyzerTest {
 		FileUtils.deleteDirectory(dir);
 		Assert.assertFalse(dir.exists());
 	}
-	
-	
+
+	private static TestCase createCompilingTest(int value) throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		VariableReference flagExample = builder.appendConstructor(FlagExample1.class.getConstructor());
+		VariableReference x = builder.appendIntPrimitive(value);
+		builder.appendMethod(flagExample, FlagExample1.class.getMethod("testMe", int.class), x);
+		return builder.getDefaultTestCase();
+	}
+
+	/**
+	 * The constructor of a package level class cannot be called from the
+	 * package of the generated tests
+	 */
+	private static TestCase createNotCompilingTest() throws Exception {
+		Class<?> packageLevel = Class.forName("com.examples.with.different.packagename.fm.ExamplePackageLevel");
+		TestCaseBuilder builder = new TestCaseBuilder();
+		builder.appendConstructor(packageLevel.getDeclaredConstructor());
+		return builder.getDefaultTestCase();
+	}
+
+	/**
+	 * The bytecode of the test method is larger than what the JVM allows,
+	 * which the compiler only finds out when generating the bytecode
+	 */
+	private static TestCase createTooLargeTest() throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		for (int i = 0; i < 12000; i++) {
+			builder.appendIntPrimitive(100000 + i);
+		}
+		return builder.getDefaultTestCase();
+	}
+
+	private static void setUpCompilationCheck() {
+		Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+		Properties.CLASS_PREFIX = "";
+		Properties.TEST_SCAFFOLDING = true;
+		Properties.RESET_STATIC_FIELDS = true;
+		ClassReInitializer.resetSingleton();
+	}
+
+	@Test
+	public void testOnlyTestThatDoesNotCompileIsRemoved() throws Exception {
+		setUpCompilationCheck();
+
+		TestCase first = createCompilingTest(5);
+		TestCase notCompiling = createNotCompilingTest();
+		TestCase last = createCompilingTest(28241);
+		List<TestCase> list = new ArrayList<TestCase>(Arrays.asList(first, notCompiling, last));
+
+		JUnitAnalyzer.removeTestsThatDoNotCompile(list);
+		Assert.assertEquals(Arrays.asList(first, last), list);
+	}
+
+	@Test
+	public void testErrorsOfLaterCompilationPhasesAreFound() throws Exception {
+		setUpCompilationCheck();
+
+		TestCase first = createCompilingTest(5);
+		TestCase notCompiling = createNotCompilingTest();
+		TestCase tooLarge = createTooLargeTest();
+		TestCase last = createCompilingTest(28241);
+		List<TestCase> list = new ArrayList<TestCase>(Arrays.asList(first, notCompiling, tooLarge, last));
+
+		JUnitAnalyzer.removeTestsThatDoNotCompile(list);
+		Assert.assertEquals(Arrays.asList(first, last), list);
+	}
+
+	@Test
+	public void testErrorInScaffolding() throws Exception {
+		setUpCompilationCheck();
+
+		//a class name that breaks the string literals in the scaffolding
+		ClassReInitializer.getInstance().addInitializedClasses(Arrays.asList("Not\"Quoted"));
+
+		List<TestCase> list = new ArrayList<TestCase>(Arrays.asList(createCompilingTest(5), createCompilingTest(28241)));
+
+		JUnitAnalyzer.removeTestsThatDoNotCompile(list);
+		Assert.assertTrue(list.isEmpty());
+	}
 }
@@ -19,8 +19,11 @@
  */
 package org.evosuite.setup;
 
+import java.io.File;
+
 import org.junit.Assert;
 import org.junit.Test;
+import org.objectweb.asm.Opcodes;
 
 /**
  * Created by arcuri on 6/14/14.
@@ -33,4 +36,28 @@ public class InheritanceTreeGeneratorTest {
         Assert.assertNotNull(it);
     }
 
+    @Test
+    public void testCompactFormat() throws Exception{
+        InheritanceTree tree = new InheritanceTree();
+        tree.addSuperclass("foo/Bar", "java/lang/Object", Opcodes.ACC_PUBLIC);
+        tree.addSuperclass("foo/Baz", "foo/Bar", Opcodes.ACC_PUBLIC);
+        tree.addInterface("foo/Baz", "foo/Evo");
+        tree.registerAbstractClass("foo/Bar");
+        tree.addAnalyzedMethod("foo.Bar", "toString", "()Ljava/lang/String;");
+        tree.addAnalyzedMethod("foo.Baz", "toString", "()Ljava/lang/String;");
+
+        File file = File.createTempFile("inheritance", ".tree");
+        file.deleteOnExit();
+        InheritanceTreeGenerator.writeCompactInheritanceTree(tree, file);
+        InheritanceTree read = InheritanceTreeGenerator.readInheritanceTree(file.getAbsolutePath());
+
+        Assert.assertEquals(tree.getAllClasses(), read.getAllClasses());
+        Assert.assertEquals(tree.getSubclasses("java.lang.Object"), read.getSubclasses("java.lang.Object"));
+        Assert.assertEquals(tree.getOrderedSuperclasses("foo.Baz"), read.getOrderedSuperclasses("foo.Baz"));
+        Assert.assertTrue(read.isInterface("foo.Evo"));
+        Assert.assertTrue(read.isAbstractClass("foo.Bar"));
+        Assert.assertTrue(read.isMethodDefined("foo.Baz", "toString", "()Ljava/lang/String;"));
+        Assert.assertFalse(read.isMethodDefined("foo.Evo", "toString", "()Ljava/lang/String;"));
+    }
+
 }
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JarClassIndexTest {
+
+	private static final File JAR = new File("local_test_data" + File.separator + "water-simulator.jar");
+
+	private File indexFolder;
+
+	@Before
+	public void createFolder() throws Exception {
+		indexFolder = Files.createTempDirectory("classpath_index").toFile();
+	}
+
+	@After
+	public void deleteFolder() throws Exception {
+		FileUtils.deleteDirectory(indexFolder);
+	}
+
+	@Test
+	public void testAnalyzeJar() {
+		Assert.assertTrue("ERROR: file " + JAR + " should be available on local file system", JAR.exists());
+
+		JarClassIndex index = JarClassIndex.load(JAR, null);
+		JarClassIndex.ClassInfo dawn = find(index, "simulator/DAWN");
+		Assert.assertNotNull(dawn);
+		Assert.assertEquals("java/lang/Object", dawn.superName);
+		Assert.assertEquals(0, indexFolder.list().length);
+	}
+
+	@Test
+	public void testIndexIsReused() {
+		JarClassIndex analyzed = JarClassIndex.load(JAR, indexFolder);
+		Assert.assertEquals(1, indexFolder.list().length);
+
+		JarClassIndex loaded = JarClassIndex.load(JAR, indexFolder);
+		Assert.assertEquals(1, indexFolder.list().length);
+		Assert.assertEquals(analyzed.getClasses().size(), loaded.getClasses().size());
+
+		for (int i = 0; i < analyzed.getClasses().size(); i++) {
+			JarClassIndex.ClassInfo expected = analyzed.getClasses().get(i);
+			JarClassIndex.ClassInfo actual = loaded.getClasses().get(i);
+			Assert.assertEquals(expected.name, actual.name);
+			Assert.assertEquals(expected.access, actual.access);
+			Assert.assertEquals(expected.superName, actual.superName);
+			Assert.assertArrayEquals(expected.interfaces, actual.interfaces);
+			Assert.assertArrayEquals(expected.methods, actual.methods);
+		}
+	}
+
+	@Test
+	public void testStaleIndexIsDeleted() throws Exception {
+		File stale = new File(indexFolder, JarClassIndex.getIndexPrefix(JAR) + "deadbeef.index");
+		File other = new File(indexFolder, "other.jar-0-deadbeef.index");
+		Assert.assertTrue(stale.createNewFile());
+		Assert.assertTrue(other.createNewFile());
+
+		JarClassIndex.load(JAR, indexFolder);
+		Assert.assertFalse(stale.exists());
+		Assert.assertTrue(other.exists());
+		Assert.assertEquals(2, indexFolder.list().length);
+	}
+
+	@Test
+	public void testJarsWithSameNameKeepTheirIndices() throws Exception {
+		File otherFolder = Files.createTempDirectory("classpath_jar").toFile();
+		try {
+			File otherJar = new File(otherFolder, JAR.getName());
+			// a different jar with the same name, eg classes.jar of another module
+			Files.copy(new File("local_test_data" + File.separator + "asm-all-4.2.jar").toPath(), otherJar.toPath());
+
+			JarClassIndex.load(JAR, indexFolder);
+			JarClassIndex.load(otherJar, indexFolder);
+			Assert.assertEquals(2, indexFolder.list().length);
+
+			File[] indices = indexFolder.listFiles();
+			for (File index : indices) {
+				Assert.assertTrue(index.setLastModified(0));
+			}
+			JarClassIndex.load(JAR, indexFolder);
+			JarClassIndex.load(otherJar, indexFolder);
+			// neither jar was analyzed again
+			for (File index : indices) {
+				Assert.assertEquals(0, index.lastModified());
+			}
+			Assert.assertEquals(2, indexFolder.list().length);
+		} finally {
+			FileUtils.deleteDirectory(otherFolder);
+		}
+	}
+
+	@Test
+	public void testMissingJar() {
+		JarClassIndex index = JarClassIndex.load(new File("local_test_data" + File.separator + "missing.jar"), indexFolder);
+		Assert.assertTrue(index.getClasses().isEmpty());
+		Assert.assertEquals(0, indexFolder.list().length);
+	}
+
+	private static JarClassIndex.ClassInfo find(JarClassIndex index, String name) {
+		for (JarClassIndex.ClassInfo info : index.getClasses()) {
+			if (info.name.equals(name)) {
+				return info;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import java.awt.Point;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.utils.generic.GenericAccessibleObject;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestClusterTest {
+
+	private final GenericClass point = new GenericClass(Point.class);
+
+	private GenericConstructor defaultConstructor;
+
+	private GenericConstructor copyConstructor;
+
+	private GenericMethod getLocation;
+
+	@Before
+	public void setUp() throws Exception {
+		TestCluster.reset();
+		defaultConstructor = new GenericConstructor(Point.class.getConstructor(), Point.class);
+		copyConstructor = new GenericConstructor(Point.class.getConstructor(Point.class), Point.class);
+		getLocation = new GenericMethod(Point.class.getMethod("getLocation"), Point.class);
+
+		TestCluster cluster = TestCluster.getInstance();
+		cluster.addGenerator(point, defaultConstructor);
+		cluster.addGenerator(point, copyConstructor);
+		cluster.addGenerator(point, getLocation);
+	}
+
+	@After
+	public void tearDown() {
+		TestCluster.reset();
+	}
+
+	private Set<GenericAccessibleObject<?>> chooseGenerators(Set<GenericAccessibleObject<?>> excluded,
+			int recursionDepth) throws Exception {
+		TestCase test = new DefaultTestCase();
+		Set<GenericAccessibleObject<?>> chosen = new HashSet<>();
+		for (int i = 0; i < 200; i++) {
+			GenericAccessibleObject<?> generator = TestCluster.getInstance().getRandomGenerator(point, excluded,
+					test, 0, null, recursionDepth);
+			if (generator != null) {
+				chosen.add(generator);
+			}
+		}
+		return chosen;
+	}
+
+	@Test
+	public void testRandomGenerator() throws Exception {
+		Set<GenericAccessibleObject<?>> chosen = chooseGenerators(new HashSet<>(), 0);
+		Assert.assertEquals(3, chosen.size());
+	}
+
+	@Test
+	public void testRandomGeneratorWithExclusions() throws Exception {
+		Set<GenericAccessibleObject<?>> excluded = new HashSet<>();
+		excluded.add(defaultConstructor);
+		excluded.add(getLocation);
+		Set<GenericAccessibleObject<?>> chosen = chooseGenerators(excluded, 0);
+		Assert.assertEquals(1, chosen.size());
+		Assert.assertTrue(chosen.contains(copyConstructor));
+
+		excluded.add(copyConstructor);
+		Assert.assertTrue(chooseGenerators(excluded, 0).isEmpty());
+	}
+
+	@Test
+	public void testRandomGeneratorDeepInRecursion() throws Exception {
+		Set<GenericAccessibleObject<?>> chosen = chooseGenerators(new HashSet<>(), Properties.MAX_RECURSION);
+		Assert.assertEquals(2, chosen.size());
+		Assert.assertFalse(chosen.contains(getLocation));
+
+		// if all constructors are excluded, other generators are still used
+		Set<GenericAccessibleObject<?>> excluded = new HashSet<>();
+		excluded.add(defaultConstructor);
+		excluded.add(copyConstructor);
+		chosen = chooseGenerators(excluded, Properties.MAX_RECURSION);
+		Assert.assertEquals(1, chosen.size());
+		Assert.assertTrue(chosen.contains(getLocation));
+	}
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class StatisticsBatchTest {
+
+	private static StatisticsSnapshot snapshot(long timestamp, Object... namesAndValues) {
+		Map<String, Double> values = new LinkedHashMap<>();
+		for (int i = 0; i < namesAndValues.length; i += 2) {
+			values.put((String) namesAndValues[i], (Double) namesAndValues[i + 1]);
+		}
+		return new StatisticsSnapshot(timestamp, values);
+	}
+
+	private static void assertSameSnapshots(List<StatisticsSnapshot> expected, List<StatisticsSnapshot> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp());
+			assertEquals(expected.get(i).getValues(), actual.get(i).getValues());
+		}
+	}
+
+	@Test
+	public void testDecodeSeveralBatches() {
+		StatisticsBatch.Encoder encoder = new StatisticsBatch.Encoder();
+		StatisticsBatch.Decoder decoder = new StatisticsBatch.Decoder();
+
+		List<StatisticsSnapshot> first = Arrays.asList(
+				snapshot(1000L, "Fitness", 10.0, "Coverage", 0.1),
+				snapshot(1200L, "Fitness", 8.0, "Coverage", 0.1),
+				snapshot(1300L, "Fitness", 8.0, "Coverage", 0.1, "Size", 3.0));
+		assertSameSnapshots(first, decoder.decode(encoder.encode(first)));
+
+		List<StatisticsSnapshot> second = Arrays.asList(
+				snapshot(5000L, "Fitness", 2.0, "Coverage", 0.5, "Size", 3.0),
+				snapshot(5000L, "Fitness", 2.0, "Coverage", 0.5, "Size", 3.0));
+		assertSameSnapshots(second, decoder.decode(encoder.encode(second)));
+	}
+
+	@Test
+	public void testRemovedValue() {
+		StatisticsBatch.Encoder encoder = new StatisticsBatch.Encoder();
+		StatisticsBatch.Decoder decoder = new StatisticsBatch.Decoder();
+
+		List<StatisticsSnapshot> snapshots = Arrays.asList(
+				snapshot(1L, "Fitness", 1.0, "Coverage", 0.1),
+				snapshot(2L, "Fitness", 1.0),
+				snapshot(3L, "Fitness", 1.0, "Coverage", 0.2));
+		assertSameSnapshots(snapshots, decoder.decode(encoder.encode(snapshots)));
+	}
+
+	@Test
+	public void testNaN() {
+		StatisticsBatch.Encoder encoder = new StatisticsBatch.Encoder();
+		StatisticsBatch.Decoder decoder = new StatisticsBatch.Decoder();
+
+		List<StatisticsSnapshot> snapshots = Arrays.asList(
+				snapshot(1L, "Fitness", Double.NaN),
+				snapshot(2L, "Fitness", Double.NaN),
+				snapshot(3L, "Fitness", 0.0));
+		assertSameSnapshots(snapshots, decoder.decode(encoder.encode(snapshots)));
+	}
+
+	@Test
+	public void testResetAfterLostBatch() {
+		StatisticsBatch.Encoder encoder = new StatisticsBatch.Encoder();
+		StatisticsBatch.Decoder decoder = new StatisticsBatch.Decoder();
+
+		List<StatisticsSnapshot> first = Arrays.asList(snapshot(10L, "Fitness", 3.0));
+		decoder.decode(encoder.encode(first));
+
+		// this one never arrives
+		encoder.encode(Arrays.asList(snapshot(20L, "Fitness", 2.0, "Size", 1.0)));
+		encoder.reset();
+
+		List<StatisticsSnapshot> third = Arrays.asList(snapshot(30L, "Fitness", 2.0, "Size", 1.0));
+		assertSameSnapshots(third, decoder.decode(encoder.encode(third)));
+	}
+
+	@Test
+	public void testUnchangedValuesAreNotSent() {
+		StatisticsBatch.Encoder encoder = new StatisticsBatch.Encoder();
+		encoder.encode(Arrays.asList(snapshot(1L, "Fitness", 1.0, "Coverage", 0.5)));
+
+		StatisticsBatch batch = encoder.encode(Arrays.asList(snapshot(2L, "Fitness", 1.0, "Coverage", 0.5)));
+		assertEquals(1, batch.size());
+		assertEquals(0, batch.getNumberOfValues());
+	}
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Variable;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.vm.ConstraintFactory;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SolverCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static final int DEFAULT_CACHE_SIZE = Properties.DSE_SOLVER_CACHE_SIZE;
+
+	private static final String DEFAULT_CACHE_FILE = Properties.DSE_SOLVER_CACHE_FILE;
+
+	@After
+	public void resetProperties() {
+		Properties.DSE_SOLVER_CACHE_SIZE = DEFAULT_CACHE_SIZE;
+		Properties.DSE_SOLVER_CACHE_FILE = DEFAULT_CACHE_FILE;
+		SolverCache.getInstance().reset();
+	}
+
+	/**
+	 * Assigns 1 to every variable and counts how often it was asked
+	 */
+	private static class CountingSolver extends Solver {
+		int calls = 0;
+
+		@Override
+		public SolverResult solve(Collection<Constraint<?>> constraints) {
+			calls++;
+			Map<String, Object> model = new HashMap<String, Object>();
+			for (Constraint<?> c : constraints) {
+				for (Variable<?> v : c.getVariables()) {
+					model.put(v.getName(), 1L);
+				}
+			}
+			return SolverResult.newSAT(model);
+		}
+	}
+
+	private static List<Constraint<?>> query(String first, String second, long bound, boolean reversed) {
+		IntegerVariable a = new IntegerVariable(first, 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+		IntegerVariable b = new IntegerVariable(second, 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+		List<Constraint<?>> constraints = new ArrayList<Constraint<?>>();
+		constraints.add(ConstraintFactory.lt(a, new IntegerConstant(bound)));
+		constraints.add(ConstraintFactory.gte(b, a));
+		if (reversed) {
+			constraints.add(constraints.remove(0));
+		}
+		return constraints;
+	}
+
+	@Test
+	public void testRenamedAndReorderedQueryHasSameKey() {
+		String key1 = ConstraintNormalizer.normalize(query("x", "y", 17, false)).getKey();
+		String key2 = ConstraintNormalizer.normalize(query("p", "q", 17, true)).getKey();
+		assertEquals(key1, key2);
+	}
+
+	@Test
+	public void testDifferentQueriesHaveDifferentKeys() {
+		String key1 = ConstraintNormalizer.normalize(query("x", "y", 17, false)).getKey();
+		String key2 = ConstraintNormalizer.normalize(query("x", "y", 18, false)).getKey();
+		String key3 = ConstraintNormalizer.normalize(query("y", "x", 17, false)).getKey();
+		assertNotEquals(key1, key2);
+		// swapping the roles of the variables is only a renaming
+		assertEquals(key1, key3);
+	}
+
+	@Test
+	public void testCachedModelUsesNamesOfNewQuery() {
+		CountingSolver solver = new CountingSolver();
+		SolverCache cache = SolverCache.getInstance();
+
+		SolverResult first = cache.solve(solver, query("cacheTestX", "cacheTestY", 4242, false));
+		assertTrue(first.isSAT());
+		assertEquals(1, solver.calls);
+
+		SolverResult second = cache.solve(solver, query("cacheTestP", "cacheTestQ", 4242, true));
+		assertEquals(1, solver.calls);
+		assertTrue(second.isSAT());
+		assertTrue(second.containsVariable("cacheTestP"));
+		assertTrue(second.containsVariable("cacheTestQ"));
+		assertFalse(second.containsVariable("cacheTestX"));
+		assertEquals(1L, second.getValue("cacheTestP"));
+	}
+
+	private static void solveQueries(SolverCache cache, Solver solver, int from, int to) {
+		for (int bound = from; bound < to; bound++) {
+			cache.solve(solver, query("x", "y", bound, false));
+		}
+	}
+
+	@Test
+	public void testCacheFileIsBounded() throws IOException {
+		File file = new File(folder.getRoot(), "solver.cache");
+		Properties.DSE_SOLVER_CACHE_FILE = file.getAbsolutePath();
+		Properties.DSE_SOLVER_CACHE_SIZE = 3;
+		SolverCache cache = SolverCache.getInstance();
+		CountingSolver solver = new CountingSolver();
+
+		cache.reset();
+		solveQueries(cache, solver, 0, 3);
+		cache.saveToDisk();
+
+		// a later run with other queries
+		cache.reset();
+		solveQueries(cache, solver, 3, 5);
+		assertEquals(3, cache.size());
+		cache.saveToDisk();
+
+		cache.reset();
+		Properties.DSE_SOLVER_CACHE_SIZE = 0;
+		solver.calls = 0;
+		// the most recent queries are kept
+		solveQueries(cache, solver, 2, 5);
+		assertEquals(0, solver.calls);
+		assertEquals(3, cache.size());
+		solveQueries(cache, solver, 1, 2);
+		assertEquals(1, solver.calls);
+	}
+
+	@Test
+	public void testEntriesNotLoadedAreNotEvictions() throws IOException {
+		File file = new File(folder.getRoot(), "solver.cache");
+		Properties.DSE_SOLVER_CACHE_FILE = file.getAbsolutePath();
+		Properties.DSE_SOLVER_CACHE_SIZE = 0;
+		SolverCache cache = SolverCache.getInstance();
+		CountingSolver solver = new CountingSolver();
+
+		cache.reset();
+		solveQueries(cache, solver, 0, 5);
+		cache.saveToDisk();
+
+		cache.reset();
+		Properties.DSE_SOLVER_CACHE_SIZE = 2;
+		solver.calls = 0;
+		solveQueries(cache, solver, 4, 5);
+		assertEquals(0, solver.calls);
+		assertEquals(2, cache.size());
+		assertEquals(0, cache.getNumberOfEvictions());
+
+		// a real eviction
+		solveQueries(cache, solver, 0, 1);
+		assertEquals(1, solver.calls);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getNumberOfEvictions());
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.z3;
+
+import java.io.IOException;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.solver.SolverEmptyQueryException;
+import org.evosuite.symbolic.solver.SolverErrorException;
+import org.evosuite.symbolic.solver.SolverParseException;
+import org.evosuite.symbolic.solver.SolverProcess;
+import org.evosuite.symbolic.solver.SolverTimeoutException;
+import org.evosuite.symbolic.solver.TestSolverSimpleMath;
+import org.evosuite.symbolic.solver.TestSolverUNSAT;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestZ3PersistentSolver extends TestZ3 {
+
+	private static final boolean DEFAULT_PERSISTENT_SOLVER = Properties.DSE_PERSISTENT_SOLVER;
+
+	@Before
+	public void enablePersistentSolver() {
+		Properties.DSE_PERSISTENT_SOLVER = true;
+	}
+
+	@After
+	public void restorePersistentSolver() {
+		Properties.DSE_PERSISTENT_SOLVER = DEFAULT_PERSISTENT_SOLVER;
+		SolverProcess.shutdownAll();
+	}
+
+	@Test
+	public void testSequenceOfQueries() throws SecurityException, NoSuchMethodException, SolverTimeoutException,
+			IOException, SolverParseException, SolverEmptyQueryException, SolverErrorException {
+		Z3Solver solver = new Z3Solver(true);
+		// each query reuses the process left behind by the previous one
+		TestSolverSimpleMath.testAdd(solver);
+		TestSolverUNSAT.testUNSAT(solver);
+		TestSolverSimpleMath.testSub(solver);
+		TestSolverSimpleMath.testSub(solver);
+		TestSolverSimpleMath.testEq(solver);
+		TestSolverUNSAT.testUNSAT(solver);
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.branch.BranchCoverageFactory;
+import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.Randomness;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.FlagExample1;
+
+public class TestCaseMinimizerTest {
+
+	private Class<?> sut;
+
+	private GenericConstructor constructor;
+
+	private GenericMethod testMe;
+
+	@Before
+	public void setUp() throws Exception {
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		Properties.getInstance().resetToDefaults();
+		Randomness.setSeed(42);
+		TestGenerationContext.getInstance().resetContext();
+		ClassReInitializer.resetSingleton();
+
+		Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+		sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+		GenericClass clazz = new GenericClass(sut);
+		constructor = new GenericConstructor(sut.getConstructors()[0], clazz);
+		Method m = sut.getMethod("testMe", int.class);
+		testMe = new GenericMethod(m, sut);
+	}
+
+	@After
+	public void tearDown() {
+		TestGenerationContext.getInstance().resetContext();
+		Properties.getInstance().resetToDefaults();
+	}
+
+	private VariableReference addConstructor(TestCase test) {
+		return test.addStatement(new ConstructorStatement(test, constructor,
+				Collections.<VariableReference> emptyList()));
+	}
+
+	private VariableReference addTestMe(TestCase test, VariableReference callee, VariableReference x) {
+		return test.addStatement(new MethodStatement(test, testMe, callee, Arrays.asList(x)));
+	}
+
+	@Test
+	public void testSliceFollowsDataDependencies() {
+		DefaultTestCase test = new DefaultTestCase();
+		VariableReference flag0 = addConstructor(test);                  // 0
+		VariableReference a = test.addStatement(new IntPrimitiveStatement(test, 1));     // 1
+		VariableReference b = test.addStatement(new IntPrimitiveStatement(test, 28241)); // 2
+		VariableReference flag1 = addConstructor(test);                  // 3
+		addTestMe(test, flag1, a);                                       // 4
+		addTestMe(test, flag0, a);                                       // 5
+		addTestMe(test, flag0, b);                                       // 6
+
+		// 5 uses flag0 before 6, so it may change its state
+		assertEquals(new LinkedHashSet<Integer>(Arrays.asList(6, 5, 2, 1, 0)), TestCaseMinimizer.getSlice(test, 6));
+		assertEquals(new LinkedHashSet<Integer>(Arrays.asList(4, 3, 1)), TestCaseMinimizer.getSlice(test, 4));
+		assertEquals(Collections.singleton(2), TestCaseMinimizer.getSlice(test, 2));
+	}
+
+	@Test
+	public void testMinimizeKeepsOnlyCoveringStatements() {
+		DefaultTestCase test = new DefaultTestCase();
+		VariableReference flag0 = addConstructor(test);
+		VariableReference covering = null;
+		for (int i = 0; i < 10; i++) {
+			VariableReference x = test.addStatement(new IntPrimitiveStatement(test, 28234 + i));
+			if (28234 + i == 28241) {
+				covering = x;
+			}
+		}
+		VariableReference flag1 = addConstructor(test);
+		addTestMe(test, flag0, covering);
+		for (int i = 0; i < 5; i++) {
+			addTestMe(test, flag1, test.getStatement(i + 1).getReturnValue());
+		}
+		assertEquals(18, test.size());
+
+		TestChromosome chromosome = new TestChromosome();
+		chromosome.setTestCase(test);
+
+		BranchCoverageTestFitness goal = null;
+		for (BranchCoverageTestFitness g : new BranchCoverageFactory().getCoverageGoals()) {
+			if (g.getBranch() != null && g.getValue() && g.isCovered(chromosome)) {
+				goal = g;
+			}
+		}
+		assertNotNull(goal);
+
+		TestCaseMinimizer minimizer = new TestCaseMinimizer(goal);
+		minimizer.minimize(chromosome);
+
+		assertEquals(chromosome.getTestCase().toCode(), 3, chromosome.size());
+		chromosome.setChanged(true);
+		assertTrue(goal.isCovered(chromosome));
+	}
+}
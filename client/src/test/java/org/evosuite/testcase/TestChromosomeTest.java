@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestChromosomeTest {
+
+	@After
+	public void tearDown() {
+		Properties.COPY_ON_WRITE_TESTS = false;
+	}
+
+	private static TestChromosome createChromosome(int length) {
+		DefaultTestCase test = new DefaultTestCase();
+		for (int i = 0; i < length; i++) {
+			test.addStatement(new IntPrimitiveStatement(test, i));
+		}
+		TestChromosome chromosome = new TestChromosome();
+		chromosome.setTestCase(test);
+		return chromosome;
+	}
+
+	@Test
+	public void testCloneCopiesTestCase() {
+		TestChromosome original = createChromosome(3);
+		TestChromosome clone = (TestChromosome) original.clone();
+		assertNotSame(original.test, clone.test);
+		assertEquals(original.test.toCode(), clone.test.toCode());
+	}
+
+	@Test
+	public void testCloneSharesTestCaseUntilModified() {
+		Properties.COPY_ON_WRITE_TESTS = true;
+		TestChromosome original = createChromosome(3);
+		TestChromosome clone = (TestChromosome) original.clone();
+		assertSame(original.test, clone.test);
+		assertEquals(3, clone.size());
+		assertEquals(original, clone);
+
+		TestCase cloneTest = clone.getTestCase();
+		assertNotSame(original.test, cloneTest);
+		cloneTest.addStatement(new IntPrimitiveStatement(cloneTest, 42));
+		assertEquals(4, clone.size());
+		assertEquals(3, original.size());
+	}
+
+	@Test
+	public void testOriginalIsCopiedBeforeModification() {
+		Properties.COPY_ON_WRITE_TESTS = true;
+		TestChromosome original = createChromosome(3);
+		TestChromosome clone = (TestChromosome) original.clone();
+
+		TestCase originalTest = original.getTestCase();
+		originalTest.remove(2);
+		assertEquals(2, original.size());
+		assertEquals(3, clone.size());
+		assertSame(originalTest, original.getTestCase());
+	}
+
+	@Test
+	public void testReadingDoesNotCopySharedTestCase() {
+		Properties.COPY_ON_WRITE_TESTS = true;
+		TestChromosome original = createChromosome(3);
+		TestChromosome clone = (TestChromosome) original.clone();
+
+		assertSame(original.test, clone.getTestCaseForReading());
+		assertSame(original.test, original.getTestCaseForReading());
+		assertTrue(original.isTestCaseShared());
+		assertTrue(clone.isTestCaseShared());
+	}
+
+	@Test
+	public void testLastHolderDoesNotCopyAgain() {
+		Properties.COPY_ON_WRITE_TESTS = true;
+		TestChromosome original = createChromosome(3);
+		TestCase originalTest = original.test;
+		TestChromosome clone = (TestChromosome) original.clone();
+
+		assertNotSame(originalTest, clone.getTestCase());
+		assertFalse(clone.isTestCaseShared());
+		assertFalse(original.isTestCaseShared());
+		assertSame(originalTest, original.getTestCase());
+	}
+
+	@Test
+	public void testTestCaseSharedWithSeveralClones() {
+		Properties.COPY_ON_WRITE_TESTS = true;
+		TestChromosome original = createChromosome(3);
+		TestCase originalTest = original.test;
+		TestChromosome first = (TestChromosome) original.clone();
+		TestChromosome second = (TestChromosome) first.clone();
+
+		assertNotSame(originalTest, original.getTestCase());
+		assertTrue(first.isTestCaseShared());
+		assertNotSame(originalTest, first.getTestCase());
+		assertFalse(second.isTestCaseShared());
+		assertSame(originalTest, second.getTestCase());
+	}
+
+	@Test
+	public void testReplacedTestCaseIsNoLongerShared() {
+		Properties.COPY_ON_WRITE_TESTS = true;
+		TestChromosome original = createChromosome(3);
+		TestCase originalTest = original.test;
+		TestChromosome clone = (TestChromosome) original.clone();
+
+		clone.setTestCase(new DefaultTestCase());
+		assertFalse(original.isTestCaseShared());
+		assertSame(originalTest, original.getTestCase());
+	}
+}
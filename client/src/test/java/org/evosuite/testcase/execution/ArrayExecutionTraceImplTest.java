@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArrayExecutionTraceImplTest {
+
+	@Test
+	public void testDoubleMapGrowsAndKeepsMinimum() {
+		IntDoubleArrayMap map = new IntDoubleArrayMap(2);
+		map.putMin(7, 3.0);
+		map.putMin(7, 5.0);
+		map.putMin(100, 1.0);
+		map.putMin(100, 0.5);
+
+		Assert.assertEquals(2, map.size());
+		Assert.assertEquals(3.0, map.get(7), 0.0);
+		Assert.assertEquals(0.5, map.get(100), 0.0);
+		Assert.assertNull(map.get(8));
+		Assert.assertFalse(map.containsKey(8));
+		Assert.assertFalse(map.containsKey(1000));
+	}
+
+	@Test
+	public void testMapViewEqualsHashMap() {
+		IntDoubleArrayMap map = new IntDoubleArrayMap();
+		Map<Integer, Double> expected = new HashMap<Integer, Double>();
+		for (int i = 0; i < 50; i += 3) {
+			map.add(i, 0.0);
+			map.add(i, i);
+			expected.put(i, (double) i);
+		}
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(expected, map.clone());
+
+		map.remove(3);
+		expected.remove(3);
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(expected.keySet(), map.keySet());
+	}
+
+	@Test
+	public void testIntMapCounts() {
+		IntIntArrayMap map = new IntIntArrayMap(1);
+		map.increment(4);
+		map.increment(4);
+		map.increment(0);
+
+		Assert.assertEquals(2, map.size());
+		Assert.assertEquals(2, (int) map.get(4));
+		Assert.assertEquals(1, (int) map.get(0));
+		Assert.assertFalse(map.containsKey(2));
+	}
+
+	@Test
+	public void testSameDistancesAsHashMapTrace() {
+		ExecutionTraceImpl reference = new ExecutionTraceImpl();
+		ArrayExecutionTraceImpl trace = new ArrayExecutionTraceImpl();
+
+		double[][] calls = { { 1, 2.0, 0.0 }, { 1, 0.0, 3.0 }, { 5, 4.0, 0.0 }, { 1, 1.0, 0.0 }, { 42, 0.0, 7.0 } };
+		for (double[] call : calls) {
+			reference.branchPassed((int) call[0], 0, call[1], call[2]);
+			trace.branchPassed((int) call[0], 0, call[1], call[2]);
+		}
+
+		Assert.assertEquals(reference.getTrueDistances(), trace.getTrueDistances());
+		Assert.assertEquals(reference.getFalseDistances(), trace.getFalseDistances());
+		Assert.assertEquals(reference.getTrueDistancesSum(), trace.getTrueDistancesSum());
+		Assert.assertEquals(reference.getFalseDistancesSum(), trace.getFalseDistancesSum());
+		Assert.assertEquals(reference.getPredicateExecutionCount(), trace.getPredicateExecutionCount());
+		Assert.assertEquals(reference.getCoveredTrueBranches(), trace.getCoveredTrueBranches());
+		Assert.assertEquals(reference.getCoveredFalseBranches(), trace.getCoveredFalseBranches());
+		Assert.assertEquals(reference.getTrueDistance(1), trace.getTrueDistance(1), 0.0);
+		Assert.assertTrue(trace.hasFalseDistance(42));
+		Assert.assertFalse(trace.hasFalseDistance(43));
+
+		ExecutionTraceImpl copy = trace.clone();
+		Assert.assertTrue(copy instanceof ArrayExecutionTraceImpl);
+		Assert.assertEquals(trace.getTrueDistances(), copy.getTrueDistances());
+
+		trace.clear();
+		Assert.assertTrue(trace.getTrueDistances().isEmpty());
+		Assert.assertFalse(copy.getTrueDistances().isEmpty());
+	}
+}
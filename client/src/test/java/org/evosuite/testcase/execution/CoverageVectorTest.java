@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CoverageVectorTest {
+
+	private static final String DEFAULT_TARGET_CLASS = Properties.TARGET_CLASS;
+
+	@After
+	public void restoreProperties() {
+		Properties.TARGET_CLASS = DEFAULT_TARGET_CLASS;
+	}
+
+	@Test
+	public void testVectorOfTrace() {
+		Properties.TARGET_CLASS = "foo.Bar";
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.branchPassed(3, 0, 0.0, 1.0);
+		trace.branchPassed(5, 0, 2.0, 0.0);
+		trace.linePassed("foo.Bar", "baz()V", 17);
+		trace.mutationPassed(8, 1.0);
+
+		CoverageVector vector = new CoverageVector(trace);
+		Assert.assertEquals(CoverageVector.toBitSet(trace.getCoveredTrueBranches()), vector.getCoveredTrueBranches());
+		Assert.assertTrue(vector.getCoveredTrueBranches().get(3));
+		Assert.assertFalse(vector.getCoveredTrueBranches().get(5));
+		Assert.assertTrue(vector.getCoveredFalseBranches().get(5));
+		Assert.assertEquals(trace.getCoveredLines(), toSet(vector.getCoveredLines()));
+		Assert.assertTrue(vector.getTouchedMutants().get(8));
+	}
+
+	@Test
+	public void testOnlyLinesOfTargetClass() {
+		Properties.TARGET_CLASS = "foo.Bar";
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.linePassed("foo.Bar", "baz()V", 17);
+		trace.linePassed("foo.Bar$Inner", "baz()V", 21);
+		trace.linePassed("foo.Other", "baz()V", 42);
+
+		BitSet lines = new CoverageVector(trace).getCoveredLines();
+		Assert.assertTrue(lines.get(17));
+		Assert.assertTrue(lines.get(21));
+		Assert.assertFalse(lines.get(42));
+		Assert.assertEquals(2, lines.cardinality());
+	}
+
+	private static Set<Integer> toSet(BitSet bits) {
+		Set<Integer> set = new HashSet<Integer>();
+		for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+			set.add(i);
+		}
+		return set;
+	}
+}
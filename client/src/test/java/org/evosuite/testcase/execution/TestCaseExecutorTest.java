@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.Statement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCaseExecutorTest {
+
+	private static final boolean DEFAULT_REUSE_EXECUTION_THREAD = Properties.REUSE_EXECUTION_THREAD;
+
+	private static final int DEFAULT_TIMEOUT = Properties.TIMEOUT;
+
+	private static final int DEFAULT_SHUTDOWN_TIMEOUT = Properties.SHUTDOWN_TIMEOUT;
+
+	private static volatile boolean hang = true;
+
+	/**
+	 * Ignores interrupts, so the execution thread can only be replaced
+	 */
+	public static void hang() {
+		while (hang) {
+			// busy wait
+		}
+	}
+
+	/**
+	 * Leaves a thread running that ignores interrupts
+	 */
+	public static void startThread() {
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				hang();
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Records the threads the statements are executed on
+	 */
+	private static class ThreadObserver extends ExecutionObserver {
+
+		private final List<Thread> threads = new ArrayList<Thread>();
+
+		@Override
+		public void output(int position, String output) {
+		}
+
+		@Override
+		public void beforeStatement(Statement statement, Scope scope) {
+			threads.add(Thread.currentThread());
+		}
+
+		@Override
+		public void afterStatement(Statement statement, Scope scope, Throwable exception) {
+		}
+
+		@Override
+		public void testExecutionFinished(ExecutionResult r, Scope s) {
+		}
+
+		@Override
+		public void clear() {
+		}
+
+		public Thread getLastThread() {
+			return threads.get(threads.size() - 1);
+		}
+	}
+
+	private ThreadObserver observer;
+
+	@Before
+	public void setUp() {
+		Properties.REUSE_EXECUTION_THREAD = true;
+		Properties.TIMEOUT = 500;
+		Properties.SHUTDOWN_TIMEOUT = 100;
+		hang = true;
+		observer = new ThreadObserver();
+		TestCaseExecutor.initExecutor();
+		TestCaseExecutor.getInstance().addObserver(observer);
+	}
+
+	@After
+	public void tearDown() {
+		hang = false;
+		TestCaseExecutor.getInstance().removeObserver(observer);
+		Properties.REUSE_EXECUTION_THREAD = DEFAULT_REUSE_EXECUTION_THREAD;
+		Properties.TIMEOUT = DEFAULT_TIMEOUT;
+		Properties.SHUTDOWN_TIMEOUT = DEFAULT_SHUTDOWN_TIMEOUT;
+	}
+
+	private static TestCase createTest() {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		builder.appendIntPrimitive(42);
+		return builder.getDefaultTestCase();
+	}
+
+	private static TestCase createHangingTest() throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		builder.appendMethod(null, TestCaseExecutorTest.class.getMethod("hang"));
+		return builder.getDefaultTestCase();
+	}
+
+	private static TestCase createThreadLeakingTest() throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		builder.appendMethod(null, TestCaseExecutorTest.class.getMethod("startThread"));
+		return builder.getDefaultTestCase();
+	}
+
+	@Test
+	public void testThreadIsReused() {
+		TestCaseExecutor.runTest(createTest());
+		Thread first = observer.getLastThread();
+		Assert.assertNotSame(Thread.currentThread(), first);
+
+		TestCaseExecutor.runTest(createTest());
+		Assert.assertSame(first, observer.getLastThread());
+
+		// eg on a context reset
+		TestCaseExecutor.initExecutor();
+		TestCaseExecutor.runTest(createTest());
+		Assert.assertSame(first, observer.getLastThread());
+	}
+
+	@Test
+	public void testThreadIsReplacedAfterTimeout() throws Exception {
+		TestCaseExecutor.runTest(createTest());
+		Thread first = observer.getLastThread();
+
+		ExecutionResult result = TestCaseExecutor.runTest(createHangingTest());
+		Assert.assertTrue(result.hasTimeout());
+		Assert.assertSame(first, observer.getLastThread());
+
+		TestCaseExecutor.runTest(createTest());
+		Thread second = observer.getLastThread();
+		Assert.assertNotSame(first, second);
+		Assert.assertTrue(second.isAlive());
+	}
+
+	@Test
+	public void testThreadIsReplacedAfterLeftoverThreads() throws Exception {
+		TestCaseExecutor.runTest(createTest());
+		Thread first = observer.getLastThread();
+
+		ExecutionResult result = TestCaseExecutor.runTest(createThreadLeakingTest());
+		Assert.assertFalse(result.hasTimeout());
+		Assert.assertSame(first, observer.getLastThread());
+
+		result = TestCaseExecutor.runTest(createTest());
+		Assert.assertFalse(result.hasTimeout());
+		Assert.assertTrue(result.noThrownExceptions());
+		Thread second = observer.getLastThread();
+		Assert.assertNotSame(first, second);
+		Assert.assertTrue(second.isAlive());
+
+		TestCaseExecutor.runTest(createTest());
+		Assert.assertSame(second, observer.getLastThread());
+	}
+}
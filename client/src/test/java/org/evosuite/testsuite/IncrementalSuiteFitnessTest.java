@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.archive.TestsArchive;
+import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
+import org.evosuite.coverage.line.LineCoverageSuiteFitness;
+import org.evosuite.coverage.mutation.WeakMutationSuiteFitness;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.Randomness;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.FlagExample1;
+
+public class IncrementalSuiteFitnessTest {
+
+	private static java.util.Properties currentProperties;
+
+	@Before
+	public void setUp() {
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		Properties.getInstance().resetToDefaults();
+		Randomness.setSeed(42);
+		currentProperties = (java.util.Properties) System.getProperties().clone();
+	}
+
+	@After
+	public void tearDown() {
+		TestsArchive.instance.reset();
+		TestGenerationContext.getInstance().resetContext();
+		System.setProperties(currentProperties);
+		Properties.getInstance().resetToDefaults();
+	}
+
+	/**
+	 * Fitness values and covered goals of a suite and of its clone, evaluated
+	 * one after the other by the same fitness functions
+	 */
+	private static class Evaluation {
+		private final List<Double> fitness = new ArrayList<Double>();
+		private final List<Set<String>> coveredGoals = new ArrayList<Set<String>>();
+	}
+
+	private static TestChromosome createTest(Class<?> sut, int x) throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		VariableReference flagExample = builder.appendConstructor(sut.getConstructor());
+		VariableReference value = builder.appendIntPrimitive(x);
+		builder.appendMethod(flagExample, sut.getMethod("testMe", int.class), value);
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(builder.getDefaultTestCase());
+		return test;
+	}
+
+	private static Set<String> getCoveredGoals(TestSuiteChromosome suite) {
+		Set<String> goals = new LinkedHashSet<String>();
+		for (TestChromosome test : suite.getTestChromosomes()) {
+			for (TestFitnessFunction goal : test.getTestCase().getCoveredGoals()) {
+				goals.add(goal.toString());
+			}
+		}
+		return goals;
+	}
+
+	private static Evaluation evaluate(boolean incremental) throws Exception {
+		Properties.INCREMENTAL_SUITE_FITNESS = incremental;
+		Properties.CRITERION = new Criterion[] { Criterion.BRANCH, Criterion.LINE, Criterion.WEAKMUTATION };
+		Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+		TestGenerationContext.getInstance().resetContext();
+		ClassReInitializer.resetSingleton();
+		TestsArchive.instance.reset();
+		Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+
+		List<TestSuiteFitnessFunction> fitnessFunctions = new ArrayList<TestSuiteFitnessFunction>();
+		fitnessFunctions.add(new BranchCoverageSuiteFitness());
+		fitnessFunctions.add(new LineCoverageSuiteFitness());
+		fitnessFunctions.add(new WeakMutationSuiteFitness());
+
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		suite.addTest(createTest(sut, 28241));
+		suite.addTest(createTest(sut, 5));
+
+		Evaluation evaluation = new Evaluation();
+		for (TestSuiteFitnessFunction ff : fitnessFunctions) {
+			evaluation.fitness.add(ff.getFitness(suite));
+		}
+		evaluation.coveredGoals.add(getCoveredGoals(suite));
+
+		// the clone has the same execution results, which are not executed again
+		TestSuiteChromosome clone = suite.clone();
+		for (TestChromosome test : clone.getTestChromosomes()) {
+			test.getTestCase().clearCoveredGoals();
+		}
+		for (TestSuiteFitnessFunction ff : fitnessFunctions) {
+			evaluation.fitness.add(ff.getFitness(clone));
+		}
+		evaluation.coveredGoals.add(getCoveredGoals(clone));
+		return evaluation;
+	}
+
+	@Test
+	public void testSameFitnessAndCoveredGoals() throws Exception {
+		Evaluation expected = evaluate(false);
+		Evaluation actual = evaluate(true);
+
+		assertFalse(expected.coveredGoals.get(0).isEmpty());
+		assertEquals(expected.coveredGoals.get(0), expected.coveredGoals.get(1));
+		assertEquals(expected.fitness, actual.fitness);
+		assertEquals(expected.coveredGoals, actual.coveredGoals);
+	}
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceProxy;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestContributionCacheTest {
+
+	private static final int DEFAULT_CACHE_SIZE = Properties.INCREMENTAL_SUITE_FITNESS_CACHE_SIZE;
+
+	@After
+	public void restoreProperties() {
+		Properties.INCREMENTAL_SUITE_FITNESS_CACHE_SIZE = DEFAULT_CACHE_SIZE;
+	}
+
+	private static ExecutionResult newResult() {
+		ExecutionResult result = new ExecutionResult(new DefaultTestCase());
+		result.setTrace(new ExecutionTraceProxy());
+		return result;
+	}
+
+	@Test
+	public void testClonesShareContribution() {
+		TestContributionCache<String> cache = new TestContributionCache<String>();
+		ExecutionResult result = newResult();
+		cache.put(result, "contribution");
+
+		assertEquals("contribution", cache.get(result.clone()));
+		assertNull(cache.get(newResult()));
+
+		ExecutionResult reexecuted = result.clone();
+		reexecuted.setTrace(new ExecutionTraceProxy());
+		assertNotEquals(result.getExecutionId(), reexecuted.getExecutionId());
+		assertNull(cache.get(reexecuted));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		Properties.INCREMENTAL_SUITE_FITNESS_CACHE_SIZE = 2;
+		TestContributionCache<Integer> cache = new TestContributionCache<Integer>();
+		ExecutionResult first = newResult();
+		ExecutionResult second = newResult();
+		ExecutionResult third = newResult();
+		cache.put(first, 1);
+		cache.put(second, 2);
+		cache.get(first);
+		cache.put(third, 3);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, (int) cache.get(first));
+		assertNull(cache.get(second));
+		assertEquals(3, (int) cache.get(third));
+	}
+
+	@Test
+	public void testMerge() {
+		Map<Integer, Integer> counts = new HashMap<Integer, Integer>();
+		Map<Integer, Double> distances = new HashMap<Integer, Double>();
+		Map<Integer, Integer> countContribution = new HashMap<Integer, Integer>();
+		Map<Integer, Double> distanceContribution = new HashMap<Integer, Double>();
+		counts.put(1, 2);
+		distances.put(1, 0.5);
+		countContribution.put(1, 3);
+		countContribution.put(2, 1);
+		distanceContribution.put(1, 0.25);
+		distanceContribution.put(2, 4.0);
+
+		TestContributionCache.addCounts(counts, countContribution);
+		TestContributionCache.minDistances(distances, distanceContribution);
+
+		assertEquals(5, (int) counts.get(1));
+		assertEquals(1, (int) counts.get(2));
+		assertEquals(0.25, distances.get(1), 0.0);
+		assertEquals(4.0, distances.get(2), 0.0);
+	}
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.runtime.testdata.EvoSuiteFile;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.variable.ArrayReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestSuiteSerializationTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static TestChromosome createTest() throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		VariableReference x = builder.appendIntPrimitive(42);
+		VariableReference y = builder.appendShortPrimitive((short) -3);
+		VariableReference point = builder.appendConstructor(Point.class.getConstructor(int.class, int.class), x, y);
+		builder.appendAssignment(point, Point.class.getField("x"), builder.appendIntPrimitive(7));
+		builder.appendFieldStmt(point, Point.class.getField("y"));
+		builder.appendMethod(point, Point.class.getMethod("translate", int.class, int.class), x, y);
+
+		VariableReference string = builder.appendStringPrimitive("some \"text\"\n");
+		VariableReference builderVar = builder.appendConstructor(StringBuilder.class.getConstructor());
+		builder.appendMethod(builderVar, StringBuilder.class.getMethod("append", String.class), string);
+		builder.appendMethod(builderVar, StringBuilder.class.getMethod("append", double.class),
+				builder.appendDoublePrimitive(Double.NaN));
+		builder.appendMethod(null, Integer.class.getMethod("valueOf", int.class), x);
+
+		ArrayReference array = builder.appendArrayStmt(String[].class, 2);
+		builder.appendAssignment(array, 1, string);
+		builder.appendAssignment(builder.appendNull(String.class), array, 1);
+
+		builder.appendEnumPrimitive(RetentionPolicy.RUNTIME);
+		builder.appendBooleanPrimitive(true);
+		builder.appendLongPrimitive(Long.MIN_VALUE);
+		builder.appendCharPrimitive('è');
+		builder.appendBytePrimitive((byte) 5);
+		builder.appendFloatPrimitive(1.5f);
+
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(builder.getDefaultTestCase());
+		return test;
+	}
+
+	private static TestChromosome createClassTest() {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		builder.appendClassPrimitive(Point.class);
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(builder.getDefaultTestCase());
+		return test;
+	}
+
+	private static TestChromosome createUnsupportedTest() {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		builder.appendIntPrimitive(1);
+		builder.appendFileNamePrimitive(new EvoSuiteFile("foo.txt"));
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(builder.getDefaultTestCase());
+		return test;
+	}
+
+	private static void assertSameTests(List<TestChromosome> expected, List<TestChromosome> actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			TestCase expectedTest = expected.get(i).getTestCase();
+			TestCase actualTest = actual.get(i).getTestCase();
+			Assert.assertEquals(expectedTest.toCode(), actualTest.toCode());
+			for (int j = 0; j < expectedTest.size(); j++) {
+				Assert.assertEquals(expectedTest.getStatement(j).getReturnValue().getType(),
+						actualTest.getStatement(j).getReturnValue().getType());
+			}
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		List<TestChromosome> tests = Arrays.asList(createTest(), createUnsupportedTest(), createClassTest(),
+				createTest());
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		for (TestChromosome test : tests) {
+			suite.addTest(test);
+		}
+
+		File target = new File(folder.getRoot(), "tests.ser");
+		Assert.assertTrue(TestSuiteSerialization.saveTests(suite, target));
+
+		assertSameTests(tests, TestSuiteSerialization.loadTests(target));
+	}
+
+	private static List<TestChromosome> encodeAndDecode(List<TestChromosome> tests, int compact, int serialized)
+			throws Exception {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		CompactTestFormat.Encoder encoder = new CompactTestFormat.Encoder(new DataOutputStream(buffer));
+		for (TestChromosome test : tests) {
+			encoder.write(test);
+		}
+		encoder.flush();
+		Assert.assertEquals(compact, encoder.getNumberOfCompactTests());
+		Assert.assertEquals(serialized, encoder.getNumberOfSerializedTests());
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+		Assert.assertTrue(CompactTestFormat.Decoder.readHeader(in));
+		CompactTestFormat.Decoder decoder = new CompactTestFormat.Decoder(in);
+		List<TestChromosome> decoded = new ArrayList<>();
+		TestChromosome test = decoder.readNext();
+		while (test != null) {
+			decoded.add(test);
+			test = decoder.readNext();
+		}
+		return decoded;
+	}
+
+	@Test
+	public void testCompactRecordsOnly() throws Exception {
+		List<TestChromosome> tests = Arrays.asList(createTest(), createClassTest(), createTest());
+		assertSameTests(tests, encodeAndDecode(tests, 3, 0));
+	}
+
+	@Test
+	public void testSerializationFallback() throws Exception {
+		List<TestChromosome> tests = Arrays.asList(createUnsupportedTest(), createTest());
+		assertSameTests(tests, encodeAndDecode(tests, 1, 1));
+	}
+
+	@Test
+	public void testReadOneAtATime() throws Exception {
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		suite.addTest(createTest());
+		suite.addTest(createUnsupportedTest());
+
+		File target = new File(folder.getRoot(), "tests.ser");
+		Assert.assertTrue(TestSuiteSerialization.saveTests(suite, target));
+
+		try (TestSuiteSerialization.TestReader reader = TestSuiteSerialization.openTests(target)) {
+			Assert.assertNotNull(reader.next());
+			Assert.assertNotNull(reader.next());
+			Assert.assertNull(reader.next());
+			Assert.assertNull(reader.next());
+		}
+	}
+
+	private static TestChromosome createTranslateTest() throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		VariableReference x = builder.appendIntPrimitive(1);
+		VariableReference point = builder.appendConstructor(Point.class.getConstructor(int.class, int.class), x, x);
+		builder.appendMethod(point, Point.class.getMethod("translate", int.class, int.class), x, x);
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(builder.getDefaultTestCase());
+		return test;
+	}
+
+	private static TestChromosome createPointTest(String text) throws Exception {
+		TestCaseBuilder builder = new TestCaseBuilder();
+		VariableReference x = builder.appendIntPrimitive(2);
+		builder.appendConstructor(Point.class.getConstructor(int.class, int.class), x, x);
+		builder.appendStringPrimitive(text);
+		TestChromosome test = new TestChromosome();
+		test.setTestCase(builder.getDefaultTestCase());
+		return test;
+	}
+
+	@Test
+	public void testTestsAfterAnUnreadableOneAreRead() throws Exception {
+		List<TestChromosome> tests = Arrays.asList(createTranslateTest(), createPointTest("\u00e8\u4e2d\ud83d\ude00"),
+				createClassTest(), createPointTest("end"));
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		for (TestChromosome test : tests) {
+			suite.addTest(test);
+		}
+		File target = new File(folder.getRoot(), "tests.ser");
+		Assert.assertTrue(TestSuiteSerialization.saveTests(suite, target));
+
+		/*
+		 * As if Point.translate was renamed after the tests were saved. Its
+		 * name, like the one of Point, is defined with the first test, which
+		 * cannot be read any more, but is used by the following tests.
+		 */
+		byte[] bytes = Files.readAllBytes(target.toPath());
+		String content = new String(bytes, StandardCharsets.ISO_8859_1);
+		Assert.assertEquals(content.indexOf("translate"), content.lastIndexOf("translate"));
+		Files.write(target.toPath(), content.replace("translate", "translatX").getBytes(StandardCharsets.ISO_8859_1));
+
+		assertSameTests(tests.subList(1, tests.size()), TestSuiteSerialization.loadTests(target));
+	}
+
+	@Test
+	public void testReadOldFormat() throws Exception {
+		List<TestChromosome> tests = Arrays.asList(createTest(), createUnsupportedTest());
+		File target = folder.newFile("old.ser");
+		try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(target))) {
+			for (TestChromosome test : tests) {
+				out.writeObject(test);
+			}
+		}
+
+		assertSameTests(tests, TestSuiteSerialization.loadTests(target));
+	}
+
+	@Test
+	public void testEmptyFile() throws IOException {
+		Assert.assertTrue(TestSuiteSerialization.loadTests(folder.newFile("empty.ser")).isEmpty());
+		Assert.assertTrue(TestSuiteSerialization.loadTests(new File(folder.getRoot(), "missing.ser")).isEmpty());
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils.generic;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.setup.TestCluster;
+import org.evosuite.utils.ParameterizedTypeImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenericTypeCacheTest {
+
+	private static final int DEFAULT_CACHE_SIZE = Properties.GENERIC_TYPE_CACHE_SIZE;
+
+	@After
+	public void tearDown() {
+		Properties.GENERIC_TYPE_CACHE_SIZE = DEFAULT_CACHE_SIZE;
+		TestCluster.reset();
+	}
+
+	private static List<Type> getTypes() {
+		return Arrays.asList(Object.class, String.class, Integer.class, int.class, List.class, ArrayList.class,
+				Collection.class, new ParameterizedTypeImpl(List.class, new Type[] { String.class }, null),
+				new ParameterizedTypeImpl(ArrayList.class, new Type[] { String.class }, null),
+				new ParameterizedTypeImpl(List.class, new Type[] { Integer.class }, null),
+				new WildcardTypeImpl(new Type[] { Number.class }, new Type[] {}),
+				List.class.getTypeParameters()[0]);
+	}
+
+	private static boolean[][] getAssignability() {
+		List<Type> types = getTypes();
+		boolean[][] result = new boolean[types.size()][types.size()];
+		for (int i = 0; i < types.size(); i++) {
+			for (int j = 0; j < types.size(); j++) {
+				result[i][j] = GenericClass.isAssignable(types.get(i), types.get(j));
+			}
+		}
+		return result;
+	}
+
+	@Test
+	public void testAssignabilityIsNotChanged() {
+		Properties.GENERIC_TYPE_CACHE_SIZE = 0;
+		boolean[][] expected = getAssignability();
+
+		Properties.GENERIC_TYPE_CACHE_SIZE = DEFAULT_CACHE_SIZE;
+		Assert.assertTrue(Arrays.deepEquals(expected, getAssignability()));
+		// now from the cache
+		Assert.assertTrue(Arrays.deepEquals(expected, getAssignability()));
+
+		// a cache that is too small to hold all results is emptied
+		Properties.GENERIC_TYPE_CACHE_SIZE = 5;
+		Assert.assertTrue(Arrays.deepEquals(expected, getAssignability()));
+	}
+
+	@Test
+	public void testEqualTypesShareResults() {
+		Type first = new ParameterizedTypeImpl(List.class, new Type[] { String.class }, null);
+		Type second = new ParameterizedTypeImpl(List.class, new Type[] { String.class }, null);
+		Assert.assertTrue(new GenericClass(first).isAssignableTo(Collection.class));
+		Assert.assertTrue(new GenericClass(second).isAssignableTo(Collection.class));
+		Assert.assertFalse(new GenericClass(first).hasWildcardOrTypeVariables());
+		Assert.assertTrue(new GenericClass(List.class).hasWildcardOrTypeVariables());
+	}
+
+	@Test
+	public void testTypesFromReturnValueAreCopied() throws Exception {
+		GenericMethod method = new GenericMethod(Arrays.class.getMethod("asList", Object[].class), Arrays.class);
+		GenericClass generatedType = new GenericClass(
+				new ParameterizedTypeImpl(List.class, new Type[] { String.class }, null));
+
+		Map<TypeVariable<?>, Type> types = GenericTypeCache.getTypesFromReturnValue(method, generatedType);
+		Assert.assertEquals(String.class, types.get(method.getTypeParameters()[0]));
+		types.clear();
+
+		types = GenericTypeCache.getTypesFromReturnValue(method, generatedType);
+		Assert.assertEquals(String.class, types.get(method.getTypeParameters()[0]));
+
+		GenericMethod instantiated = method.getGenericInstantiationFromReturnValue(generatedType);
+		Assert.assertEquals(new GenericClass(String.class), instantiated.getTypeParameterClasses().get(0));
+	}
+}
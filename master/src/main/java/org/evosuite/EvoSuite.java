@@ -87,9 +87,9 @@ public class EvoSuite {
         // Clear current inheritance file to make sure a new one is generated
         Properties.INHERITANCE_FILE = "";
         InheritanceTree tree = InheritanceTreeGenerator.createFromClassPath(cpList);
-        File outputFile = File.createTempFile("ES_inheritancetree", ".xml.gz");
+        File outputFile = File.createTempFile("ES_inheritancetree", ".tree");
         outputFile.deleteOnExit();
-        InheritanceTreeGenerator.writeInheritanceTree(tree, outputFile);
+        InheritanceTreeGenerator.writeCompactInheritanceTree(tree, outputFile);
         return outputFile.getAbsolutePath();
     }
 
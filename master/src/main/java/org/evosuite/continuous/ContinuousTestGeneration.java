@@ -237,13 +237,23 @@ public class ContinuousTestGeneration {
     		return storage.clean();
     }
     
+    /**
+     * Write all the stats in the database to the XML project info file
+     * @return
+     */
+    public String exportInfo(){
+    		File file = StorageManager.exportProjectInfo();
+    		return "Exported project info to "+file.getAbsolutePath();
+    }
+
     /**
      * Get info on the current test cases in the database
      * @return
      */
     public String info(){
     		
-		Project project = StorageManager.getDatabaseProject(); 
+		// only the latest generations are needed for the summary
+		Project project = StorageManager.getLatestDatabaseProject(); 
 		
 		if(project==null){
 			return "No info available";
@@ -97,9 +97,15 @@ public class JobDefinition {
 	 * @param configurationId
 	 */
 	public JobDefinition(int seconds, int memoryInMB, String cut, int configurationId,
+	        Set<String> inputDependencies, Set<String> parentDependencies) {
+		this(counter.getAndIncrement(), seconds, memoryInMB, cut, configurationId,
+		        inputDependencies, parentDependencies);
+	}
+
+	private JobDefinition(int jobID, int seconds, int memoryInMB, String cut, int configurationId,
 	        Set<String> inputDependencies, Set<String> parentDependencies) {
 		super();
-		this.jobID = counter.getAndIncrement();
+		this.jobID = jobID;
 		this.seconds = seconds;
 		this.memoryInMB = memoryInMB;
 		this.cut = cut;
@@ -194,6 +200,28 @@ public class JobDefinition {
 		return new JobDefinition(seconds+moreSeconds, memoryInMB, cut, 
 				configurationId, inputClasses, parentClasses);
 	}
+
+	/**
+	 * Create a copy of this job, with same id, but with different
+	 * time and memory
+	 * 
+	 * @param newSeconds
+	 * @param newMemoryInMB
+	 * @return
+	 */
+	public JobDefinition getByChangingResources(int newSeconds, int newMemoryInMB)
+		throws IllegalArgumentException {
+
+		if(newSeconds < 0){
+			throw new IllegalArgumentException("Invalid seconds: "+newSeconds);
+		}
+		if(newMemoryInMB <= 0){
+			throw new IllegalArgumentException("Invalid memory: "+newMemoryInMB);
+		}
+
+		return new JobDefinition(jobID, newSeconds, newMemoryInMB, cut,
+				configurationId, inputClasses, parentClasses);
+	}
 	
 	
 	/**
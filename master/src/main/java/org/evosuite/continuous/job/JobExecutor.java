@@ -19,18 +19,21 @@
  */
 package org.evosuite.continuous.job;
 
+import java.io.File;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.evosuite.Properties;
 import org.evosuite.continuous.CtgConfiguration;
@@ -58,6 +61,13 @@ import org.slf4j.LoggerFactory;
  * on processes accessing them... for multi-process applications running on same host,
  * that is a recipe for disaster... 
  * 
+ * <p>
+ * Jobs are not assigned to cores up front: a job is chosen only once a core is free,
+ * and its time and memory are re-balanced based on what is actually left of the budget
+ * (see {@link Properties#CTG_DYNAMIC_SCHEDULING}). This way, the time saved by jobs ending
+ * early is not lost, and dependent jobs can start as soon as the object pools of the
+ * jobs they depend on are written, without waiting for those jobs to be completed.
+ * 
  * @author arcuri
  *
  */
@@ -65,9 +75,24 @@ public class JobExecutor {
 
 	private static Logger logger = LoggerFactory.getLogger(JobExecutor.class);
 
+	/**
+	 * Extension of the object pool files written by the jobs
+	 */
+	public static final String POOL_EXTENSION = ".pool";
+
 	private volatile boolean executing;
 	private long startTimeInMs;
 
+	/**
+	 * Number of cores used in the current execution
+	 */
+	private volatile int cores;
+
+	/**
+	 * A permit is released each time a handler is free to execute a new job
+	 */
+	private Semaphore idleHandlers;
+
 	/**
 	 * This used to wait till all jobs are finished running
 	 */
@@ -87,6 +112,18 @@ public class JobExecutor {
 	 */
 	private Map<String,JobDefinition> finishedJobs; 
 
+	/**
+	 * The jobs currently given to the handlers, indexed by CUT name
+	 */
+	private Map<String,RunningJob> runningJobs;
+
+	/**
+	 * Sum of the time each job has been running, to compute the core utilisation
+	 */
+	private AtomicLong busyTimeInMs;
+
+	private volatile double coreUtilisation;
+
 	protected final CtgConfiguration configuration;
 	
 	private String projectClassPath;
@@ -131,7 +168,7 @@ public class JobExecutor {
 
 		logger.info("Going to execute "+jobs.size()+" jobs");
 		
-		initExecution(jobs);
+		initExecution(jobs, cores);
 		
 		Thread mainThread = new Thread(){
 			@Override
@@ -178,6 +215,8 @@ public class JobExecutor {
 					for(JobHandler handler : handlers){
 						handler.stopExecution();
 					}
+
+					reportCoreUtilisation();
 					
 					executing = false;
 				}
@@ -187,97 +226,74 @@ public class JobExecutor {
 	}
 
 	protected void initExecution(final List<JobDefinition> jobs) {
+		initExecution(jobs, configuration.getNumberOfUsableCores());
+	}
+
+	protected void initExecution(final List<JobDefinition> jobs, int cores) {
 		executing = true;
 		startTimeInMs = System.currentTimeMillis(); 		
 		latch = new CountDownLatch(jobs.size());
+		this.cores = cores;
 		
 		/*
 		 * there is a good reason to have a blocking queue of size 1.
 		 * we want to put jobs on the queue only when we know there is going
-		 * to be a handler that can pull it.
+		 * to be a handler that can pull it (ie, when there is a permit in idleHandlers).
 		 * this helps the scheduler, as we can wait longer before making the decision
 		 * of what job to schedule next
 		 */
 		jobQueue = new ArrayBlockingQueue<>(1);
+		idleHandlers = new Semaphore(0);
 		finishedJobs = new ConcurrentHashMap<>();
+		runningJobs = new ConcurrentHashMap<>();
+		busyTimeInMs = new AtomicLong(0);
+		coreUtilisation = 0;
 	}
 
 	protected long execute(List<JobDefinition> jobs){
 		
 		long longestJob = -1l;
 		
-		//TODO handle memory
-		Queue<JobDefinition> toExecute = new LinkedList<>();
-		toExecute.addAll(jobs);
-		
-		List<JobDefinition> postponed = new LinkedList<>();
-		
-		mainLoop: while(!toExecute.isEmpty() || !postponed.isEmpty()){
+		List<JobDefinition> pending = new LinkedList<>(jobs);
+
+		mainLoop: while(!pending.isEmpty()){
 
 			long remaining = getRemainingTimeInMs();
 			if(remaining <= 0){
 				//time is over. do not submit any more job
 				break mainLoop;
 			} 
-			
-			JobDefinition chosenJob = null;
-
-			//postponed jobs have the priority
-			if(!postponed.isEmpty()){
-				Iterator<JobDefinition> iterator = postponed.iterator();
-				postponedLoop : while(iterator.hasNext()){
-					JobDefinition job = iterator.next();
-					if(job.areDependenciesSatisfied(jobs,finishedJobs.keySet())){
-						chosenJob = job;							
-						iterator.remove();
-						break postponedLoop;
-					}
+
+			/*
+			 * wait for a free core before choosing the job: the later the decision,
+			 * the more information we have on what is left of the budget and
+			 * on which dependencies are available
+			 */
+			try {
+				if(!idleHandlers.tryAcquire(remaining, TimeUnit.MILLISECONDS)){
+					break mainLoop;
 				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt(); //important for check later
+				break mainLoop;
 			}
 
-			if(chosenJob == null && toExecute.isEmpty()){
-				assert !postponed.isEmpty();
-				/*
-				 * tricky case: the are no more jobs in the queue, and there are
-				 * jobs that have been postponed. But, at the moment, we shouldn't 
-				 * execute them due to missing dependencies.
-				 * 
-				 * As the dependencies are just "optimizations" (eg, seeding), it is not
-				 * wrong to execute any of those postponed jobs.
-				 * There might be useful heuristics to pick up one in a smart way but,
-				 * for now, we just choose the first (and so oldest)
-				 */
-				chosenJob = postponed.remove((int) 0); //it is important to get the oldest jobs
+			remaining = getRemainingTimeInMs();
+			if(remaining < 1000){
+				//time got over while waiting for a free core
+				break mainLoop;
 			}
 
-			if(chosenJob == null){
-				assert !toExecute.isEmpty();
+			JobDefinition chosenJob = chooseJob(jobs, pending);
+			pending.remove(chosenJob);
 
-				toExecuteLoop : while(!toExecute.isEmpty()){
-					JobDefinition job = toExecute.poll();
-					if(job.areDependenciesSatisfied(jobs,finishedJobs.keySet())){
-						chosenJob = job;
-						break toExecuteLoop;
-					}  else {
-						postponed.add(job);
-					}
-				}
-
-				if(chosenJob == null){
-					/*
-					 * yet another tricky situation: we started with a list of jobs to execute,
-					 * and none in the postponed list; but we cannot execute any of those
-					 * jobs (this could happen if they all depend on jobs that are currently running).
-					 * We should hence just choose one of them. Easiest thing, and most clean,
-					 * to do is just to go back to beginning of the loop
-					 */
-					assert !postponed.isEmpty() && toExecute.isEmpty();
-					continue mainLoop;
-				}
+			if(Properties.CTG_DYNAMIC_SCHEDULING){
+				chosenJob = rebalance(chosenJob, pending);
 			}
 
 			assert chosenJob != null;
 			longestJob = Math.max(longestJob, chosenJob.seconds * 1000);
+			runningJobs.put(chosenJob.cut, new RunningJob(chosenJob));
 			
 			try {
 				jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS); 
@@ -289,19 +305,176 @@ public class JobExecutor {
 		
 		return longestJob;
 	}
-	
 
-	
+	/**
+	 * Choose the oldest pending job whose dependencies are available.
+	 * 
+	 * <p>
+	 * If there is none, we still choose the oldest pending job, as leaving
+	 * a core idle is worse: the dependencies are just "optimizations" (eg, seeding),
+	 * so it is not wrong to execute a job before them.
+	 * There might be useful heuristics to pick up one in a smart way but,
+	 * for now, we just choose the first (and so oldest)
+	 * 
+	 * @param jobs the whole schedule
+	 * @param pending the jobs not started yet, in schedule order
+	 * @return
+	 */
+	private JobDefinition chooseJob(List<JobDefinition> jobs, List<JobDefinition> pending){
+
+		Set<String> available = getAvailableDependencies();
+
+		for(JobDefinition job : pending){
+			if(job.areDependenciesSatisfied(jobs, available)){
+				return job;
+			}
+		}
+
+		return pending.get(0);
+	}
+
+	/**
+	 * A dependency is available once its job is completed, or once the job
+	 * has written its object pool, which happens right after the search and
+	 * so possibly long before the job ends (minimization, assertions, etc.)
+	 * 
+	 * @return the CUT names whose output can be used by dependent jobs
+	 */
+	private Set<String> getAvailableDependencies(){
+		Set<String> available = new HashSet<>(finishedJobs.keySet());
+		for(String cut : runningJobs.keySet()){
+			File pool = getPoolFile(cut);
+			if(pool != null && pool.exists()){
+				available.add(cut);
+			}
+		}
+		return available;
+	}
+
+	/**
+	 * Adapt the budget of the given job, which is going to be started now.
+	 * 
+	 * <p>
+	 * Time: the core-seconds left (ie, remaining time on each core, minus the
+	 * expected remaining time of the running jobs) are divided among the job and the
+	 * pending ones, proportionally to their scheduled budget. So, if jobs end earlier
+	 * than expected, the saved time is given to the jobs still to start, and, if they
+	 * last longer, the pending ones are shrunk to still fit in the overall budget.
+	 * 
+	 * <p>
+	 * In any case, a job never gets more time than what is left of the overall budget,
+	 * even if this is less than the minimum time per job.
+	 * 
+	 * <p>
+	 * Memory: the memory not used by the running jobs is divided among the jobs that
+	 * can start now. This only makes a difference toward the end of the execution, when
+	 * there are less pending jobs than free cores.
+	 * 
+	 * @param job
+	 * @param pending the jobs still to start after this one
+	 * @return
+	 */
+	protected JobDefinition rebalance(JobDefinition job, List<JobDefinition> pending){
+
+		long now = System.currentTimeMillis();
+		long remainingInSeconds = getRemainingTimeInMs() / 1000;
+
+		double runningSeconds = 0;
+		int runningMemory = 0;
+		for(RunningJob running : runningJobs.values()){
+			long end = running.startTimeInMs + running.job.seconds * 1000l;
+			runningSeconds += Math.max(0, end - now) / 1000d;
+			runningMemory += running.job.memoryInMB;
+		}
+
+		double pendingSeconds = job.seconds;
+		for(JobDefinition other : pending){
+			pendingSeconds += other.seconds;
+		}
+
+		int seconds = job.seconds;
+		double capacity = cores * (double) remainingInSeconds - runningSeconds;
+		if(capacity > 0 && pendingSeconds > 0){
+			//a job cannot use more than one core
+			seconds = (int) Math.min(remainingInSeconds, Math.round(job.seconds * capacity / pendingSeconds));
+		}
+		seconds = Math.max(seconds, 60 * configuration.minMinutesPerJob);
+		//not even the minimum can go beyond the overall budget
+		seconds = (int) Math.min(seconds, remainingInSeconds);
+
+		int freeCores = Math.max(1, cores - runningJobs.size());
+		int startingJobs = Math.min(freeCores, pending.size() + 1);
+		int freeMemory = configuration.totalMemoryInMB - runningMemory;
+		int memory = Math.max(job.memoryInMB, freeMemory / startingJobs);
+
+		if(seconds == job.seconds && memory == job.memoryInMB){
+			return job;
+		}
+
+		logger.debug("Re-balancing job for " + job.cut + ": from " + job.seconds + "s/" + job.memoryInMB
+				+ "MB to " + seconds + "s/" + memory + "MB");
+
+		return job.getByChangingResources(seconds, memory);
+	}
 
 	public JobDefinition pollJob() throws InterruptedException{
+		idleHandlers.release();
 		return jobQueue.take();
 	}
 	
 	public void doneWithJob(JobDefinition job){
+		RunningJob running = runningJobs.remove(job.cut);
+		if(running != null){
+			busyTimeInMs.addAndGet(System.currentTimeMillis() - running.startTimeInMs);
+		}
 		finishedJobs.put(job.cut, job);
 		latch.countDown();
 		LoggingUtils.getEvoLogger().info("Completed job. Left: "+latch.getCount());
 	}
+
+	/**
+	 * Compute and log how much of the available cores was used by jobs
+	 * since the start of the execution. Jobs still running are counted
+	 * till now.
+	 */
+	private void reportCoreUtilisation(){
+		long now = System.currentTimeMillis();
+		long elapsed = now - startTimeInMs;
+		if(elapsed <= 0 || cores <= 0){
+			return;
+		}
+
+		long busy = busyTimeInMs.get();
+		for(RunningJob running : runningJobs.values()){
+			busy += now - running.startTimeInMs;
+		}
+
+		coreUtilisation = Math.min(1d, busy / (elapsed * (double) cores));
+		LoggingUtils.getEvoLogger().info(String.format("Core utilisation: %.1f%% of %d cores in %d seconds",
+				coreUtilisation * 100, cores, elapsed / 1000));
+	}
+
+	/**
+	 * 
+	 * @return the ratio in [0,1] of core time used by the jobs in the latest execution
+	 */
+	public double getCoreUtilisation() {
+		return coreUtilisation;
+	}
+
+	/**
+	 * 
+	 * @param cut
+	 * @return the file where the job for the given CUT writes its object pool,
+	 * 	or <code>null</code> if the tmp folders are not initialized
+	 */
+	public File getPoolFile(String cut){
+		File poolFolder = storage.getTmpPools();
+		if(poolFolder == null){
+			return null;
+		}
+		return new File(poolFolder, cut + POOL_EXTENSION);
+	}
 	
 	public void waitForJobs() {
 		/*
@@ -333,4 +506,16 @@ public class JobExecutor {
 	public StorageManager getStorage() {
 		return storage;
 	}
+
+	private static class RunningJob {
+
+		private final JobDefinition job;
+
+		private final long startTimeInMs;
+
+		public RunningJob(JobDefinition job) {
+			this.job = job;
+			this.startTimeInMs = System.currentTimeMillis();
+		}
+	}
 }
@@ -330,6 +330,7 @@ public class JobHandler extends Thread {
 		String seedsFileName = job.cut + "." + Properties.CTG_SEEDS_EXT;
 		commands.add("-Dctg_seeds_file_out=" + seedOut.getAbsolutePath() + File.separator +seedsFileName);
 		commands.add("-Dctg_seeds_file_in=" + seedIn.getAbsolutePath() + File.separator +seedsFileName);
+		commands.add("-Dclasspath_index_dir=" + StorageManager.getClasspathIndexFolder().getAbsolutePath());
 
 		commands.addAll(getOutputVariables());
 		commands.add("-Danalysis_criteria=" + Properties.ANALYSIS_CRITERIA);
@@ -393,12 +394,8 @@ public class JobHandler extends Thread {
 	private List<String> getPoolInfo(JobDefinition job) {
 
 		List<String> commands = new ArrayList<String>();
-		StorageManager storage = executor.getStorage();
-		File poolFolder = storage.getTmpPools();
 
-		String extension = ".pool";
-		commands.add("-Dwrite_pool=" + poolFolder.getAbsolutePath() + File.separator + job.cut
-		        + extension);
+		commands.add("-Dwrite_pool=" + executor.getPoolFile(job.cut).getAbsolutePath());
 
 		if (job.inputClasses != null && job.inputClasses.size() > 0) {
 
@@ -412,11 +409,10 @@ public class JobHandler extends Thread {
 			commands.add("-Dp_object_pool=" + poolP);
 			String cmd = "-Dobject_pools=";
 			
-			cmd += poolFolder.getAbsolutePath() + File.separator + dep[0] + extension;
+			cmd += executor.getPoolFile(dep[0]).getAbsolutePath();
 
 			for (int i = 1; i < dep.length; i++) {
-				cmd += File.pathSeparator + poolFolder.getAbsolutePath() + File.separator
-				        + dep[i] + extension;
+				cmd += File.pathSeparator + executor.getPoolFile(dep[i]).getAbsolutePath();
 			}
 			commands.add(cmd);
 		}
@@ -500,20 +496,19 @@ public class JobHandler extends Thread {
 
 	private List<String> timeSetUp(int seconds) {
 
-		//do we have enough time for this job?
-		int remaining = (int) executor.getRemainingTimeInMs() / 1000;
-
-		if (seconds > remaining) {
-			seconds = remaining;
-		}
-
 		int minSecondsPerJob = 60 * executor.configuration.minMinutesPerJob;
 
 		if (seconds < minSecondsPerJob) {
-			//even if we do not have enough time, we go for the minimum
 			seconds = minSecondsPerJob;
 		}
 
+		//do we have enough time for this job? if not, not even the minimum is given
+		int remaining = (int) executor.getRemainingTimeInMs() / 1000;
+
+		if (seconds > remaining) {
+			seconds = remaining;
+		}
+
 		/*
 		 * We have at least 4 phases:
 		 * - init (eg dependency analysis)
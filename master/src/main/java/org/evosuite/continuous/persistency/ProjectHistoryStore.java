@@ -0,0 +1,812 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.persistency;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.evosuite.xsd.CUT;
+import org.evosuite.xsd.Coverage;
+import org.evosuite.xsd.Failure;
+import org.evosuite.xsd.FailureSeverity;
+import org.evosuite.xsd.Generation;
+import org.evosuite.xsd.Project;
+import org.evosuite.xsd.TestSuite;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only store of the CTG history of a project.
+ * 
+ * <p>
+ * Instead of one XML file that is parsed and rewritten as a whole on each CTG
+ * run, every change is a record appended to a log: the generations of each
+ * CUT, removed CUTs, and the number of testable classes. When opening the
+ * store, the log is scanned once to index, for each CUT, where its
+ * generations are, without keeping them in memory. A {@link CUT} is only
+ * read back from the log when it is looked up.
+ * 
+ * <p>
+ * Changes are buffered until {@link #commit()}, which appends them with a
+ * single write. Each record has a length and a checksum, so that a record
+ * only partially written (e.g., the process was killed during a commit) is
+ * detected and discarded the next time the store is opened.
+ * 
+ * <p>
+ * Removed CUTs and old numbers of testable classes stay in the log as dead
+ * records. Once they take more than half of the log, {@link #commit()}
+ * rewrites it with only the live records, see {@link #compact()}.
+ * 
+ * <p>
+ * The content of the store can be converted from and to the {@link Project}
+ * of the XML format, see {@link #importProject(Project)} and
+ * {@link #exportProject()}.
+ * 
+ * <p>
+ * This class is not thread-safe.
+ */
+public class ProjectHistoryStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProjectHistoryStore.class);
+
+	private static final byte TOTAL_NUMBER_OF_TESTABLE_CLASSES = 1;
+
+	private static final byte GENERATION = 2;
+
+	private static final byte REMOVED_CUT = 3;
+
+	/** Length and checksum */
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	/**
+	 * Below this amount of dead records, the log is not compacted automatically
+	 */
+	static final long MIN_DEAD_BYTES_FOR_COMPACTION = 64 * 1024;
+
+	/**
+	 * Where the records of a CUT are in the log
+	 */
+	private static class CUTIndex {
+		private final String fullNameOfTestSuite;
+		private final List<Long> generationOffsets = new ArrayList<>();
+		/** Size in bytes of all the generation records */
+		private long size;
+
+		private CUTIndex(String fullNameOfTestSuite) {
+			this.fullNameOfTestSuite = fullNameOfTestSuite;
+		}
+	}
+
+	private final File file;
+
+	/** Committed length of the log */
+	private long length;
+
+	/** Bytes in the log taken by records that are not needed any more */
+	private long deadBytes;
+
+	private BigInteger totalNumberOfTestableClasses = BigInteger.ZERO;
+
+	/** Where the current number of testable classes is, -1 if none */
+	private long totalNumberOfTestableClassesOffset = -1;
+
+	private long totalNumberOfTestableClassesSize;
+
+	private final Map<String, CUTIndex> index = new LinkedHashMap<>();
+
+	/** Records not committed yet, they start at offset {@link #length} */
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+	/**
+	 * Generations that are not committed yet can only be read from here
+	 */
+	private final Map<Long, Generation> pendingGenerations = new LinkedHashMap<>();
+
+	private ProjectHistoryStore(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Open the store in the given file, which is created on the first commit if
+	 * it does not exist yet
+	 * 
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	public static ProjectHistoryStore open(File file) throws IOException {
+		ProjectHistoryStore store = new ProjectHistoryStore(file);
+		if (file.exists()) {
+			store.scan();
+		}
+		return store;
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public boolean isEmpty() {
+		return length == 0 && pending.size() == 0;
+	}
+
+	/**
+	 * @return the bytes in the log taken by removed CUTs and old numbers of
+	 *         testable classes
+	 */
+	public long getDeadBytes() {
+		return deadBytes;
+	}
+
+	public int getTotalNumberOfTestableClasses() {
+		return totalNumberOfTestableClasses.intValue();
+	}
+
+	public void setTotalNumberOfTestableClasses(BigInteger total) {
+		if (total.equals(totalNumberOfTestableClasses)) {
+			return;
+		}
+		totalNumberOfTestableClasses = total;
+		long offset = append(TOTAL_NUMBER_OF_TESTABLE_CLASSES, out -> writeBigInteger(out, total));
+		setTotalNumberOfTestableClassesRecord(offset, endOfLog() - offset);
+	}
+
+	private void setTotalNumberOfTestableClassesRecord(long offset, long size) {
+		if (totalNumberOfTestableClassesOffset >= 0) {
+			deadBytes += totalNumberOfTestableClassesSize;
+		}
+		totalNumberOfTestableClassesOffset = offset;
+		totalNumberOfTestableClassesSize = size;
+	}
+
+	/**
+	 * @return the names of all the CUTs in the store, in the order they were
+	 *         added
+	 */
+	public Set<String> getClassNames() {
+		return Collections.unmodifiableSet(index.keySet());
+	}
+
+	public boolean containsClass(String className) {
+		return index.containsKey(className);
+	}
+
+	public int getNumberOfGenerations(String className) {
+		CUTIndex cut = index.get(className);
+		return cut == null ? 0 : cut.generationOffsets.size();
+	}
+
+	/**
+	 * Read the CUT with all its generations from the store
+	 * 
+	 * @param className
+	 * @return {@code null} if there is no CUT with that name
+	 * @throws IOException
+	 */
+	public CUT getCUT(String className) throws IOException {
+		CUTIndex cutIndex = index.get(className);
+		if (cutIndex == null) {
+			return null;
+		}
+
+		CUT cut = new CUT();
+		cut.setFullNameOfTargetClass(className);
+		cut.setFullNameOfTestSuite(cutIndex.fullNameOfTestSuite);
+
+		RandomAccessFile raf = null;
+		try {
+			for (long offset : cutIndex.generationOffsets) {
+				if (offset < length && raf == null) {
+					raf = new RandomAccessFile(file, "r");
+				}
+				cut.getGeneration().add(readGeneration(raf, offset));
+			}
+		} finally {
+			if (raf != null) {
+				raf.close();
+			}
+		}
+		return cut;
+	}
+
+	/**
+	 * Read the generations of the CUT backwards, only till the latest
+	 * successful one. Same semantics as
+	 * {@link org.evosuite.xsd.CUTUtil#getLatestSuccessfulGeneration(CUT)}.
+	 * 
+	 * @param className
+	 * @return {@code null} if there is no such generation
+	 * @throws IOException
+	 */
+	public Generation getLatestSuccessfulGeneration(String className) throws IOException {
+		CUTIndex cutIndex = index.get(className);
+		if (cutIndex == null) {
+			return null;
+		}
+		try (RandomAccessFile raf = openLog()) {
+			return readLatestSuccessfulGeneration(raf, cutIndex, cutIndex.generationOffsets.size() - 1, null);
+		}
+	}
+
+	/**
+	 * @param className
+	 * @return {@code null} if there is no CUT with that name
+	 */
+	public String getFullNameOfTestSuite(String className) {
+		CUTIndex cut = index.get(className);
+		return cut == null ? null : cut.fullNameOfTestSuite;
+	}
+
+	/**
+	 * @param latest
+	 *            the generation at position {@code from}, if already read
+	 */
+	private Generation readLatestSuccessfulGeneration(RandomAccessFile raf, CUTIndex cutIndex, int from,
+			Generation latest) throws IOException {
+		for (int i = from; i >= 0; i--) {
+			Generation generation = (i == from && latest != null) ? latest
+					: readGeneration(raf, cutIndex.generationOffsets.get(i));
+			if (generation.isFailed() && generation.isModified()) {
+				// the class has been modified and the generation failed,
+				// so the previous test suites are out of date
+				return null;
+			}
+			if (!generation.isFailed() && generation.getSuite() != null) {
+				return generation;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return {@code null} if nothing is committed yet
+	 */
+	private RandomAccessFile openLog() throws IOException {
+		return length > 0 ? new RandomAccessFile(file, "r") : null;
+	}
+
+	/**
+	 * Add a new generation to the given CUT. The name of the test suite is only
+	 * used if this is the first generation of the CUT.
+	 * 
+	 * <p>
+	 * The generation must not be modified afterwards.
+	 * 
+	 * @param className
+	 * @param fullNameOfTestSuite
+	 * @param generation
+	 */
+	public void addGeneration(String className, String fullNameOfTestSuite, Generation generation) {
+		CUTIndex cut = index.get(className);
+		if (cut == null) {
+			cut = new CUTIndex(fullNameOfTestSuite);
+			index.put(className, cut);
+		}
+		String testSuite = cut.fullNameOfTestSuite;
+		long offset = append(GENERATION, out -> {
+			writeString(out, className);
+			writeString(out, testSuite);
+			writeGeneration(out, generation);
+		});
+		cut.generationOffsets.add(offset);
+		cut.size += endOfLog() - offset;
+		pendingGenerations.put(offset, generation);
+	}
+
+	/**
+	 * Remove the CUT and all its generations
+	 * 
+	 * @param className
+	 * @return the name of the test suite of the removed CUT, or {@code null}
+	 *         if there is no CUT with that name
+	 */
+	public String removeCUT(String className) {
+		CUTIndex cut = index.remove(className);
+		if (cut == null) {
+			return null;
+		}
+		long offset = append(REMOVED_CUT, out -> writeString(out, className));
+		deadBytes += cut.size + endOfLog() - offset;
+		return cut.fullNameOfTestSuite;
+	}
+
+	/**
+	 * Write all changes done since the last commit to disk. If dead records
+	 * take more than half of the log, the log is compacted as well.
+	 * 
+	 * @throws IOException
+	 */
+	public void commit() throws IOException {
+		if (pending.size() == 0) {
+			return;
+		}
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		try (FileOutputStream out = new FileOutputStream(file, true)) {
+			pending.writeTo(out);
+			out.getFD().sync();
+		}
+		length += pending.size();
+		pending.reset();
+		pendingGenerations.clear();
+
+		if (deadBytes >= MIN_DEAD_BYTES_FOR_COMPACTION && deadBytes * 2 > length) {
+			compact();
+		}
+	}
+
+	/**
+	 * Rewrite the log with only its live records, i.e., without removed CUTs
+	 * and old numbers of testable classes. Pending changes are committed
+	 * first. The new log is written to a temporary file, which then replaces
+	 * the current one, so a crash in between leaves the old log untouched.
+	 * 
+	 * @throws IOException
+	 */
+	public void compact() throws IOException {
+		commit();
+		if (deadBytes == 0) {
+			return;
+		}
+
+		File tmp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+		long newTotalOffset;
+		long newTotalSize;
+		List<List<Long>> newGenerationOffsets = new ArrayList<>();
+		long newLength = 0;
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+				FileOutputStream fos = new FileOutputStream(tmp)) {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos));
+			/*
+			 * Always keep a record of the number of testable classes, so that
+			 * the log is not empty even if all CUTs were removed. Otherwise,
+			 * it would be initialized again from the XML file, if any.
+			 */
+			newTotalOffset = newLength;
+			if (totalNumberOfTestableClassesOffset >= 0) {
+				newTotalSize = copyRecord(raf, totalNumberOfTestableClassesOffset, out);
+			} else {
+				BigInteger total = totalNumberOfTestableClasses;
+				byte[] record = record(TOTAL_NUMBER_OF_TESTABLE_CLASSES, o -> writeBigInteger(o, total));
+				out.write(record);
+				newTotalSize = record.length;
+			}
+			newLength += newTotalSize;
+			for (CUTIndex cut : index.values()) {
+				List<Long> offsets = new ArrayList<>();
+				for (long offset : cut.generationOffsets) {
+					offsets.add(newLength);
+					newLength += copyRecord(raf, offset, out);
+				}
+				newGenerationOffsets.add(offsets);
+			}
+			out.flush();
+			fos.getFD().sync();
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+
+		logger.info("Compacted the CTG history in " + file + " from " + length + " to " + newLength + " bytes");
+
+		totalNumberOfTestableClassesOffset = newTotalOffset;
+		totalNumberOfTestableClassesSize = newTotalSize;
+		int i = 0;
+		for (CUTIndex cut : index.values()) {
+			cut.generationOffsets.clear();
+			cut.generationOffsets.addAll(newGenerationOffsets.get(i++));
+		}
+		length = newLength;
+		deadBytes = 0;
+	}
+
+	/**
+	 * Append the content of the given project, e.g., from an existing XML file
+	 * 
+	 * @param project
+	 */
+	public void importProject(Project project) {
+		if (project.getTotalNumberOfTestableClasses() != null) {
+			setTotalNumberOfTestableClasses(project.getTotalNumberOfTestableClasses());
+		}
+		for (CUT cut : project.getCut()) {
+			for (Generation generation : cut.getGeneration()) {
+				addGeneration(cut.getFullNameOfTargetClass(), cut.getFullNameOfTestSuite(), generation);
+			}
+		}
+	}
+
+	/**
+	 * Read the whole content of the store, e.g., to write it as XML file
+	 * 
+	 * @return
+	 * @throws IOException
+	 */
+	public Project exportProject() throws IOException {
+		Project project = new Project();
+		project.setTotalNumberOfTestableClasses(totalNumberOfTestableClasses);
+		for (String className : index.keySet()) {
+			project.getCut().add(getCUT(className));
+		}
+		return project;
+	}
+
+	/**
+	 * Read only the latest generation of each CUT and, if it is not the same,
+	 * its latest successful one. This is enough for a report of the project
+	 * (e.g., its overall coverage, or the Jenkins plugin) without going through
+	 * the whole history, as both {@link org.evosuite.xsd.CUTUtil#getLatestGeneration(CUT)}
+	 * and {@link org.evosuite.xsd.CUTUtil#getLatestSuccessfulGeneration(CUT)}
+	 * give the same result as on the whole history.
+	 * 
+	 * @return
+	 * @throws IOException
+	 */
+	public Project exportLatestGenerations() throws IOException {
+		Project project = new Project();
+		project.setTotalNumberOfTestableClasses(totalNumberOfTestableClasses);
+		try (RandomAccessFile raf = openLog()) {
+			for (Map.Entry<String, CUTIndex> entry : index.entrySet()) {
+				CUTIndex cutIndex = entry.getValue();
+				int last = cutIndex.generationOffsets.size() - 1;
+				Generation latest = readGeneration(raf, cutIndex.generationOffsets.get(last));
+				Generation latestSuccessful = readLatestSuccessfulGeneration(raf, cutIndex, last, latest);
+
+				CUT cut = new CUT();
+				cut.setFullNameOfTargetClass(entry.getKey());
+				cut.setFullNameOfTestSuite(cutIndex.fullNameOfTestSuite);
+				if (latestSuccessful != null && latestSuccessful != latest) {
+					cut.getGeneration().add(latestSuccessful);
+				}
+				cut.getGeneration().add(latest);
+				project.getCut().add(cut);
+			}
+		}
+		return project;
+	}
+
+	// -------- log format ------------------------
+
+	private interface RecordWriter {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	/**
+	 * @return offset of the new record
+	 */
+	private long append(byte type, RecordWriter writer) {
+		long offset = endOfLog();
+		byte[] record = record(type, writer);
+		pending.write(record, 0, record.length);
+		return offset;
+	}
+
+	/**
+	 * @return the record with its header
+	 */
+	private static byte[] record(byte type, RecordWriter writer) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeByte(type);
+			writer.write(out);
+			out.flush();
+			byte[] payload = bytes.toByteArray();
+			CRC32 crc = new CRC32();
+			crc.update(payload);
+
+			bytes.reset();
+			out.writeInt(payload.length);
+			out.writeInt((int) crc.getValue());
+			out.write(payload);
+			out.flush();
+		} catch (IOException e) {
+			// cannot happen when writing to memory
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @return offset of the next record, including the pending ones
+	 */
+	private long endOfLog() {
+		return length + pending.size();
+	}
+
+	/**
+	 * A complete record whose checksum does not match its content
+	 */
+	private static class CorruptedRecordException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		/** Size of the record, header included */
+		private final long recordSize;
+
+		private CorruptedRecordException(String message, long recordSize) {
+			super(message);
+			this.recordSize = recordSize;
+		}
+	}
+
+	/**
+	 * Rebuild the index from the log. An incomplete or corrupted record at the
+	 * end of the log is cut off, as it was not completely written. A corrupted
+	 * record before the end is skipped, without losing the records after it,
+	 * and it is counted as dead so that compaction removes it.
+	 */
+	private void scan() throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			long fileLength = raf.length();
+			long offset = 0;
+			while (offset < fileLength) {
+				DataInputStream in;
+				try {
+					in = readRecord(raf, offset);
+				} catch (CorruptedRecordException e) {
+					if (offset + e.recordSize < fileLength) {
+						logger.error("Skipping a corrupted record of the CTG history in " + file + ": " + e.getMessage());
+						deadBytes += e.recordSize;
+						offset += e.recordSize;
+						continue;
+					}
+					logger.warn("Discarding the incomplete end of the CTG history in " + file + ": " + e.getMessage());
+					raf.setLength(offset);
+					break;
+				} catch (EOFException e) {
+					logger.warn("Discarding the incomplete end of the CTG history in " + file + ": " + e.getMessage());
+					raf.setLength(offset);
+					break;
+				}
+				long recordSize = RECORD_HEADER_SIZE + in.available();
+				applyRecord(in, offset, recordSize);
+				offset += recordSize;
+			}
+			length = offset;
+		}
+	}
+
+	private void applyRecord(DataInputStream in, long offset, long size) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case TOTAL_NUMBER_OF_TESTABLE_CLASSES:
+			totalNumberOfTestableClasses = readBigInteger(in);
+			setTotalNumberOfTestableClassesRecord(offset, size);
+			break;
+		case GENERATION: {
+			String className = readString(in);
+			String testSuite = readString(in);
+			CUTIndex cut = index.get(className);
+			if (cut == null) {
+				cut = new CUTIndex(testSuite);
+				index.put(className, cut);
+			}
+			cut.generationOffsets.add(offset);
+			cut.size += size;
+			break;
+		}
+		case REMOVED_CUT: {
+			CUTIndex cut = index.remove(readString(in));
+			deadBytes += size + (cut == null ? 0 : cut.size);
+			break;
+		}
+		default:
+			throw new IOException("Unknown record type " + type + " at offset " + offset + " of " + file);
+		}
+	}
+
+	/**
+	 * @return the payload of the record at the given offset
+	 * @throws EOFException
+	 *             if the record is incomplete
+	 * @throws CorruptedRecordException
+	 *             if its checksum does not match
+	 */
+	private DataInputStream readRecord(RandomAccessFile raf, long offset) throws IOException {
+		if (offset + RECORD_HEADER_SIZE > raf.length()) {
+			throw new EOFException("Incomplete record header at offset " + offset);
+		}
+		raf.seek(offset);
+		int recordLength = raf.readInt();
+		int checksum = raf.readInt();
+		if (recordLength <= 0 || offset + RECORD_HEADER_SIZE + recordLength > raf.length()) {
+			throw new EOFException("Incomplete record at offset " + offset);
+		}
+		byte[] payload = new byte[recordLength];
+		raf.readFully(payload);
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		if ((int) crc.getValue() != checksum) {
+			throw new CorruptedRecordException("Wrong checksum of record at offset " + offset,
+					RECORD_HEADER_SIZE + recordLength);
+		}
+		return new DataInputStream(new ByteArrayInputStream(payload));
+	}
+
+	/**
+	 * @param raf
+	 *            only used if the generation is already committed
+	 */
+	private Generation readGeneration(RandomAccessFile raf, long offset) throws IOException {
+		if (offset >= length) {
+			return pendingGenerations.get(offset);
+		}
+		DataInputStream in = readRecord(raf, offset);
+		in.readByte(); // type
+		readString(in); // class name
+		readString(in); // test suite name
+		return readGeneration(in);
+	}
+
+	/**
+	 * Copy the record at the given offset as it is, header included
+	 * 
+	 * @return the size of the record
+	 */
+	private static long copyRecord(RandomAccessFile raf, long offset, DataOutputStream out) throws IOException {
+		raf.seek(offset);
+		int recordLength = raf.readInt();
+		byte[] record = new byte[RECORD_HEADER_SIZE + recordLength];
+		raf.seek(offset);
+		raf.readFully(record);
+		out.write(record);
+		return record.length;
+	}
+
+	private static void writeGeneration(DataOutputStream out, Generation generation) throws IOException {
+		writeBigInteger(out, generation.getId());
+		out.writeBoolean(generation.isFailed());
+		out.writeBoolean(generation.isModified());
+		writeBigInteger(out, generation.getTimeBudgetInSeconds());
+		writeBigInteger(out, generation.getMemoryInMB());
+		writeString(out, generation.getStdErrCLIENT());
+		writeString(out, generation.getStdOutCLIENT());
+		writeString(out, generation.getStdErrMASTER());
+		writeString(out, generation.getStdOutMASTER());
+
+		out.writeInt(generation.getFailure().size());
+		for (Failure failure : generation.getFailure()) {
+			writeBigInteger(out, failure.getLineInTest());
+			writeString(out, failure.getThrownExceptionClassName());
+			writeString(out, failure.getFailureSeverity() == null ? null : failure.getFailureSeverity().value());
+		}
+
+		TestSuite suite = generation.getSuite();
+		out.writeBoolean(suite != null);
+		if (suite != null) {
+			writeString(out, suite.getFullPathOfTestSuite());
+			writeBigInteger(out, suite.getNumberOfTests());
+			writeBigInteger(out, suite.getTotalNumberOfStatements());
+			writeBigInteger(out, suite.getTotalEffortInSeconds());
+			out.writeInt(suite.getCoverage().size());
+			for (Coverage coverage : suite.getCoverage()) {
+				writeString(out, coverage.getCriterion());
+				out.writeDouble(coverage.getCoverageValue());
+				writeString(out, coverage.getCoverageBitString());
+			}
+		}
+	}
+
+	private static Generation readGeneration(DataInputStream in) throws IOException {
+		Generation generation = new Generation();
+		generation.setId(readBigInteger(in));
+		generation.setFailed(in.readBoolean());
+		generation.setModified(in.readBoolean());
+		generation.setTimeBudgetInSeconds(readBigInteger(in));
+		generation.setMemoryInMB(readBigInteger(in));
+		generation.setStdErrCLIENT(readString(in));
+		generation.setStdOutCLIENT(readString(in));
+		generation.setStdErrMASTER(readString(in));
+		generation.setStdOutMASTER(readString(in));
+
+		int failures = in.readInt();
+		for (int i = 0; i < failures; i++) {
+			Failure failure = new Failure();
+			failure.setLineInTest(readBigInteger(in));
+			failure.setThrownExceptionClassName(readString(in));
+			String severity = readString(in);
+			failure.setFailureSeverity(severity == null ? null : FailureSeverity.fromValue(severity));
+			generation.getFailure().add(failure);
+		}
+
+		if (in.readBoolean()) {
+			TestSuite suite = new TestSuite();
+			suite.setFullPathOfTestSuite(readString(in));
+			suite.setNumberOfTests(readBigInteger(in));
+			suite.setTotalNumberOfStatements(readBigInteger(in));
+			suite.setTotalEffortInSeconds(readBigInteger(in));
+			int coverages = in.readInt();
+			for (int i = 0; i < coverages; i++) {
+				Coverage coverage = new Coverage();
+				coverage.setCriterion(readString(in));
+				coverage.setCoverageValue(in.readDouble());
+				coverage.setCoverageBitString(readString(in));
+				suite.getCoverage().add(coverage);
+			}
+			generation.setSuite(suite);
+		}
+		return generation;
+	}
+
+	/*
+	 * Unlike writeUTF, there is no limit on the length, as coverage bit strings
+	 * can be long
+	 */
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		if (size < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[size];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeBigInteger(DataOutputStream out, BigInteger value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.toByteArray();
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static BigInteger readBigInteger(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		if (size < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[size];
+		in.readFully(bytes);
+		return new BigInteger(bytes);
+	}
+}
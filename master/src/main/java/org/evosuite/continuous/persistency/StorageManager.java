@@ -43,16 +43,12 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.evosuite.Properties;
 import org.evosuite.continuous.project.ProjectStaticData;
-import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.FileIOUtils;
 import org.evosuite.utils.LoggingUtils;
-import org.evosuite.xsd.CUT;
-import org.evosuite.xsd.CUTUtil;
 import org.evosuite.xsd.Coverage;
 import org.evosuite.xsd.Generation;
 import org.evosuite.xsd.GenerationUtil;
 import org.evosuite.xsd.Project;
-import org.evosuite.xsd.ProjectUtil;
 import org.evosuite.xsd.TestSuite;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,6 +77,11 @@ public class StorageManager {
 
 	private DecimalFormat df = null;
 
+	/**
+	 * Coverage of the existing test suites, read once per CTG run
+	 */
+	private ExistingCoverage existingCoverage = null;
+
 	public StorageManager() {
 		this.isStorageOk = this.openForWriting();
 		this.df = (DecimalFormat) NumberFormat.getNumberInstance(Locale.ENGLISH);
@@ -157,6 +158,10 @@ public class StorageManager {
 		return new File(new File(Properties.CTG_DIR),"evosuite-"+Properties.CTG_SEEDS_DIR_NAME);
 	}
 
+	public static File getClasspathIndexFolder(){
+		return new File(new File(Properties.CTG_DIR),Properties.CTG_CLASSPATH_INDEX_DIR_NAME);
+	}
+
 	/**
 	 * Create a new tmp folder for this CTG session
 	 * 
@@ -264,6 +269,59 @@ public class StorageManager {
 					;
 		}
 	}
+
+	/**
+	 * The rows of the statistics.csv file with the coverage of the
+	 * existing test suites, indexed by their values, so that the row of
+	 * a CUT does not have to be searched for each CUT
+	 */
+	private static class ExistingCoverage {
+		private final boolean exists;
+		private final List<String[]> rows;
+		private final Map<String, String[]> rowsByValue = new HashMap<>();
+
+		private ExistingCoverage(File file) {
+			exists = file.exists();
+			if (!exists) {
+				rows = null;
+				return;
+			}
+
+			List<String[]> content = null;
+			try {
+				CSVReader reader = new CSVReader(new FileReader(file));
+				content = reader.readAll();
+				reader.close();
+			} catch (IOException e) {
+				logger.error(e.getMessage());
+			}
+			rows = content;
+			if (rows == null) {
+				return;
+			}
+
+			for (String[] row : rows) {
+				for (String value : row) {
+					if (value != null) {
+						rowsByValue.putIfAbsent(value, row);
+					}
+				}
+			}
+		}
+
+		/**
+		 * @return the header followed by the first row that contains the CUT, if any
+		 */
+		private List<String[]> getRows(String cut) {
+			List<String[]> rowCUT = new ArrayList<String[]>();
+			rowCUT.add(rows.get(0)); // add header (i.e., column names)
+			String[] row = rowsByValue.get(cut);
+			if (row != null) {
+				rowCUT.add(row);
+			}
+			return rowCUT;
+		}
+	}
 	
 	/**
 	 * Compare the results of this CTG run with what was in
@@ -278,7 +336,8 @@ public class StorageManager {
 			throw new NullPointerException("ProjectStaticData 'current' cannot be null");
 		}
 		
-		Project db = StorageManager.getDatabaseProject();
+		ProjectHistoryStore db = StorageManager.getDatabase();
+		existingCoverage = null;
 		String info = "\n\n=== CTG run results ===\n";
 
 		info += removeNoMoreExistentData(db, current);
@@ -286,6 +345,11 @@ public class StorageManager {
 		List<TestsOnDisk> suites = gatherGeneratedTestsOnDisk();
 		info += "\nNew test suites: " + suites.size();
 
+		Map<String, TestsOnDisk> suitesByCUT = new LinkedHashMap<String, TestsOnDisk>();
+		for (TestsOnDisk suite : suites) {
+			suitesByCUT.putIfAbsent(suite.cut, suite);
+		}
+
 		// identify for which CUTs we failed to generate tests
 		Set<String> missingCUTs = new LinkedHashSet<String>();
 
@@ -297,7 +361,7 @@ public class StorageManager {
 		        continue ;
 		    }
 
-		    TestsOnDisk suite = suites.parallelStream().filter(s -> s.cut.equals(cut)).findFirst().orElse(null);
+		    TestsOnDisk suite = suitesByCUT.get(cut);
 		    if (suite == null && current.getClassInfo(cut).isToTest()) {
                 missingCUTs.add(cut);
             }
@@ -325,6 +389,7 @@ public class StorageManager {
 		}
 
 		commitDatabase(db);
+		existingCoverage = null;
 		return info;
 	}
 
@@ -382,17 +447,22 @@ public class StorageManager {
 			String testName = extractClassName(tmpTests,test);
 			
 			String cut = "";
-			for(String className : reports.keySet()){
-				/*
-				 * This is tricky. We cannot be 100% what is going to be appended to the
-				 * class name to form the test name, although the class name should still
-				 * be a prefix. We need to check for the longest prefix as to avoid cases like
-				 * 
-				 * org.Foo
-				 * org.Foo2
-				 */
-				if(testName.startsWith(className) && className.length() > cut.length()){
-					cut = className;
+			/*
+			 * This is tricky. We cannot be 100% what is going to be appended to the
+			 * class name to form the test name, although the class name should still
+			 * be a prefix. We need to check for the longest prefix as to avoid cases like
+			 * 
+			 * org.Foo
+			 * org.Foo2
+			 * 
+			 * Looking up the prefixes of the test name, starting from the longest, does
+			 * not depend on the number of CUTs
+			 */
+			for(int i = testName.length(); i > 0; i--){
+				String prefix = testName.substring(0, i);
+				if(reports.containsKey(prefix)){
+					cut = prefix;
+					break;
 				}
 			}
 			//String cut = testName.substring(0, testName.indexOf(junitSuffix)); //This does not work, eg cases like _N_suffix
@@ -447,7 +517,24 @@ public class StorageManager {
 	}
 	
 	
-	private void commitDatabase(Project db) {
+	private void commitDatabase(ProjectHistoryStore db) {
+
+		try {
+			db.commit();
+		} catch (IOException e) {
+			logger.error("Failed to write to database: "+e.getMessage(),e);
+		}
+
+		if (Properties.CTG_EXPORT_PROJECT_INFO) {
+			try {
+				writeProject(db.exportLatestGenerations(), getProjectInfoFile());
+			} catch (IOException e) {
+				logger.error("Failed to read database: "+e.getMessage(),e);
+			}
+		}
+	}
+
+	private static void writeProject(Project db, File current) {
 
 		StringWriter writer = null;
 		try{
@@ -464,7 +551,6 @@ public class StorageManager {
 		 * TODO: to be safe, we should first write to tmp file, delete original, and then
 		 * rename the tmp
 		 */
-		File current = getProjectInfoFile();
 		current.delete();
 		try {
 			FileUtils.write(current, writer.toString());
@@ -477,6 +563,10 @@ public class StorageManager {
 		return new File(Properties.CTG_DIR + File.separator + Properties.CTG_PROJECT_INFO);
 	}
 
+	private static File getProjectStoreFile(){
+		return new File(Properties.CTG_DIR + File.separator + Properties.CTG_PROJECT_STORE);
+	}
+
 	/**
 	 * Not only modify the state of <code>db</code>, but
 	 * also copy/replace new test cases on file disk
@@ -484,26 +574,15 @@ public class StorageManager {
 	 * @param ondisk
 	 * @param db
 	 */
-	private void updateDatabase(String targetClass, TestsOnDisk ondisk, Project db, ProjectStaticData current) {
+	private void updateDatabase(String targetClass, TestsOnDisk ondisk, ProjectHistoryStore db, ProjectStaticData current) {
 
   	    String testName = targetClass + Properties.JUNIT_SUFFIX; //extractClassName(tmpTests, ondisk.testSuite);
 
-		// CUT data
-
-		CUT cut = ProjectUtil.getCUT(db, targetClass);
-		if (cut == null) {
-		    // first generation
-			cut = new CUT();
-			cut.setFullNameOfTargetClass(targetClass);
-			cut.setFullNameOfTestSuite(testName);
-
-			db.getCut().add(cut);
-		}
-
-		// Generation data
+		// Generation data. Note: it is only added to the database once complete,
+		// and a CUT is created with its first generation
 
 		Generation generation = new Generation();
-		generation.setId(BigInteger.valueOf(cut.getGeneration().size()));
+		generation.setId(BigInteger.valueOf(db.getNumberOfGenerations(targetClass)));
 		generation.setFailed(false); // by default
 		generation.setModified(current.getClassInfo(targetClass).hasChanged());
 		generation.setTimeBudgetInSeconds(BigInteger.valueOf(current.getClassInfo(targetClass).getTimeBudgetInSeconds()));
@@ -514,7 +593,7 @@ public class StorageManager {
             // we still want to keep some information about it.
             // that information will be crucial to, for example,
             // determine how much time EvoSuite spent over all classes
-		    cut.getGeneration().add(generation);
+		    db.addGeneration(targetClass, testName, generation);
 		    return ; // we do not have more information, so return
         }
 
@@ -535,8 +614,6 @@ public class StorageManager {
 		generation.setStdErrMASTER(std_err_MASTER.getAbsolutePath());
 		generation.setStdOutMASTER(std_out_MASTER.getAbsolutePath());
 
-		cut.getGeneration().add(generation);
-
 		if (ondisk == null) {
 		    // EvoSuite failed to generate any test case for 'targetClass'.
 		    // was it supposed to happen?
@@ -551,6 +628,7 @@ public class StorageManager {
 	             */
 		    }
 
+		    db.addGeneration(targetClass, testName, generation);
 		    return;
 		}
 
@@ -562,6 +640,7 @@ public class StorageManager {
 		    // test suite (manually written or generated), we don't
 		    // accept the new test suite and we just keep information
 		    // about EvoSuite execution.
+		    db.addGeneration(targetClass, testName, generation);
 		    return;
 		}
 
@@ -585,6 +664,7 @@ public class StorageManager {
 
 		suite.getCoverage().addAll(coverageValues);
 		generation.setSuite(suite);
+		db.addGeneration(targetClass, testName, generation);
 
 		/*
 		 * So far we have modified only the content of db.
@@ -670,7 +750,7 @@ public class StorageManager {
 	 * @return true is the generated test suite is better (in terms of
 	 * coverage) than any existing test suite, false otherwise
 	 */
-	private boolean isBetterThanAnyExistingTestSuite(Project db, ProjectStaticData current, TestsOnDisk suite) {
+	private boolean isBetterThanAnyExistingTestSuite(ProjectHistoryStore db, ProjectStaticData current, TestsOnDisk suite) {
 
 		if (suite.csvData == null) {
 			// no data available
@@ -688,35 +768,24 @@ public class StorageManager {
 		// load evosuite-report/statistics.csv which contains
 		// the coverage of each existing test suite
 
-		String statistics = Properties.REPORT_DIR + File.separator + "statistics.csv";
-		File statistics_file = new File(statistics);
-		if (!statistics_file.exists()) {
+		if (existingCoverage == null) {
+			String statistics = Properties.REPORT_DIR + File.separator + "statistics.csv";
+			existingCoverage = new ExistingCoverage(new File(statistics));
+		}
+		if (!existingCoverage.exists) {
 			// this could happen if file was manually removed
 			// or if is a project without test cases. before giving
 		    // up, let's check if it's better than any previous generated
 		    // test suite
 		    return isBetterThanPreviousGeneration(db, current, suite);
 		}
-
-		List<String[]> rows = null;
-		try {
-			CSVReader reader = new CSVReader(new FileReader(statistics_file));
-			rows = reader.readAll();
-			reader.close();
-		} catch (IOException e) {
-			logger.error(e.getMessage());
+		if (existingCoverage.rows == null) {
+			// failed to read it
 			return true;
 		}
 
         // select the row of the Class Under Test
-        List<String[]> rowCUT = new ArrayList<String[]>();
-        rowCUT.add(rows.get(0)); // add header (i.e., column names)
-        for (String[] row : rows) {
-        	if (ArrayUtil.contains(row, suite.cut)) {
-        		rowCUT.add(row);
-        		break ;
-        	}
-        }
+        List<String[]> rowCUT = existingCoverage.getRows(suite.cut);
 
         if (rowCUT.size() == 1) {
         	// this could happen if the data of the Class Under
@@ -792,7 +861,7 @@ public class StorageManager {
 	 * @return true if the generated test suite is better (in terms of
 	 * coverage) than a previous generated test suite, false otherwise
 	 */
-	private boolean isBetterThanPreviousGeneration(Project db, ProjectStaticData current, TestsOnDisk suite) {
+	private boolean isBetterThanPreviousGeneration(ProjectHistoryStore db, ProjectStaticData current, TestsOnDisk suite) {
 
   	    if (suite.csvData == null) {
           // no data available
@@ -808,14 +877,23 @@ public class StorageManager {
             return true;
         }
 
-        CUT cut = ProjectUtil.getCUT(db, suite.cut);
-        Generation latestSuccessfulGeneration = CUTUtil.getLatestSuccessfulGeneration(cut);
+        if (!db.containsClass(suite.cut)) {
+            // first generation
+            return true;
+        }
+        Generation latestSuccessfulGeneration;
+        try {
+            latestSuccessfulGeneration = db.getLatestSuccessfulGeneration(suite.cut);
+        } catch (IOException e) {
+            logger.error("Failed to read database: " + e.getMessage(), e);
+            return true;
+        }
         if (latestSuccessfulGeneration == null) {
             return true;
         }
         TestSuite previousTestSuite = latestSuccessfulGeneration.getSuite();
 
-		File oldFile = getFileForTargetBestTest(cut.getFullNameOfTestSuite());
+		File oldFile = getFileForTargetBestTest(db.getFullNameOfTestSuite(suite.cut));
 		if (!oldFile.exists()) {
 			// this could happen if file was manually removed
 			return true;
@@ -890,17 +968,14 @@ public class StorageManager {
 	 * 
 	 * @param
 	 */
-	private String removeNoMoreExistentData(Project db,
+	private String removeNoMoreExistentData(ProjectHistoryStore db,
 			ProjectStaticData current) {
 
 		int removed = 0;
-		Iterator<CUT> iter = db.getCut().iterator();
-		while(iter.hasNext()){
-			CUT cut = iter.next();
-			String cutName = cut.getFullNameOfTargetClass();
+		for(String cutName : new ArrayList<String>(db.getClassNames())){
 			if(! current.containsClass(cutName)){
-				iter.remove();
-				removeBestTestSuite(cut.getFullNameOfTestSuite());		
+				String testName = db.removeCUT(cutName);
+				removeBestTestSuite(testName);		
 				removed++;
 			}
 			
@@ -934,12 +1009,110 @@ public class StorageManager {
 		return new File(getBestTestFolder() + File.separator + path);
 	}
 
+	/**
+	 * Open the database with the current representation of the test cases.
+	 * The first time, it is initialized with the content of the XML
+	 * project info file, if any.
+	 * 
+	 * @return
+	 */
+	public static ProjectHistoryStore getDatabase() {
+		File storeFile = getProjectStoreFile();
+		try {
+			ProjectHistoryStore store = ProjectHistoryStore.open(storeFile);
+			if (store.isEmpty() && getProjectInfoFile().exists()) {
+				store.importProject(readProjectInfo());
+				store.commit();
+			}
+			return store;
+		} catch (IOException e) {
+			String msg = "Error in reading "+storeFile.getAbsolutePath()+" , "+e;
+			logger.error(msg,e);
+			throw new RuntimeException(msg);
+		}
+	}
+
 	/**
 	 * Get current representation of the test cases in the database
 	 * 
 	 * @return
 	 */
 	public static Project getDatabaseProject() {
+		ProjectHistoryStore store = getDatabase();
+		try {
+			return store.exportProject();
+		} catch (IOException e) {
+			String msg = "Error in reading "+store.getFile().getAbsolutePath()+" , "+e;
+			logger.error(msg,e);
+			throw new RuntimeException(msg);
+		}
+	}
+
+	/**
+	 * Get only the latest generations of each CUT in the database, see
+	 * {@link ProjectHistoryStore#exportLatestGenerations()}, which is much
+	 * cheaper than {@link #getDatabaseProject()} on a long history
+	 * 
+	 * @return
+	 */
+	public static Project getLatestDatabaseProject() {
+		ProjectHistoryStore store = getDatabase();
+		try {
+			return store.exportLatestGenerations();
+		} catch (IOException e) {
+			String msg = "Error in reading "+store.getFile().getAbsolutePath()+" , "+e;
+			logger.error(msg,e);
+			throw new RuntimeException(msg);
+		}
+	}
+
+	/**
+	 * Write the whole content of the database to the XML project info file,
+	 * e.g., for the Jenkins plugin
+	 * 
+	 * @return the written file
+	 */
+	public static File exportProjectInfo() {
+		File target = getProjectInfoFile();
+		exportDatabaseProject(target);
+		return target;
+	}
+
+	/**
+	 * Write the content of the database to the given file, in the XML
+	 * format of the project info
+	 * 
+	 * @param target
+	 */
+	public static void exportDatabaseProject(File target) {
+		writeProject(getDatabaseProject(), target);
+	}
+
+	/**
+	 * Replace the content of the database with the one of the given
+	 * file in the XML format of the project info
+	 * 
+	 * @param source
+	 */
+	public static void importDatabaseProject(File source) {
+		ProjectHistoryStore store = getDatabase();
+		for (String cut : new ArrayList<String>(store.getClassNames())) {
+			store.removeCUT(cut);
+		}
+		store.importProject(getProject(source, getCurrentXmlStream(source)));
+		try {
+			store.commit();
+		} catch (IOException e) {
+			logger.error("Failed to write to database: "+e.getMessage(),e);
+		}
+	}
+
+	/**
+	 * Read the XML project info file
+	 * 
+	 * @return
+	 */
+	private static Project readProjectInfo() {
 
 		File current = getProjectInfoFile();
 		InputStream stream = null;
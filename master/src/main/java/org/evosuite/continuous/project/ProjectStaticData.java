@@ -34,10 +34,12 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.evosuite.Properties;
+import org.evosuite.continuous.persistency.ProjectHistoryStore;
 import org.evosuite.continuous.persistency.StorageManager;
 import org.evosuite.xsd.CUT;
 import org.evosuite.xsd.Generation;
 import org.evosuite.xsd.Project;
+import org.evosuite.xsd.ProjectUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -85,6 +87,11 @@ public class ProjectStaticData {
      */
     private Project project = null;
 
+    /**
+     * The database with the previous generations, read per class when needed
+     */
+    private ProjectHistoryStore history = null;
+
     /**
      * 
      */
@@ -144,7 +151,7 @@ public class ProjectStaticData {
             }
         }
 
-        this.project = StorageManager.getDatabaseProject();
+        this.history = StorageManager.getDatabase();
 	}
 
 	/**
@@ -328,14 +335,20 @@ public class ProjectStaticData {
      */
     public boolean isToTest(String className, int n) {
 
-        if (this.project == null) {
+        CUT cut;
+        if (this.project != null) {
+            cut = ProjectUtil.getCUT(this.project, className);
+        } else if (this.history != null) {
+            try {
+                cut = this.history.getCUT(className);
+            } catch (IOException e) {
+                logger.error("error reading the generations of " + className, e);
+                return true;
+            }
+        } else {
             return true; // we don't have any previous data at all
         }
 
-        CUT cut = this.project.getCut().parallelStream()
-          .filter(p -> p.getFullNameOfTargetClass().equals(className))
-          .findFirst().orElse(null);
-
     	if (cut == null) {
     		return true; // we don't have any coverage yet
     	}
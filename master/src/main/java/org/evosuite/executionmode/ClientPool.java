@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.executionmode;
+
+import java.rmi.RemoteException;
+
+import org.evosuite.Properties;
+import org.evosuite.rmi.service.ClientNodeRemote;
+import org.evosuite.utils.ExternalProcessHandler;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the client process of the previous class alive, so that successive
+ * classes tested by the same master do not pay again for starting a JVM,
+ * connecting it through RMI, and loading and JIT-compiling EvoSuite.
+ * 
+ * <p>
+ * The client resets all its per-class state before each new class. Still, it
+ * is replaced by a new process after {@link Properties#MAX_CLASSES_PER_CLIENT}
+ * classes, or once its heap usage goes above
+ * {@link Properties#CLIENT_RECYCLE_HEAP_RATIO}, as the SUTs might leave garbage
+ * that cannot be collected (eg, threads or static state of JDK classes).
+ */
+class ClientPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClientPool.class);
+
+	private ExternalProcessHandler handler;
+
+	private LoggingUtils logUtils;
+
+	private ClientNodeRemote client;
+
+	/**
+	 * How many classes the current client has been used for
+	 */
+	private int numberOfClasses;
+
+	public static boolean isEnabled() {
+		return Properties.MAX_CLASSES_PER_CLIENT > 1 && !Properties.CLIENT_ON_THREAD;
+	}
+
+	public boolean hasClient() {
+		return client != null;
+	}
+
+	/**
+	 * Take ownership of a new client process, which has just been started,
+	 * and of its RMI and log servers
+	 */
+	public void setClient(ExternalProcessHandler handler, LoggingUtils logUtils, ClientNodeRemote client) {
+		if (hasClient()) {
+			throw new IllegalStateException("There is already a client in the pool");
+		}
+		this.handler = handler;
+		this.logUtils = logUtils;
+		this.client = client;
+		numberOfClasses = 0;
+	}
+
+	/**
+	 * Start a search for the given class on the current client
+	 * 
+	 * @param target
+	 * @return <code>false</code> if the client could not be used
+	 */
+	public boolean startNewSearch(String target) {
+		try {
+			client.startNewSearch(target);
+			return true;
+		} catch (RemoteException | RuntimeException e) {
+			logger.error("Failed to re-use client for class " + target + ": " + e.getMessage());
+			discard();
+			return false;
+		}
+	}
+
+	/**
+	 * Wait till the current search is done. If it does not end in time, or
+	 * the connection is lost, the client cannot be re-used any more, and it is
+	 * killed
+	 * 
+	 * @param timeoutInMs
+	 */
+	public void waitForSearch(long timeoutInMs) {
+		try {
+			if (client.waitUntilSearchDone(timeoutInMs)) {
+				numberOfClasses++;
+				return;
+			}
+			logger.error("Class " + Properties.TARGET_CLASS + ". Client has not finished yet, although a timeout occurred");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RemoteException e) {
+			logger.error("Class " + Properties.TARGET_CLASS + ". Lost connection with client: " + e.getMessage());
+		}
+		discard();
+	}
+
+	/**
+	 * To be called once the output of the current search has been processed
+	 */
+	public void recycleIfNeeded() {
+		if (!hasClient()) {
+			return;
+		}
+
+		if (numberOfClasses >= Properties.MAX_CLASSES_PER_CLIENT) {
+			logger.info("Replacing client after " + numberOfClasses + " classes");
+			release();
+			return;
+		}
+
+		try {
+			double heap = client.getUsedHeapRatio();
+			if (heap > Properties.CLIENT_RECYCLE_HEAP_RATIO) {
+				logger.info("Replacing client, as " + (int) (heap * 100) + "% of its heap is in use");
+				release();
+			}
+		} catch (RemoteException e) {
+			logger.error("Lost connection with client: " + e.getMessage());
+			discard();
+		}
+	}
+
+	/**
+	 * Let the current client terminate gracefully
+	 */
+	public void release() {
+		if (!hasClient()) {
+			return;
+		}
+		try {
+			client.shutDown();
+			handler.waitForResult(10000); // this also kills the process
+		} catch (RemoteException e) {
+			logger.warn("Failed to shut down client: " + e.getMessage());
+		}
+		discard();
+	}
+
+	/**
+	 * Kill the current client, and close its servers
+	 */
+	private void discard() {
+		if (handler != null) {
+			handler.killProcess();
+			handler.closeServer();
+		}
+		if (logUtils != null) {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			logUtils.closeLogServer();
+		}
+		handler = null;
+		logUtils = null;
+		client = null;
+		numberOfClasses = 0;
+	}
+}
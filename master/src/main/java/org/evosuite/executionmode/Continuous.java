@@ -37,7 +37,7 @@ import org.evosuite.utils.SpawnProcessKeepAliveChecker;
 
 public class Continuous {
 
-	public enum Command {EXECUTE, INFO, CLEAN};
+	public enum Command {EXECUTE, INFO, CLEAN, EXPORT_INFO};
 
 	public static final String NAME = "continuous";
 
@@ -137,6 +137,9 @@ public class Continuous {
 			} else {
 				LoggingUtils.getEvoLogger().info("Failed to clean project");
 			}
+		} else if(command.equals(Command.EXPORT_INFO)){
+			String result = ctg.exportInfo();
+			LoggingUtils.getEvoLogger().info(result);
 		} else { //INFO
 			String info = ctg.info();
 			LoggingUtils.getEvoLogger().info(info);
@@ -175,18 +175,25 @@ public class TestGeneration {
 		LoggingUtils.getEvoLogger().info("* Found " + classes.size()
 		                                         + " matching classes for prefix "
 		                                         + prefix);
-		for (String sut : classes) {
-			try {
-				if (ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).isClassAnInterface(sut)) {
-					LoggingUtils.getEvoLogger().info("* Skipping interface: "+sut);
+		ClientPool pool = ClientPool.isEnabled() ? new ClientPool() : null;
+		try {
+			for (String sut : classes) {
+				try {
+					if (ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).isClassAnInterface(sut)) {
+						LoggingUtils.getEvoLogger().info("* Skipping interface: "+sut);
+						continue;
+					}
+				} catch (IOException e) {
+					LoggingUtils.getEvoLogger().info("Could not load class: " + sut);
 					continue;
 				}
-			} catch (IOException e) {
-				LoggingUtils.getEvoLogger().info("Could not load class: " + sut);
-				continue;
+				LoggingUtils.getEvoLogger().info("* Current class: "+ sut);
+				results.addAll(generateTests(Strategy.EVOSUITE,sut,args,pool));
+			}
+		} finally {
+			if (pool != null) {
+				pool.release();
 			}
-			LoggingUtils.getEvoLogger().info("* Current class: "+ sut);
-			results.addAll(generateTests(Strategy.EVOSUITE,sut,args));
 		}
 		return results;
 	}
@@ -205,6 +212,20 @@ public class TestGeneration {
 	
 	private static List<List<TestGenerationResult>> generateTests(Properties.Strategy strategy, String target,
 	        List<String> args) {
+		return generateTests(strategy, target, args, null);
+	}
+
+	/**
+	 * 
+	 * @param strategy
+	 * @param target
+	 * @param args
+	 * @param pool if not <code>null</code>, the client process is taken from/left in it,
+	 * 			to be re-used for other classes
+	 * @return
+	 */
+	private static List<List<TestGenerationResult>> generateTests(Properties.Strategy strategy, String target,
+	        List<String> args, ClientPool pool) {
 		
 		LoggingUtils.getEvoLogger().info("* Going to generate test cases for class: "+target);
 		
@@ -220,6 +241,18 @@ public class TestGeneration {
 			                + " because it belongs to one of the packages EvoSuite cannot currently handle");
 		}
 
+		if (pool != null && pool.hasClient()) {
+			Properties.TARGET_CLASS = target;
+			if (pool.startNewSearch(target)) {
+				int time = TimeController.getInstance().calculateForHowLongClientWillRunInSeconds();
+				pool.waitForSearch(time * 1000);
+				List<List<TestGenerationResult>> results = collectResults();
+				pool.recycleIfNeeded();
+				return results;
+			}
+			// otherwise, go on with a new client
+		}
+
 		List<String> cmdLine = new ArrayList<>();
 		cmdLine.add(EvoSuite.JAVA_CMD);
 
@@ -461,13 +494,28 @@ public class TestGeneration {
 				 */
 				for (ClientNodeRemote client : clients) {
 					try {
-						client.startNewSearch();
+						if (pool != null) {
+							client.startNewSearch(target);
+							pool.setClient(handler, logUtils, client);
+						} else {
+							client.startNewSearch();
+						}
 					} catch (RemoteException e) {
 						logger.error("Error in starting clients", e);
 					}
 				}
 
 				int time = TimeController.getInstance().calculateForHowLongClientWillRunInSeconds();
+				if (pool != null && pool.hasClient()) {
+					/*
+					 * the client stays alive, and so do the servers,
+					 * which are now handled by the pool
+					 */
+					pool.waitForSearch(time * 1000);
+					List<List<TestGenerationResult>> results = collectResults();
+					pool.recycleIfNeeded();
+					return results;
+				}
 				handler.waitForResult(time * 1000); 
 				try {
 					Thread.sleep(100);
@@ -484,6 +532,31 @@ public class TestGeneration {
 			LoggingUtils.getEvoLogger().info("* Could not connect to client process");
 		}
 
+		List<List<TestGenerationResult>> results = collectResults();
+
+		handler.closeServer();
+
+		if (Properties.CLIENT_ON_THREAD) {
+			handler.stopAndWaitForClientOnThread(10000);
+		} else {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+			}
+			logUtils.closeLogServer();
+		}
+		
+		logger.debug("Master process has finished to wait for client");
+
+		return results;
+	}
+
+	/**
+	 * Write the statistics of the class that was just tested
+	 * 
+	 * @return the results of the client for it
+	 */
+	private static List<List<TestGenerationResult>> collectResults() {
 		boolean hasFailed = false;
 		
 		if (Properties.NEW_STATISTICS) {
@@ -502,27 +575,13 @@ public class TestGeneration {
 		List<List<TestGenerationResult>> results = SearchStatistics.getInstance().getTestGenerationResults();
 		SearchStatistics.clearInstance();
 
-		handler.closeServer();
-
-		if (Properties.CLIENT_ON_THREAD) {
-			handler.stopAndWaitForClientOnThread(10000);
-		} else {
-			try {
-				Thread.sleep(100);
-			} catch (InterruptedException e) {
-			}
-			logUtils.closeLogServer();
-		}
-		
-		logger.debug("Master process has finished to wait for client");
-
 		//FIXME: tmp hack till understood what TestGenerationResult is...
 		if(hasFailed){
 			logger.error("failed to write statistics data");
 			//note: cannot throw exception because would require refactoring of many SystemTests
 			return new ArrayList<List<TestGenerationResult>>();
 		}
-		
+
 		return results;
 	}
 
@@ -577,18 +636,25 @@ public class TestGeneration {
 			return results;
 		}
 
-		for (String sut : classes) {
-			try {
-				if (ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).isClassAnInterface(sut)) {
-					LoggingUtils.getEvoLogger().info("* Skipping interface: " + sut );
+		ClientPool pool = ClientPool.isEnabled() ? new ClientPool() : null;
+		try {
+			for (String sut : classes) {
+				try {
+					if (ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).isClassAnInterface(sut)) {
+						LoggingUtils.getEvoLogger().info("* Skipping interface: " + sut );
+						continue;
+					}
+				} catch (IOException e) {
+					LoggingUtils.getEvoLogger().info("Could not load class: " + sut);
 					continue;
 				}
-			} catch (IOException e) {
-				LoggingUtils.getEvoLogger().info("Could not load class: " + sut);
-				continue;
+				LoggingUtils.getEvoLogger().info("* Current class: " + sut);
+				results.addAll(generateTests(strategy,sut,args,pool));
+			}
+		} finally {
+			if (pool != null) {
+				pool.release();
 			}
-			LoggingUtils.getEvoLogger().info("* Current class: " + sut);
-			results.addAll(generateTests(strategy,sut,args));
 		}
 		
 		return results;
@@ -36,6 +36,7 @@ import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.statistics.SearchStatistics;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsBatch;
 import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
@@ -166,6 +167,11 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 		SearchStatistics.getInstance().currentIndividual(clientRmiIdentifier, individual);
 	}
 
+	@Override
+	public void evosuite_collectStatistics(String clientRmiIdentifier, StatisticsBatch batch) {
+		SearchStatistics.getInstance().currentStatistics(clientRmiIdentifier, batch);
+	}
+
 	@Override
 	public void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value)
 	        throws RemoteException {
@@ -68,6 +68,9 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 	/** Map of client id to best individual received from that client so far */
 	private Map<String, TestSuiteChromosome> bestIndividual = new HashMap<String, TestSuiteChromosome>();
 
+	/** Map of client id to the decoder of the statistics batches received from that client */
+	private Map<String, StatisticsBatch.Decoder> decoders = new HashMap<String, StatisticsBatch.Decoder>();
+
 	/** Backend used to output the data */
 	private StatisticsBackend backend = null;
 
@@ -158,6 +161,12 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 	}
 
 	public static void clearInstance() {
+		/*
+		 * the master node might outlive this instance, when its
+		 * client is re-used for another class
+		 */
+		if(instance != null && MasterServices.getInstance().getMasterNode() != null)
+			MasterServices.getInstance().getMasterNode().deleteListener(instance);
 		instance = null;
 	}
 
@@ -174,11 +183,37 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 
 		logger.debug("Received individual");
 		bestIndividual.put(rmiClientIdentifier, (TestSuiteChromosome) individual);
-        for(ChromosomeOutputVariableFactory<?> v : variableFactories.values()) {
-            setOutputVariable(v.getVariable((TestSuiteChromosome) individual));
-        }
+		update(StatisticsSnapshot.of(individual));
+	}
+
+	/**
+	 * This method is called when a batch of snapshots of the best individuals
+	 * is sent from a client during the search.
+	 * 
+	 * @param rmiClientIdentifier
+	 * @param batch
+	 */
+	public void currentStatistics(String rmiClientIdentifier, StatisticsBatch batch) {
+		if(backend == null)
+			return;
+
+		logger.debug("Received batch of {} snapshots", batch.size());
+		StatisticsBatch.Decoder decoder = decoders.get(rmiClientIdentifier);
+		if(decoder == null) {
+			decoder = new StatisticsBatch.Decoder();
+			decoders.put(rmiClientIdentifier, decoder);
+		}
+		for(StatisticsSnapshot snapshot : decoder.decode(batch)) {
+			update(snapshot);
+		}
+	}
+
+	private void update(StatisticsSnapshot snapshot) {
+		for(ChromosomeOutputVariableFactory<?> v : variableFactories.values()) {
+			setOutputVariable(v.getVariable(snapshot));
+		}
 		for(SequenceOutputVariableFactory<?> v : sequenceOutputVariableFactories.values()) {
-			v.update((TestSuiteChromosome) individual);
+			v.update(snapshot);
 		}
 	}
 
@@ -327,12 +362,19 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 
 		outputVariables.put(RuntimeVariable.Total_Time.name(), new OutputVariable<Object>(RuntimeVariable.Total_Time.name(), System.currentTimeMillis() - startTime));
 
-		if(bestIndividual.isEmpty()) {
+		TestSuiteChromosome individual;
+		if(!bestIndividual.isEmpty()) {
+			individual = bestIndividual.values().iterator().next();
+		} else if(!decoders.isEmpty()) {
+			/*
+			 * the client did not get to send the final individual, but the values
+			 * of the best individuals during the search were already received
+			 */
+			individual = new TestSuiteChromosome();
+		} else {
 			logger.error("No statistics has been saved because EvoSuite failed to generate any test case");
 			return false;
-		}	
-
-		TestSuiteChromosome individual = bestIndividual.values().iterator().next();
+		}
 
 		Map<String,OutputVariable<?>> map = getOutputVariables(individual);
 		if(map==null){
@@ -454,7 +496,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 
 		@Override
-		protected Integer getData(TestSuiteChromosome individual) {
+		protected Integer getData(StatisticsSnapshot individual) {
 			return individual.totalLengthOfTestCases();
 		}
 	}
@@ -468,7 +510,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 
 		@Override
-		protected Integer getData(TestSuiteChromosome individual) {
+		protected Integer getData(StatisticsSnapshot individual) {
 			return individual.size();
 		}
 	}
@@ -482,7 +524,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 
 		@Override
-		protected Double getData(TestSuiteChromosome individual) {
+		protected Double getData(StatisticsSnapshot individual) {
 			return individual.getFitness();
 		}
 	}
@@ -496,7 +538,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 
 		@Override
-		protected Double getData(TestSuiteChromosome individual) {
+		protected Double getData(StatisticsSnapshot individual) {
 			return individual.getCoverage();
 		}
 	}
@@ -511,7 +553,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 
 		@Override
-		protected Double getValue(TestSuiteChromosome individual) {
+		protected Double getValue(StatisticsSnapshot individual) {
 			return individual.getFitness();
 		}
 	}
@@ -526,7 +568,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 
 		@Override
-		public Double getValue(TestSuiteChromosome individual) {
+		public Double getValue(StatisticsSnapshot individual) {
 			return individual.getCoverage();
 		}
 	}
@@ -541,7 +583,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 
 		@Override
-		public Integer getValue(TestSuiteChromosome individual) {
+		public Integer getValue(StatisticsSnapshot individual) {
 			return individual.size();
 		}
 	}
@@ -556,7 +598,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 
 		@Override
-		public Integer getValue(TestSuiteChromosome individual) {
+		public Integer getValue(StatisticsSnapshot individual) {
 			return individual.totalLengthOfTestCases();
 		}
 	}
@@ -571,7 +613,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Integer getValue(TestSuiteChromosome individual) {
+        public Integer getValue(StatisticsSnapshot individual) {
             return (Integer) this.value;
         }
 
@@ -591,7 +633,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 
 		@Override
-		public Double getValue(TestSuiteChromosome individual) {
+		public Double getValue(StatisticsSnapshot individual) {
 			return (Double) this.value;
 		}
 
@@ -611,7 +653,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Integer getValue(TestSuiteChromosome individual) {
+        public Integer getValue(StatisticsSnapshot individual) {
             return individual.getNumOfNotCoveredGoals();
         }
     }
@@ -623,7 +665,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(BranchCoverageSuiteFitness.class);
         }
     }
@@ -635,7 +677,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(OnlyBranchCoverageSuiteFitness.class);
         }
     }
@@ -647,7 +689,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(OnlyBranchCoverageSuiteFitness.class);
         }
     }
@@ -659,7 +701,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(CBranchSuiteFitness.class);
         }
     }
@@ -671,7 +713,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(CBranchSuiteFitness.class);
         }
     }
@@ -683,7 +725,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(MethodTraceCoverageSuiteFitness.class);
         }
     }
@@ -695,7 +737,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(MethodTraceCoverageSuiteFitness.class);
         }
     }
@@ -707,7 +749,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(MethodCoverageSuiteFitness.class);
         }
     }
@@ -719,7 +761,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(MethodCoverageSuiteFitness.class);
         }
     }
@@ -731,7 +773,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
         }
     }
@@ -743,7 +785,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
         }
     }
@@ -755,7 +797,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(RhoCoverageSuiteFitness.class);
         }
     }
@@ -767,7 +809,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(AmbiguityCoverageSuiteFitness.class);
         }
     }
@@ -779,7 +821,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(LineCoverageSuiteFitness.class);
         }
     }
@@ -791,7 +833,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(LineCoverageSuiteFitness.class);
         }
     }
@@ -803,7 +845,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(OutputCoverageSuiteFitness.class);
         }
     }
@@ -815,7 +857,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(OutputCoverageSuiteFitness.class);
         }
     }
@@ -827,7 +869,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(InputCoverageSuiteFitness.class);
         }
     }
@@ -839,7 +881,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(InputCoverageSuiteFitness.class);
         }
     }
@@ -851,7 +893,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(ExceptionCoverageSuiteFitness.class);
         }
     }
@@ -863,7 +905,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(ExceptionCoverageSuiteFitness.class);
         }
     }
@@ -875,7 +917,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(WeakMutationSuiteFitness.class);
         }
     }
@@ -887,7 +929,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getFitnessInstanceOf(OnlyMutationSuiteFitness.class);
         }
     }
@@ -899,7 +941,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsSnapshot individual) {
             return individual.getCoverageInstanceOf(OnlyMutationSuiteFitness.class);
         }
     }
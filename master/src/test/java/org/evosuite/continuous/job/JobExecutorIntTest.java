@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
@@ -208,4 +209,108 @@ public class JobExecutorIntTest {
 
 		storage.clean();
 	}
+
+	@Test
+	public void testDependentJobStartsWhenPoolIsWritten() throws Exception{
+
+		boolean storageOK = storage.isStorageOk();
+		assertTrue(storageOK);
+		storageOK = storage.createNewTmpFolders();
+		assertTrue(storageOK);
+
+		String classpath = System.getProperty("java.class.path"); 
+
+		int cores = 2;
+		int memory = 1000; 
+		int minutes = 10000;
+
+		CtgConfiguration conf = new CtgConfiguration(memory * cores, cores, minutes, 1, false, AvailableSchedule.SIMPLE);
+		final JobExecutor exe = new JobExecutor(storage, classpath, conf);
+
+		JobDefinition simple = new JobDefinition(30, memory, 
+				Simple.class.getName(), 0, null, null);
+
+		JobDefinition ust = new JobDefinition(30, memory, 
+				UsingSimpleAndTrivial.class.getName(), 0, 
+				new HashSet<>(Arrays.asList(new String[]{Simple.class.getName()})),
+				null);
+
+		JobDefinition trivial = new JobDefinition(30, memory, 
+				Trivial.class.getName(), 0, null, null);
+
+		final List<JobDefinition> jobs = Arrays.asList(simple,ust,trivial);
+
+		exe.initExecution(jobs, cores);
+		
+		Thread t = new Thread(){
+			@Override
+			public void run(){
+				exe.execute(jobs);
+			}
+		};
+		try{
+			t.start();
+
+			JobDefinition first = exe.pollJob();
+			Assert.assertEquals(simple.cut, first.cut);
+
+			//'simple' is still running, but its pool is already there
+			File pool = exe.getPoolFile(simple.cut);
+			assertTrue(pool.createNewFile());
+
+			JobDefinition second = exe.pollJob();
+			Assert.assertEquals(ust.cut, second.cut);
+			Assert.assertEquals(ust.jobID, second.jobID);
+
+			exe.doneWithJob(first);
+			exe.doneWithJob(second);
+
+			JobDefinition last = exe.pollJob();
+			exe.doneWithJob(last);
+			Assert.assertEquals(trivial.cut, last.cut);
+		}
+		finally{
+			t.interrupt();
+		}
+
+		storage.clean();
+	}
+
+	@Test
+	public void testRebalanceDoesNotExceedRemainingTime() {
+
+		boolean storageOK = storage.isStorageOk();
+		assertTrue(storageOK);
+
+		String classpath = System.getProperty("java.class.path");
+
+		int cores = 1;
+		int memory = 1000;
+		int minutes = 10;
+		int minMinutesPerJob = 2;
+
+		CtgConfiguration conf = new CtgConfiguration(memory, cores, minutes, minMinutesPerJob, false, AvailableSchedule.SIMPLE);
+		final long[] remainingInMs = new long[1];
+		JobExecutor exe = new JobExecutor(storage, classpath, conf){
+			@Override
+			protected long getRemainingTimeInMs(){
+				return remainingInMs[0];
+			}
+		};
+
+		JobDefinition simple = new JobDefinition(600, memory,
+				Simple.class.getName(), 0, null, null);
+		exe.initExecution(Arrays.asList(simple), cores);
+
+		remainingInMs[0] = 300_000;
+		Assert.assertEquals(300, exe.rebalance(simple, new LinkedList<JobDefinition>()).seconds);
+
+		//less than the minimum per job is left
+		remainingInMs[0] = 30_000;
+		Assert.assertEquals(30, exe.rebalance(simple, new LinkedList<JobDefinition>()).seconds);
+
+		//no capacity left at all: the scheduled budget is not kept either
+		remainingInMs[0] = 0;
+		Assert.assertEquals(0, exe.rebalance(simple, new LinkedList<JobDefinition>()).seconds);
+	}
 }
@@ -0,0 +1,374 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.persistency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.apache.commons.io.FileUtils;
+import org.evosuite.xsd.CUT;
+import org.evosuite.xsd.CUTUtil;
+import org.evosuite.xsd.Coverage;
+import org.evosuite.xsd.Generation;
+import org.evosuite.xsd.Project;
+import org.evosuite.xsd.ProjectUtil;
+import org.evosuite.xsd.TestSuite;
+import org.evosuite.xsd.XSDUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProjectHistoryStoreTest {
+
+	private File file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = File.createTempFile("EvoSuiteProjectHistory", null, FileUtils.getTempDirectory());
+		file.delete();
+	}
+
+	@After
+	public void deleteFile() {
+		file.delete();
+	}
+
+	private static Generation generation(int id, boolean withSuite) {
+		Generation generation = new Generation();
+		generation.setId(XSDUtils.convert(id));
+		generation.setFailed(!withSuite);
+		generation.setModified(true);
+		generation.setTimeBudgetInSeconds(XSDUtils.convert(60));
+		generation.setMemoryInMB(XSDUtils.convert(1024));
+		if (withSuite) {
+			Coverage coverage = new Coverage();
+			coverage.setCriterion("BranchCoverage");
+			coverage.setCoverageValue(0.75);
+			coverage.setCoverageBitString("0111");
+
+			TestSuite suite = new TestSuite();
+			suite.setFullPathOfTestSuite("/tmp/FooTest.java");
+			suite.setNumberOfTests(XSDUtils.convert(3));
+			suite.setTotalNumberOfStatements(XSDUtils.convert(12));
+			suite.setTotalEffortInSeconds(XSDUtils.convert(60));
+			suite.getCoverage().add(coverage);
+			generation.setSuite(suite);
+		}
+		return generation;
+	}
+
+	@Test
+	public void testReopen() throws IOException {
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		assertTrue(store.isEmpty());
+		store.setTotalNumberOfTestableClasses(XSDUtils.convert(2));
+		store.addGeneration("org.Foo", "org.FooTest", generation(0, false));
+		store.addGeneration("org.Bar", "org.BarTest", generation(0, true));
+		store.addGeneration("org.Foo", "org.FooTest", generation(1, true));
+
+		// not committed yet, but already visible
+		assertEquals(2, store.getCUT("org.Foo").getGeneration().size());
+		store.commit();
+
+		store = ProjectHistoryStore.open(file);
+		assertEquals(2, store.getTotalNumberOfTestableClasses());
+		assertEquals(2, store.getClassNames().size());
+		assertEquals(2, store.getNumberOfGenerations("org.Foo"));
+
+		CUT foo = store.getCUT("org.Foo");
+		assertEquals("org.FooTest", foo.getFullNameOfTestSuite());
+		assertTrue(foo.getGeneration().get(0).isFailed());
+		Generation latest = CUTUtil.getLatestSuccessfulGeneration(foo);
+		assertEquals(1, latest.getId().intValue());
+		assertEquals(12, latest.getSuite().getTotalNumberOfStatements().intValue());
+		assertEquals(0.75, latest.getSuite().getCoverage().get(0).getCoverageValue(), 0.0);
+		assertEquals("0111", latest.getSuite().getCoverage().get(0).getCoverageBitString());
+		assertNull(latest.getStdErrCLIENT());
+	}
+
+	@Test
+	public void testRemoveCUT() throws IOException {
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		store.addGeneration("org.Foo", "org.FooTest", generation(0, true));
+		store.addGeneration("org.Bar", "org.BarTest", generation(0, true));
+		store.commit();
+
+		assertEquals("org.FooTest", store.removeCUT("org.Foo"));
+		assertNull(store.removeCUT("org.Foo"));
+		store.commit();
+
+		store = ProjectHistoryStore.open(file);
+		assertFalse(store.containsClass("org.Foo"));
+		assertNull(store.getCUT("org.Foo"));
+		assertEquals(0, store.getNumberOfGenerations("org.Foo"));
+		assertTrue(store.containsClass("org.Bar"));
+	}
+
+	@Test
+	public void testIncompleteCommitIsDiscarded() throws IOException {
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		store.addGeneration("org.Foo", "org.FooTest", generation(0, true));
+		store.commit();
+		long committed = file.length();
+
+		store.addGeneration("org.Foo", "org.FooTest", generation(1, true));
+		store.commit();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(file.length() - 3);
+		}
+
+		store = ProjectHistoryStore.open(file);
+		assertEquals(1, store.getNumberOfGenerations("org.Foo"));
+		assertEquals(committed, file.length());
+
+		// and it is still possible to append
+		store.addGeneration("org.Foo", "org.FooTest", generation(1, false));
+		store.commit();
+		store = ProjectHistoryStore.open(file);
+		assertEquals(2, store.getCUT("org.Foo").getGeneration().size());
+	}
+
+	@Test
+	public void testCorruptedRecordInTheMiddleIsSkipped() throws IOException {
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		store.setTotalNumberOfTestableClasses(XSDUtils.convert(2));
+		store.addGeneration("org.Foo", "org.FooTest", generation(0, true));
+		store.commit();
+		long first = file.length();
+		store.addGeneration("org.Bar", "org.BarTest", generation(0, true));
+		store.commit();
+		long second = file.length();
+		store.addGeneration("org.Foo", "org.FooTest", generation(1, true));
+		store.commit();
+		long length = file.length();
+
+		// flip a byte in the payload of the record of org.Bar
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			long position = second - 1;
+			raf.seek(position);
+			byte b = raf.readByte();
+			raf.seek(position);
+			raf.writeByte(b ^ 0xFF);
+		}
+
+		store = ProjectHistoryStore.open(file);
+		assertEquals(length, file.length());
+		assertFalse(store.containsClass("org.Bar"));
+		assertEquals(2, store.getNumberOfGenerations("org.Foo"));
+		assertEquals(1, store.getCUT("org.Foo").getGeneration().get(1).getId().intValue());
+		assertEquals(second - first, store.getDeadBytes());
+
+		store.compact();
+		store = ProjectHistoryStore.open(file);
+		assertEquals(0, store.getDeadBytes());
+		assertEquals(length - (second - first), file.length());
+		assertEquals(2, store.getCUT("org.Foo").getGeneration().size());
+	}
+
+	@Test
+	public void testCorruptedLastRecordIsDiscarded() throws IOException {
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		store.addGeneration("org.Foo", "org.FooTest", generation(0, true));
+		store.commit();
+		long committed = file.length();
+		store.addGeneration("org.Foo", "org.FooTest", generation(1, true));
+		store.commit();
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			long position = file.length() - 1;
+			raf.seek(position);
+			byte b = raf.readByte();
+			raf.seek(position);
+			raf.writeByte(b ^ 0xFF);
+		}
+
+		store = ProjectHistoryStore.open(file);
+		assertEquals(committed, file.length());
+		assertEquals(1, store.getNumberOfGenerations("org.Foo"));
+	}
+
+	@Test
+	public void testImportExport() throws IOException {
+		CUT cut = new CUT();
+		cut.setFullNameOfTargetClass("org.Foo");
+		cut.setFullNameOfTestSuite("org.FooTest");
+		cut.getGeneration().add(generation(0, true));
+		cut.getGeneration().add(generation(1, false));
+		Project project = new Project();
+		project.setTotalNumberOfTestableClasses(XSDUtils.convert(5));
+		project.getCut().add(cut);
+
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		store.importProject(project);
+		store.commit();
+
+		Project exported = ProjectHistoryStore.open(file).exportProject();
+		assertEquals(5, exported.getTotalNumberOfTestableClasses().intValue());
+		assertEquals(1, exported.getCut().size());
+		assertEquals("org.Foo", exported.getCut().get(0).getFullNameOfTargetClass());
+		assertEquals(2, exported.getCut().get(0).getGeneration().size());
+		assertEquals(3, exported.getCut().get(0).getGeneration().get(0).getSuite().getNumberOfTests().intValue());
+	}
+
+	@Test
+	public void testLatestSuccessfulGenerations() throws IOException {
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		store.setTotalNumberOfTestableClasses(XSDUtils.convert(3));
+		store.addGeneration("org.Foo", "org.FooTest", generation(0, true));
+		store.addGeneration("org.Foo", "org.FooTest", generation(1, false));
+		store.addGeneration("org.Bar", "org.BarTest", generation(0, true));
+		Generation notModified = generation(1, false);
+		notModified.setModified(false);
+		store.addGeneration("org.Bar", "org.BarTest", notModified);
+		store.addGeneration("org.Baz", "org.BazTest", generation(0, false));
+		store.commit();
+		// a pending one
+		store.addGeneration("org.Baz", "org.BazTest", generation(1, true));
+
+		for (String className : store.getClassNames()) {
+			Generation expected = CUTUtil.getLatestSuccessfulGeneration(store.getCUT(className));
+			Generation actual = store.getLatestSuccessfulGeneration(className);
+			if (expected == null) {
+				assertNull(actual);
+			} else {
+				assertEquals(expected.getId(), actual.getId());
+			}
+		}
+		assertNull(store.getLatestSuccessfulGeneration("org.Foo"));
+		assertEquals(0, store.getLatestSuccessfulGeneration("org.Bar").getId().intValue());
+		assertEquals(1, store.getLatestSuccessfulGeneration("org.Baz").getId().intValue());
+		assertNull(store.getLatestSuccessfulGeneration("org.Missing"));
+
+		Project project = store.exportLatestGenerations();
+		assertEquals(3, project.getTotalNumberOfTestableClasses().intValue());
+		assertEquals(3, project.getCut().size());
+		for (CUT cut : project.getCut()) {
+			CUT full = store.getCUT(cut.getFullNameOfTargetClass());
+			assertEquals(full.getFullNameOfTestSuite(), cut.getFullNameOfTestSuite());
+			assertEquals(CUTUtil.getLatestGeneration(full).getId(), CUTUtil.getLatestGeneration(cut).getId());
+			Generation expected = CUTUtil.getLatestSuccessfulGeneration(full);
+			Generation actual = CUTUtil.getLatestSuccessfulGeneration(cut);
+			if (expected == null) {
+				assertNull(actual);
+			} else {
+				assertEquals(expected.getId(), actual.getId());
+			}
+		}
+		// the latest generation of org.Bar failed, so the successful one is kept as well
+		assertEquals(2, ProjectUtil.getCUT(project, "org.Bar").getGeneration().size());
+		assertEquals(1, ProjectUtil.getCUT(project, "org.Foo").getGeneration().size());
+		assertEquals(2, ProjectUtil.getNumberGeneratedTestSuites(project));
+		assertEquals("org.BarTest", store.getFullNameOfTestSuite("org.Bar"));
+
+		store.removeCUT("org.Bar");
+		store.addGeneration("org.Bar", "org.BarTest", generation(3, true));
+		assertEquals(3, store.getLatestSuccessfulGeneration("org.Bar").getId().intValue());
+		project = store.exportLatestGenerations();
+		assertEquals("org.Bar", project.getCut().get(2).getFullNameOfTargetClass());
+		assertEquals(1, project.getCut().get(2).getGeneration().size());
+	}
+
+	@Test
+	public void testCompact() throws IOException {
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		store.setTotalNumberOfTestableClasses(XSDUtils.convert(2));
+		store.setTotalNumberOfTestableClasses(XSDUtils.convert(3));
+		store.addGeneration("org.Foo", "org.FooTest", generation(0, true));
+		store.addGeneration("org.Bar", "org.BarTest", generation(0, false));
+		store.addGeneration("org.Foo", "org.FooTest", generation(1, true));
+		store.addGeneration("org.Bar", "org.BarTest", generation(1, true));
+		store.commit();
+		store.removeCUT("org.Foo");
+		store.commit();
+
+		// too small to be compacted automatically
+		long deadBytes = store.getDeadBytes();
+		assertTrue(deadBytes > 0);
+		long before = file.length();
+		assertEquals(deadBytes, ProjectHistoryStore.open(file).getDeadBytes());
+
+		store.compact();
+		assertEquals(0, store.getDeadBytes());
+		assertEquals(before - deadBytes, file.length());
+		assertFalse(new File(file.getParentFile(), file.getName() + ".tmp").exists());
+		assertEquals(2, store.getCUT("org.Bar").getGeneration().size());
+
+		store.addGeneration("org.Bar", "org.BarTest", generation(2, true));
+		store.commit();
+
+		store = ProjectHistoryStore.open(file);
+		assertEquals(0, store.getDeadBytes());
+		assertEquals(3, store.getTotalNumberOfTestableClasses());
+		assertFalse(store.containsClass("org.Foo"));
+		CUT bar = store.getCUT("org.Bar");
+		assertEquals("org.BarTest", bar.getFullNameOfTestSuite());
+		assertEquals(3, bar.getGeneration().size());
+		assertTrue(bar.getGeneration().get(0).isFailed());
+		assertEquals(2, CUTUtil.getLatestSuccessfulGeneration(bar).getId().intValue());
+	}
+
+	@Test
+	public void testCompactionKeepsEmptyStore() throws IOException {
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		store.addGeneration("org.Foo", "org.FooTest", generation(0, true));
+		store.commit();
+		store.removeCUT("org.Foo");
+		store.compact();
+
+		/*
+		 * otherwise, the store would be initialized again from the XML
+		 * project info, if any
+		 */
+		store = ProjectHistoryStore.open(file);
+		assertFalse(store.isEmpty());
+		assertTrue(store.getClassNames().isEmpty());
+	}
+
+	@Test
+	public void testAutomaticCompaction() throws IOException {
+		StringBuilder output = new StringBuilder();
+		while (output.length() < 2 * ProjectHistoryStore.MIN_DEAD_BYTES_FOR_COMPACTION) {
+			output.append("Some output of the client\n");
+		}
+		Generation large = generation(0, true);
+		large.setStdOutCLIENT(output.toString());
+
+		ProjectHistoryStore store = ProjectHistoryStore.open(file);
+		store.addGeneration("org.Foo", "org.FooTest", large);
+		store.addGeneration("org.Bar", "org.BarTest", generation(0, true));
+		store.commit();
+		assertTrue(file.length() > 2 * ProjectHistoryStore.MIN_DEAD_BYTES_FOR_COMPACTION);
+
+		store.removeCUT("org.Foo");
+		store.commit();
+		assertEquals(0, store.getDeadBytes());
+		assertTrue(file.length() < ProjectHistoryStore.MIN_DEAD_BYTES_FOR_COMPACTION);
+
+		store = ProjectHistoryStore.open(file);
+		assertEquals(1, store.getClassNames().size());
+		assertEquals(1, store.getCUT("org.Bar").getGeneration().size());
+	}
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.executionmode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.evosuite.EvoSuite;
+import org.evosuite.Properties;
+import org.evosuite.SystemTestBase;
+import org.evosuite.result.BranchInfo;
+import org.evosuite.result.TestGenerationResult;
+import org.evosuite.utils.LoggingUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.clientpool.FirstClassInPool;
+import com.examples.with.different.packagename.clientpool.SecondClassInPool;
+
+public class ClientPoolSystemTest extends SystemTestBase {
+
+	private static final PrintStream defaultOut = System.out;
+
+	private String printed;
+
+	@Before
+	public void init() {
+		LoggingUtils.changeLogbackFile(LoggingUtils.getLogbackFileName());
+	}
+
+	@After
+	public void resetOutput() {
+		System.setOut(defaultOut);
+		LoggingUtils.changeLogbackFile("logback.xml");
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<TestGenerationResult> generateTestsForBothClasses(int maxClassesPerClient, double heapRatio) {
+		Properties.CLIENT_ON_THREAD = false;
+		Properties.MAX_CLASSES_PER_CLIENT = maxClassesPerClient;
+		Properties.CLIENT_RECYCLE_HEAP_RATIO = heapRatio;
+
+		ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(byteStream));
+
+		String[] command = new String[] {
+				"-generateSuite",
+				"-prefix",
+				FirstClassInPool.class.getPackage().getName(),
+				"-Dmax_classes_per_client=" + maxClassesPerClient,
+				"-Dclient_recycle_heap_ratio=" + heapRatio,
+				"-Dsearch_budget=20",
+				"-Dcriterion=BRANCH",
+				"-Dshow_progress=false"
+		};
+
+		Object result = new EvoSuite().parseCommandLine(command);
+		System.setOut(defaultOut);
+		printed = byteStream.toString();
+
+		List<TestGenerationResult> results = new ArrayList<TestGenerationResult>();
+		for (List<TestGenerationResult> list : (List<List<TestGenerationResult>>) result) {
+			results.addAll(list);
+		}
+		return results;
+	}
+
+	private static int countOccurrences(String text, String pattern) {
+		int count = 0;
+		int index = text.indexOf(pattern);
+		while (index >= 0) {
+			count++;
+			index = text.indexOf(pattern, index + pattern.length());
+		}
+		return count;
+	}
+
+	/**
+	 * Each class gets its own result, and nothing of the class tested before
+	 * is left in it
+	 */
+	private static void checkResults(List<TestGenerationResult> results) {
+		Assert.assertEquals(2, results.size());
+
+		Set<String> classes = new HashSet<String>();
+		for (TestGenerationResult result : results) {
+			Assert.assertEquals(result.getErrorMessage(), TestGenerationResult.Status.SUCCESS,
+					result.getTestGenerationStatus());
+			String cut = result.getClassUnderTest();
+			classes.add(cut);
+
+			Set<BranchInfo> branches = new HashSet<BranchInfo>(result.getCoveredBranches());
+			branches.addAll(result.getUncoveredBranches());
+			Assert.assertFalse(branches.isEmpty());
+			for (BranchInfo branch : branches) {
+				Assert.assertEquals(cut, branch.getClassName());
+			}
+			Assert.assertTrue(result.getUncoveredBranches().isEmpty());
+
+			String other = cut.equals(FirstClassInPool.class.getCanonicalName()) ? SecondClassInPool.class
+					.getSimpleName() : FirstClassInPool.class.getSimpleName();
+			Assert.assertFalse(result.getTestSuiteCode(), result.getTestSuiteCode().contains(other));
+		}
+
+		Set<String> expected = new HashSet<String>();
+		expected.add(FirstClassInPool.class.getCanonicalName());
+		expected.add(SecondClassInPool.class.getCanonicalName());
+		Assert.assertEquals(expected, classes);
+	}
+
+	@Test
+	public void testTwoClassesInOneClient() {
+		List<TestGenerationResult> results = generateTestsForBothClasses(2, 1.0);
+
+		Assert.assertEquals(printed, 1, countOccurrences(printed, "* Starting client"));
+		Assert.assertEquals(printed, 1, countOccurrences(printed, "* Re-using client for class"));
+		checkResults(results);
+	}
+
+	@Test
+	public void testClientIsReplacedWhenHeapIsFull() {
+		List<TestGenerationResult> results = generateTestsForBothClasses(2, 0.0);
+
+		Assert.assertEquals(printed, 2, countOccurrences(printed, "* Starting client"));
+		Assert.assertEquals(printed, 0, countOccurrences(printed, "* Re-using client for class"));
+		checkResults(results);
+	}
+
+	@Test
+	public void testOneClientPerClassByDefault() {
+		List<TestGenerationResult> results = generateTestsForBothClasses(1, 1.0);
+
+		Assert.assertEquals(printed, 2, countOccurrences(printed, "* Starting client"));
+		checkResults(results);
+	}
+}
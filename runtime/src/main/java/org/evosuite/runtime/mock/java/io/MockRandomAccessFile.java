@@ -215,16 +215,18 @@ public class MockRandomAccessFile extends RandomAccessFile implements LeakingRes
 	// ---------   override methods ----------------
 	
 	private  int readBytes(byte b[], int off, int len) throws IOException{
-		int counter = 0;
-		for(int i=0; i<len; i++){
-			int v = read();
-			if(v == -1){  
-				//end of stream
-				return -1;
-			}
-			
-			b[off+i] = (byte) v;
-			counter++;
+		if(len <= 0){
+			return 0;
+		}
+
+		if(closed){
+			throw new MockIOException();
+		}
+
+		int counter = NativeMockedIO.read(path, position, b, off, len);
+		if(counter < len){  
+			//end of stream
+			return -1;
 		}
 		
 		return counter; 
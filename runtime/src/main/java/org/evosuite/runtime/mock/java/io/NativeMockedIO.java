@@ -60,6 +60,34 @@ public class NativeMockedIO {
 		return b; 
 	}
 
+	/**
+	 * Bulk version of {@link #read(String, AtomicInteger)}, with the same effect
+	 * as calling it {@code len} times until the end of the file is reached
+	 * (including that reading the end of the file moves the position forward)
+	 * 
+	 * @return the number of bytes read, or -1 if no byte could be read because
+	 *         the end of the file was reached
+	 */
+	public static int read(String path, AtomicInteger position, byte b[], int off, int len) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+		
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+		
+		int n = vf.read(position.get(), b, off, len);
+		int read = Math.max(n, 0);
+		if(read < len){
+			//the byte-by-byte version consumes one more position when hitting the end of the file
+			position.addAndGet(read + 1);
+		} else {
+			position.addAndGet(read);
+		}
+
+		return n; 
+	}
+
 	
 	public static VFile getFileForWriting(String path){
 		FSObject target = VirtualFileSystem.getInstance().findFSObject(path);
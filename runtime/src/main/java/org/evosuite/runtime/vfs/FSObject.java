@@ -72,6 +72,21 @@ public abstract class FSObject {
 		}
 	}
 
+	/**
+	 * Copy of {@code other} under the given parent, as if it had just been created
+	 * (ie, not deleted and last modified now)
+	 */
+	protected FSObject(FSObject other, VFolder parent){
+		readPermission = other.readPermission;
+		writePermission = other.writePermission;
+		executePermission = other.executePermission;
+		this.parent = parent;
+		this.deleted = false;
+		this.lastModified = getCurrentTimeMillis();
+		//already normalized
+		this.path = other.path;
+	}
+
 	protected long getCurrentTimeMillis(){
 		if(RuntimeSettings.mockJVMNonDeterminism){
 			return org.evosuite.runtime.System.getCurrentTimeMillisForVFS();
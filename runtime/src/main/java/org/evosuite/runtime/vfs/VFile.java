@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Representation of a virtual file
@@ -30,46 +29,57 @@ import java.util.List;
  */
 public class VFile extends FSObject{
 
+	private static final byte[] EMPTY = new byte[0];
+
+	private static final int INITIAL_CAPACITY = 1024;
+
 	/**
-	 * the actual data contained in file as a list of bytes
+	 * the actual data contained in file, in the first {@code size} bytes of the array.
+	 * Bytes after {@code size} are not part of the file
 	 */
-	private final List<Byte> data;
+	private byte[] data;
+
+	private int size;
 
 	public VFile(String path, VFolder parent) {
 		super(path, parent);
 
-		//TODO might need a better type of data structure supporting multi-threading
-		data = new ArrayList<Byte>(1024);
+		//the array is only allocated once something is written to the file
+		data = EMPTY;
+		size = 0;
 	}
 
-	public void eraseData(){
-		data.clear();
+	public synchronized void eraseData(){
+		//keep the array, as the file is usually written again right after
+		size = 0;
 	}
 
 	public synchronized int getDataSize(){
-		return data.size();
+		return size;
 	}
 
 
 	public synchronized void setLength(int newLength){
 
-		/*
-		 * Note: this implementation is not particularly efficient...
-		 * but setLength is rarely called
-		 */
-
-		while(newLength > data.size()){
-			data.add((byte)0);
+		if(newLength > size){
+			ensureCapacity(newLength);
+			//bytes after size might still contain old data
+			Arrays.fill(data, size, newLength, (byte)0);
 		}
 
-		if(newLength==0){
-			data.clear();
+		size = newLength;
+	}
+
+	private void ensureCapacity(int minCapacity){
+		if(minCapacity <= data.length){
 			return;
 		}
-		
-		while(data.size() > newLength){
-			data.remove(data.size()-1);
+
+		int newCapacity = Math.max(INITIAL_CAPACITY, data.length * 2);
+		if(newCapacity < minCapacity || newCapacity < 0){ //in case of overflow
+			newCapacity = minCapacity;
 		}
+		data = Arrays.copyOf(data, newCapacity);
 	}
 
     /**
@@ -82,15 +92,39 @@ public class VFile extends FSObject{
 			throw new IllegalArgumentException("Position in the file cannot be negative");
 		}
 
-		if(position >= data.size()){
+		if(position >= size){
 			return -1; //this represent the end of the stream
 		}
 
-		return data.get(position) & 0xFF;
+		return data[position] & 0xFF;
+	}
+
+	/**
+	 * Copy up to {@code len} bytes starting at {@code position} into {@code b}
+	 *
+	 * @return the number of copied bytes, or -1 if {@code len} is positive and
+	 * {@code position} is at (or after) the end of the file
+	 */
+	public synchronized int read(int position, byte b[], int off, int len) throws IllegalArgumentException{
+		if(position<0){
+			throw new IllegalArgumentException("Position in the file cannot be negative");
+		}
+
+		if(len <= 0){
+			return 0;
+		}
+
+		if(position >= size){
+			return -1;
+		}
+
+		int n = Math.min(len, size - position);
+		System.arraycopy(data, position, b, off, n);
+		return n;
 	}
 
 	public synchronized int writeBytes(byte b[], int off, int len){
-		return writeBytes(data.size(),b,off,len);
+		return writeBytes(size,b,off,len);
 	}
 
 	
@@ -104,19 +138,16 @@ public class VFile extends FSObject{
 			return 0;
 		}
 
-		if(position >= data.size()){
+		if(position >= size){
 			setLength(position);
 		}
 
-		int written = 0;
-		for(int i=off; i<b.length & (i-off)<len; i++){
-			if(position < data.size()){
-				data.set(position,(b[i]));
-			} else {
-				data.add(b[i]);
-			}
-			position++;
-			written++;
+		//as many bytes as available in b, up to len
+		int written = Math.max(0, Math.min(len, b.length - off));
+		if(written > 0){
+			ensureCapacity(position + written);
+			System.arraycopy(b, off, data, position, written);
+			size = Math.max(size, position + written);
 		}
 
 		setLastModified(getCurrentTimeMillis());
@@ -127,7 +158,9 @@ public class VFile extends FSObject{
 
 	@Override
 	public synchronized boolean delete(){
-		eraseData();
+		//release the memory, as a deleted file cannot be written again
+		data = EMPTY;
+		size = 0;
 		return super.delete();
 	}
 }
@@ -20,8 +20,10 @@
 package org.evosuite.runtime.vfs;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -39,6 +41,35 @@ public class VFolder extends FSObject{
 		
 		children = new CopyOnWriteArrayList<FSObject>();
 	}
+
+	private VFolder(VFolder other, VFolder parent, Map<FSObject, VFolder> copies) {
+		super(other, parent);
+
+		List<FSObject> copiedChildren = new ArrayList<FSObject>(other.children.size());
+		for(FSObject child : other.children){
+			if(!child.isFolder()){
+				throw new IllegalStateException("Only folder trees can be copied: "+child.getPath());
+			}
+			//the same folder can be more than once in the list of children
+			VFolder copy = copies.get(child);
+			if(copy == null){
+				copy = new VFolder((VFolder) child, this, copies);
+				copies.put(child, copy);
+			}
+			copiedChildren.add(copy);
+		}
+		children = new CopyOnWriteArrayList<FSObject>(copiedChildren);
+	}
+
+	/**
+	 * Create a copy of the tree of folders rooted in this folder
+	 * 
+	 * @return
+	 * @throws IllegalStateException if the tree contains files
+	 */
+	public VFolder copyTree() {
+		return new VFolder(this, null, new IdentityHashMap<FSObject, VFolder>());
+	}
 	
 	@Override
 	public boolean delete(){
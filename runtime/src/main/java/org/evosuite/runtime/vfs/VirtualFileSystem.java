@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -67,6 +68,17 @@ public final class VirtualFileSystem {
 	 */
 	private VFolder root;
 
+	/**
+	 * The folder tree created by {@link #init()}, which is the same before each
+	 * test execution as long as working and tmp directories do not change. It
+	 * is never modified: {@link #init()} starts from a copy of it.
+	 */
+	private VFolder baseline;
+
+	private String baselineWorkingDir;
+
+	private String baselineTmpDir;
+
 	/**
 	 * An atomic counter for generating unique names for tmp files
 	 */
@@ -207,11 +219,22 @@ public final class VirtualFileSystem {
 	 */
 	public void init() {
 
-		root = new VFolder(null, null);
-
 		String workingDir = getWorkingDirPath();
-		createFolder(workingDir);
-		createFolder(getTmpFolderPath());
+		String tmpDir = getTmpFolderPath();
+
+		if (baseline == null || !Objects.equals(workingDir, baselineWorkingDir)
+				|| !Objects.equals(tmpDir, baselineTmpDir)) {
+			root = new VFolder(null, null);
+			createFolder(workingDir);
+			createFolder(tmpDir);
+
+			baseline = root.copyTree();
+			baselineWorkingDir = workingDir;
+			baselineTmpDir = tmpDir;
+		} else {
+			//same result as above, without resolving the paths again
+			root = baseline.copyTree();
+		}
 
 		//important to clear, as above code would modify this field
 		accessedFiles.clear();
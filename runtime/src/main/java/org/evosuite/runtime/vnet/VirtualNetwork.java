@@ -127,6 +127,12 @@ public class VirtualNetwork {
 	 */
 	private final List<NetworkInterfaceState> networkInterfaces;
 
+	/**
+	 * The interfaces created by the first {@link #init()}. They cannot be modified
+	 * by the SUT, so they are shared by all later initializations
+	 */
+	private volatile List<NetworkInterfaceState> baselineNetworkInterfaces;
+
 
     /**
      * Key -> resolved URL (ie based on DNS) of the remote file
@@ -183,7 +189,12 @@ public class VirtualNetwork {
     public void init(){
         reset(); //just to be sure
 
-        initNetworkInterfaces();
+        if(baselineNetworkInterfaces == null) {
+            initNetworkInterfaces();
+            baselineNetworkInterfaces = new ArrayList<>(networkInterfaces);
+        } else {
+            networkInterfaces.addAll(baselineNetworkInterfaces);
+        }
         MockURL.initStaticState();
     }
 
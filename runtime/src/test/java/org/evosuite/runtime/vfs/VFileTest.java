@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2010-2016 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.vfs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VFileTest {
+
+	private static byte[] bytes(int n, int offset){
+		byte[] b = new byte[n];
+		for(int i=0; i<n; i++){
+			b[i] = (byte)(i + offset);
+		}
+		return b;
+	}
+
+	@Test
+	public void testWriteAndReadBack(){
+		VFile file = new VFile("foo", null);
+		byte[] data = bytes(5000, 0);
+		Assert.assertEquals(data.length, file.writeBytes(data, 0, data.length));
+		Assert.assertEquals(data.length, file.getDataSize());
+
+		for(int i=0; i<data.length; i++){
+			Assert.assertEquals(data[i] & 0xFF, file.read(i));
+		}
+		Assert.assertEquals(-1, file.read(data.length));
+
+		byte[] buffer = new byte[100];
+		Assert.assertEquals(100, file.read(4000, buffer, 0, 100));
+		Assert.assertEquals(data[4000], buffer[0]);
+		Assert.assertEquals(data[4099], buffer[99]);
+
+		//only up to the end of the file
+		Assert.assertEquals(50, file.read(4950, buffer, 10, 100));
+		Assert.assertEquals(data[4950], buffer[10]);
+		Assert.assertEquals(-1, file.read(5000, buffer, 0, 100));
+		Assert.assertEquals(0, file.read(5000, buffer, 0, 0));
+	}
+
+	@Test
+	public void testOverwriteAndWriteAfterEnd(){
+		VFile file = new VFile("foo", null);
+		file.writeBytes(bytes(10, 0), 0, 10);
+
+		Assert.assertEquals(3, file.writeBytes(5, bytes(3, 100), 0, 3));
+		Assert.assertEquals(10, file.getDataSize());
+		Assert.assertEquals(100, file.read(5));
+		Assert.assertEquals(8, file.read(8));
+
+		//gap is filled with zeros
+		Assert.assertEquals(2, file.writeBytes(20, bytes(5, 50), 1, 2));
+		Assert.assertEquals(22, file.getDataSize());
+		Assert.assertEquals(0, file.read(15));
+		Assert.assertEquals(51, file.read(20));
+		Assert.assertEquals(52, file.read(21));
+	}
+
+	@Test
+	public void testSetLengthDoesNotExposeOldData(){
+		VFile file = new VFile("foo", null);
+		file.writeBytes(bytes(10, 1), 0, 10);
+
+		file.setLength(2);
+		Assert.assertEquals(2, file.getDataSize());
+		Assert.assertEquals(-1, file.read(2));
+
+		file.setLength(10);
+		Assert.assertEquals(10, file.getDataSize());
+		Assert.assertEquals(2, file.read(1));
+		Assert.assertEquals(0, file.read(2));
+		Assert.assertEquals(0, file.read(9));
+
+		file.eraseData();
+		Assert.assertEquals(0, file.getDataSize());
+		file.setLength(3);
+		Assert.assertEquals(0, file.read(0));
+	}
+}
@@ -254,4 +254,30 @@ public class VirtualFileSystemTest {
 		Assert.assertFalse(folder.exists());		
 	}
 
+	@Test
+	public void testInitDiscardsChangesOfPreviousTest() throws IOException{
+		String tmpDir = java.lang.System.getProperty("java.io.tmpdir");
+		File tmpFolder = new MockFile(tmpDir);
+		File workingDir = new MockFile(java.lang.System.getProperty("user.dir"));
+		File file = MockFile.createTempFile("foo", ".tmp");
+		Assert.assertTrue(file.exists());
+		Assert.assertFalse(tmpFolder.delete()); //not empty
+		Assert.assertTrue(workingDir.setWritable(false));
+
+		VirtualFileSystem.getInstance().resetSingleton();
+		VirtualFileSystem.getInstance().init();
+
+		Assert.assertFalse(file.exists());
+		Assert.assertTrue(tmpFolder.exists());
+		Assert.assertTrue(tmpFolder.isDirectory());
+		Assert.assertTrue(workingDir.exists());
+		Assert.assertTrue(workingDir.canWrite());
+
+		//a second test gets a fresh copy as well
+		Assert.assertTrue(new MockFile(tmpDir, "bar").createNewFile());
+		VirtualFileSystem.getInstance().resetSingleton();
+		VirtualFileSystem.getInstance().init();
+		Assert.assertFalse(new MockFile(tmpDir, "bar").exists());
+	}
+
 }